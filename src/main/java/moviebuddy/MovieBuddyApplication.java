@@ -1,22 +1,47 @@
 package moviebuddy;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import moviebuddy.cache.CacheStatsCounter;
+import moviebuddy.cache.JCacheStatistics;
+import moviebuddy.cache.MovieCatalogCacheLoader;
+import moviebuddy.cache.OffHeapCache;
+import moviebuddy.cache.OffHeapCacheManager;
+import moviebuddy.cache.StatsCaffeineCacheManager;
+import moviebuddy.cache.TwoLevelCache;
 import moviebuddy.domain.Movie;
 import moviebuddy.domain.MovieFinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
-import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.core.env.Environment;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -27,6 +52,8 @@ import java.util.stream.Stream;
 @PropertySource("/messages.properties")
 public class MovieBuddyApplication {
 
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
     public static void main(String[] args) throws Exception {
         new MovieBuddyApplication().run(args);
     }
@@ -49,6 +76,33 @@ public class MovieBuddyApplication {
         final MessageSource messageSource = applicationContext.getBean(MessageSource.class);
         final MovieFinder movieFinder = applicationContext.getBean(MovieFinder.class);
 
+        /*--------------------------------------------------------------------------------------*/
+        /* --batch 인자가 있으면 프롬프트 없이 파일(--batch=<path>)이나 표준 입력(--batch)의 명령을 일괄 실행한다. */
+
+        final String batchSource = batchSource(args);
+        if (Objects.nonNull(batchSource)) {
+            runBatch(applicationContext, batchSource);
+            return;
+        }
+
+        /*--------------------------------------------------------------------------------------*/
+        /* --server 인자가 있으면 콘솔 대신 HTTP로 검색 명령을 제공한다. (--server=<port> 로 포트를 지정할 수 있다.) */
+
+        final String serverPort = serverPort(args);
+        if (Objects.nonNull(serverPort)) {
+            runServer(applicationContext, serverPort);
+            return;
+        }
+
+        /*--------------------------------------------------------------------------------------*/
+        /* --binary-server 인자가 있으면 콘솔 대신 바이너리 프로토콜로 검색 명령을 제공한다. (--binary-server=<port> 로 포트를 지정할 수 있다.) */
+
+        final String binaryServerPort = binaryServerPort(args);
+        if (Objects.nonNull(binaryServerPort)) {
+            runBinaryServer(applicationContext, binaryServerPort);
+            return;
+        }
+
         final AtomicBoolean running = new AtomicBoolean(true);
         final BufferedReader input = new BufferedReader(new InputStreamReader(System.in));
         final PrintWriter output = new PrintWriter(System.out, false);
@@ -56,6 +110,197 @@ public class MovieBuddyApplication {
         /*--------------------------------------------------------------------------------------*/
         /* 명령어 별 실행 로직을 정의한다. */
 
+        final Map<Command, Consumer<List<String>>> commandActions = commandActions(applicationContext, movieFinder, output, running);
+
+        /*--------------------------------------------------------------------------------------*/
+        /* 사용자 명령을 받기 전에 영화 목록과 검색 코드를 미리 준비한다. */
+
+        warmUp(applicationContext);
+
+        /*--------------------------------------------------------------------------------------*/
+        /* 사용자가 입력한 값을 해석 후 연결된 명령을 실행한다. */
+
+        output.println();
+        output.println(messageSource.getMessage("application.ready", new Object[0], Locale.getDefault()));
+
+        // quit(애플리케이션 종료) 명령어가 입력되기 전까지 무한히 반복하기(infinite loop)
+        while (running.get()) {
+            try {
+                // 사용자가 입력한 값 읽기
+                output.print("❯ ");
+                output.flush();
+                List<String> arguments = arguments(input.readLine());
+
+                // 명령어 해석 후 실행, 연결된 명령어가 없으면 입력 오류 메시지 출력하기
+                execute(commandActions, arguments);
+            } catch (ApplicationException error) {
+                output.println(errorMessage(messageSource, error));
+            } finally {
+                output.flush();
+            }
+        }
+    }
+
+    /**
+     * 명령을 일괄 실행한다. 모든 명령이 같은 영화 목록과 검색 색인을 사용하도록 먼저 준비하고, 출력은 movie.batch.buffer-size 크기의 버퍼에 모았다가 내보낸다.
+     * 실행을 마치면 실행한 명령 수와 처리량(초당 명령 수)을 표준 오류로 출력한다.
+     *
+     * @param source 명령 파일 경로, 빈 문자열이면 표준 입력에서 읽는다.
+     */
+    void runBatch(ApplicationContext applicationContext, String source) throws IOException {
+        final MessageSource messageSource = applicationContext.getBean(MessageSource.class);
+        final MovieFinder movieFinder = applicationContext.getBean(MovieFinder.class);
+        final int bufferSize = applicationContext.getEnvironment().getProperty("movie.batch.buffer-size", Integer.class, 1024 * 1024);
+
+        long started = System.nanoTime();
+        int movies = movieFinder.prepare();
+        log.info("movie catalog prepared. [movies: {}, elapsed: {} ms]", movies, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final PrintWriter output = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()), bufferSize), false);
+        final MovieBuddyBatch batch = new MovieBuddyBatch(commandActions(applicationContext, movieFinder, output, running), running, error -> errorMessage(messageSource, error));
+
+        MovieBuddyBatch.Result result;
+        try (BufferedReader input = source.isEmpty() ? new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()), bufferSize)
+                                                     : Files.newBufferedReader(Path.of(source), Charset.defaultCharset())) {
+            result = batch.run(input, output);
+        }
+        System.err.println(messageSource.getMessage("application.batch.finished", new Object[] { String.valueOf(result.getCommands()), String.valueOf(result.getErrors()),
+                String.valueOf(result.getElapsed().toMillis()), String.format("%.1f", result.getThroughput()) }, Locale.getDefault()));
+    }
+
+    /**
+     * 검색 명령을 HTTP로 제공한다. 영화 목록과 검색 코드를 미리 준비한 후 요청을 받기 시작하고, 프로세스가 종료될 때까지 기다린다.
+     * 모든 요청은 애플리케이션 컨텍스트의 MovieFinder(검색 결과 캐시 포함)를 함께 사용한다.
+     *
+     * @param port 요청을 받을 포트, 빈 문자열이면 movie.server.port 를 사용한다.
+     */
+    void runServer(ApplicationContext applicationContext, String port) throws Exception {
+        final Environment environment = applicationContext.getEnvironment();
+        final MessageSource messageSource = applicationContext.getBean(MessageSource.class);
+        final MovieFinder movieFinder = applicationContext.getBean(MovieFinder.class);
+
+        final String host = environment.getProperty("movie.server.host", "127.0.0.1");
+        final int threads = environment.getProperty("movie.server.threads", Integer.class, 0);
+        final int stopDelay = environment.getProperty("movie.server.stop-delay", Integer.class, 1);
+        final InetSocketAddress address;
+        try {
+            address = new InetSocketAddress(host, port.isEmpty() ? environment.getProperty("movie.server.port", Integer.class, 8080) : Integer.parseInt(port));
+        } catch (IllegalArgumentException error) {
+            throw new ApplicationException.InvalidCommandArgumentsException(error);
+        }
+
+        // 워밍업을 끈 경우에도 첫 요청이 영화 목록을 불러오는 비용을 치르지 않도록 미리 준비한다.
+        long started = System.nanoTime();
+        int movies = movieFinder.prepare();
+        log.info("movie catalog prepared. [movies: {}, elapsed: {} ms]", movies, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        warmUp(applicationContext);
+
+        final MovieBuddyServer server = new MovieBuddyServer(queries(movieFinder), error -> errorMessage(messageSource, error),
+                                                             threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 2,
+                                                             environment.getProperty("movie.server.queue-capacity", Integer.class, 1024));
+        server.start(address, environment.getProperty("movie.server.backlog", Integer.class, 0));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(stopDelay), "movie-buddy-server-shutdown"));
+
+        System.out.println(messageSource.getMessage("application.server.ready", new Object[] { server.getAddress().getHostString() + ":" + server.getAddress().getPort() }, Locale.getDefault()));
+        server.awaitTermination();
+    }
+
+    /**
+     * 검색 명령을 바이너리 프로토콜(MovieBuddyProtocol)로 제공한다. 영화 목록과 검색 코드를 미리 준비한 후 연결을 받기 시작하고, 프로세스가 종료될 때까지 기다린다.
+     * 명령과 인자는 HTTP 서버와 같으며(queries), 모든 요청은 애플리케이션 컨텍스트의 MovieFinder(검색 결과 캐시 포함)를 함께 사용한다.
+     *
+     * @param port 연결을 받을 포트, 빈 문자열이면 movie.binary-server.port 를 사용한다.
+     */
+    void runBinaryServer(ApplicationContext applicationContext, String port) throws Exception {
+        final Environment environment = applicationContext.getEnvironment();
+        final MessageSource messageSource = applicationContext.getBean(MessageSource.class);
+        final MovieFinder movieFinder = applicationContext.getBean(MovieFinder.class);
+
+        final String host = environment.getProperty("movie.binary-server.host", "127.0.0.1");
+        final int eventLoops = environment.getProperty("movie.binary-server.event-loops", Integer.class, 0);
+        final InetSocketAddress address;
+        try {
+            address = new InetSocketAddress(host, port.isEmpty() ? environment.getProperty("movie.binary-server.port", Integer.class, 8081) : Integer.parseInt(port));
+        } catch (IllegalArgumentException error) {
+            throw new ApplicationException.InvalidCommandArgumentsException(error);
+        }
+
+        // 검색은 이벤트 루프에서 실행되므로, 영화 목록을 불러오는 첫 검색이 연결을 붙잡지 않도록 워밍업 여부와 관계없이 미리 준비한다.
+        long started = System.nanoTime();
+        int movies = movieFinder.prepare();
+        log.info("movie catalog prepared. [movies: {}, elapsed: {} ms]", movies, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        warmUp(applicationContext);
+
+        final MovieBuddyBinaryServer server = new MovieBuddyBinaryServer(queries(movieFinder), error -> errorMessage(messageSource, error),
+                                                                         eventLoops > 0 ? eventLoops : Runtime.getRuntime().availableProcessors(),
+                                                                         environment.getProperty("movie.binary-server.max-pending-bytes", Integer.class, 4 * 1024 * 1024));
+        server.start(address, environment.getProperty("movie.binary-server.backlog", Integer.class, 0));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "movie-buddy-binary-server-shutdown"));
+
+        System.out.println(messageSource.getMessage("application.binaryServer.ready", new Object[] { server.getAddress().getHostString() + ":" + server.getAddress().getPort() }, Locale.getDefault()));
+        server.awaitTermination();
+    }
+
+    /**
+     * HTTP와 바이너리 프로토콜로 제공할 검색 명령을 정의한다. 질의 문자열의 인자를 해석해 검색 결과를 반환하며, 인자가 잘못되면 콘솔 명령과 같은 예외를 던진다.
+     */
+    static Map<Command, Function<Map<String, String>, List<Movie>>> queries(MovieFinder movieFinder) {
+        final Map<Command, Function<Map<String, String>, List<Movie>>> queries = new HashMap<>();
+        // 감독으로 영화 검색:: GET /directedBy?director=Michael%20Bay
+        queries.put(Command.DirectedBy, parameters -> {
+            String director = parameters.getOrDefault("director", "").trim();
+            if (director.isBlank()) {
+                throw new ApplicationException.InvalidCommandArgumentsException();
+            }
+            return movieFinder.directedBy(director);
+        });
+        // 개봉년도로 영화 검색:: GET /releasedYearBy?year=2015
+        queries.put(Command.releasedYearBy, parameters -> movieFinder.releasedYearBy(year(parameters, "year")));
+        // 개봉 기간으로 영화 검색:: GET /releasedBetween?from=2000&to=2010
+        queries.put(Command.releasedBetween, parameters -> {
+            int fromYear = year(parameters, "from");
+            int toYear = year(parameters, "to");
+            if (fromYear > toYear) {
+                throw new ApplicationException.InvalidCommandArgumentsException();
+            }
+            return movieFinder.releasedBetween(fromYear, toYear);
+        });
+        return queries;
+    }
+
+    private static int year(Map<String, String> parameters, String name) {
+        try {
+            return Integer.parseInt(parameters.getOrDefault(name, "").trim());
+        } catch (NumberFormatException error) {
+            throw new ApplicationException.InvalidCommandArgumentsException(error);
+        }
+    }
+
+    /**
+     * 명령어 별 실행 로직을 정의한다. 명령 실행 결과는 output에 출력한다.
+     */
+    Map<Command, Consumer<List<String>>> commandActions(ApplicationContext applicationContext, MovieFinder movieFinder, PrintWriter output, AtomicBoolean running) {
+        final MessageSource messageSource = applicationContext.getBean(MessageSource.class);
+        final StatsCaffeineCacheManager statsCacheManager = applicationContext.getBean(StatsCaffeineCacheManager.class);
+        final OffHeapCacheManager offHeapCacheManager = applicationContext.getBean(OffHeapCacheManager.class);
+        final CacheManager cacheManager = applicationContext.getBean("cacheManager", CacheManager.class);
+        final javax.cache.CacheManager jCacheManager = applicationContext.getBean(javax.cache.CacheManager.class);
+        final MovieCatalogCacheLoader movieCatalogCacheLoader = applicationContext.getBean(MovieCatalogCacheLoader.class);
+
+        // 검색 결과 한 줄의 형식은 명령마다 한 번 찾고, 해석은 형식이나 지역 설정이 바뀔 때만 다시 한다.
+        final Map<String, MovieRowFormat> rowFormats = new ConcurrentHashMap<>();
+        final BiFunction<String, Locale, MovieRowFormat> rowFormat = (code, locale) -> {
+            String template = messageSource.getMessage(code, new Object[0], locale);
+            MovieRowFormat compiled = rowFormats.get(code);
+            if (Objects.isNull(compiled) || !compiled.isCompiledFrom(template, locale)) {
+                compiled = MovieRowFormat.compile(template, locale);
+                rowFormats.put(code, compiled);
+            }
+            return compiled;
+        };
+        final MovieRowWriter rowWriter = new MovieRowWriter();
+
         final Map<Command, Consumer<List<String>>> commandActions = new HashMap<>();
         // 애플리케이션 종료:: ❯ quit
         commandActions.put(Command.Quit, arguments -> {
@@ -69,16 +314,11 @@ public class MovieBuddyApplication {
                 throw new ApplicationException.InvalidCommandArgumentsException();
             }
             List<Movie> moviesDirectedBy = movieFinder.directedBy(director);
-            AtomicInteger counter = new AtomicInteger(1);
+            Locale locale = Locale.getDefault();
 
-            output.println(messageSource.getMessage("application.commands.directedBy", new Object[]{ director }, Locale.getDefault()));
-            moviesDirectedBy.forEach(it -> {
-                String format = messageSource.getMessage("application.commands.directedBy.format", new Object[0], Locale.getDefault());
-
-                String data = String.format(format, counter.getAndIncrement(), it.getTitle(), it.getReleaseYear(), it.getDirector(), it.getWatchedDate().format(Movie.DEFAULT_WATCHED_DATE_FORMATTER));
-                output.println(data);
-            });
-            output.println(messageSource.getMessage("application.commands.directedBy.count", new Object[]{ String.valueOf(moviesDirectedBy.size()) }, Locale.getDefault()));
+            output.println(messageSource.getMessage("application.commands.directedBy", new Object[]{ director }, locale));
+            rowWriter.write(output, rowFormat.apply("application.commands.directedBy.format", locale), moviesDirectedBy);
+            output.println(messageSource.getMessage("application.commands.directedBy.count", new Object[]{ String.valueOf(moviesDirectedBy.size()) }, locale));
         });
         // 개봉년도로 영화 검색:: ❯ releasedYearBy 2015
         commandActions.put(Command.releasedYearBy, arguments -> {
@@ -89,64 +329,190 @@ public class MovieBuddyApplication {
                 throw new ApplicationException.InvalidCommandArgumentsException(error);
             }
             List<Movie> moviesReleasedYearBy = movieFinder.releasedYearBy(releaseYear);
-            AtomicInteger counter = new AtomicInteger(1);
-
-            output.println(messageSource.getMessage("application.commands.releasedYearBy", new Object[] { String.valueOf(releaseYear) }, Locale.getDefault()));
-            moviesReleasedYearBy.forEach(it -> {
-                String format = messageSource.getMessage("application.commands.releasedYearBy.format", new Object[0], Locale.getDefault());
-                String data = String.format(format, counter.getAndIncrement(), it.getTitle(), it.getReleaseYear(), it.getDirector(), it.getWatchedDate().format(Movie.DEFAULT_WATCHED_DATE_FORMATTER));
-                output.println(data);
-            });
-            output.println(messageSource.getMessage("application.commands.releasedYearBy.count", new Object[] { String.valueOf(moviesReleasedYearBy.size()) }, Locale.getDefault()));
+            Locale locale = Locale.getDefault();
+
+            output.println(messageSource.getMessage("application.commands.releasedYearBy", new Object[] { String.valueOf(releaseYear) }, locale));
+            rowWriter.write(output, rowFormat.apply("application.commands.releasedYearBy.format", locale), moviesReleasedYearBy);
+            output.println(messageSource.getMessage("application.commands.releasedYearBy.count", new Object[] { String.valueOf(moviesReleasedYearBy.size()) }, locale));
         });
+        // 개봉 기간으로 영화 검색:: ❯ releasedBetween 2000 2010
+        commandActions.put(Command.releasedBetween, arguments -> {
+            int fromYear, toYear;
+            try {
+                fromYear = Integer.parseInt(arguments.get(1));
+                toYear = Integer.parseInt(arguments.get(2));
+            } catch (IndexOutOfBoundsException | NumberFormatException error) {
+                throw new ApplicationException.InvalidCommandArgumentsException(error);
+            }
+            if (fromYear > toYear) {
+                throw new ApplicationException.InvalidCommandArgumentsException();
+            }
+            List<Movie> moviesReleasedBetween = movieFinder.releasedBetween(fromYear, toYear);
+            Locale locale = Locale.getDefault();
 
-        /*--------------------------------------------------------------------------------------*/
-        /* 사용자가 입력한 값을 해석 후 연결된 명령을 실행한다. */
+            output.println(messageSource.getMessage("application.commands.releasedBetween", new Object[] { String.valueOf(fromYear), String.valueOf(toYear) }, locale));
+            rowWriter.write(output, rowFormat.apply("application.commands.releasedBetween.format", locale), moviesReleasedBetween);
+            output.println(messageSource.getMessage("application.commands.releasedBetween.count", new Object[] { String.valueOf(moviesReleasedBetween.size()) }, locale));
+        });
 
-        output.println();
-        output.println(messageSource.getMessage("application.ready", new Object[0], Locale.getDefault()));
+        // 캐시 통계 출력:: ❯ stats
+        commandActions.put(Command.Stats, arguments -> {
+            output.println(messageSource.getMessage("application.commands.stats", new Object[0], Locale.getDefault()));
+            String format = messageSource.getMessage("application.commands.stats.format", new Object[0], Locale.getDefault());
+            String jCacheFormat = messageSource.getMessage("application.commands.stats.jcache.format", new Object[0], Locale.getDefault());
+            String secondLevelFormat = messageSource.getMessage("application.commands.stats.secondLevel.format", new Object[0], Locale.getDefault());
+            Consumer<String> printSecondLevel = name -> {
+                Cache cache = cacheManager.getCache(name);
+                if (cache instanceof TwoLevelCache) {
+                    TwoLevelCache.Statistics secondLevel = ((TwoLevelCache) cache).getStatistics();
+                    output.println(String.format(secondLevelFormat, "", secondLevel.getSecondHitRate() * 100, secondLevel.getSecondHits(), secondLevel.getMisses()));
+                }
+            };
+            Map<String, CacheStatsCounter> loadStatistics = Map.of(MovieCatalogCacheLoader.CACHE_NAME, movieCatalogCacheLoader.getLoadStatistics());
+            for (JCacheStatistics statistics : JCacheStatistics.of(jCacheManager, loadStatistics)) {
+                output.println(String.format(jCacheFormat, statistics.getName(), statistics.getHitRate() * 100, statistics.getHits(), statistics.getMisses(),
+                        statistics.getAverageGetTime() / 1_000, statistics.getLoadCount(), statistics.getAverageLoadPenalty() / 1_000_000, statistics.getMaxLoadTime() / 1_000_000.0,
+                        statistics.getEvictions(), statistics.getSize()));
+                printSecondLevel.accept(statistics.getName());
+            }
+            Consumer<StatsCaffeineCacheManager.Statistics> printStatistics = statistics -> {
+                CacheStats stats = statistics.getStats();
+                output.println(String.format(format, statistics.getName(), stats.hitRate() * 100, stats.hitCount(), stats.missCount(), stats.loadCount(),
+                        stats.averageLoadPenalty() / 1_000_000, statistics.getMaxLoadTime() / 1_000_000.0, stats.evictionCount(), statistics.getSize()));
+            };
+            for (StatsCaffeineCacheManager.Statistics statistics : statsCacheManager.getStatistics()) {
+                printStatistics.accept(statistics);
+                printSecondLevel.accept(statistics.getName());
+            }
+            String offHeapFormat = messageSource.getMessage("application.commands.stats.offHeap.format", new Object[0], Locale.getDefault());
+            for (OffHeapCache cache : offHeapCacheManager.getCaches()) {
+                printStatistics.accept(cache.getStatistics());
+                output.println(String.format(offHeapFormat, "", cache.getUsedBytes() / 1024.0, cache.getAllocatedBytes() / 1024.0, cache.getMaximumBytes() / 1024.0, cache.getRejected()));
+            }
+        });
 
-        // quit(애플리케이션 종료) 명령어가 입력되기 전까지 무한히 반복하기(infinite loop)
-        while (running.get()) {
-            try {
-                // 사용자가 입력한 값 읽기
-                output.print("❯ ");
-                output.flush();
-                List<String> arguments = Stream.of(input.readLine().split(" "))
-                                               .map(String::trim)
-                                               .filter(argument -> !argument.isBlank())
-                                               .collect(Collectors.toList());
+        return commandActions;
+    }
 
-                // 명령어 해석 후 실행, 연결된 명령어가 없으면 입력 오류 메시지 출력하기
-                Command command = Command.parse(arguments.isEmpty() ? null : arguments.get(0));
-                Consumer<List<String>> commandAction = commandActions.getOrDefault(command, null);
-                if (Objects.isNull(commandAction)) {
-                    throw new ApplicationException.UndefinedCommandActionException();
-                }
-                commandAction.accept(arguments);
-            } catch (ApplicationException error) {
-                String code = String.format("application.errors.%s", error.getClass().getSimpleName());
-                output.println(messageSource.getMessage(code, new Object[0], error.getMessage(), Locale.getDefault()));
-            } finally {
-                output.flush();
+    /**
+     * movie.warm-up.enabled 가 true 이면, 영화 목록을 불러와 검색 색인을 만들고 대표 명령(movie.warm-up.commands)을 지연 시간이 안정될 때까지 반복 실행한다.
+     * 명령은 검색 결과 캐시를 거치지 않는 MovieFinder로 실행하고 출력은 버리므로, 검색과 출력 코드가 실제로 실행되면서 검색 결과 캐시와 그 통계에는 남지 않는다.
+     */
+    void warmUp(ApplicationContext applicationContext) {
+        Environment environment = applicationContext.getEnvironment();
+        if (!environment.getProperty("movie.warm-up.enabled", Boolean.class, false)) {
+            return;
+        }
+        List<String> commands = List.of(environment.getProperty("movie.warm-up.commands", String[].class, new String[0]));
+        MovieBuddyWarmUp warmUp = new MovieBuddyWarmUp(environment.getProperty("movie.warm-up.iterations", Integer.class, 20),
+                                                       environment.getProperty("movie.warm-up.max-rounds", Integer.class, 50),
+                                                       environment.getProperty("movie.warm-up.stable-rounds", Integer.class, 3),
+                                                       environment.getProperty("movie.warm-up.tolerance", Double.class, 0.1),
+                                                       Duration.ofSeconds(environment.getProperty("movie.warm-up.timeout", Long.class, 10L)));
+
+        long started = System.nanoTime();
+        MovieFinder movieFinder = applicationContext.getBean(MovieFinder.class);
+        int movies = movieFinder.prepare();
+        log.info("movie catalog prepared. [movies: {}, elapsed: {} ms]", movies, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        Object target = AopProxyUtils.getSingletonTarget(movieFinder);
+        MovieFinder uncachedMovieFinder = target instanceof MovieFinder ? (MovieFinder) target : movieFinder;
+        Map<Command, Consumer<List<String>>> commandActions = commandActions(applicationContext, uncachedMovieFinder, new PrintWriter(Writer.nullWriter()), new AtomicBoolean(true));
+        try {
+            MovieBuddyWarmUp.Result result = warmUp.run(commands, command -> execute(commandActions, arguments(command)));
+            log.info("warm-up finished. [elapsed: {} ms, rounds: {}, stable: {}]", result.getElapsed().toMillis(), result.getRounds(), result.isStable());
+            result.getLatencies().forEach((command, latency) -> log.info("steady-state latency: {} us [{}]", TimeUnit.NANOSECONDS.toMicros(latency), command));
+        } catch (RuntimeException error) {
+            // 워밍업은 부가 기능이므로 실패해도 애플리케이션은 계속 시작한다.
+            log.warn("warm-up failed, skipping it. [commands: {}]", commands, error);
+        }
+    }
+
+    /**
+     * 실행 인자에서 일괄 실행할 명령의 위치를 찾는다.
+     *
+     * @return --batch=&lt;path&gt; 이면 파일 경로, --batch 이면 빈 문자열(표준 입력), 둘 다 없으면 null
+     */
+    static String batchSource(String[] args) {
+        return option(args, "--batch");
+    }
+
+    /**
+     * 실행 인자에서 HTTP 서버의 포트를 찾는다.
+     *
+     * @return --server=&lt;port&gt; 이면 포트, --server 이면 빈 문자열(설정한 포트), 둘 다 없으면 null
+     */
+    static String serverPort(String[] args) {
+        return option(args, "--server");
+    }
+
+    /**
+     * 실행 인자에서 바이너리 프로토콜 서버의 포트를 찾는다.
+     *
+     * @return --binary-server=&lt;port&gt; 이면 포트, --binary-server 이면 빈 문자열(설정한 포트), 둘 다 없으면 null
+     */
+    static String binaryServerPort(String[] args) {
+        return option(args, "--binary-server");
+    }
+
+    private static String option(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.equals(name)) {
+                return "";
             }
+            if (arg.startsWith(name + "=")) {
+                return arg.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 명령 실행 중 발생한 오류를 출력할 메시지로 바꾼다. 메시지 코드는 application.errors.{오류 클래스 명} 이다.
+     */
+    static String errorMessage(MessageSource messageSource, ApplicationException error) {
+        String code = String.format("application.errors.%s", error.getClass().getSimpleName());
+        return messageSource.getMessage(code, new Object[0], error.getMessage(), Locale.getDefault());
+    }
+
+    /**
+     * 사용자가 입력한 한 줄을 공백으로 나눈 인자 목록으로 만든다. 첫 번째 인자는 명령어이다.
+     */
+    static List<String> arguments(String line) {
+        return Stream.of(line.split(" "))
+                     .map(String::trim)
+                     .filter(argument -> !argument.isBlank())
+                     .collect(Collectors.toList());
+    }
+
+    /**
+     * 명령어를 해석해 연결된 실행 로직을 실행한다.
+     *
+     * @throws ApplicationException.UndefinedCommandActionException 연결된 명령어가 없을 때
+     */
+    static void execute(Map<Command, Consumer<List<String>>> commandActions, List<String> arguments) {
+        Command command = Command.parse(arguments.isEmpty() ? null : arguments.get(0));
+        Consumer<List<String>> commandAction = commandActions.getOrDefault(command, null);
+        if (Objects.isNull(commandAction)) {
+            throw new ApplicationException.UndefinedCommandActionException();
         }
+        commandAction.accept(arguments);
     }
 
     /**
      * MessageSource는 메시지 국제화(i18n)[=> 다국어 지원] 기능을 제공.
      * 이를 이용해 어플리케이션에서 출력하는 메시지를 다국화할 수 있다.
      */
-    @Bean
+    @Bean(destroyMethod = "close")
     public MessageSource messageSource() {
-        // ReloadableResourceBundleMessageSource -> 지정한 시간 간격마다 메시지 프로퍼티 파일을 다시 로드.
-        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
-        messageSource.setBasename("messages");
-        messageSource.setDefaultEncoding("utf-8");
-        // 프로퍼티 파일의 변경을 감지할 시간 간격을 지정
-        messageSource.setCacheSeconds(5);
-        // 없는 메세지일 경우 예외를 발생시키는 대신 코드를 기본 메세지로 함.
-        //messageSource.setUseCodeAsDefaultMessage(true);
+        // PrecompiledMessageSource -> 시작할 때 메시지 파일을 모두 읽어 미리 해석해 두고, 조회할 때는 잠그거나 시각을 확인하지 않는다.
+        // (ReloadableResourceBundleMessageSource는 조회할 때마다 캐시 시간(5초)이 지났는지 확인하고, 형식을 적용할 때 동기화한다.)
+        PrecompiledMessageSource messageSource = new PrecompiledMessageSource("messages");
+        // 메시지 파일의 변경을 시간 간격마다 확인하는 대신, 파일이 바뀌면 다시 읽도록 감시한다.
+        messageSource.watch();
         return messageSource;
     }
 
@@ -154,7 +520,7 @@ public class MovieBuddyApplication {
      * 사용자 명령어 정의
      */
     enum Command {
-        Quit, DirectedBy, releasedYearBy;
+        Quit, DirectedBy, releasedYearBy, releasedBetween, Stats;
 
         static Command parse(String text) {
             if (Objects.isNull(text)) {
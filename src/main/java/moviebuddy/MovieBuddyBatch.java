@@ -0,0 +1,109 @@
+package moviebuddy;
+
+import moviebuddy.MovieBuddyApplication.Command;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 파일이나 파이프로 받은 명령을 프롬프트 없이 차례로 실행하는 일괄(batch) 실행기.
+ *
+ * 대화형 실행과 달리 명령마다 프롬프트를 출력하거나 출력을 비우지(flush) 않는다. 출력은 호출자가 넘긴 버퍼에 쌓였다가
+ * 버퍼가 가득 찼을 때와 모든 명령을 실행한 후에만 내보내진다. 빈 줄과 '#'으로 시작하는 줄은 건너뛴다.
+ * 잘못된 명령은 대화형 실행과 같은 오류 메시지를 출력하고 다음 명령을 계속 실행하며, quit 명령을 만나면 멈춘다.
+ */
+class MovieBuddyBatch {
+
+    private final Map<Command, Consumer<List<String>>> commandActions;
+    private final AtomicBoolean running;
+    private final Function<ApplicationException, String> errorMessage;
+
+    /**
+     * @param running quit 명령이 false로 바꾸면 남은 명령을 실행하지 않는다.
+     * @param errorMessage 명령 실행 중 발생한 오류를 출력할 메시지로 바꾼다.
+     */
+    MovieBuddyBatch(Map<Command, Consumer<List<String>>> commandActions, AtomicBoolean running, Function<ApplicationException, String> errorMessage) {
+        this.commandActions = Objects.requireNonNull(commandActions);
+        this.running = Objects.requireNonNull(running);
+        this.errorMessage = Objects.requireNonNull(errorMessage);
+    }
+
+    /**
+     * 입력의 명령을 모두 실행하고, 마지막에 한 번 출력을 비운다.
+     *
+     * @return 실행한 명령 수와 걸린 시간
+     */
+    Result run(BufferedReader input, PrintWriter output) throws IOException {
+        long started = System.nanoTime();
+        long commands = 0;
+        long errors = 0;
+        try {
+            String line;
+            while (running.get() && Objects.nonNull(line = input.readLine())) {
+                List<String> arguments = MovieBuddyApplication.arguments(line);
+                if (arguments.isEmpty() || arguments.get(0).startsWith("#")) {
+                    continue;
+                }
+
+                commands++;
+                try {
+                    MovieBuddyApplication.execute(commandActions, arguments);
+                } catch (ApplicationException error) {
+                    errors++;
+                    output.println(errorMessage.apply(error));
+                }
+            }
+        } finally {
+            output.flush();
+        }
+        return new Result(commands, errors, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    /**
+     * 일괄 실행 결과
+     */
+    static class Result {
+
+        private final long commands;
+        private final long errors;
+        private final Duration elapsed;
+
+        Result(long commands, long errors, Duration elapsed) {
+            this.commands = commands;
+            this.errors = errors;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * 실행한 명령 수 (오류가 난 명령 포함)
+         */
+        long getCommands() {
+            return commands;
+        }
+
+        long getErrors() {
+            return errors;
+        }
+
+        Duration getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * 초당 실행한 명령 수
+         */
+        double getThroughput() {
+            long nanos = Math.max(1, elapsed.toNanos());
+            return commands * 1_000_000_000.0 / nanos;
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package moviebuddy;
+
+import moviebuddy.MovieBuddyApplication.Command;
+import moviebuddy.MovieBuddyProtocol.FrameReader;
+import moviebuddy.MovieBuddyProtocol.Output;
+import moviebuddy.domain.Movie;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * MovieBuddyBinaryServer에 연결 하나로 검색 명령을 보내는 클라이언트.
+ *
+ * 요청은 응답을 기다리지 않고 바로 보내며(pipelining), 응답은 별도의 스레드가 읽어 requestId로 찾은 CompletableFuture를 완료한다.
+ * 그래서 여러 스레드가 연결 하나를 함께 사용하거나, 한 스레드가 여러 요청을 이어 보낸 후 결과를 모아 받을 수 있다.
+ * 응답을 받지 못한 요청이 maxInFlight 개이면 다음 요청은 응답이 올 때까지 기다린다.
+ *
+ * 반환한 CompletableFuture의 후속 작업은 응답을 읽는 스레드에서 실행되므로, 오래 걸리는 작업은 다른 실행기(async)로 넘겨야 한다.
+ * 서버가 오류로 응답하면 ApplicationException(InvalidCommandArgumentsException, UndefinedCommandActionException)으로 완료된다.
+ */
+public class MovieBuddyBinaryClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private final Semaphore inFlight;
+    private final ConcurrentMap<Integer, CompletableFuture<List<Movie>>> responses = new ConcurrentHashMap<>();
+    private final Output output = new Output(1024);
+    private final Thread reader;
+
+    private int nextRequestId;
+    private volatile boolean closed;
+
+    /**
+     * 서버에 연결한다.
+     *
+     * @param maxInFlight 응답을 기다릴 수 있는 최대 요청 수
+     */
+    public MovieBuddyBinaryClient(InetSocketAddress address, int maxInFlight) throws IOException {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive. [" + maxInFlight + "]");
+        }
+        this.channel = SocketChannel.open(address);
+        this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.reader = new Thread(this::readResponses, "movie-buddy-binary-client-" + channel.getLocalAddress());
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+    public CompletableFuture<List<Movie>> directedBy(String director) {
+        return send(Command.DirectedBy, Map.of("director", director));
+    }
+
+    public CompletableFuture<List<Movie>> releasedYearBy(int year) {
+        return send(Command.releasedYearBy, Map.of("year", String.valueOf(year)));
+    }
+
+    public CompletableFuture<List<Movie>> releasedBetween(int fromYear, int toYear) {
+        return send(Command.releasedBetween, Map.of("from", String.valueOf(fromYear), "to", String.valueOf(toYear)));
+    }
+
+    /**
+     * 명령을 보낸다. 인자는 HTTP 서버의 질의 문자열과 같은 이름과 값이다.
+     */
+    CompletableFuture<List<Movie>> send(Command command, Map<String, String> parameters) {
+        CompletableFuture<List<Movie>> response = new CompletableFuture<>();
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            response.completeExceptionally(error);
+            return response;
+        }
+
+        synchronized (output) {
+            if (closed) {
+                inFlight.release();
+                response.completeExceptionally(new ApplicationException("connection is closed."));
+                return response;
+            }
+            int requestId = nextRequestId++;
+            responses.put(requestId, response);
+            try {
+                MovieBuddyProtocol.writeRequest(output, requestId, command, parameters);
+                while (output.pending() > 0) {
+                    output.flushed(channel.write(output.pendingBuffer()));
+                }
+            } catch (IOException | RuntimeException error) {
+                output.clear();
+                if (Objects.nonNull(responses.remove(requestId))) {
+                    inFlight.release();
+                }
+                response.completeExceptionally(error instanceof IOException ? new ApplicationException("failed to send request.", error) : error);
+            }
+        }
+        return response;
+    }
+
+    private void readResponses() {
+        FrameReader frames = new FrameReader(64 * 1024, MovieBuddyProtocol.MAX_RESPONSE_BYTES);
+        Throwable failure = null;
+        try {
+            while (channel.read(frames.writableBuffer()) >= 0) {
+                frames.flip();
+                ByteBuffer frame;
+                while (Objects.nonNull(frame = frames.next())) {
+                    CompletableFuture<List<Movie>> response = responses.remove(frame.getInt());
+                    if (Objects.isNull(response)) {
+                        continue;
+                    }
+                    inFlight.release();
+                    try {
+                        response.complete(MovieBuddyProtocol.readMovies(frame));
+                    } catch (RuntimeException error) {
+                        response.completeExceptionally(error);
+                    }
+                }
+                frames.compact();
+            }
+        } catch (IOException | RuntimeException error) {
+            failure = error;
+        } finally {
+            // 닫힌 후에는 요청을 더 등록하지 않도록, 보내는 쪽과 같은 잠금 안에서 표시한다.
+            synchronized (output) {
+                closed = true;
+            }
+            ApplicationException error = new ApplicationException("connection is closed.", failure);
+            for (Integer requestId : responses.keySet()) {
+                CompletableFuture<List<Movie>> response = responses.remove(requestId);
+                if (Objects.nonNull(response)) {
+                    inFlight.release();
+                    response.completeExceptionally(error);
+                }
+            }
+            try {
+                channel.close();
+            } catch (IOException ignore) {
+                // 닫는 중의 오류는 무시한다.
+            }
+        }
+    }
+
+    /**
+     * 연결을 닫는다. 응답을 받지 못한 요청은 ApplicationException으로 완료된다.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+        try {
+            reader.join();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,394 @@
+package moviebuddy;
+
+import moviebuddy.MovieBuddyApplication.Command;
+import moviebuddy.MovieBuddyProtocol.FrameReader;
+import moviebuddy.MovieBuddyProtocol.Output;
+import moviebuddy.domain.Movie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 영화 검색 명령을 MovieBuddyProtocol(길이 접두 바이너리 프로토콜)로 제공하는 서버.
+ *
+ * - 이벤트 루프(스레드)마다 Selector 하나로 여러 연결을 논블로킹으로 처리한다. 첫 번째 이벤트 루프가 연결을 수락하고, 연결은 이벤트 루프에 차례로 나눠 맡긴다.
+ * - 읽어 들인 요청은 받은 순서대로 이벤트 루프에서 바로 검색하고, 응답을 연결의 출력 버퍼에 이어 기록한 후 한 번에 내보낸다.
+ *   그래서 한 연결에서 응답을 기다리지 않고 보낸 요청(pipelining)은 한 번의 읽기와 쓰기로 처리된다.
+ * - 내보내지 못한 응답이 maxPendingBytes를 넘으면 이미 읽어 들인 요청도 처리를 멈추고, 응답을 내보내 그 아래로 줄 때까지 그 연결의 요청을 더 읽지 않는다.
+ *   그래서 클라이언트가 응답을 읽지 않아도 연결마다 쌓이는 응답은 maxPendingBytes와 가장 큰 응답 하나를 더한 크기를 넘지 않는다.
+ * - 검색은 이벤트 루프 스레드에서 실행하므로, 검색이 오래 걸리면 그 이벤트 루프가 맡은 모든 연결이 함께 기다린다.
+ *   영화 목록을 처음 불러오거나 다시 불러오는 검색(원격 메타데이터의 변경 확인 포함)이 그렇기 때문에, 애플리케이션은 서버를 시작하기 전에 영화 목록을 미리 불러온다.
+ *   검색 결과 캐시로 대부분의 검색이 짧게 끝난다는 전제이며, 오래 걸리는 검색이 잦으면 event-loops를 늘려 영향을 받는 연결을 나눈다.
+ * - 잘못된 인자는 INVALID_ARGUMENTS, 없는 명령은 UNDEFINED_COMMAND로 응답하며, 메시지는 콘솔과 같은 오류 메시지이다.
+ *   frame의 길이가 잘못되었거나 MAX_REQUEST_BYTES를 넘으면 연결을 끊는다.
+ */
+class MovieBuddyBinaryServer {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final Map<Command, Function<Map<String, String>, List<Movie>>> queries;
+    private final Function<ApplicationException, String> errorMessage;
+    private final int eventLoops;
+    private final int maxPendingBytes;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private ServerSocketChannel serverChannel;
+    private List<EventLoop> loops;
+
+    /**
+     * @param queries 명령별 검색, 요청의 인자를 받아 검색 결과를 반환한다.
+     * @param errorMessage 검색 중 발생한 오류를 응답할 메시지로 바꾼다.
+     * @param eventLoops 이벤트 루프(스레드) 수
+     * @param maxPendingBytes 연결마다 내보내지 못한 응답의 최대 크기, 넘으면 요청을 더 읽지 않는다.
+     */
+    MovieBuddyBinaryServer(Map<Command, Function<Map<String, String>, List<Movie>>> queries, Function<ApplicationException, String> errorMessage, int eventLoops, int maxPendingBytes) {
+        if (eventLoops < 1 || maxPendingBytes < 1) {
+            throw new IllegalArgumentException(String.format("eventLoops and maxPendingBytes must be positive. [eventLoops: %d, maxPendingBytes: %d]", eventLoops, maxPendingBytes));
+        }
+        this.queries = Objects.requireNonNull(queries);
+        this.errorMessage = Objects.requireNonNull(errorMessage);
+        this.eventLoops = eventLoops;
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    /**
+     * 지정한 주소에서 연결을 받기 시작한다.
+     *
+     * @param backlog 수락을 기다릴 수 있는 연결 수, 0 이하면 시스템 기본값
+     */
+    synchronized void start(InetSocketAddress address, int backlog) throws IOException {
+        if (Objects.nonNull(serverChannel)) {
+            throw new IllegalStateException("server is already started.");
+        }
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        List<EventLoop> loops = new ArrayList<>();
+        try {
+            serverChannel.bind(address, backlog);
+            serverChannel.configureBlocking(false);
+            for (int index = 0; index < eventLoops; index++) {
+                loops.add(new EventLoop(index + 1, loops));
+            }
+            serverChannel.register(loops.get(0).selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException error) {
+            serverChannel.close();
+            for (EventLoop loop : loops) {
+                loop.selector.close();
+            }
+            throw error;
+        }
+        this.serverChannel = serverChannel;
+        this.loops = loops;
+        loops.forEach(EventLoop::start);
+        log.info("movie buddy binary server started. [address: {}, eventLoops: {}, maxPendingBytes: {}]", getAddress(), eventLoops, maxPendingBytes);
+    }
+
+    /**
+     * 새 연결을 받지 않고, 모든 연결을 닫은 후 멈춘다.
+     */
+    synchronized void stop() {
+        if (Objects.isNull(serverChannel)) {
+            return;
+        }
+        try {
+            serverChannel.close();
+        } catch (IOException error) {
+            log.warn("failed to close server channel.", error);
+        }
+        for (EventLoop loop : loops) {
+            loop.shutdown();
+        }
+        for (EventLoop loop : loops) {
+            try {
+                loop.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        serverChannel = null;
+        loops = null;
+        terminated.countDown();
+        log.info("movie buddy binary server stopped.");
+    }
+
+    /**
+     * stop()이 호출될 때까지 기다린다.
+     */
+    void awaitTermination() throws InterruptedException {
+        terminated.await();
+    }
+
+    /**
+     * 연결을 받는 주소, 포트를 0으로 지정했으면 실제로 할당된 포트를 담고 있다.
+     */
+    synchronized InetSocketAddress getAddress() {
+        if (Objects.isNull(serverChannel)) {
+            throw new IllegalStateException("server is not started.");
+        }
+        try {
+            return (InetSocketAddress) serverChannel.getLocalAddress();
+        } catch (IOException error) {
+            throw new ApplicationException("failed to get server address.", error);
+        }
+    }
+
+    /**
+     * 요청 하나를 처리해 응답을 기록한다.
+     */
+    void handle(ByteBuffer frame, Output output) {
+        int requestId = frame.getInt();
+        try {
+            Command command = frame.hasRemaining() ? MovieBuddyProtocol.command(frame.get()) : null;
+            Function<Map<String, String>, List<Movie>> query = Objects.nonNull(command) ? queries.get(command) : null;
+            if (Objects.isNull(query)) {
+                throw new ApplicationException.UndefinedCommandActionException();
+            }
+            MovieBuddyProtocol.writeMovies(output, requestId, query.apply(MovieBuddyProtocol.readParameters(frame)));
+        } catch (ApplicationException.UndefinedCommandActionException | ApplicationException.CommandNotFoundException error) {
+            MovieBuddyProtocol.writeError(output, requestId, MovieBuddyProtocol.UNDEFINED_COMMAND, errorMessage.apply(error));
+        } catch (ApplicationException error) {
+            MovieBuddyProtocol.writeError(output, requestId, MovieBuddyProtocol.INVALID_ARGUMENTS, errorMessage.apply(error));
+        } catch (RuntimeException error) {
+            log.warn("failed to handle request. [requestId: {}]", requestId, error);
+            MovieBuddyProtocol.writeError(output, requestId, MovieBuddyProtocol.SERVER_ERROR, error.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Selector 하나로 여러 연결을 처리하는 스레드
+     */
+    private class EventLoop extends Thread {
+
+        final Selector selector;
+        final List<EventLoop> loops;
+        final Queue<SocketChannel> accepted = new ConcurrentLinkedQueue<>();
+
+        volatile boolean running = true;
+        int next;
+
+        EventLoop(int id, List<EventLoop> loops) throws IOException {
+            super("movie-buddy-binary-server-" + id);
+            setDaemon(true);
+            this.selector = Selector.open();
+            this.loops = loops;
+        }
+
+        void shutdown() {
+            running = false;
+            selector.wakeup();
+        }
+
+        void assign(SocketChannel channel) {
+            accepted.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    registerAccepted();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept((ServerSocketChannel) key.channel());
+                            continue;
+                        }
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.write();
+                        }
+                    }
+                }
+            } catch (IOException | ClosedSelectorException error) {
+                if (running) {
+                    log.warn("event loop stopped unexpectedly. [{}]", getName(), error);
+                }
+            } finally {
+                closeAll();
+            }
+        }
+
+        private void accept(ServerSocketChannel serverChannel) {
+            SocketChannel channel;
+            try {
+                while (Objects.nonNull(channel = serverChannel.accept())) {
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    EventLoop loop = loops.get(next++ % loops.size());
+                    if (loop == this) {
+                        register(channel);
+                    } else {
+                        loop.assign(channel);
+                    }
+                }
+            } catch (IOException error) {
+                log.warn("failed to accept connection.", error);
+            }
+        }
+
+        private void registerAccepted() {
+            SocketChannel channel;
+            while (Objects.nonNull(channel = accepted.poll())) {
+                register(channel);
+            }
+        }
+
+        private void register(SocketChannel channel) {
+            try {
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new Connection(channel, key));
+            } catch (IOException error) {
+                log.debug("failed to register connection.", error);
+                closeQuietly(channel);
+            }
+        }
+
+        private void closeAll() {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            accepted.forEach(MovieBuddyBinaryServer::closeQuietly);
+            closeQuietly(selector);
+        }
+    }
+
+    /**
+     * 연결 하나의 입출력 버퍼, 연결을 맡은 이벤트 루프에서만 사용한다.
+     */
+    private class Connection {
+
+        final SocketChannel channel;
+        final SelectionKey key;
+        final FrameReader frames = new FrameReader(8 * 1024, MovieBuddyProtocol.MAX_REQUEST_BYTES);
+        final Output output = new Output(64 * 1024);
+
+        // 응답이 maxPendingBytes를 넘어 처리하지 않은 요청이 입력 버퍼에 남아 있는지 여부
+        boolean backlogged;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void read() {
+            try {
+                if (channel.read(frames.writableBuffer()) < 0) {
+                    close();
+                    return;
+                }
+            } catch (IOException error) {
+                log.debug("connection closed while reading. [{}]", channel, error);
+                close();
+                return;
+            }
+            if (handleFrames()) {
+                write();
+            }
+        }
+
+        /**
+         * 입력 버퍼에 모인 요청을 받은 순서대로 처리한다. 내보내지 못한 응답이 maxPendingBytes를 넘으면 남은 요청은 입력 버퍼에 둔 채 멈춘다.
+         *
+         * @return 연결이 열려 있으면 true, frame이 잘못되어 연결을 끊었으면 false
+         */
+        boolean handleFrames() {
+            frames.flip();
+            try {
+                ByteBuffer frame = null;
+                while (output.pending() <= maxPendingBytes && Objects.nonNull(frame = frames.next())) {
+                    handle(frame, output);
+                }
+                backlogged = Objects.nonNull(frame);
+                return true;
+            } catch (ApplicationException error) {
+                // frame의 길이가 잘못되면 이후 frame의 경계를 알 수 없으므로, 앞선 요청의 응답을 내보낼 수 있는 만큼 내보낸 후 연결을 끊는다.
+                log.debug("invalid frame, closing connection. [{}]", channel, error);
+                try {
+                    channel.write(output.pendingBuffer());
+                } catch (IOException ignore) {
+                    // 어차피 연결을 끊으므로 무시한다.
+                }
+                close();
+                return false;
+            } finally {
+                frames.compact();
+            }
+        }
+
+        void write() {
+            try {
+                flush();
+                // 응답을 내보내 maxPendingBytes 아래로 줄었으면, 새로 읽기 전에 입력 버퍼에 남겨 둔 요청부터 처리한다.
+                while (backlogged && output.pending() <= maxPendingBytes) {
+                    if (!handleFrames()) {
+                        return;
+                    }
+                    flush();
+                }
+            } catch (IOException error) {
+                log.debug("connection closed while writing. [{}]", channel, error);
+                close();
+                return;
+            }
+
+            // 내보내지 못한 응답이 남아 있으면 쓸 수 있을 때 다시 내보내고, 남겨 둔 요청이 있거나 응답이 너무 많으면 요청을 더 읽지 않는다.
+            int pending = output.pending();
+            int interestOps = (pending > 0 ? SelectionKey.OP_WRITE : 0) | (backlogged || pending > maxPendingBytes ? 0 : SelectionKey.OP_READ);
+            if (key.isValid() && key.interestOps() != interestOps) {
+                key.interestOps(interestOps);
+            }
+        }
+
+        private void flush() throws IOException {
+            while (output.pending() > 0) {
+                int written = channel.write(output.pendingBuffer());
+                if (written == 0) {
+                    break;
+                }
+                output.flushed(written);
+            }
+        }
+
+        void close() {
+            key.cancel();
+            closeQuietly(channel);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignore) {
+            // 닫는 중의 오류는 무시한다.
+        }
+    }
+
+}
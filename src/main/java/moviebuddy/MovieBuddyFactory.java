@@ -1,14 +1,40 @@
 package moviebuddy;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import moviebuddy.cache.CacheLoaderErrorHandler;
+import moviebuddy.cache.MovieCatalogCacheLoader;
+import moviebuddy.cache.MovieCatalogDiskCache;
+import moviebuddy.cache.MovieQueryKeyGenerator;
+import moviebuddy.cache.OffHeapCacheManager;
+import moviebuddy.cache.StatsCaffeineCacheManager;
+import moviebuddy.cache.TwoLevelCacheManager;
+import moviebuddy.domain.MovieCatalogChangedEvent;
+import moviebuddy.domain.MovieFinder;
+import moviebuddy.domain.MovieReader;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.cache.interceptor.*;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.cache.jcache.config.JCacheConfigurer;
+import org.springframework.cache.support.CompositeCacheManager;
 import org.springframework.context.annotation.*;
-import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,32 +52,154 @@ import java.util.concurrent.TimeUnit;
 // CachingConfigurer interface is to be implemented by @Configuration classes annotated with @EnableCaching.
 // It provides various methods to configure or customize caching abstraction.
 // CachingConfigurer 인터페이스는 @EnableCaching 주석이 달린 @Configuration 클래스에 의해 구현된다. 캐싱 추상화를 구성하거나 사용자 정의하는 다양한 방법을 제공한다.
-public class MovieBuddyFactory implements CachingConfigurer {
+// JCacheConfigurer 는 CachingConfigurer 를 확장해, JSR-107 애노테이션(@CacheResult 등)을 처리하는 스프링 JCache 지원에도 같은 구성을 사용한다.
+public class MovieBuddyFactory implements JCacheConfigurer {
 
-    @Bean  // Jaxb2Marshaller : JAXB를 이용해 마샬링,언마샬링을 해주는 스프링의 OXM 모듈 구현체
-    public Jaxb2Marshaller jaxb2Marshaller() {
-        Jaxb2Marshaller marshaller = new Jaxb2Marshaller();
-        // 스프링의 자동 클래스 탐지와 유사하게 지정된 패키지에서 XML을 자바 객체로 변환 시 사용할 클래스를 찾아서 사용을 할 수 있음.
-        marshaller.setPackagesToScan("moviebuddy");
-        return marshaller;
+    // CachingConfigurer 는 캐시 인프라 빈과 함께 일찍 만들어져 @Value 자리표시자가 아직 해석되지 않으므로, Environment 에서 설정을 직접 읽는다.
+    @Autowired
+    private Environment environment;
+
+    // 캐시 프락시가 MovieReader 빈에 적용되므로, 캐시 로더는 MovieReader 빈을 필요한 시점에 찾는다.
+    @Autowired
+    private ObjectProvider<MovieReader> movieReaders;
+
+    /**
+     * JSR-107 캐시 관리자. Caffeine의 JCache 구현(CaffeineCachingProvider)으로 @CacheResult 가 사용하는 영화 목록 캐시("movies")를 만든다.
+     * 캐시는 크기 상한과 만료 시간을 가지며, 통계는 JCache 표준 MXBean으로 기록해 stats 명령으로 확인할 수 있다.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheManager() {
+        // 영화 목록 캐시 설정 (초 단위), refresh-after-write 값이 0이면 만료 후 다음 호출자가 직접 다시 불러온다.
+        long refreshAfterWrite = environment.getProperty("movie.cache.refresh-after-write", Long.class, 3L);
+        long expireAfterWrite = environment.getProperty("movie.cache.expire-after-write", Long.class, 300L);
+        long maximumSize = environment.getProperty("movie.cache.maximum-size", Long.class, 1L);
+
+        // 같은 URI의 CacheManager는 JVM 안에서 공유되므로, 애플리케이션 컨텍스트마다 고유한 URI로 만든다.
+        CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        javax.cache.CacheManager cacheManager = cachingProvider.getCacheManager(URI.create("moviebuddy-" + UUID.randomUUID()), cachingProvider.getDefaultClassLoader());
+
+        // 영화 목록 캐시는 만료를 기다리지 않고 백그라운드에서 메타데이터 변경을 확인해, 바뀌었을 때만 다시 불러온다. (refresh-ahead)
+        movieCatalogCacheLoader().createJCache(cacheManager, refreshAfterWrite, expireAfterWrite, TimeUnit.SECONDS, maximumSize, movieCacheRefreshExecutor(), Ticker.systemTicker());
+        return cacheManager;
+    }
+
+    /**
+     * 영화 목록 캐시("movies")의 로더. 불러오기 통계를 stats 명령으로 확인할 수 있도록 빈으로 등록한다.
+     */
+    @Bean
+    public MovieCatalogCacheLoader movieCatalogCacheLoader() {
+        return new MovieCatalogCacheLoader(movieReaders::getObject);
     }
 
     @Bean
-    public CaffeineCacheManager caffeineCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(3, TimeUnit.SECONDS));
+    public JCacheCacheManager jCacheCacheManager() {
+        return new JCacheCacheManager(jCacheManager());
+    }
+
+    /**
+     * JCache 로 만들지 않은 캐시(검색 결과 캐시, CachingAspect 가 만드는 캐시 등)의 관리자.
+     * 모든 캐시는 통계(적중률, 불러오기 시간, 제거 수 등)를 기록하며, stats 명령으로 확인할 수 있다.
+     */
+    @Bean
+    public StatsCaffeineCacheManager caffeineCacheManager() {
+        long expireAfterWrite = environment.getProperty("movie.cache.expire-after-write", Long.class, 300L);
+
+        StatsCaffeineCacheManager cacheManager = new StatsCaffeineCacheManager(() -> Caffeine.newBuilder().expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS));
+        // 검색 결과 캐시를 힙 바깥에 두면 offHeapCacheManager 가 만든다.
+        if (isOffHeapQueryCache()) {
+            return cacheManager;
+        }
+
+        // 검색 결과 캐시는 결과에 담긴 영화 수를 무게로 삼아, 무게의 합이 maximum-weight 를 넘으면 오래 쓰지 않은 결과부터 제거한다.
+        long queryCacheMaximumWeight = environment.getProperty("movie.query-cache.maximum-weight", Long.class, 100_000L);
+        cacheManager.registerCustomCache(MovieFinder.QUERY_CACHE_NAME, Caffeine.newBuilder()
+                .maximumWeight(queryCacheMaximumWeight)
+                .weigher((Object key, Object value) -> value instanceof Collection ? ((Collection<?>) value).size() + 1 : 1)
+                .recordStats(cacheManager.statsCounter(MovieFinder.QUERY_CACHE_NAME))
+                .build());
 
         return cacheManager;
     }
 
+    /**
+     * 힙 바깥 캐시 관리자. off-heap 설정을 켜면 검색 결과 캐시를 직렬화해 힙 바깥 슬랩에 저장한다.
+     * 큰 검색 결과가 old 영역에 쌓이지 않는 대신, 조회할 때마다 결과를 해석해 새 영화 목록을 만든다.
+     */
+    @Bean
+    public OffHeapCacheManager offHeapCacheManager() {
+        long expireAfterWrite = environment.getProperty("movie.cache.expire-after-write", Long.class, 300L);
+        long maximumBytes = environment.getProperty("movie.query-cache.off-heap.maximum-bytes", Long.class, 64L * 1024 * 1024);
+        int blockBytes = environment.getProperty("movie.query-cache.off-heap.block-bytes", Integer.class, 512);
+        int maximumEntryBytes = environment.getProperty("movie.query-cache.off-heap.maximum-entry-bytes", Integer.class, 4 * 1024 * 1024);
+
+        List<String> cacheNames = isOffHeapQueryCache() ? List.of(MovieFinder.QUERY_CACHE_NAME) : List.of();
+        return new OffHeapCacheManager(cacheNames, () -> Caffeine.newBuilder().expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS), maximumBytes, blockBytes, maximumEntryBytes);
+    }
+
+    private boolean isOffHeapQueryCache() {
+        return environment.getProperty("movie.query-cache.off-heap", Boolean.class, false);
+    }
+
+    @Bean
+    public KeyGenerator movieQueryKeyGenerator() {
+        return new MovieQueryKeyGenerator();
+    }
+
+    /**
+     * 영화 목록이 다시 불러와지면 이전 목록으로 만든 검색 결과를 모두 비운다.
+     * 캐시 키에 영화 목록의 버전이 포함되어 있어 이전 결과가 조회되지는 않지만, 이전 영화 목록을 붙잡고 있지 않도록 바로 정리한다.
+     */
+    @EventListener
+    public void evictMovieQueries(MovieCatalogChangedEvent event) {
+        Cache queryCache = cacheManager().getCache(MovieFinder.QUERY_CACHE_NAME);
+        if (Objects.nonNull(queryCache)) {
+            queryCache.clear();
+        }
+    }
+
+    /**
+     * 영화 목록 캐시를 백그라운드에서 다시 불러오는 실행기. 대기열이 가득 차면 이번 갱신은 건너뛰고 다음 호출 때 다시 시도한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor movieCacheRefreshExecutor() {
+        int refreshThreads = environment.getProperty("movie.cache.refresh-threads", Integer.class, 1);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(refreshThreads);
+        executor.setMaxPoolSize(refreshThreads);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("movie-cache-refresh-");
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    /**
+     * 캐시 관리자. JCache 캐시, 힙 바깥 캐시 순으로 찾고, 없으면 Caffeine 캐시를 사용한다.
+     * disk-directory 가 지정되어 있으면 영화 목록 캐시 뒤에 디스크 캐시(L2)를 두어, 다시 시작해도 원본을 다시 해석하지 않는다.
+     */
+    @Bean
     @Override
     public CacheManager cacheManager() {
-        return caffeineCacheManager();
+        CacheManager cacheManager = new CompositeCacheManager(jCacheCacheManager(), offHeapCacheManager(), caffeineCacheManager());
+
+        String diskDirectory = environment.getProperty("movie.cache.disk-directory", "");
+        if (diskDirectory.isBlank()) {
+            return cacheManager;
+        }
+
+        MovieCatalogDiskCache diskCache = new MovieCatalogDiskCache(MovieCatalogCacheLoader.CACHE_NAME, Path.of(diskDirectory), movieReaders::getObject);
+        return new TwoLevelCacheManager(cacheManager, List.of(diskCache));
     }
 
     @Override
     public CacheResolver cacheResolver() {
-        return new SimpleCacheResolver(caffeineCacheManager());
+        return new SimpleCacheResolver(cacheManager());
+    }
+
+    // @CacheResult 의 예외 캐시(exceptionCacheName)는 사용하지 않으므로, null을 반환해 기본 구성을 따른다.
+    @Override
+    public CacheResolver exceptionCacheResolver() {
+        return null;
     }
 
     @Override
@@ -61,7 +209,7 @@ public class MovieBuddyFactory implements CachingConfigurer {
 
     @Override
     public CacheErrorHandler errorHandler() {
-        return new SimpleCacheErrorHandler();
+        return new CacheLoaderErrorHandler();
     }
 
     @Configuration
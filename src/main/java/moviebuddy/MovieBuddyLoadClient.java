@@ -0,0 +1,169 @@
+package moviebuddy;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP 서버(--server)에 요청을 보내 처리량과 지연 시간(p50, p99)을 측정하는 명령행 도구.
+ *
+ * <pre>
+ * ❯ java -cp ... moviebuddy.MovieBuddyLoadClient "http://127.0.0.1:8080/directedBy?director=Michael%20Bay,http://127.0.0.1:8080/releasedYearBy?year=2015" 16 100000
+ * </pre>
+ *
+ * 동시 요청 수(concurrency)만큼의 스레드가 각자 응답을 받은 후 다음 요청을 보내며, 주소가 여럿이면 차례로 돌아가며 요청한다.
+ * 연결은 keep-alive로 다시 사용한다. 측정 전에 요청 수의 10%를 먼저 보내 서버와 클라이언트를 준비시키며, 이 요청은 결과에 포함하지 않는다.
+ * 2xx 이외의 응답이나 요청 실패는 오류로 센다.
+ */
+public class MovieBuddyLoadClient {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("usage: MovieBuddyLoadClient <url>[,<url>...] [concurrency (default: 16)] [requests (default: 100000)]");
+            System.exit(1);
+        }
+        List<URI> targets = new ArrayList<>();
+        for (String url : args[0].split(",")) {
+            targets.add(URI.create(url.trim()));
+        }
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+        HttpClient httpClient = newHttpClient();
+        Result result = run(httpClient, targets, concurrency, requests / 10);
+        System.out.printf("warm-up: %d requests (%d errors)%n", result.getRequests(), result.getErrors());
+        result = run(httpClient, targets, concurrency, requests);
+        System.out.printf("%d requests (%d errors) in %d ms with %d connections, %.1f requests/s, p50: %d us, p99: %d us, max: %d us%n",
+                result.getRequests(), result.getErrors(), result.getElapsed().toMillis(), concurrency, result.getThroughput(),
+                TimeUnit.NANOSECONDS.toMicros(result.getLatency(0.5)), TimeUnit.NANOSECONDS.toMicros(result.getLatency(0.99)), TimeUnit.NANOSECONDS.toMicros(result.getLatency(1.0)));
+    }
+
+    /**
+     * HTTP/1.1로 요청하고 연결을 다시 사용하는 클라이언트를 만든다.
+     */
+    public static HttpClient newHttpClient() {
+        return HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * 동시에 concurrency 개씩, 모두 requests 개의 요청을 보낸다.
+     */
+    public static Result run(HttpClient httpClient, List<URI> targets, int concurrency, int requests) throws Exception {
+        if (targets.isEmpty() || concurrency < 1 || requests < 0) {
+            throw new IllegalArgumentException(String.format("invalid load test. [targets: %s, concurrency: %d, requests: %d]", targets, concurrency, requests));
+        }
+        List<HttpRequest> httpRequests = new ArrayList<>();
+        for (URI target : targets) {
+            httpRequests.add(HttpRequest.newBuilder(target).timeout(Duration.ofSeconds(30)).GET().build());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            AtomicLong errors = new AtomicLong();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                // 요청 수를 스레드마다 고르게 나눈다.
+                int count = requests / concurrency + (worker < requests % concurrency ? 1 : 0);
+                int offset = worker;
+                results.add(executor.submit(() -> {
+                    long[] latencies = new long[count];
+                    start.await();
+                    for (int index = 0; index < count; index++) {
+                        HttpRequest httpRequest = httpRequests.get((offset + index) % httpRequests.size());
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException error) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - started;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long started = System.nanoTime();
+            start.countDown();
+            long[] latencies = new long[0];
+            for (Future<long[]> result : results) {
+                long[] worker = result.get();
+                int length = latencies.length;
+                latencies = Arrays.copyOf(latencies, length + worker.length);
+                System.arraycopy(worker, 0, latencies, length, worker.length);
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            Arrays.sort(latencies);
+            return new Result(errors.get(), elapsed, latencies);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 부하 측정 결과
+     */
+    public static class Result {
+
+        private final long errors;
+        private final Duration elapsed;
+
+        // 정렬한 요청별 지연 시간(ns)
+        private final long[] latencies;
+
+        Result(long errors, Duration elapsed, long[] latencies) {
+            this.errors = errors;
+            this.elapsed = elapsed;
+            this.latencies = latencies;
+        }
+
+        /**
+         * 보낸 요청 수 (오류 포함)
+         */
+        public long getRequests() {
+            return latencies.length;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public Duration getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * 초당 처리한 요청 수
+         */
+        public double getThroughput() {
+            return latencies.length * 1_000_000_000.0 / Math.max(1, elapsed.toNanos());
+        }
+
+        /**
+         * 지정한 백분위(0.5: p50, 0.99: p99, 1.0: 최대)의 지연 시간(ns), 요청이 없으면 0
+         */
+        public long getLatency(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return latencies[Math.min(latencies.length - 1, Math.max(0, index))];
+        }
+    }
+
+}
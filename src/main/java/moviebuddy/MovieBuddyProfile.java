@@ -4,6 +4,7 @@ public class MovieBuddyProfile {
 
     public static final String CSV_MODE = "csv_mode";
     public static final String XML_MODE = "xml_mode";
+    public static final String BINARY_MODE = "binary_mode";
 
     // 객체 생성하지 않도록, 생성자를 private으로 숨기기
     private MovieBuddyProfile() {}
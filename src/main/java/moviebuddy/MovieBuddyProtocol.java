@@ -0,0 +1,509 @@
+package moviebuddy;
+
+import moviebuddy.MovieBuddyApplication.Command;
+import moviebuddy.domain.Movie;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 영화 검색 명령을 주고받는 길이 접두(length-prefixed) 바이너리 프로토콜. MovieBuddyBinaryServer와 MovieBuddyBinaryClient가 사용한다.
+ *
+ * <pre>
+ * frame    : length(int, 이후 바이트 수) requestId(int) body
+ * request  : command(byte) parameterCount(varint) [ name(string) value(string) ]...
+ * response : status(byte) (OK: count(varint) [ movie ]... | 그 외: message(string))
+ * movie    : title genreCount(varint) genre... language country releaseYear(varint) director actorCount(varint) actor...
+ *            imdbLink watchedDate(zigzag varint, epoch day)
+ * string   : 0(null) 또는 UTF-8 바이트 수 + 1(varint), UTF-8 바이트
+ * </pre>
+ *
+ * - 요청의 인자는 HTTP 서버의 질의 문자열과 같은 이름과 값이다. (ex. directedBy: director, releasedYearBy: year)
+ * - 응답은 요청 순서대로 오고 requestId를 그대로 돌려주므로, 한 연결에서 응답을 기다리지 않고 여러 요청을 이어 보낼 수 있다. (pipelining)
+ * - 응답의 문자열은 영화 목록의 문자열에서 바로 UTF-8로 기록하므로, 인코딩한 바이트 배열이나 중간 문자열을 만들지 않는다.
+ */
+final class MovieBuddyProtocol {
+
+    // 요청 하나의 최대 크기, 넘으면 연결을 끊는다.
+    static final int MAX_REQUEST_BYTES = 64 * 1024;
+    // 응답 하나의 최대 크기, 넘으면 클라이언트가 연결을 끊는다.
+    static final int MAX_RESPONSE_BYTES = 256 * 1024 * 1024;
+
+    static final byte OK = 0;
+    static final byte INVALID_ARGUMENTS = 1;
+    static final byte UNDEFINED_COMMAND = 2;
+    static final byte SERVER_ERROR = 3;
+
+    // 명령 코드, 값을 바꾸면 이전 클라이언트와 호환되지 않으므로 새 명령은 새 코드를 추가한다.
+    private static final Map<Command, Byte> COMMAND_CODES = Map.of(Command.DirectedBy, (byte) 1, Command.releasedYearBy, (byte) 2, Command.releasedBetween, (byte) 3);
+    private static final Command[] COMMANDS = new Command[128];
+
+    static {
+        COMMAND_CODES.forEach((command, code) -> COMMANDS[code] = command);
+    }
+
+    private MovieBuddyProtocol() {
+    }
+
+    /**
+     * 명령 코드, 프로토콜로 제공하지 않는 명령이면 IllegalArgumentException이 발생한다.
+     */
+    static byte commandCode(Command command) {
+        Byte code = COMMAND_CODES.get(command);
+        if (Objects.isNull(code)) {
+            throw new IllegalArgumentException("command is not supported by the protocol. [" + command + "]");
+        }
+        return code;
+    }
+
+    /**
+     * 명령 코드에 해당하는 명령, 없으면 null
+     */
+    static Command command(byte code) {
+        return code > 0 ? COMMANDS[code] : null;
+    }
+
+    /**
+     * 요청 frame 하나를 기록한다.
+     */
+    static void writeRequest(Output output, int requestId, Command command, Map<String, String> parameters) {
+        int start = output.beginFrame(requestId);
+        output.writeByte(commandCode(command));
+        output.writeVarint(parameters.size());
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            output.writeString(parameter.getKey());
+            output.writeString(parameter.getValue());
+        }
+        output.endFrame(start);
+    }
+
+    /**
+     * 영화 목록 응답 frame 하나를 기록한다.
+     */
+    static void writeMovies(Output output, int requestId, List<Movie> movies) {
+        int start = output.beginFrame(requestId);
+        output.writeByte(OK);
+        output.writeVarint(movies.size());
+        for (Movie movie : movies) {
+            output.writeString(movie.getTitle());
+            output.writeStrings(movie.getGenres());
+            output.writeString(movie.getLanguage());
+            output.writeString(movie.getCountry());
+            output.writeVarint(movie.getReleaseYear());
+            output.writeString(movie.getDirector());
+            output.writeStrings(movie.getActors());
+            output.writeUrl(movie.getImdbLink());
+            long watchedDate = movie.getWatchedDate().toEpochDay();
+            output.writeVarint(Math.toIntExact((watchedDate << 1) ^ (watchedDate >> 63)));
+        }
+        output.endFrame(start);
+    }
+
+    /**
+     * 오류 응답 frame 하나를 기록한다.
+     */
+    static void writeError(Output output, int requestId, byte status, String message) {
+        int start = output.beginFrame(requestId);
+        output.writeByte(status);
+        output.writeString(message);
+        output.endFrame(start);
+    }
+
+    /**
+     * 요청 frame의 본문에서 명령 코드(byte) 다음의 인자를 읽는다. 형식이 잘못되면 InvalidCommandArgumentsException이 발생한다.
+     */
+    static Map<String, String> readParameters(ByteBuffer body) {
+        try {
+            int count = readVarint(body);
+            if (count == 0) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> parameters = new HashMap<>();
+            for (int index = 0; index < count; index++) {
+                String name = readString(body);
+                String value = readString(body);
+                if (Objects.nonNull(name) && Objects.nonNull(value)) {
+                    parameters.putIfAbsent(name, value);
+                }
+            }
+            return parameters;
+        } catch (BufferUnderflowException | IllegalArgumentException error) {
+            throw new ApplicationException.InvalidCommandArgumentsException(error);
+        }
+    }
+
+    /**
+     * 응답 frame의 본문(requestId 다음)을 읽는다. 오류 응답이면 상태에 맞는 ApplicationException이 발생한다.
+     */
+    static List<Movie> readMovies(ByteBuffer body) {
+        byte status = body.get();
+        if (status != OK) {
+            String message = readString(body);
+            switch (status) {
+                case INVALID_ARGUMENTS:
+                    throw new ApplicationException.InvalidCommandArgumentsException(message);
+                case UNDEFINED_COMMAND:
+                    throw new ApplicationException.UndefinedCommandActionException();
+                default:
+                    throw new ApplicationException(message);
+            }
+        }
+
+        Movie[] movies = new Movie[readVarint(body)];
+        for (int index = 0; index < movies.length; index++) {
+            String title = readString(body);
+            List<String> genres = readStrings(body);
+            String language = readString(body);
+            String country = readString(body);
+            int releaseYear = readVarint(body);
+            String director = readString(body);
+            List<String> actors = readStrings(body);
+            String imdbLink = readString(body);
+            int watchedDate = readVarint(body);
+            movies[index] = Movie.of(title, genres, language, country, releaseYear, director, actors, url(imdbLink), LocalDate.ofEpochDay((watchedDate >>> 1) ^ -(watchedDate & 1)));
+        }
+        return Collections.unmodifiableList(Arrays.asList(movies));
+    }
+
+    private static URL url(String value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        try {
+            return new URL(value);
+        } catch (MalformedURLException error) {
+            throw new ApplicationException(String.format("invalid imdb link. [%s]", value), error);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer input) {
+        String[] values = new String[readVarint(input)];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = readString(input);
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    static String readString(ByteBuffer input) {
+        int length = readVarint(input) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > input.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (input.hasArray()) {
+            value = new String(input.array(), input.arrayOffset() + input.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            input.duplicate().get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        input.position(input.position() + length);
+        return value;
+    }
+
+    static int readVarint(ByteBuffer input) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte current = input.get();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint.");
+    }
+
+    /**
+     * 크기가 늘어나는 출력 버퍼. 기록한 바이트를 채널로 나눠 내보낼 수 있도록, 내보낸 위치(flushed)를 함께 기억한다.
+     * 스레드에 안전하지 않다.
+     */
+    static final class Output {
+
+        // 비운 후에도 이보다 큰 버퍼는 처음 크기로 되돌려, 큰 응답 하나 때문에 버퍼를 계속 붙잡지 않는다.
+        private static final int RETAINED_BYTES = 1024 * 1024;
+
+        private final int initialCapacity;
+        private byte[] bytes;
+        private ByteBuffer buffer;
+        private int size;
+        private int flushed;
+
+        Output(int initialCapacity) {
+            this.initialCapacity = initialCapacity;
+            this.bytes = new byte[initialCapacity];
+            this.buffer = ByteBuffer.wrap(bytes);
+        }
+
+        /**
+         * 아직 내보내지 않은 바이트 수
+         */
+        int pending() {
+            return size - flushed;
+        }
+
+        /**
+         * 아직 내보내지 않은 바이트를 담은 버퍼, 내보낸 후에는 flushed()로 내보낸 바이트 수를 알려야 한다.
+         */
+        ByteBuffer pendingBuffer() {
+            buffer.limit(size).position(flushed);
+            return buffer;
+        }
+
+        void flushed(int count) {
+            flushed += count;
+            if (flushed == size) {
+                clear();
+            }
+        }
+
+        void clear() {
+            size = 0;
+            flushed = 0;
+            if (bytes.length > RETAINED_BYTES) {
+                bytes = new byte[initialCapacity];
+                buffer = ByteBuffer.wrap(bytes);
+            }
+        }
+
+        int beginFrame(int requestId) {
+            // frame을 기록하는 중에는 위치가 바뀌지 않도록, 이미 내보낸 앞부분은 frame을 시작하기 전에 버린다.
+            if (flushed > 0) {
+                System.arraycopy(bytes, flushed, bytes, 0, size - flushed);
+                size -= flushed;
+                flushed = 0;
+            }
+            int start = size;
+            ensureCapacity(8);
+            size += 4;
+            writeInt(requestId);
+            return start;
+        }
+
+        void endFrame(int start) {
+            int length = size - start - 4;
+            bytes[start] = (byte) (length >>> 24);
+            bytes[start + 1] = (byte) (length >>> 16);
+            bytes[start + 2] = (byte) (length >>> 8);
+            bytes[start + 3] = (byte) length;
+        }
+
+        void writeByte(byte value) {
+            ensureCapacity(1);
+            bytes[size++] = value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeStrings(List<String> values) {
+            writeVarint(values.size());
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeString(String value) {
+            if (Objects.isNull(value)) {
+                writeVarint(0);
+                return;
+            }
+            writeVarint(utf8Length(value) + 1);
+            writeUtf8(value);
+        }
+
+        /**
+         * URL을 문자열(toExternalForm)로 만들지 않고, 이미 나뉘어 있는 구성 요소를 차례로 기록한다.
+         */
+        void writeUrl(URL value) {
+            if (Objects.isNull(value)) {
+                writeVarint(0);
+                return;
+            }
+            String authority = value.getAuthority();
+            boolean hasAuthority = Objects.nonNull(authority) && !authority.isEmpty();
+            int length = utf8Length(value.getProtocol()) + 1
+                    + (hasAuthority ? 2 + utf8Length(authority) : 0)
+                    + (Objects.nonNull(value.getPath()) ? utf8Length(value.getPath()) : 0)
+                    + (Objects.nonNull(value.getQuery()) ? 1 + utf8Length(value.getQuery()) : 0)
+                    + (Objects.nonNull(value.getRef()) ? 1 + utf8Length(value.getRef()) : 0);
+            writeVarint(length + 1);
+            writeUtf8(value.getProtocol());
+            writeUtf8(":");
+            if (hasAuthority) {
+                writeUtf8("//");
+                writeUtf8(authority);
+            }
+            if (Objects.nonNull(value.getPath())) {
+                writeUtf8(value.getPath());
+            }
+            if (Objects.nonNull(value.getQuery())) {
+                writeUtf8("?");
+                writeUtf8(value.getQuery());
+            }
+            if (Objects.nonNull(value.getRef())) {
+                writeUtf8("#");
+                writeUtf8(value.getRef());
+            }
+        }
+
+        private void writeUtf8(String value) {
+            // 문자 하나(UTF-16)는 UTF-8로 3바이트를 넘지 않는다. (서로게이트 쌍은 두 문자가 4바이트)
+            ensureCapacity(value.length() * 3);
+            for (int index = 0; index < value.length(); index++) {
+                char current = value.charAt(index);
+                if (current < 0x80) {
+                    bytes[size++] = (byte) current;
+                } else if (current < 0x800) {
+                    bytes[size++] = (byte) (0xC0 | (current >> 6));
+                    bytes[size++] = (byte) (0x80 | (current & 0x3F));
+                } else if (Character.isHighSurrogate(current) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+                    int codePoint = Character.toCodePoint(current, value.charAt(++index));
+                    bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(current)) {
+                    // 짝이 없는 서로게이트는 String.getBytes(UTF_8)와 같이 '?'로 바꾼다.
+                    bytes[size++] = '?';
+                } else {
+                    bytes[size++] = (byte) (0xE0 | (current >> 12));
+                    bytes[size++] = (byte) (0x80 | ((current >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (current & 0x3F));
+                }
+            }
+        }
+
+        static int utf8Length(String value) {
+            int length = 0;
+            for (int index = 0; index < value.length(); index++) {
+                char current = value.charAt(index);
+                if (current < 0x80) {
+                    length++;
+                } else if (current < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(current) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+                    length += 4;
+                    index++;
+                } else if (Character.isSurrogate(current)) {
+                    length++;
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional <= bytes.length) {
+                return;
+            }
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+            buffer = ByteBuffer.wrap(bytes);
+        }
+    }
+
+    /**
+     * 요청과 응답 frame을 모으는 입력 버퍼. 채널에서 읽은 바이트를 쌓아 두었다가, 완성된 frame부터 꺼낸다.
+     *
+     * <pre>
+     * channel.read(frames.writableBuffer());
+     * frames.flip();
+     * for (ByteBuffer frame; (frame = frames.next()) != null; ) { ... }
+     * frames.compact();
+     * </pre>
+     *
+     * 꺼낸 frame은 버퍼를 복사하지 않고 나눈 것이므로 compact()를 호출하기 전까지만 유효하다. 스레드에 안전하지 않다.
+     */
+    static final class FrameReader {
+
+        private final int maximumFrameBytes;
+        private ByteBuffer buffer;
+
+        FrameReader(int initialCapacity, int maximumFrameBytes) {
+            this.maximumFrameBytes = maximumFrameBytes;
+            this.buffer = ByteBuffer.allocate(Math.max(8, initialCapacity));
+        }
+
+        /**
+         * 채널에서 읽어 들일 버퍼, 항상 빈 공간이 있다.
+         */
+        ByteBuffer writableBuffer() {
+            return buffer;
+        }
+
+        /**
+         * 읽어 들인 바이트에서 frame을 꺼낼 준비를 한다.
+         */
+        void flip() {
+            buffer.flip();
+        }
+
+        /**
+         * 완성된 frame 하나를 꺼낸다. 반환한 버퍼는 requestId부터 frame 끝까지이며, frame이 아직 완성되지 않았으면 null
+         *
+         * @throws ApplicationException frame의 길이가 잘못되었거나 최대 크기를 넘을 때
+         */
+        ByteBuffer next() {
+            if (buffer.remaining() < 4) {
+                return null;
+            }
+            int length = buffer.getInt(buffer.position());
+            if (length < 4 || length > maximumFrameBytes) {
+                throw new ApplicationException(String.format("invalid frame length. [length: %d, maximum: %d]", length, maximumFrameBytes));
+            }
+            if (buffer.remaining() < 4 + length) {
+                return null;
+            }
+            buffer.position(buffer.position() + 4);
+            ByteBuffer frame = buffer.slice();
+            frame.limit(length);
+            buffer.position(buffer.position() + length);
+            return frame;
+        }
+
+        /**
+         * 꺼내지 않은 바이트를 앞으로 옮겨 다시 읽어 들일 준비를 한다. 남은 frame이 버퍼보다 크면 버퍼를 늘린다.
+         */
+        void compact() {
+            int required = 4;
+            if (buffer.remaining() >= 4) {
+                int length = buffer.getInt(buffer.position());
+                if (length >= 4 && length <= maximumFrameBytes) {
+                    required = 4 + length;
+                }
+            }
+            if (buffer.capacity() < required || (buffer.remaining() == buffer.capacity() && buffer.remaining() < required)) {
+                buffer = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, required)).put(buffer);
+            } else {
+                buffer.compact();
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package moviebuddy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import moviebuddy.MovieBuddyApplication.Command;
+import moviebuddy.domain.Movie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 영화 검색 명령을 HTTP로 제공하는 서버. JDK에 포함된 HttpServer를 사용한다.
+ *
+ * <pre>
+ * GET /directedBy?director=Michael%20Bay
+ * GET /releasedYearBy?year=2015
+ * GET /releasedBetween?from=2010&amp;to=2015
+ * </pre>
+ *
+ * - 경로의 첫 부분이 명령어(대소문자 구분 없음)이고, 질의 문자열이 명령 인자이다. 응답은 MovieJsonWriter로 결과를 바로 기록하는 JSON(chunked)이다.
+ * - 잘못된 인자는 400, 없는 명령은 404, GET 이외의 요청은 405로 응답하며, 본문은 콘솔과 같은 오류 메시지를 담은 JSON이다.
+ * - 연결은 HTTP/1.1 keep-alive로 유지되어, 같은 연결로 여러 요청을 보낼 수 있다.
+ * - 요청은 크기가 정해진 작업자 스레드 풀에서 처리한다. 대기열까지 가득 차면 별도의 작은 스레드 풀(overflow)에서 바로 503으로 응답하므로,
+ *   연결을 받는 스레드(dispatcher)는 과부하 중에도 응답을 기록하느라 멈추지 않는다. overflow 풀마저 가득 차면 연결을 닫는다.
+ */
+class MovieBuddyServer {
+
+    static final int RESPONSE_BUFFER_CHARS = 8 * 1024;
+
+    private static final String TCP_NO_DELAY = "sun.net.httpserver.nodelay";
+
+    // 작업자 풀이 가득 차서 overflow 스레드가 대신 응답하는 중인지 표시한다.
+    private static final ThreadLocal<Boolean> OVERLOADED = ThreadLocal.withInitial(() -> false);
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final Map<Command, Function<Map<String, String>, List<Movie>>> queries;
+    private final Function<ApplicationException, String> errorMessage;
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor overflow;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private HttpServer httpServer;
+
+    /**
+     * @param queries 명령별 검색, 질의 문자열의 인자를 받아 검색 결과를 반환한다.
+     * @param errorMessage 검색 중 발생한 오류를 응답할 메시지로 바꾼다.
+     * @param threads 작업자 스레드 수
+     * @param queueCapacity 작업자를 기다릴 수 있는 요청 수, 넘으면 503으로 응답한다.
+     */
+    MovieBuddyServer(Map<Command, Function<Map<String, String>, List<Movie>>> queries, Function<ApplicationException, String> errorMessage, int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException(String.format("threads and queueCapacity must be positive. [threads: %d, queueCapacity: %d]", threads, queueCapacity));
+        }
+        this.queries = Objects.requireNonNull(queries);
+        this.errorMessage = Objects.requireNonNull(errorMessage);
+        // 503 응답만 보내는 스레드 하나, 대기열까지 가득 차면 거절하고 HttpServer는 해당 연결을 닫는다.
+        this.overflow = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), threadFactory("movie-buddy-server-overflow-"), new ThreadPoolExecutor.AbortPolicy());
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), threadFactory("movie-buddy-server-"), (exchange, executor) -> overflow.execute(() -> {
+            OVERLOADED.set(true);
+            try {
+                exchange.run();
+            } finally {
+                OVERLOADED.set(false);
+            }
+        }));
+    }
+
+    /**
+     * 지정한 주소에서 요청을 받기 시작한다.
+     *
+     * @param backlog 수락을 기다릴 수 있는 연결 수, 0 이하면 시스템 기본값
+     */
+    synchronized void start(InetSocketAddress address, int backlog) throws IOException {
+        if (Objects.nonNull(httpServer)) {
+            throw new IllegalStateException("server is already started.");
+        }
+        // 응답 헤더와 chunked 본문을 나눠 보내므로, Nagle 알고리즘이 켜져 있으면 keep-alive 연결의 응답마다 지연된 ACK를 기다리게 된다. (약 40 ms)
+        // JDK HttpServer는 첫 서버를 만들 때 이 설정을 읽으므로, 따로 지정하지 않았으면 먼저 켜 둔다.
+        if (Objects.isNull(System.getProperty(TCP_NO_DELAY))) {
+            System.setProperty(TCP_NO_DELAY, "true");
+        }
+        httpServer = HttpServer.create(address, backlog);
+        httpServer.createContext("/", this::handle);
+        httpServer.setExecutor(workers);
+        httpServer.start();
+        log.info("movie buddy server started. [address: {}, threads: {}, queueCapacity: {}]", getAddress(), workers.getMaximumPoolSize(), workers.getQueue().remainingCapacity());
+    }
+
+    /**
+     * 새 요청을 받지 않고, 처리 중인 요청이 끝나기를 최대 delay 동안 기다린 후 멈춘다.
+     */
+    synchronized void stop(int delaySeconds) {
+        if (Objects.isNull(httpServer)) {
+            return;
+        }
+        httpServer.stop(delaySeconds);
+        workers.shutdown();
+        try {
+            workers.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+        overflow.shutdownNow();
+        httpServer = null;
+        terminated.countDown();
+        log.info("movie buddy server stopped.");
+    }
+
+    /**
+     * stop()이 호출될 때까지 기다린다.
+     */
+    void awaitTermination() throws InterruptedException {
+        terminated.await();
+    }
+
+    /**
+     * 요청을 받는 주소, 포트를 0으로 지정했으면 실제로 할당된 포트를 담고 있다.
+     */
+    synchronized InetSocketAddress getAddress() {
+        if (Objects.isNull(httpServer)) {
+            throw new IllegalStateException("server is not started.");
+        }
+        return httpServer.getAddress();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            // keep-alive로 연결을 다시 쓰려면 요청 본문을 끝까지 읽어야 한다.
+            try (InputStream body = exchange.getRequestBody()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+
+            if (OVERLOADED.get()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respondError(exchange, 503, "server is busy, please try again later.");
+                return;
+            }
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                respondError(exchange, 405, "method not allowed.");
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            String name = path.startsWith("/") ? path.substring(1) : path;
+            Command command = Command.parse(name.isEmpty() ? null : name);
+            Function<Map<String, String>, List<Movie>> query = Objects.nonNull(command) ? queries.get(command) : null;
+            List<Movie> movies;
+            try {
+                if (Objects.isNull(query)) {
+                    throw new ApplicationException.UndefinedCommandActionException();
+                }
+                movies = query.apply(parameters(exchange.getRequestURI().getRawQuery()));
+            } catch (ApplicationException.UndefinedCommandActionException | ApplicationException.CommandNotFoundException error) {
+                respondError(exchange, 404, errorMessage.apply(error));
+                return;
+            } catch (ApplicationException error) {
+                respondError(exchange, 400, errorMessage.apply(error));
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            Writer output = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), RESPONSE_BUFFER_CHARS);
+            MovieJsonWriter.writeMovies(output, name, movies);
+            output.flush();
+        } catch (IOException error) {
+            // 클라이언트가 응답을 받기 전에 연결을 끊었다.
+            log.debug("failed to respond. [{} {}]", exchange.getRequestMethod(), exchange.getRequestURI(), error);
+        } catch (RuntimeException error) {
+            log.warn("failed to handle request. [{} {}]", exchange.getRequestMethod(), exchange.getRequestURI(), error);
+            if (exchange.getResponseCode() < 0) {
+                respondError(exchange, 500, error.getClass().getSimpleName());
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respondError(HttpExchange exchange, int status, String message) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, 0);
+        Writer output = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8);
+        MovieJsonWriter.writeError(output, message);
+        output.flush();
+    }
+
+    /**
+     * 질의 문자열(a=1&amp;b=2)을 해석한다. 같은 이름이 여러 번 나오면 처음 값을 사용한다.
+     */
+    static Map<String, String> parameters(String rawQuery) {
+        if (Objects.isNull(rawQuery) || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> parameters = new HashMap<>();
+        try {
+            for (String pair : rawQuery.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int separator = pair.indexOf('=');
+                String name = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+                String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+                parameters.putIfAbsent(name, value);
+            }
+        } catch (IllegalArgumentException error) {
+            throw new ApplicationException.InvalidCommandArgumentsException(error);
+        }
+        return parameters;
+    }
+
+    private static ThreadFactory threadFactory(String namePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
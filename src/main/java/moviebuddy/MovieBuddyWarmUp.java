@@ -0,0 +1,136 @@
+package moviebuddy;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 대표 명령을 지연 시간이 안정될 때까지 반복 실행한다. 첫 사용자 명령이 JIT 컴파일 전의 코드로 실행되지 않게 하려는 것이다.
+ *
+ * 한 라운드에서는 명령마다 iterations 번씩 실행하고, 명령별 지연 시간의 중앙값을 구한다.
+ * 모든 명령의 중앙값이 이전 라운드와 비교해 tolerance 비율 안에서 바뀌는 라운드가 stableRounds 번 이어지면 안정된 것으로 본다.
+ * maxRounds 라운드를 실행했거나 timeout 시간이 지나면 안정되지 않았어도 멈춘다.
+ */
+class MovieBuddyWarmUp {
+
+    private final int iterations;
+    private final int maxRounds;
+    private final int stableRounds;
+    private final double tolerance;
+    private final Duration timeout;
+    private final LongSupplier nanoTime;
+
+    MovieBuddyWarmUp(int iterations, int maxRounds, int stableRounds, double tolerance, Duration timeout) {
+        this(iterations, maxRounds, stableRounds, tolerance, timeout, System::nanoTime);
+    }
+
+    MovieBuddyWarmUp(int iterations, int maxRounds, int stableRounds, double tolerance, Duration timeout, LongSupplier nanoTime) {
+        if (iterations < 1 || maxRounds < 1 || stableRounds < 1 || tolerance < 0) {
+            throw new IllegalArgumentException("iterations, maxRounds and stableRounds must be positive, tolerance must not be negative.");
+        }
+        this.iterations = iterations;
+        this.maxRounds = maxRounds;
+        this.stableRounds = stableRounds;
+        this.tolerance = tolerance;
+        this.timeout = Objects.requireNonNull(timeout);
+        this.nanoTime = Objects.requireNonNull(nanoTime);
+    }
+
+    /**
+     * 명령을 반복 실행한다.
+     *
+     * @param commands 실행할 명령 목록
+     * @param executor 명령 하나를 실행한다.
+     * @return 걸린 시간과 마지막 라운드의 명령별 지연 시간
+     */
+    Result run(List<String> commands, Consumer<String> executor) {
+        long started = nanoTime.getAsLong();
+        long deadline = started + timeout.toNanos();
+
+        long[] previous = null;
+        long[] latencies = new long[commands.size()];
+        int rounds = 0;
+        int stableStreak = 0;
+        while (rounds < maxRounds && stableStreak < stableRounds && nanoTime.getAsLong() - deadline < 0) {
+            for (int index = 0; index < commands.size(); index++) {
+                latencies[index] = medianLatency(commands.get(index), executor);
+            }
+            rounds++;
+            stableStreak = Objects.nonNull(previous) && isStable(previous, latencies) ? stableStreak + 1 : 0;
+            previous = latencies.clone();
+        }
+
+        Map<String, Long> steadyLatencies = new LinkedHashMap<>();
+        for (int index = 0; index < commands.size(); index++) {
+            steadyLatencies.put(commands.get(index), latencies[index]);
+        }
+        return new Result(Duration.ofNanos(nanoTime.getAsLong() - started), rounds, stableStreak >= stableRounds, steadyLatencies);
+    }
+
+    private long medianLatency(String command, Consumer<String> executor) {
+        long[] latencies = new long[iterations];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            long start = nanoTime.getAsLong();
+            executor.accept(command);
+            latencies[iteration] = nanoTime.getAsLong() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[iterations / 2];
+    }
+
+    private boolean isStable(long[] previous, long[] current) {
+        for (int index = 0; index < current.length; index++) {
+            if (Math.abs(current[index] - previous[index]) > previous[index] * tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 워밍업 결과
+     */
+    static class Result {
+
+        private final Duration elapsed;
+        private final int rounds;
+        private final boolean stable;
+        private final Map<String, Long> latencies;
+
+        Result(Duration elapsed, int rounds, boolean stable, Map<String, Long> latencies) {
+            this.elapsed = elapsed;
+            this.rounds = rounds;
+            this.stable = stable;
+            this.latencies = Collections.unmodifiableMap(latencies);
+        }
+
+        Duration getElapsed() {
+            return elapsed;
+        }
+
+        int getRounds() {
+            return rounds;
+        }
+
+        /**
+         * 멈출 때 지연 시간이 안정되어 있었는지 여부
+         */
+        boolean isStable() {
+            return stable;
+        }
+
+        /**
+         * 마지막 라운드에서 측정한 명령별 지연 시간의 중앙값(나노초)
+         */
+        Map<String, Long> getLatencies() {
+            return latencies;
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package moviebuddy;
+
+import moviebuddy.domain.Movie;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 검색 결과를 JSON으로 출력한다.
+ * 결과 전체를 문자열이나 중간 객체로 만들지 않고, 영화 한 편씩 출력(Writer)에 바로 기록하므로 결과가 커도 메모리를 더 쓰지 않는다.
+ *
+ * <pre>
+ * {"command":"directedBy","count":1,"movies":[{"title":"...","genres":["..."],"language":"...","country":"...","releaseYear":2014,
+ *  "director":"...","actors":["..."],"imdbLink":"..." 또는 null,"watchedDate":"yyyy-MM-dd"}]}
+ * {"error":"..."}
+ * </pre>
+ */
+final class MovieJsonWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private MovieJsonWriter() {
+    }
+
+    /**
+     * 명령과 검색 결과를 기록한다. 출력을 비우거나 닫지 않는다.
+     */
+    static void writeMovies(Writer output, String command, List<Movie> movies) throws IOException {
+        output.write("{\"command\":");
+        writeString(output, command);
+        output.write(",\"count\":");
+        output.write(Integer.toString(movies.size()));
+        output.write(",\"movies\":[");
+        boolean first = true;
+        for (Movie movie : movies) {
+            if (!first) {
+                output.write(',');
+            }
+            first = false;
+            writeMovie(output, movie);
+        }
+        output.write("]}");
+    }
+
+    /**
+     * 오류 메시지를 기록한다. 출력을 비우거나 닫지 않는다.
+     */
+    static void writeError(Writer output, String message) throws IOException {
+        output.write("{\"error\":");
+        writeString(output, message);
+        output.write('}');
+    }
+
+    static void writeMovie(Writer output, Movie movie) throws IOException {
+        output.write("{\"title\":");
+        writeString(output, movie.getTitle());
+        output.write(",\"genres\":");
+        writeStrings(output, movie.getGenres());
+        output.write(",\"language\":");
+        writeString(output, movie.getLanguage());
+        output.write(",\"country\":");
+        writeString(output, movie.getCountry());
+        output.write(",\"releaseYear\":");
+        output.write(Integer.toString(movie.getReleaseYear()));
+        output.write(",\"director\":");
+        writeString(output, movie.getDirector());
+        output.write(",\"actors\":");
+        writeStrings(output, movie.getActors());
+        output.write(",\"imdbLink\":");
+        writeString(output, Objects.nonNull(movie.getImdbLink()) ? movie.getImdbLink().toString() : null);
+        output.write(",\"watchedDate\":");
+        writeDate(output, movie.getWatchedDate());
+        output.write('}');
+    }
+
+    private static void writeStrings(Writer output, List<String> values) throws IOException {
+        output.write('[');
+        for (int index = 0; index < values.size(); index++) {
+            if (index > 0) {
+                output.write(',');
+            }
+            writeString(output, values.get(index));
+        }
+        output.write(']');
+    }
+
+    // yyyy-MM-dd, 네 자리를 넘는 연도는 기본 형식기에 맡긴다.
+    private static void writeDate(Writer output, LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            writeString(output, date.format(Movie.DEFAULT_WATCHED_DATE_FORMATTER));
+            return;
+        }
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+        output.write('"');
+        output.write('0' + year / 1000);
+        output.write('0' + year / 100 % 10);
+        output.write('0' + year / 10 % 10);
+        output.write('0' + year % 10);
+        output.write('-');
+        output.write('0' + month / 10);
+        output.write('0' + month % 10);
+        output.write('-');
+        output.write('0' + day / 10);
+        output.write('0' + day % 10);
+        output.write('"');
+    }
+
+    /**
+     * 문자열을 JSON 문자열로 기록한다. 이스케이프할 문자가 없는 구간은 한 번에 기록한다.
+     */
+    static void writeString(Writer output, String value) throws IOException {
+        if (Objects.isNull(value)) {
+            output.write("null");
+            return;
+        }
+
+        output.write('"');
+        int start = 0;
+        for (int index = 0; index < value.length(); index++) {
+            char current = value.charAt(index);
+            if (current >= 0x20 && current != '"' && current != '\\') {
+                continue;
+            }
+            output.write(value, start, index - start);
+            start = index + 1;
+            switch (current) {
+                case '"':
+                    output.write("\\\"");
+                    break;
+                case '\\':
+                    output.write("\\\\");
+                    break;
+                case '\n':
+                    output.write("\\n");
+                    break;
+                case '\r':
+                    output.write("\\r");
+                    break;
+                case '\t':
+                    output.write("\\t");
+                    break;
+                default:
+                    output.write("\\u00");
+                    output.write(HEX[current >> 4]);
+                    output.write(HEX[current & 0xf]);
+            }
+        }
+        output.write(value, start, value.length() - start);
+        output.write('"');
+    }
+
+}
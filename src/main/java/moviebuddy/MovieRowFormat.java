@@ -0,0 +1,240 @@
+package moviebuddy;
+
+import moviebuddy.domain.Movie;
+
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 검색 결과 한 줄의 출력 형식(ex. application.commands.directedBy.format)을 미리 해석해 둔 것이다.
+ * 결과마다 String.format으로 형식 문자열을 다시 해석하고 중간 문자열을 만드는 대신, 해석해 둔 조각을 따라 StringBuilder에 바로 기록한다.
+ *
+ * 형식의 인자는 순서대로 번호(int), 제목, 개봉년도(int), 감독, 본 날짜(yyyy-MM-dd)이다.
+ * 해석할 수 있는 형식은 %[-][width]d, %[-][width]s, %%, %n 이며, 그 외의 형식이 있거나 인자와 맞지 않으면
+ * String.format으로 출력해 결과를 같게 유지한다.
+ */
+final class MovieRowFormat {
+
+    private static final int INDEX = 0;
+    private static final int TITLE = 1;
+    private static final int RELEASE_YEAR = 2;
+    private static final int DIRECTOR = 3;
+    private static final int WATCHED_DATE = 4;
+
+    private static final int[] ARGUMENTS = { INDEX, TITLE, RELEASE_YEAR, DIRECTOR, WATCHED_DATE };
+    private static final boolean[] NUMBERS = { true, false, true, false, false };
+
+    private final String template;
+    private final Locale locale;
+
+    // 해석한 조각, 해석할 수 없는 형식이면 null
+    private final Segment[] segments;
+
+    private MovieRowFormat(String template, Locale locale, Segment[] segments) {
+        this.template = template;
+        this.locale = locale;
+        this.segments = segments;
+    }
+
+    /**
+     * 형식을 해석한다.
+     */
+    static MovieRowFormat compile(String template, Locale locale) {
+        return new MovieRowFormat(Objects.requireNonNull(template), Objects.requireNonNull(locale), parse(template, locale));
+    }
+
+    /**
+     * 지정한 형식과 지역 설정으로 해석한 것인지 확인한다. 메시지 파일이 다시 읽혀 형식이 바뀌면 다시 해석해야 한다.
+     */
+    boolean isCompiledFrom(String template, Locale locale) {
+        return this.template.equals(template) && this.locale.equals(locale);
+    }
+
+    /**
+     * 영화 한 편을 형식에 맞춰 기록한다. 줄바꿈은 붙이지 않는다.
+     *
+     * @param index 출력 번호
+     */
+    void appendTo(StringBuilder target, int index, Movie movie) {
+        if (Objects.isNull(segments)) {
+            target.append(String.format(locale, template, index, movie.getTitle(), movie.getReleaseYear(), movie.getDirector(), movie.getWatchedDate().format(Movie.DEFAULT_WATCHED_DATE_FORMATTER)));
+            return;
+        }
+
+        for (Segment segment : segments) {
+            if (segment.argument < 0) {
+                target.append(segment.literal);
+                continue;
+            }
+            switch (segment.argument) {
+                case INDEX:
+                    appendNumber(target, index, segment);
+                    break;
+                case TITLE:
+                    appendText(target, movie.getTitle(), segment);
+                    break;
+                case RELEASE_YEAR:
+                    appendNumber(target, movie.getReleaseYear(), segment);
+                    break;
+                case DIRECTOR:
+                    appendText(target, movie.getDirector(), segment);
+                    break;
+                default:
+                    appendDate(target, movie.getWatchedDate(), segment);
+            }
+        }
+    }
+
+    private static void appendText(StringBuilder target, String value, Segment segment) {
+        int padding = segment.width - value.length();
+        if (!segment.leftJustify) {
+            pad(target, padding);
+        }
+        target.append(value);
+        if (segment.leftJustify) {
+            pad(target, padding);
+        }
+    }
+
+    private static void appendNumber(StringBuilder target, int value, Segment segment) {
+        int padding = segment.width - digits(value);
+        if (!segment.leftJustify) {
+            pad(target, padding);
+        }
+        target.append(value);
+        if (segment.leftJustify) {
+            pad(target, padding);
+        }
+    }
+
+    // yyyy-MM-dd, 네 자리를 넘는 연도는 기본 형식기에 맡긴다.
+    private static void appendDate(StringBuilder target, LocalDate date, Segment segment) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            appendText(target, date.format(Movie.DEFAULT_WATCHED_DATE_FORMATTER), segment);
+            return;
+        }
+
+        int padding = segment.width - 10;
+        if (!segment.leftJustify) {
+            pad(target, padding);
+        }
+        appendZeroPadded(target, year, 4);
+        target.append('-');
+        appendZeroPadded(target, date.getMonthValue(), 2);
+        target.append('-');
+        appendZeroPadded(target, date.getDayOfMonth(), 2);
+        if (segment.leftJustify) {
+            pad(target, padding);
+        }
+    }
+
+    private static void appendZeroPadded(StringBuilder target, int value, int width) {
+        for (int digits = digits(value); digits < width; digits++) {
+            target.append('0');
+        }
+        target.append(value);
+    }
+
+    private static int digits(int value) {
+        int digits = value < 0 ? 2 : 1;
+        long remaining = Math.abs((long) value);
+        while (remaining >= 10) {
+            remaining /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static void pad(StringBuilder target, int count) {
+        for (int index = 0; index < count; index++) {
+            target.append(' ');
+        }
+    }
+
+    private static Segment[] parse(String template, Locale locale) {
+        // 숫자를 다른 문자로 쓰는 지역 설정은 String.format에 맡긴다.
+        if (DecimalFormatSymbols.getInstance(locale).getZeroDigit() != '0') {
+            return null;
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int argument = 0;
+        int position = 0;
+        while (position < template.length()) {
+            char current = template.charAt(position++);
+            if (current != '%') {
+                literal.append(current);
+                continue;
+            }
+            if (position == template.length()) {
+                return null;
+            }
+
+            char next = template.charAt(position);
+            if (next == '%' || next == 'n') {
+                literal.append(next == '%' ? "%" : System.lineSeparator());
+                position++;
+                continue;
+            }
+
+            boolean leftJustify = next == '-';
+            if (leftJustify) {
+                position++;
+            }
+            int width = 0;
+            int widthStart = position;
+            while (position < template.length() && template.charAt(position) >= '0' && template.charAt(position) <= '9') {
+                width = width * 10 + (template.charAt(position++) - '0');
+            }
+            if (position == template.length() || (leftJustify && position == widthStart) || (position > widthStart && template.charAt(widthStart) == '0')) {
+                return null;
+            }
+
+            char conversion = template.charAt(position++);
+            if (argument == ARGUMENTS.length || !(conversion == 's' || (conversion == 'd' && NUMBERS[argument]))) {
+                return null;
+            }
+            if (literal.length() > 0) {
+                segments.add(new Segment(literal.toString()));
+                literal.setLength(0);
+            }
+            segments.add(new Segment(ARGUMENTS[argument++], leftJustify, width));
+        }
+        if (literal.length() > 0) {
+            segments.add(new Segment(literal.toString()));
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * 형식 조각, 고정 문자열이거나 인자 하나이다.
+     */
+    private static final class Segment {
+
+        final String literal;
+        final int argument;
+        final boolean leftJustify;
+        final int width;
+
+        Segment(String literal) {
+            this.literal = literal;
+            this.argument = -1;
+            this.leftJustify = false;
+            this.width = 0;
+        }
+
+        Segment(int argument, boolean leftJustify, int width) {
+            this.literal = null;
+            this.argument = argument;
+            this.leftJustify = leftJustify;
+            this.width = width;
+        }
+    }
+
+}
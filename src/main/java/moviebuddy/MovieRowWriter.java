@@ -0,0 +1,46 @@
+package moviebuddy;
+
+import moviebuddy.domain.Movie;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * 검색 결과를 MovieRowFormat으로 한 줄씩 기록해 출력한다.
+ * 줄은 재사용하는 StringBuilder에 모았다가 DRAIN_CHARS 크기마다 출력으로 옮기므로, 줄마다 문자열을 만들지 않는다.
+ * 스레드에 안전하지 않으므로 명령 처리기마다 하나씩 사용한다.
+ */
+final class MovieRowWriter {
+
+    static final int DRAIN_CHARS = 8 * 1024;
+
+    private final String lineSeparator = System.lineSeparator();
+    private final StringBuilder rows = new StringBuilder(DRAIN_CHARS * 2);
+    private char[] chars = new char[DRAIN_CHARS * 2];
+
+    /**
+     * 영화 목록을 1번부터 번호를 붙여 한 줄씩 출력한다.
+     */
+    void write(PrintWriter output, MovieRowFormat format, List<Movie> movies) {
+        int index = 1;
+        for (Movie movie : movies) {
+            format.appendTo(rows, index++, movie);
+            rows.append(lineSeparator);
+            if (rows.length() >= DRAIN_CHARS) {
+                drain(output);
+            }
+        }
+        drain(output);
+    }
+
+    private void drain(PrintWriter output) {
+        int length = rows.length();
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        rows.getChars(0, length, chars, 0);
+        output.write(chars, 0, length);
+        rows.setLength(0);
+    }
+
+}
@@ -0,0 +1,444 @@
+package moviebuddy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 시작할 때 모든 언어의 메시지 파일(basename*.properties, UTF-8)을 읽어 변경할 수 없는 목록(Catalog)으로 만들어 두는 MessageSource.
+ *
+ * ReloadableResourceBundleMessageSource는 조회할 때마다 캐시 시간이 지났는지 확인하고(잠금), 인자가 있는 메시지는
+ * 공유하는 MessageFormat에 동기화해 형식을 적용한다. 이 구현은 조회할 때 시각을 확인하거나 잠그지 않는다.
+ *
+ * - 메시지 형식은 읽을 때 미리 해석한다. 문자열 인자만 받는 단순한 형식({0})은 해석한 조각을 이어 붙이고,
+ *   그 외(숫자, 날짜 인자나 {0,number} 같은 형식)는 미리 해석한 MessageFormat의 복사본으로 형식을 적용한다.
+ * - 지역 설정별 조회 순서는 ReloadableResourceBundleMessageSource와 같다. (ko_KR → ko → 시스템 지역 설정 → 기본 파일)
+ *   지역 설정마다 합친 메시지 표는 처음 조회할 때 만들어 목록에 보관한다.
+ * - reload()를 호출하거나, watch()로 감시하는 메시지 파일이 바뀌면 파일을 모두 다시 읽어 목록을 한 번에 교체한다.
+ *   다시 읽지 못하면 이전 목록을 계속 사용한다.
+ * - 인자가 없으면 메시지를 MessageFormat으로 해석하지 않고 그대로 반환한다. (alwaysUseMessageFormat = false)
+ */
+public class PrecompiledMessageSource implements MessageSource, AutoCloseable {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final String basename;
+    private final ResourcePatternResolver resourcePatternResolver;
+
+    private volatile Catalog catalog;
+
+    private WatchService watchService;
+
+    public PrecompiledMessageSource(String basename) {
+        this(basename, new PathMatchingResourcePatternResolver());
+    }
+
+    public PrecompiledMessageSource(String basename, ResourcePatternResolver resourcePatternResolver) {
+        this.basename = Objects.requireNonNull(basename);
+        this.resourcePatternResolver = Objects.requireNonNull(resourcePatternResolver);
+        this.catalog = load();
+    }
+
+    /**
+     * 메시지 파일을 모두 다시 읽어 목록을 교체한다. 읽지 못하면 이전 목록을 유지하고 false를 반환한다.
+     */
+    public boolean reload() {
+        try {
+            catalog = load();
+            log.info("messages reloaded. [basename: {}, locales: {}]", basename, catalog.bundles.keySet());
+            return true;
+        } catch (RuntimeException error) {
+            log.warn("failed to reload messages, keeping the previous ones. [basename: {}]", basename, error);
+            return false;
+        }
+    }
+
+    /**
+     * 로컬 파일인 메시지 파일의 디렉터리를 감시해, 메시지 파일이 바뀌거나 추가, 삭제되면 다시 읽는다.
+     * JAR 안의 메시지 파일처럼 감시할 수 없는 파일은 reload()를 호출해야 반영된다.
+     */
+    public synchronized void watch() {
+        if (Objects.nonNull(watchService)) {
+            return;
+        }
+
+        Set<Path> directories = new LinkedHashSet<>();
+        for (Resource resource : resources()) {
+            if (resource.isFile()) {
+                try {
+                    directories.add(resource.getFile().toPath().toAbsolutePath().getParent());
+                } catch (IOException error) {
+                    log.debug("cannot watch message file. [{}]", resource, error);
+                }
+            }
+        }
+        if (directories.isEmpty()) {
+            return;
+        }
+
+        try {
+            WatchService watchService = directories.iterator().next().getFileSystem().newWatchService();
+            for (Path directory : directories) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+            this.watchService = watchService;
+            startWatcher(watchService);
+        } catch (IOException error) {
+            log.warn("cannot watch message files, call reload() to apply changes. [{}]", directories, error);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (Objects.nonNull(watchService)) {
+            try {
+                watchService.close();
+            } catch (IOException error) {
+                log.warn("failed to close message file watcher.", error);
+            }
+            watchService = null;
+        }
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        Locale resolvedLocale = Objects.nonNull(locale) ? locale : Locale.getDefault();
+        String message = format(code, args, resolvedLocale);
+        if (Objects.nonNull(message) || Objects.isNull(defaultMessage)) {
+            return message;
+        }
+        return formatDefault(defaultMessage, args, resolvedLocale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        Locale resolvedLocale = Objects.nonNull(locale) ? locale : Locale.getDefault();
+        String message = format(code, args, resolvedLocale);
+        if (Objects.isNull(message)) {
+            throw new NoSuchMessageException(code, resolvedLocale);
+        }
+        return message;
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        Locale resolvedLocale = Objects.nonNull(locale) ? locale : Locale.getDefault();
+        String[] codes = resolvable.getCodes();
+        if (Objects.nonNull(codes)) {
+            for (String code : codes) {
+                String message = format(code, resolvable.getArguments(), resolvedLocale);
+                if (Objects.nonNull(message)) {
+                    return message;
+                }
+            }
+        }
+        if (Objects.nonNull(resolvable.getDefaultMessage())) {
+            return formatDefault(resolvable.getDefaultMessage(), resolvable.getArguments(), resolvedLocale);
+        }
+        String code = Objects.nonNull(codes) && codes.length > 0 ? codes[codes.length - 1] : "";
+        throw new NoSuchMessageException(code, resolvedLocale);
+    }
+
+    private String format(String code, Object[] args, Locale locale) {
+        if (Objects.isNull(code)) {
+            return null;
+        }
+        Message message = catalog.messages(locale).get(code);
+        if (Objects.isNull(message)) {
+            return null;
+        }
+        return isEmpty(args) ? message.text : message.format(resolveArguments(args, locale), locale);
+    }
+
+    private String formatDefault(String defaultMessage, Object[] args, Locale locale) {
+        if (isEmpty(args)) {
+            return defaultMessage;
+        }
+        // 형식이 잘못된 기본 메시지는 형식을 적용하지 않고 그대로 반환한다. (AbstractMessageSource와 같다.)
+        Message message = Message.of(defaultMessage, locale);
+        return Objects.isNull(message.invalidFormat) ? message.format(resolveArguments(args, locale), locale) : defaultMessage;
+    }
+
+    private Object[] resolveArguments(Object[] args, Locale locale) {
+        Object[] resolved = args;
+        for (int index = 0; index < args.length; index++) {
+            if (args[index] instanceof MessageSourceResolvable) {
+                if (resolved == args) {
+                    resolved = args.clone();
+                }
+                resolved[index] = getMessage((MessageSourceResolvable) args[index], locale);
+            }
+        }
+        return resolved;
+    }
+
+    private static boolean isEmpty(Object[] args) {
+        return Objects.isNull(args) || args.length == 0;
+    }
+
+    private Catalog load() {
+        Map<Locale, Map<String, Message>> bundles = new HashMap<>();
+        for (Resource resource : resources()) {
+            String filename = Objects.requireNonNull(resource.getFilename());
+            String suffix = filename.substring(basename.length(), filename.length() - ".properties".length());
+            if (!suffix.isEmpty() && !suffix.startsWith("_")) {
+                continue;
+            }
+            Locale bundleLocale = suffix.isEmpty() ? Locale.ROOT : StringUtils.parseLocale(suffix.substring(1));
+            if (bundles.containsKey(bundleLocale)) {
+                // 클래스패스에 같은 이름의 파일이 여러 개면 ResourceBundle과 같이 먼저 찾은 파일을 사용한다.
+                continue;
+            }
+
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException error) {
+                throw new ApplicationException(String.format("failed to load messages. [%s]", resource), error);
+            }
+
+            Locale formatLocale = bundleLocale.equals(Locale.ROOT) ? Locale.getDefault() : bundleLocale;
+            Map<String, Message> messages = new HashMap<>();
+            for (String code : properties.stringPropertyNames()) {
+                messages.put(code, Message.of(properties.getProperty(code), formatLocale));
+            }
+            bundles.put(bundleLocale, Collections.unmodifiableMap(messages));
+        }
+        return new Catalog(Collections.unmodifiableMap(bundles));
+    }
+
+    private List<Resource> resources() {
+        try {
+            List<Resource> resources = new ArrayList<>();
+            for (Resource resource : resourcePatternResolver.getResources(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + basename + "*.properties")) {
+                if (Objects.nonNull(resource.getFilename()) && resource.getFilename().startsWith(basename)) {
+                    resources.add(resource);
+                }
+            }
+            return resources;
+        } catch (IOException error) {
+            throw new ApplicationException(String.format("failed to find messages. [basename: %s]", basename), error);
+        }
+    }
+
+    private void startWatcher(WatchService watchService) {
+        Thread watcher = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        String filename = String.valueOf(event.context());
+                        changed |= filename.startsWith(basename) && filename.endsWith(".properties");
+                    }
+                    key.reset();
+                    if (changed) {
+                        reload();
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException error) {
+                // 감시를 마친다.
+            }
+        }, "message-source-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * 한 번 읽은 메시지 파일 전체. 교체될 뿐 바뀌지 않는다.
+     */
+    private static final class Catalog {
+
+        // 메시지 파일의 지역 설정(기본 파일은 Locale.ROOT)별 메시지
+        private final Map<Locale, Map<String, Message>> bundles;
+
+        // 조회한 지역 설정별로 조회 순서에 따라 합친 메시지
+        private final ConcurrentMap<Locale, Map<String, Message>> resolved = new ConcurrentHashMap<>();
+
+        Catalog(Map<Locale, Map<String, Message>> bundles) {
+            this.bundles = bundles;
+        }
+
+        Map<String, Message> messages(Locale locale) {
+            Map<String, Message> messages = resolved.get(locale);
+            if (Objects.isNull(messages)) {
+                messages = resolved.computeIfAbsent(locale, this::merge);
+            }
+            return messages;
+        }
+
+        private Map<String, Message> merge(Locale locale) {
+            List<Locale> candidates = new ArrayList<>(candidates(locale));
+            Locale defaultLocale = Locale.getDefault();
+            if (!locale.equals(defaultLocale)) {
+                for (Locale candidate : candidates(defaultLocale)) {
+                    if (!candidates.contains(candidate)) {
+                        candidates.add(candidate);
+                    }
+                }
+            }
+            candidates.add(Locale.ROOT);
+
+            // 덜 구체적인 파일부터 덮어써서, 앞선 파일의 메시지가 남도록 한다.
+            Map<String, Message> messages = new HashMap<>();
+            for (int index = candidates.size() - 1; index >= 0; index--) {
+                messages.putAll(bundles.getOrDefault(candidates.get(index), Collections.emptyMap()));
+            }
+            return Collections.unmodifiableMap(messages);
+        }
+
+        // language_COUNTRY_variant, language_COUNTRY, language
+        private static List<Locale> candidates(Locale locale) {
+            List<Locale> candidates = new ArrayList<>(3);
+            if (!locale.getVariant().isEmpty()) {
+                candidates.add(new Locale(locale.getLanguage(), locale.getCountry(), locale.getVariant()));
+            }
+            if (!locale.getCountry().isEmpty()) {
+                candidates.add(new Locale(locale.getLanguage(), locale.getCountry()));
+            }
+            if (!locale.getLanguage().isEmpty()) {
+                candidates.add(new Locale(locale.getLanguage()));
+            }
+            return candidates;
+        }
+    }
+
+    /**
+     * 미리 해석한 메시지 하나
+     */
+    static final class Message {
+
+        private final String text;
+        private final Locale locale;
+        private final MessageFormat messageFormat;
+        private final RuntimeException invalidFormat;
+
+        // 문자열 조각(String)과 인자 번호(Integer), 단순한 형식이 아니면 null
+        private final Object[] segments;
+
+        private Message(String text, Locale locale, MessageFormat messageFormat, RuntimeException invalidFormat, Object[] segments) {
+            this.text = text;
+            this.locale = locale;
+            this.messageFormat = messageFormat;
+            this.invalidFormat = invalidFormat;
+            this.segments = segments;
+        }
+
+        static Message of(String text, Locale locale) {
+            try {
+                return new Message(text, locale, new MessageFormat(text, locale), null, segments(text));
+            } catch (IllegalArgumentException error) {
+                // 인자 없이 조회하면 그대로 사용할 수 있으므로, 형식 오류는 인자와 함께 조회할 때 알린다.
+                return new Message(text, locale, null, error, null);
+            }
+        }
+
+        String format(Object[] args, Locale locale) {
+            if (Objects.nonNull(invalidFormat)) {
+                throw invalidFormat;
+            }
+            if (Objects.nonNull(segments) && isStrings(args)) {
+                StringBuilder message = new StringBuilder(text.length() + 16 * args.length);
+                for (Object segment : segments) {
+                    if (segment instanceof String) {
+                        message.append((String) segment);
+                    } else {
+                        int index = (Integer) segment;
+                        message.append(index < args.length ? (String) args[index] : "{" + index + "}");
+                    }
+                }
+                return message.toString();
+            }
+            // {0,number} 같은 형식은 해석할 때의 지역 설정을 따르므로, 조회한 지역 설정이 다르면 다시 해석한다.
+            if (Objects.isNull(segments) && !this.locale.equals(locale)) {
+                return new MessageFormat(text, locale).format(args);
+            }
+            // MessageFormat은 스레드에 안전하지 않으므로 잠그는 대신 복사본을 사용한다. (해석한 결과를 함께 복사한다.)
+            MessageFormat format = (MessageFormat) messageFormat.clone();
+            format.setLocale(locale);
+            return format.format(args);
+        }
+
+        private static boolean isStrings(Object[] args) {
+            for (Object arg : args) {
+                if (Objects.nonNull(arg) && !(arg instanceof String)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * MessageFormat의 작은따옴표 규칙에 따라 형식을 문자열 조각과 인자 번호로 나눈다. {0,number} 같은 형식이 있으면 null을 반환한다.
+         */
+        static Object[] segments(String pattern) {
+            List<Object> segments = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            boolean quoted = false;
+            int position = 0;
+            while (position < pattern.length()) {
+                char current = pattern.charAt(position++);
+                if (current == '\'') {
+                    if (position < pattern.length() && pattern.charAt(position) == '\'') {
+                        literal.append('\'');
+                        position++;
+                    } else {
+                        quoted = !quoted;
+                    }
+                } else if (current == '{' && !quoted) {
+                    int end = pattern.indexOf('}', position);
+                    if (end < 0) {
+                        return null;
+                    }
+                    String argument = pattern.substring(position, end);
+                    if (argument.isEmpty() || !argument.chars().allMatch(it -> it >= '0' && it <= '9')) {
+                        return null;
+                    }
+                    if (literal.length() > 0) {
+                        segments.add(literal.toString());
+                        literal.setLength(0);
+                    }
+                    segments.add(Integer.parseInt(argument));
+                    position = end + 1;
+                } else {
+                    literal.append(current);
+                }
+            }
+            if (literal.length() > 0) {
+                segments.add(literal.toString());
+            }
+            return segments.toArray();
+        }
+    }
+
+}
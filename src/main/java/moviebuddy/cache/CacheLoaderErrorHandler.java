@@ -0,0 +1,25 @@
+package moviebuddy.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+
+import javax.cache.integration.CacheLoaderException;
+
+/**
+ * read-through 캐시의 로더가 던진 예외를 원래 예외로 되돌려 호출자에게 전달하는 캐시 오류 처리기.
+ *
+ * JCache 구현은 로더에서 발생한 예외를 CacheLoaderException으로 감싸므로, 그대로 두면 캐시를 거치지 않을 때와 다른 예외(ex. ApplicationException 대신 CacheLoaderException)를 받게 된다.
+ * 그 밖의 오류는 SimpleCacheErrorHandler와 같이 그대로 던진다.
+ */
+public class CacheLoaderErrorHandler extends SimpleCacheErrorHandler {
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        Throwable cause = exception;
+        while (cause instanceof CacheLoaderException && cause.getCause() instanceof RuntimeException) {
+            cause = cause.getCause();
+        }
+        throw (RuntimeException) cause;
+    }
+
+}
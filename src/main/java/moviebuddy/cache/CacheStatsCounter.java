@@ -0,0 +1,69 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Caffeine 기본 통계(ConcurrentStatsCounter)에 최대 불러오기 시간을 더한 통계 기록기.
+ */
+public class CacheStatsCounter implements StatsCounter {
+
+    private final ConcurrentStatsCounter delegate = new ConcurrentStatsCounter();
+    private final LongAccumulator maxLoadTime = new LongAccumulator(Math::max, 0);
+
+    @Override
+    public void recordHits(int count) {
+        delegate.recordHits(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        delegate.recordMisses(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        delegate.recordLoadSuccess(loadTime);
+        maxLoadTime.accumulate(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        delegate.recordLoadFailure(loadTime);
+        maxLoadTime.accumulate(loadTime);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void recordEviction() {
+        delegate.recordEviction();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void recordEviction(int weight) {
+        delegate.recordEviction(weight);
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        delegate.recordEviction(weight, cause);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return delegate.snapshot();
+    }
+
+    /**
+     * 가장 오래 걸린 불러오기 시간(나노초)
+     */
+    public long getMaxLoadTime() {
+        return maxLoadTime.get();
+    }
+
+}
@@ -0,0 +1,46 @@
+package moviebuddy.cache;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Objects;
+
+/**
+ * 스프링 AOP 어드바이스(MethodInterceptor) 스타일로 작성한 캐시 부가기능.
+ * 대상 객체의 클래스 명을 캐시 이름으로, 호출된 메서드와 인자를 키(MethodCacheKey)로 사용하며
+ * 캐시가 비어 있을 때 동시에 들어온 요청은 SingleFlight로 묶어 대상 객체를 한 번만 호출한다.
+ */
+public class CachingAdvice implements MethodInterceptor {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final MethodResultCaching caching;
+
+    public CachingAdvice(CacheManager cacheManager) {
+        this(cacheManager, new SingleFlight());
+    }
+
+    public CachingAdvice(CacheManager cacheManager, SingleFlight singleFlight) {
+        this.caching = new MethodResultCaching(cacheManager, singleFlight, log);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // getArguments()는 호출에 사용되는 배열 그 자체이므로 키에 보관할 복사본을 만든다.
+        Object[] arguments = invocation.getArguments();
+        Class<?> targetClass = Objects.requireNonNull(invocation.getThis()).getClass();
+        Cache cache = caching.cache(targetClass);
+        MethodCacheKey key = MethodCacheKey.of(targetClass, invocation.getMethod(), arguments.length == 0 ? arguments : arguments.clone());
+
+        Object cachedValue = caching.lookup(cache, key);
+        if (Objects.nonNull(cachedValue)) {
+            return cachedValue;
+        }
+        return caching.load(cache, key, invocation::proceed);
+    }
+
+}
@@ -4,11 +4,13 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
+import java.lang.reflect.Method;
 import java.util.Objects;
 
 /**
@@ -16,16 +18,22 @@ import java.util.Objects;
  * ✔ @AspectJ의 문법과 애스펙트 정의 방법을 활용해 스프링 AOP를 적용하는 방법.
  * ✔ POJO 클래스에 포인트컷과 다양한 어드바이드 애노테이션을 이용해 애스펙트를 작성.
  * ✔ AspectJ 런타임 라이브러리인 aspectjweaver.jar가 필요.
+ * cf. 애플리케이션은 MovieReader.loadMovies()의 @CacheResult(JCache)로 캐시하므로, 이 애스펙트는 빈으로 등록하지 않는다.
  */
 @Aspect
 public class CachingAspect {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
-    private final CacheManager cacheManager;
+    // 캐시 조회와 저장, 동시 요청 묶기(SingleFlight)를 처리한다.
+    private final MethodResultCaching caching;
 
     public CachingAspect(CacheManager cacheManager){
-        this.cacheManager = Objects.requireNonNull(cacheManager);
+        this(cacheManager, new SingleFlight());
+    }
+
+    public CachingAspect(CacheManager cacheManager, SingleFlight singleFlight){
+        this.caching = new MethodResultCaching(cacheManager, singleFlight, log);
     }
 
 //    @Pointcut("target(moviebuddy.domain.MovieReader)")
@@ -36,24 +44,19 @@ public class CachingAspect {
 //    @Around("performance()")
     @Around("target(moviebuddy.domain.MovieReader)")
     public Object doCachingReturnValue(ProceedingJoinPoint pjp) throws Throwable {
-        // 캐시된 데이터가 존재하면, 즉시 반환 처리
-
-        // invocation.getThis()는 대상 객체를 의미.(여기선 CsvMovieReader 또는 XmlMovieReader)
-        // 대상 객체의 클래스 명을 캐시 이름으로 지정하여 캐시를 구성.
-        Cache cache = cacheManager.getCache(pjp.getThis().getClass().getName());
-        // 호출된 메서드의 이름(여기선 loadMovies)을 key로 캐시에 데이터를 저장하거나 취득.
-        Object cachedValue = cache.get(pjp.getSignature().getName(), Object.class);
-        if(Objects.nonNull(cachedValue)){
-            log.info("returns cached data. [" + pjp + "]");
+        // 대상 객체(여기선 CsvMovieReader 또는 XmlMovieReader)의 클래스 명을 캐시 이름으로 지정하여 캐시를 구성하고,
+        // 호출된 메서드와 인자로 만든 키로 캐시에 데이터를 저장하거나 취득.
+        // 캐시된 데이터가 없으면 대상 객체에 명령을 위임하고, 반환된 값을 캐시에 저장 후 반환 처리
+        // cf. pjp.getArgs()는 인자 배열의 복사본을 반환하므로 키에 그대로 보관해도 안전하다.
+        Class<?> targetClass = pjp.getTarget().getClass();
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Cache cache = caching.cache(targetClass);
+        MethodCacheKey key = MethodCacheKey.of(targetClass, method, pjp.getArgs());
+
+        Object cachedValue = caching.lookup(cache, key);
+        if (Objects.nonNull(cachedValue)) {
             return cachedValue;
         }
-
-        // 캐시된 데이터가 없으면, 대상 객체에 명령을 위임하고, 반환된 값을 캐시에 저장 후 반환 처리
-        cachedValue = pjp.proceed();
-        cache.put(pjp.getSignature().getName(), cachedValue);
-
-        log.info("caching return value. [" + pjp + "]");
-
-        return cachedValue;
+        return caching.load(cache, key, pjp::proceed);
     }
 }
@@ -0,0 +1,152 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * JCache 캐시 하나의 통계.
+ *
+ * 통계를 켠(statisticsEnabled) JCache 캐시는 JSR-107 표준 CacheStatisticsMXBean을 플랫폼 MBean 서버에 등록하므로, 등록된 MXBean에서 값을 읽는다.
+ * MXBean 이름은 JSR-107 구현체들이 따르는 "javax.cache:type=CacheStatistics,CacheManager=<URI>,Cache=<이름>" 형식이다.
+ * 표준 통계에는 불러오기 횟수와 시간이 없으므로, 캐시 로더가 기록한 통계(CacheStatsCounter)가 있으면 함께 보여준다.
+ */
+public class JCacheStatistics {
+
+    private final String name;
+    private final CacheStatisticsMXBean statistics;
+    private final long size;
+    private final CacheStats loads;
+    private final long maxLoadTime;
+
+    JCacheStatistics(String name, CacheStatisticsMXBean statistics, long size, CacheStatsCounter loadStatistics) {
+        this.name = name;
+        this.statistics = statistics;
+        this.size = size;
+        this.loads = Objects.isNull(loadStatistics) ? CacheStats.empty() : loadStatistics.snapshot();
+        this.maxLoadTime = Objects.isNull(loadStatistics) ? 0 : loadStatistics.getMaxLoadTime();
+    }
+
+    /**
+     * 통계를 켠 캐시들의 현재 통계를 이름 순으로 반환한다.
+     */
+    public static List<JCacheStatistics> of(CacheManager cacheManager) {
+        return of(cacheManager, Collections.emptyMap());
+    }
+
+    /**
+     * 통계를 켠 캐시들의 현재 통계를 이름 순으로 반환한다.
+     *
+     * @param loadStatistics 캐시 이름별로 캐시 로더가 기록한 불러오기 통계
+     */
+    public static List<JCacheStatistics> of(CacheManager cacheManager, Map<String, CacheStatsCounter> loadStatistics) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Set<String> names = new TreeSet<>();
+        cacheManager.getCacheNames().forEach(names::add);
+
+        List<JCacheStatistics> statistics = new ArrayList<>(names.size());
+        for (String name : names) {
+            Cache<?, ?> cache = cacheManager.getCache(name);
+            ObjectName objectName = objectName(cacheManager, name);
+            if (Objects.isNull(cache) || !server.isRegistered(objectName)) {
+                continue;
+            }
+            statistics.add(new JCacheStatistics(name, JMX.newMXBeanProxy(server, objectName, CacheStatisticsMXBean.class), sizeOf(cache), loadStatistics.get(name)));
+        }
+        return statistics;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return statistics.getCacheHits();
+    }
+
+    public long getMisses() {
+        return statistics.getCacheMisses();
+    }
+
+    /**
+     * 전체 조회 중 캐시에서 찾은 비율
+     */
+    public double getHitRate() {
+        return statistics.getCacheGets() == 0 ? 0 : statistics.getCacheHitPercentage() / 100.0;
+    }
+
+    /**
+     * 조회 한 번의 평균 시간(마이크로초), read-through 로 불러온 시간도 포함한다.
+     */
+    public float getAverageGetTime() {
+        return statistics.getAverageGetTime();
+    }
+
+    /**
+     * 캐시 로더가 불러온 횟수(실패 포함)
+     */
+    public long getLoadCount() {
+        return loads.loadCount();
+    }
+
+    /**
+     * 불러오기 한 번의 평균 시간(나노초)
+     */
+    public double getAverageLoadPenalty() {
+        return loads.averageLoadPenalty();
+    }
+
+    /**
+     * 가장 오래 걸린 불러오기 시간(나노초)
+     */
+    public long getMaxLoadTime() {
+        return maxLoadTime;
+    }
+
+    public long getEvictions() {
+        return statistics.getCacheEvictions();
+    }
+
+    /**
+     * 캐시된 항목 수(추정치), Caffeine 기반 캐시가 아니면 -1
+     */
+    public long getSize() {
+        return size;
+    }
+
+    private static long sizeOf(Cache<?, ?> cache) {
+        try {
+            return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+        } catch (IllegalArgumentException error) {
+            return -1;
+        }
+    }
+
+    private static ObjectName objectName(CacheManager cacheManager, String name) {
+        try {
+            return new ObjectName(String.format("javax.cache:type=CacheStatistics,CacheManager=%s,Cache=%s", sanitize(cacheManager.getURI().toString()), sanitize(name)));
+        } catch (MalformedObjectNameException error) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    // ObjectName 값에 쓸 수 없는 문자는 '.'으로 바꾼다.
+    private static String sanitize(String value) {
+        return value.replaceAll(",|:|=|\n", ".");
+    }
+
+}
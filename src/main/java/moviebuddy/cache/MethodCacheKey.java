@@ -0,0 +1,66 @@
+package moviebuddy.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 메서드 호출 결과를 캐시할 때 사용하는 키. 대상 클래스, 메서드, 인자 값으로 호출을 구분한다.
+ * 해시 값은 만들 때 한 번만 계산해 두고, 인자가 없는 호출은 인자 배열을 새로 만들지 않는다.
+ *
+ * 인자 배열은 복사하지 않고 그대로 보관하므로, 키를 만든 후에는 배열을 변경하지 않아야 한다.
+ */
+public final class MethodCacheKey {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Class<?> targetClass;
+    private final Method method;
+    private final Object[] arguments;
+    private final int hash;
+
+    private MethodCacheKey(Class<?> targetClass, Method method, Object[] arguments) {
+        this.targetClass = Objects.requireNonNull(targetClass);
+        this.method = Objects.requireNonNull(method);
+        this.arguments = Objects.isNull(arguments) || arguments.length == 0 ? NO_ARGUMENTS : arguments;
+
+        int hash = targetClass.hashCode();
+        hash = 31 * hash + method.hashCode();
+        hash = 31 * hash + Arrays.deepHashCode(this.arguments);
+        this.hash = hash;
+    }
+
+    public static MethodCacheKey of(Class<?> targetClass, Method method, Object[] arguments) {
+        return new MethodCacheKey(targetClass, method, arguments);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof MethodCacheKey)) {
+            return false;
+        }
+        MethodCacheKey key = (MethodCacheKey) other;
+        return hash == key.hash
+                && targetClass == key.targetClass
+                && (method == key.method || method.equals(key.method))
+                && Arrays.deepEquals(arguments, key.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return targetClass.getSimpleName() + "." + method.getName() + Arrays.deepToString(arguments);
+    }
+
+}
@@ -0,0 +1,89 @@
+package moviebuddy.cache;
+
+import org.slf4j.Logger;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CachingAspect와 CachingAdvice가 함께 사용하는 메서드 결과 캐시 처리.
+ *
+ * - 대상 클래스 별 캐시(클래스 명을 캐시 이름으로 사용)는 처음 한 번만 CacheManager에서 찾아 보관한다.
+ * - 키는 대상 클래스, 메서드, 인자로 만든 MethodCacheKey 이다. 캐시 적중 시에는 키 외에 다른 객체를 만들지 않는다.
+ *   (값 래퍼를 만드는 Cache.get(key) 대신 Cache.get(key, type)을 쓰고, 로그는 레벨을 확인한 후에만 남긴다.)
+ * - 캐시가 비어 있으면 SingleFlight로 동시 요청을 묶어 대상 메서드를 한 번만 호출한다.
+ */
+class MethodResultCaching {
+
+    private final CacheManager cacheManager;
+    private final SingleFlight singleFlight;
+    private final Logger log;
+
+    private final ConcurrentMap<Class<?>, Cache> caches = new ConcurrentHashMap<>();
+
+    MethodResultCaching(CacheManager cacheManager, SingleFlight singleFlight, Logger log) {
+        this.cacheManager = Objects.requireNonNull(cacheManager);
+        this.singleFlight = Objects.requireNonNull(singleFlight);
+        this.log = Objects.requireNonNull(log);
+    }
+
+    /**
+     * 캐시된 값을 반환한다. 캐시된 값이 없으면 null을 반환한다.
+     */
+    Object lookup(Cache cache, MethodCacheKey key) {
+        Object cachedValue = cache.get(key, Object.class);
+        if (Objects.nonNull(cachedValue) && log.isDebugEnabled()) {
+            log.debug("returns cached data. [{}]", key);
+        }
+        return cachedValue;
+    }
+
+    /**
+     * 대상 메서드를 호출해 반환된 값을 캐시에 저장한다. 같은 키로 동시에 들어온 요청은 한 번의 호출 결과를 함께 받는다.
+     * 호출은 Cache.get(key, valueLoader)로 실행하므로 불러오기 횟수와 시간이 캐시 통계에 기록된다.
+     */
+    Object load(Cache cache, MethodCacheKey key, SingleFlight.Flight proceed) throws Throwable {
+        return singleFlight.execute(key, () -> {
+            try {
+                // 앞선 요청이 방금 캐시를 채웠다면 대상 메서드를 호출하지 않고 그 값을 반환한다.
+                return cache.get(key, () -> {
+                    Object value = call(proceed);
+                    if (log.isInfoEnabled()) {
+                        log.info("caching return value. [{}]", key);
+                    }
+                    return value;
+                });
+            } catch (Cache.ValueRetrievalException error) {
+                throw error.getCause();
+            }
+        });
+    }
+
+    private static Object call(SingleFlight.Flight proceed) throws Exception {
+        try {
+            return proceed.run();
+        } catch (Exception | Error error) {
+            throw error;
+        } catch (Throwable error) {
+            throw new UndeclaredThrowableException(error);
+        }
+    }
+
+    /**
+     * 대상 클래스의 캐시를 반환한다. CacheManager는 처음 한 번만 조회한다.
+     */
+    Cache cache(Class<?> targetClass) {
+        Cache cache = caches.get(targetClass);
+        if (Objects.isNull(cache)) {
+            cache = Objects.requireNonNull(cacheManager.getCache(targetClass.getName()), "cache is not available.");
+            Cache previous = caches.putIfAbsent(targetClass, cache);
+            cache = Objects.nonNull(previous) ? previous : cache;
+        }
+        return cache;
+    }
+
+}
@@ -0,0 +1,211 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import moviebuddy.data.AbstractMetadataResourceMovieReader;
+import moviebuddy.domain.MovieReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+
+import javax.cache.configuration.FactoryBuilder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 영화 목록 캐시("movies")를 채우는 Caffeine 캐시 로더이다.
+ *
+ * 캐시에 값이 없으면 호출한 스레드에서 영화 목록을 불러오고, 값이 있지만 refreshAfterWrite 시간이 지났으면
+ * 기존 값을 그대로 반환하면서 지정한 실행기(executor)에서 새 영화 목록을 불러와 교체한다. (stale-while-revalidate)
+ * 백그라운드에서 불러오기에 실패하면 마지막으로 성공한 영화 목록이 그대로 남는다.
+ *
+ * 메타데이터 자원을 읽는 MovieReader라면 다시 불러오기 전에 자원이 실제로 바뀌었는지 확인하고,
+ * 바뀌지 않았으면 기존 영화 목록을 그대로 유지한다. 즉 refreshAfterWrite는 변경을 확인하는 주기(신선도 상한)가 된다.
+ * 로컬 파일은 변경을 감시하다가 바뀌는 즉시 다시 불러오기를 시작한다.
+ *
+ * MovieReader 빈은 캐시 프락시이므로, 로더는 프락시를 벗겨낸 실제 대상 객체에 불러오기를 위임한다.
+ *
+ * Caffeine 캐시(buildCache)와 JCache 캐시(createJCache) 중 하나를 만들 수 있다.
+ */
+public class MovieCatalogCacheLoader implements CacheLoader<Object, Object> {
+
+    public static final String CACHE_NAME = "movies";
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final Supplier<MovieReader> movieReader;
+
+    // 이 로더로 만든 캐시를 다시 불러오는 작업, 메타데이터 변경 알림을 받으면 실행한다.
+    private volatile Runnable refresher;
+    private final AtomicBoolean watching = new AtomicBoolean();
+
+    // JCache 표준 통계에는 불러오기 횟수와 시간이 없으므로, JCache 로더가 직접 기록한다.
+    private final CacheStatsCounter loadStatistics = new CacheStatsCounter();
+
+    public MovieCatalogCacheLoader(Supplier<MovieReader> movieReader) {
+        this.movieReader = Objects.requireNonNull(movieReader);
+    }
+
+    @Override
+    public Object load(Object key) {
+        MovieReader target = target();
+        watch(target);
+        return target.loadMovies();
+    }
+
+    @Override
+    public Object reload(Object key, Object oldValue) {
+        MovieReader target = target();
+        watch(target);
+        if (target instanceof AbstractMetadataResourceMovieReader && !((AbstractMetadataResourceMovieReader) target).isMetadataModified()) {
+            log.debug("movie metadata is not modified, keeping the cached catalog.");
+            return oldValue;
+        }
+
+        log.info("reloading movie catalog in background.");
+        return target.loadMovies();
+    }
+
+    /**
+     * 이 로더로 영화 목록을 불러오는 refresh-ahead 캐시를 만든다.
+     *
+     * @param refreshAfterWrite 값을 기록한 후 백그라운드에서 다시 불러올 때까지의 시간
+     * @param expireAfterWrite 값을 기록한 후 만료될 때까지의 시간, 그동안 한 번도 다시 불러오지 못하면 다음 호출자가 직접 불러온다.
+     * @param executor 백그라운드 불러오기를 실행할 실행기
+     */
+    public LoadingCache<Object, Object> buildCache(long refreshAfterWrite, long expireAfterWrite, TimeUnit unit, Executor executor, Ticker ticker) {
+        return buildCache(refreshAfterWrite, expireAfterWrite, unit, executor, ticker, null);
+    }
+
+    /**
+     * 통계를 기록하는 refresh-ahead 캐시를 만든다. statsCounter가 null이면 통계를 기록하지 않는다.
+     */
+    public LoadingCache<Object, Object> buildCache(long refreshAfterWrite, long expireAfterWrite, TimeUnit unit, Executor executor, Ticker ticker, Supplier<? extends StatsCounter> statsCounter) {
+        if (refreshAfterWrite <= 0 || expireAfterWrite <= refreshAfterWrite) {
+            throw new IllegalArgumentException("expireAfterWrite must be greater than refreshAfterWrite.");
+        }
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                                                    .refreshAfterWrite(refreshAfterWrite, unit)
+                                                    .expireAfterWrite(expireAfterWrite, unit)
+                                                    .executor(executor)
+                                                    .ticker(ticker);
+        if (Objects.nonNull(statsCounter)) {
+            caffeine.recordStats(statsCounter);
+        }
+        LoadingCache<Object, Object> cache = caffeine.build(this);
+        this.refresher = () -> cache.asMap().keySet().forEach(cache::refresh);
+        return cache;
+    }
+
+    /**
+     * 이 로더로 영화 목록을 불러오는 JCache 캐시를 만든다. cacheManager는 Caffeine의 JCache 구현(CaffeineCachingProvider)이 만든 것이어야 한다.
+     *
+     * 캐시는 read-through 로 동작해, 값이 없으면 조회한 스레드에서 불러온다. (동시에 조회해도 한 번만 불러온다.)
+     * refreshAfterWrite 가 0보다 크면 buildCache 와 같이 백그라운드에서 다시 불러오고, 0이면 만료 후 다음 호출자가 불러온다.
+     * JCache 로더는 다시 불러올 때 기존 값을 받지 못하므로, 마지막으로 불러온 영화 목록을 기억해 두었다가 메타데이터가 바뀌지 않았으면 그대로 사용한다.
+     * 통계(적중, 미스, 조회 시간 등)는 JCache 표준 CacheStatisticsMXBean으로 기록하고, 불러오기 횟수와 시간은 getLoadStatistics로 기록한다.
+     *
+     * @param maximumSize 캐시할 항목 수의 상한 (loadMovies는 인자가 없으므로 항목은 하나다.)
+     */
+    public javax.cache.Cache<Object, Object> createJCache(javax.cache.CacheManager cacheManager, long refreshAfterWrite, long expireAfterWrite, TimeUnit unit, long maximumSize, Executor executor, Ticker ticker) {
+        if (refreshAfterWrite < 0 || expireAfterWrite <= refreshAfterWrite) {
+            throw new IllegalArgumentException("expireAfterWrite must be greater than refreshAfterWrite.");
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // 기본값(store-by-value)은 조회할 때마다 영화 목록을 직렬화해 복사하므로, 참조를 그대로 보관한다.
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setReadThrough(true);
+        configuration.setCacheLoaderFactory(new FactoryBuilder.SingletonFactory<>(new JCacheLoader()));
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(unit.toNanos(expireAfterWrite)));
+        if (refreshAfterWrite > 0) {
+            configuration.setRefreshAfterWrite(OptionalLong.of(unit.toNanos(refreshAfterWrite)));
+        }
+        configuration.setExecutorFactory(new FactoryBuilder.SingletonFactory<>(executor));
+        configuration.setTickerFactory(new FactoryBuilder.SingletonFactory<>(ticker));
+
+        javax.cache.Cache<Object, Object> cache = cacheManager.createCache(CACHE_NAME, configuration);
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+        this.refresher = () -> cache.loadAll(Set.copyOf(nativeCache.asMap().keySet()), true, null);
+        return cache;
+    }
+
+    /**
+     * JCache 캐시(createJCache)에서 영화 목록을 불러온 횟수와 시간 통계
+     */
+    public CacheStatsCounter getLoadStatistics() {
+        return loadStatistics;
+    }
+
+    /**
+     * 메타데이터가 로컬 파일이면 변경 알림을 받도록 한 번만 등록한다. 알림을 받으면 캐시된 영화 목록을 백그라운드에서 다시 불러온다.
+     * MovieReader 빈은 캐시보다 늦게 만들어지므로, 처음 불러올 때 등록한다.
+     */
+    private void watch(MovieReader target) {
+        if (target instanceof AbstractMetadataResourceMovieReader && Objects.nonNull(refresher) && watching.compareAndSet(false, true)) {
+            ((AbstractMetadataResourceMovieReader) target).addMetadataChangeListener(refresher);
+        }
+    }
+
+    private MovieReader target() {
+        return targetOf(movieReader.get());
+    }
+
+    /**
+     * 프락시를 모두 벗겨낸 실제 MovieReader 객체를 반환한다.
+     */
+    static MovieReader targetOf(Object target) {
+        Object singletonTarget = AopProxyUtils.getSingletonTarget(target);
+        while (Objects.nonNull(singletonTarget)) {
+            target = singletonTarget;
+            singletonTarget = AopProxyUtils.getSingletonTarget(target);
+        }
+        return (MovieReader) target;
+    }
+
+    /**
+     * JCache 캐시가 사용하는 로더. 마지막으로 불러온 영화 목록이 있으면 다시 불러오기(reload)로 처리한다.
+     */
+    private class JCacheLoader implements javax.cache.integration.CacheLoader<Object, Object> {
+
+        private volatile Object loaded;
+
+        @Override
+        public Object load(Object key) {
+            long startTime = System.nanoTime();
+            Object loaded = this.loaded;
+            Object movies;
+            try {
+                movies = Objects.isNull(loaded) ? MovieCatalogCacheLoader.this.load(key) : reload(key, loaded);
+            } catch (RuntimeException error) {
+                loadStatistics.recordLoadFailure(System.nanoTime() - startTime);
+                throw error;
+            }
+            loadStatistics.recordLoadSuccess(System.nanoTime() - startTime);
+            this.loaded = movies;
+            return movies;
+        }
+
+        @Override
+        public Map<Object, Object> loadAll(Iterable<?> keys) {
+            Map<Object, Object> loaded = new HashMap<>();
+            for (Object key : keys) {
+                loaded.put(key, load(key));
+            }
+            return loaded;
+        }
+    }
+
+}
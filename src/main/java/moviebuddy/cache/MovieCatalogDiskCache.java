@@ -0,0 +1,231 @@
+package moviebuddy.cache;
+
+import moviebuddy.data.AbstractMetadataResourceMovieReader;
+import moviebuddy.data.MovieSnapshot;
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 불러온 영화 목록을 로컬 파일에 바이너리 스냅샷(MovieSnapshot)으로 저장해 두는 디스크 캐시(L2)이다.
+ * 애플리케이션을 다시 시작해도 원본 메타데이터가 바뀌지 않았다면 텍스트를 해석하지 않고 스냅샷에서 영화 목록을 읽는다.
+ *
+ * 캐시 파일 이름은 "catalog-{캐시 이름과 원본 위치}-{캐시 키}-{원본 크기, 최종 수정 시각, 스냅샷 버전}.bin" 의 각 부분을 해시한 것이므로,
+ * 원본이 바뀌면 이전 파일은 더 이상 조회되지 않는다. 새 파일을 저장할 때는 같은 캐시 이름, 원본 위치, 캐시 키의 이전 파일만 지우므로
+ * 다른 메타데이터나 설정으로 실행한 애플리케이션이 같은 디렉터리를 함께 써도 서로의 파일을 지우지 않는다.
+ * 원본 자원의 식별 정보를 알 수 없으면(메타데이터 자원을 쓰지 않는 MovieReader 등) 캐시를 사용하지 않는다.
+ */
+public class MovieCatalogDiskCache extends AbstractValueAdaptingCache {
+
+    static final String FILE_PREFIX = "catalog-";
+    static final String FILE_SUFFIX = ".bin";
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final String name;
+    private final Path directory;
+    private final Supplier<MovieReader> movieReader;
+
+    public MovieCatalogDiskCache(String name, Path directory, Supplier<MovieReader> movieReader) {
+        super(false);
+        this.name = Objects.requireNonNull(name);
+        this.directory = Objects.requireNonNull(directory);
+        this.movieReader = Objects.requireNonNull(movieReader);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return directory;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Path file = file(key);
+        if (Objects.isNull(file) || !Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MovieSnapshot.Decoder decoder = MovieSnapshot.decoder(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            List<Movie> movies = new ArrayList<>(decoder.getMovieCount());
+            for (Movie movie = decoder.next(); Objects.nonNull(movie); movie = decoder.next()) {
+                movies.add(movie);
+            }
+            log.info("movie catalog loaded from disk cache. [file: {}, movies: {}]", file, movies.size());
+            return reader().map(it -> it.store(movies)).orElse(movies);
+        } catch (IOException | RuntimeException error) {
+            // 읽을 수 없거나 손상된 파일은 지우고, 원본에서 다시 불러오도록 캐시 미스로 처리한다.
+            log.warn("failed to read disk cache, it will be discarded. [file: {}]", file, error);
+            delete(file);
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (Objects.nonNull(value)) {
+            return (T) value;
+        }
+        try {
+            value = valueLoader.call();
+        } catch (Exception error) {
+            throw new ValueRetrievalException(key, valueLoader, error);
+        }
+        put(key, value);
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void put(Object key, Object value) {
+        Path file = file(key);
+        if (Objects.isNull(file) || !(value instanceof List)) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                MovieSnapshot.write((List<Movie>) value, output);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("movie catalog saved to disk cache. [file: {}, bytes: {}]", file, Files.size(file));
+        } catch (IOException error) {
+            // 디스크 캐시는 부가 기능이므로 저장에 실패해도 호출자에게 예외를 전달하지 않는다.
+            log.warn("failed to write disk cache. [file: {}]", file, error);
+            return;
+        }
+        deleteAllExcept(prefix(key), file);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String prefix = prefix(key);
+        if (Objects.nonNull(prefix)) {
+            deleteAllExcept(prefix, null);
+        }
+    }
+
+    /**
+     * 현재 원본 메타데이터 자원으로 저장한 이 캐시의 파일을 모두 지운다. 다른 캐시나 다른 원본으로 저장한 파일은 남겨 둔다.
+     */
+    @Override
+    public void clear() {
+        String scope = reader().map(this::scopeOf).orElse(null);
+        if (Objects.nonNull(scope)) {
+            deleteAllExcept(FILE_PREFIX + scope + "-", null);
+        }
+    }
+
+    /**
+     * 키와 원본 메타데이터 자원의 식별 정보로 캐시 파일 경로를 만든다. 식별 정보를 알 수 없으면 null을 반환한다.
+     */
+    Path file(Object key) {
+        String prefix = prefix(key);
+        String version = reader().map(this::versionOf).orElse(null);
+        if (Objects.isNull(prefix) || Objects.isNull(version)) {
+            return null;
+        }
+        return directory.resolve(prefix + version + FILE_SUFFIX);
+    }
+
+    /**
+     * 원본이 바뀌어도 같은, 키의 캐시 파일 이름 앞부분. 원본 메타데이터 자원을 알 수 없으면 null을 반환한다.
+     */
+    private String prefix(Object key) {
+        String scope = reader().map(this::scopeOf).orElse(null);
+        return Objects.nonNull(scope) ? FILE_PREFIX + scope + "-" + digest(String.valueOf(key)) + "-" : null;
+    }
+
+    private String scopeOf(AbstractMetadataResourceMovieReader movieReader) {
+        Resource resource = movieReader.getMetadataResource();
+        try {
+            return digest(name + "|" + resource.getURI());
+        } catch (IOException error) {
+            log.debug("cannot identify metadata resource, disk cache is not used. [{}]", resource, error);
+            return null;
+        }
+    }
+
+    private String versionOf(AbstractMetadataResourceMovieReader movieReader) {
+        Resource resource = movieReader.getMetadataResource();
+        try {
+            return digest(String.format("%d|%d|%d", resource.contentLength(), resource.lastModified(), MovieSnapshot.VERSION));
+        } catch (IOException error) {
+            log.debug("cannot identify metadata resource, disk cache is not used. [{}]", resource, error);
+            return null;
+        }
+    }
+
+    private Optional<AbstractMetadataResourceMovieReader> reader() {
+        MovieReader target = MovieCatalogCacheLoader.targetOf(movieReader.get());
+        return target instanceof AbstractMetadataResourceMovieReader ? Optional.of((AbstractMetadataResourceMovieReader) target) : Optional.empty();
+    }
+
+    private void deleteAllExcept(String prefix, Path keep) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                if (!file.equals(keep)) {
+                    delete(file);
+                }
+            }
+        } catch (IOException error) {
+            log.warn("failed to clean up disk cache. [directory: {}]", directory, error);
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException error) {
+            log.warn("failed to delete disk cache file. [file: {}]", file, error);
+        }
+    }
+
+    private static String digest(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(32);
+            for (int index = 0; index < 16; index++) {
+                hex.append(String.format("%02x", hash[index]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException error) {
+            throw new IllegalStateException(error);
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+package moviebuddy.cache;
+
+import moviebuddy.ApplicationException;
+import moviebuddy.domain.Movie;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 영화 목록을 작은 바이트 배열로 바꾸는 코덱이다. 힙 바깥 캐시(OffHeapCache)에 검색 결과를 담을 때 사용한다.
+ *
+ * <pre>
+ * strings : count(varint) [ length(varint) utf-8 bytes ]...
+ * movies  : count(varint) [ record ]...
+ * record  : title genreCount genre... language country releaseYear(varint) director actorCount actor...
+ *           imdbLink(0: 없음, 그 외: 문자열 id + 1) watchedDate(zigzag varint, epoch day)
+ * </pre>
+ *
+ * MovieSnapshot과 같이 문자열은 사전(strings)에 한 번만 기록하고 id로 참조하지만, 검색 결과는 작으므로
+ * 고정 길이 int 대신 가변 길이 정수(varint)를 사용하고 헤더와 체크섬은 두지 않는다.
+ */
+final class MovieListCodec {
+
+    private MovieListCodec() {}
+
+    /**
+     * 영화 목록을 기록한다. 영화가 아닌 값이 들어 있으면 IllegalArgumentException이 발생한다.
+     */
+    static byte[] encode(List<?> movies) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        Output strings = new Output(256);
+        Output records = new Output(Math.max(64, movies.size() * 16));
+
+        records.writeVarint(movies.size());
+        for (Object value : movies) {
+            if (!(value instanceof Movie)) {
+                throw new IllegalArgumentException("only movies can be encoded. [" + (Objects.isNull(value) ? null : value.getClass().getName()) + "]");
+            }
+            Movie movie = (Movie) value;
+            records.writeVarint(stringId(movie.getTitle(), dictionary, strings));
+            writeStringIds(movie.getGenres(), dictionary, strings, records);
+            records.writeVarint(stringId(movie.getLanguage(), dictionary, strings));
+            records.writeVarint(stringId(movie.getCountry(), dictionary, strings));
+            records.writeVarint(movie.getReleaseYear());
+            records.writeVarint(stringId(movie.getDirector(), dictionary, strings));
+            writeStringIds(movie.getActors(), dictionary, strings, records);
+            records.writeVarint(Objects.isNull(movie.getImdbLink()) ? 0 : stringId(movie.getImdbLink().toString(), dictionary, strings) + 1);
+            long watchedDate = movie.getWatchedDate().toEpochDay();
+            records.writeVarint(Math.toIntExact((watchedDate << 1) ^ (watchedDate >> 63)));
+        }
+
+        Output output = new Output(strings.size + records.size + 5);
+        output.writeVarint(dictionary.size());
+        output.write(strings.bytes, 0, strings.size);
+        output.write(records.bytes, 0, records.size);
+        return Arrays.copyOf(output.bytes, output.size);
+    }
+
+    /**
+     * 기록한 영화 목록을 해석한다. 반환하는 목록은 변경할 수 없다.
+     */
+    static List<Movie> decode(byte[] bytes) {
+        Input input = new Input(bytes);
+        try {
+            String[] strings = new String[input.readVarint()];
+            for (int index = 0; index < strings.length; index++) {
+                strings[index] = input.readString();
+            }
+
+            Movie[] movies = new Movie[input.readVarint()];
+            for (int index = 0; index < movies.length; index++) {
+                String title = strings[input.readVarint()];
+                List<String> genres = readStringList(input, strings);
+                String language = strings[input.readVarint()];
+                String country = strings[input.readVarint()];
+                int releaseYear = input.readVarint();
+                String director = strings[input.readVarint()];
+                List<String> actors = readStringList(input, strings);
+                int imdbLink = input.readVarint();
+                int watchedDate = input.readVarint();
+
+                movies[index] = Movie.of(title, genres, language, country, releaseYear, director, actors,
+                        imdbLink == 0 ? null : new URL(strings[imdbLink - 1]), LocalDate.ofEpochDay((watchedDate >>> 1) ^ -(watchedDate & 1)));
+            }
+            return Collections.unmodifiableList(Arrays.asList(movies));
+        } catch (MalformedURLException | RuntimeException error) {
+            throw new ApplicationException("corrupted cached movie list.", error);
+        }
+    }
+
+    private static int stringId(String value, Map<String, Integer> dictionary, Output strings) {
+        Integer id = dictionary.get(value);
+        if (Objects.isNull(id)) {
+            id = dictionary.size();
+            dictionary.put(value, id);
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            strings.writeVarint(bytes.length);
+            strings.write(bytes, 0, bytes.length);
+        }
+        return id;
+    }
+
+    private static void writeStringIds(List<String> values, Map<String, Integer> dictionary, Output strings, Output records) {
+        records.writeVarint(values.size());
+        for (String value : values) {
+            records.writeVarint(stringId(value, dictionary, strings));
+        }
+    }
+
+    private static List<String> readStringList(Input input, String[] strings) {
+        int count = input.readVarint();
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        String[] values = new String[count];
+        for (int index = 0; index < count; index++) {
+            values[index] = strings[input.readVarint()];
+        }
+        return Arrays.asList(values);
+    }
+
+    private static class Output {
+
+        private byte[] bytes;
+        private int size;
+
+        Output(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void write(byte[] source, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        private void ensureCapacity(int required) {
+            if (bytes.length - size < required) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + required));
+            }
+        }
+    }
+
+    private static class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte current = bytes[position++];
+                value |= (current & 0x7F) << shift;
+                if (current >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("malformed varint.");
+        }
+
+        String readString() {
+            int length = readVarint();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+
+}
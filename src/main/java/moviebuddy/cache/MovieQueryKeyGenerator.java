@@ -0,0 +1,24 @@
+package moviebuddy.cache;
+
+import moviebuddy.domain.MovieFinder;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.lang.reflect.Method;
+
+/**
+ * MovieFinder 검색 결과 캐시의 키를 만든다. 키는 영화 목록의 버전, 메서드 이름, 인자로 이루어진다.
+ * 키에 영화 목록의 버전을 포함하므로, 영화 목록이 다시 불러와지면 이전 목록으로 만든 결과는 더 이상 조회되지 않는다.
+ */
+public class MovieQueryKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Object[] elements = new Object[params.length + 2];
+        elements[0] = target instanceof MovieFinder ? ((MovieFinder) target).catalogVersion() : 0L;
+        elements[1] = method.getName();
+        System.arraycopy(params, 0, elements, 2, params.length);
+        return new SimpleKey(elements);
+    }
+
+}
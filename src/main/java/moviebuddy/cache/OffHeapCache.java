@@ -0,0 +1,232 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import moviebuddy.domain.Movie;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 영화 목록(검색 결과)을 직렬화해 힙 바깥 슬랩(SlabAllocator)에 저장하는 캐시이다.
+ * 큰 검색 결과가 힙에 오래 남아 old 영역을 부풀리지 않도록, 힙에는 키와 블록 번호만 두고 값은 MovieListCodec으로 기록한다.
+ * 조회할 때마다 값을 해석해 새 영화 목록을 만들므로, 만들어진 객체는 곧 버려지는 짧은 수명의 객체가 된다.
+ *
+ * - 키와 블록 번호는 Caffeine 캐시(색인)에 두고, 차지하는 블록 크기를 무게로 삼아 W-TinyLFU로 받아들일 항목과 제거할 항목을 정한다.
+ *   색인에서 제거된 항목의 블록은 제거 즉시 할당기로 돌아간다.
+ * - 색인의 최대 무게는 maximumBytes에서 maximumEntryBytes를 뺀 값이다. 따라서 새 값을 기록할 블록이 항상 남아 있고,
+ *   할당한 슬랩의 전체 크기는 maximumBytes를 넘지 않는다. maximumEntryBytes보다 큰 값은 저장하지 않는다. (rejected)
+ * - 영화 목록만 저장할 수 있으며, null은 저장하지 않는다.
+ * - 캐시가 비어 있으면 SingleFlight로 같은 키의 동시 요청을 묶어 한 번만 불러온다.
+ */
+public class OffHeapCache extends AbstractValueAdaptingCache {
+
+    public static final int DEFAULT_SLAB_BYTES = 1024 * 1024;
+
+    private final String name;
+    private final SlabAllocator allocator;
+    private final int maximumEntryBytes;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Entry> index;
+    private final CacheStatsCounter statsCounter = new CacheStatsCounter();
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param caffeine 색인을 만들 빌더 (만료 시간 등), 크기 제한과 제거 리스너, 통계는 캐시가 설정한다.
+     * @param maximumBytes 힙 바깥에 할당할 최대 크기(byte)
+     * @param blockBytes 블록 크기(byte), 값은 블록 단위로 저장된다.
+     * @param maximumEntryBytes 저장할 값 하나의 최대 크기(byte)
+     */
+    public OffHeapCache(String name, Caffeine<Object, Object> caffeine, long maximumBytes, int blockBytes, int maximumEntryBytes) {
+        super(false);
+        this.name = Objects.requireNonNull(name);
+        this.allocator = new SlabAllocator(maximumBytes, blockBytes, Math.max(blockBytes, DEFAULT_SLAB_BYTES));
+        long maximumEntryBlocks = allocator.blocks(maximumEntryBytes);
+        if (maximumEntryBytes < 1 || maximumEntryBlocks * blockBytes >= allocator.getMaximumBytes()) {
+            throw new IllegalArgumentException("maximumEntryBytes must be positive and smaller than maximumBytes.");
+        }
+        this.maximumEntryBytes = maximumEntryBytes;
+        // 제거 리스너를 호출한 스레드에서 바로 실행해, 제거된 항목의 블록이 다음 할당 전에 돌아오도록 한다.
+        this.index = caffeine.maximumWeight(allocator.getMaximumBytes() - maximumEntryBlocks * blockBytes)
+                .weigher((Object key, Entry entry) -> entry.blocks.length * blockBytes)
+                .removalListener((Object key, Entry entry, RemovalCause cause) -> entry.release(allocator))
+                .executor(Runnable::run)
+                .recordStats(() -> statsCounter)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return index;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry = index.getIfPresent(key);
+        return Objects.nonNull(entry) ? read(entry) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (Objects.nonNull(value)) {
+            return (T) value;
+        }
+
+        try {
+            return (T) singleFlight.execute(key, () -> {
+                // 앞선 요청이 방금 캐시를 채웠다면 다시 불러오지 않는다.
+                Entry entry = index.asMap().get(key);
+                Object stored = Objects.nonNull(entry) ? read(entry) : null;
+                if (Objects.nonNull(stored)) {
+                    return stored;
+                }
+
+                long start = System.nanoTime();
+                T loaded;
+                try {
+                    loaded = valueLoader.call();
+                } catch (Exception error) {
+                    statsCounter.recordLoadFailure(System.nanoTime() - start);
+                    throw new ValueRetrievalException(key, valueLoader, error);
+                }
+                statsCounter.recordLoadSuccess(System.nanoTime() - start);
+                if (Objects.nonNull(loaded)) {
+                    put(key, loaded);
+                }
+                return loaded;
+            });
+        } catch (RuntimeException | Error error) {
+            throw error;
+        } catch (Throwable error) {
+            throw new ValueRetrievalException(key, valueLoader, error);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("off-heap cache stores only movie lists. [" + (Objects.isNull(value) ? null : value.getClass().getName()) + "]");
+        }
+
+        byte[] bytes = MovieListCodec.encode((List<?>) value);
+        int[] blocks = bytes.length <= maximumEntryBytes ? allocate(bytes.length) : null;
+        if (Objects.isNull(blocks)) {
+            // 새 값을 저장하지 못했으므로 이전 값도 남기지 않는다.
+            rejected.increment();
+            index.invalidate(key);
+            return;
+        }
+        allocator.write(blocks, bytes);
+        index.put(key, new Entry(blocks, bytes.length));
+    }
+
+    @Override
+    public void evict(Object key) {
+        index.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        index.invalidateAll();
+    }
+
+    /**
+     * 색인의 통계(적중률, 불러오기 시간, 제거 수 등)
+     */
+    public StatsCaffeineCacheManager.Statistics getStatistics() {
+        return new StatsCaffeineCacheManager.Statistics(name, statsCounter.snapshot(), statsCounter.getMaxLoadTime(), index.estimatedSize());
+    }
+
+    /**
+     * 값이 차지하고 있는 블록의 전체 크기(byte)
+     */
+    public long getUsedBytes() {
+        return allocator.getUsedBytes();
+    }
+
+    /**
+     * 지금까지 할당한 슬랩의 전체 크기(byte)
+     */
+    public long getAllocatedBytes() {
+        return allocator.getAllocatedBytes();
+    }
+
+    public long getMaximumBytes() {
+        return allocator.getMaximumBytes();
+    }
+
+    /**
+     * 너무 크거나 블록이 모자라 저장하지 못한 횟수
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private int[] allocate(int length) {
+        int[] blocks = allocator.allocate(length);
+        if (Objects.isNull(blocks)) {
+            // 동시에 저장한 값 때문에 여유 블록이 모자라면, 밀린 제거를 처리한 후 한 번 더 시도한다.
+            index.cleanUp();
+            blocks = allocator.allocate(length);
+        }
+        return blocks;
+    }
+
+    // 항목을 읽는 동안 제거되어도 블록이 다른 값에 재사용되지 않도록 참조 수를 세고, 마지막 참조가 놓일 때 블록을 돌려준다.
+    private List<Movie> read(Entry entry) {
+        if (!entry.retain()) {
+            return null;
+        }
+        try {
+            return MovieListCodec.decode(allocator.read(entry.blocks, entry.length));
+        } finally {
+            entry.release(allocator);
+        }
+    }
+
+    /**
+     * 색인에 두는 항목, 값이 기록된 블록 번호와 길이를 갖는다.
+     */
+    static final class Entry {
+
+        final int[] blocks;
+        final int length;
+
+        // 색인이 갖는 참조 1과 읽고 있는 스레드 수, 0이 되면 블록을 돌려준 것이다.
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        Entry(int[] blocks, int length) {
+            this.blocks = blocks;
+            this.length = length;
+        }
+
+        boolean retain() {
+            int current;
+            do {
+                current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        void release(SlabAllocator allocator) {
+            if (references.decrementAndGet() == 0) {
+                allocator.free(blocks);
+            }
+        }
+    }
+
+}
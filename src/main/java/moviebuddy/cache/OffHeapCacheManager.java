@@ -0,0 +1,51 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * 지정한 이름의 캐시를 힙 바깥 캐시(OffHeapCache)로 만드는 캐시 관리자이다. 캐시마다 maximumBytes 만큼의 힙 바깥 메모리를 사용할 수 있다.
+ * 지정하지 않은 이름에는 null을 반환하므로, CompositeCacheManager에서 다른 캐시 관리자보다 앞에 두고 사용한다.
+ *
+ * cf. CachingAspect, CachingAdvice처럼 CacheManager를 받는 캐시 처리에도 대상 클래스 명을 캐시 이름으로 지정해 사용할 수 있다.
+ */
+public class OffHeapCacheManager implements CacheManager {
+
+    private final Map<String, OffHeapCache> caches = new TreeMap<>();
+
+    /**
+     * @param caffeine 캐시마다 색인을 만들 새 빌더를 반환한다. (Caffeine 빌더는 재사용할 수 없다.)
+     */
+    public OffHeapCacheManager(Collection<String> cacheNames, Supplier<Caffeine<Object, Object>> caffeine, long maximumBytes, int blockBytes, int maximumEntryBytes) {
+        for (String name : cacheNames) {
+            caches.put(name, new OffHeapCache(name, caffeine.get(), maximumBytes, blockBytes, maximumEntryBytes));
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * 캐시들을 이름 순으로 반환한다.
+     */
+    public List<OffHeapCache> getCaches() {
+        return new ArrayList<>(caches.values());
+    }
+
+}
@@ -0,0 +1,87 @@
+package moviebuddy.cache;
+
+import moviebuddy.ApplicationException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 같은 키에 대한 동시 요청을 하나로 묶어주는(single-flight) 도구이다.
+ * 캐시 항목이 만료된 순간 여러 스레드가 한꺼번에 원본을 다시 불러오는 캐시 쇄도(cache stampede)를 막기 위해 사용한다.
+ *
+ * - 같은 키로 처음 들어온 요청(leader)만 작업을 실행하고, 그동안 들어온 요청은 leader의 결과를 기다려 함께 받는다.
+ * - leader의 작업이 예외로 끝나면 기다리던 요청도 모두 같은 예외를 받는다. 실패한 결과는 남기지 않으므로 다음 요청이 다시 시도한다.
+ * - 기다리는 요청은 지정한 시간까지만 기다리고, 시간이 지나면 ApplicationException이 발생한다. leader의 작업은 취소하지 않는다.
+ */
+public class SingleFlight {
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    public SingleFlight() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    public SingleFlight(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive.");
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * 같은 키로 진행 중인 작업이 있으면 그 결과를 기다리고, 없으면 작업을 실행한다.
+     */
+    public Object execute(Object key, Flight flight) throws Throwable {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(key, future);
+        if (Objects.nonNull(inFlight)) {
+            return await(key, inFlight);
+        }
+
+        try {
+            Object value = flight.run();
+            future.complete(value);
+            return value;
+        } catch (Throwable error) {
+            future.completeExceptionally(error);
+            throw error;
+        } finally {
+            flights.remove(key, future);
+        }
+    }
+
+    /**
+     * 현재 진행 중인 작업 수
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private Object await(Object key, CompletableFuture<Object> inFlight) throws Throwable {
+        try {
+            return inFlight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException error) {
+            throw error.getCause();
+        } catch (TimeoutException error) {
+            throw new ApplicationException(String.format("timed out waiting for in-flight load. [key: %s, timeout: %s]", key, timeout), error);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException(String.format("interrupted while waiting for in-flight load. [key: %s]", key), error);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Flight {
+        Object run() throws Throwable;
+    }
+
+}
@@ -0,0 +1,139 @@
+package moviebuddy.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 힙 바깥(direct ByteBuffer) 메모리를 고정 크기 블록 단위로 나눠 주는 할당기이다.
+ *
+ * 메모리는 slabBytes 크기의 슬랩(slab)으로 필요할 때마다 할당하고, 슬랩은 blockBytes 크기의 블록으로 나눈다.
+ * 값 하나는 이어지지 않은 여러 블록에 나눠 담으므로 단편화 때문에 할당에 실패하는 일은 없다.
+ * 할당한 슬랩의 전체 크기는 maximumBytes를 넘지 않으며, 한 번 할당한 슬랩은 돌려주지 않고 빈 블록을 재사용한다.
+ */
+final class SlabAllocator {
+
+    private final int blockBytes;
+    private final int blocksPerSlab;
+    private final int maximumBlocks;
+
+    private final ByteBuffer[] slabs;
+    private int slabCount;
+    private int allocatedBlocks;
+
+    // 빈 블록 번호 스택
+    private final int[] freeBlocks;
+    private int freeCount;
+
+    SlabAllocator(long maximumBytes, int blockBytes, int slabBytes) {
+        if (blockBytes < 1 || slabBytes < blockBytes || maximumBytes < blockBytes) {
+            throw new IllegalArgumentException("blockBytes must be positive, slabBytes and maximumBytes must not be smaller than blockBytes.");
+        }
+        this.blockBytes = blockBytes;
+        this.blocksPerSlab = slabBytes / blockBytes;
+        this.maximumBlocks = Math.toIntExact(maximumBytes / blockBytes);
+        this.slabs = new ByteBuffer[(maximumBlocks + blocksPerSlab - 1) / blocksPerSlab];
+        this.freeBlocks = new int[maximumBlocks];
+    }
+
+    /**
+     * 지정한 길이의 값을 담을 블록을 할당한다. 빈 블록이 모자라고 더 이상 슬랩을 할당할 수 없으면 null을 반환한다.
+     */
+    synchronized int[] allocate(int length) {
+        int required = blocks(length);
+        while (freeCount < required && allocatedBlocks < maximumBlocks) {
+            addSlab();
+        }
+        if (freeCount < required) {
+            return null;
+        }
+
+        int[] blocks = new int[required];
+        for (int index = 0; index < required; index++) {
+            blocks[index] = freeBlocks[--freeCount];
+        }
+        return blocks;
+    }
+
+    /**
+     * 블록을 돌려준다. 같은 블록을 두 번 돌려주면 안 된다.
+     */
+    synchronized void free(int[] blocks) {
+        for (int block : blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    /**
+     * 할당받은 블록에 값을 차례로 기록한다.
+     */
+    void write(int[] blocks, byte[] bytes) {
+        int offset = 0;
+        for (int block : blocks) {
+            int length = Math.min(blockBytes, bytes.length - offset);
+            slab(block).put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * 블록에 기록한 값을 읽는다.
+     */
+    byte[] read(int[] blocks, int length) {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (int block : blocks) {
+            int blockLength = Math.min(blockBytes, length - offset);
+            slab(block).get(bytes, offset, blockLength);
+            offset += blockLength;
+        }
+        return bytes;
+    }
+
+    /**
+     * 지정한 길이의 값이 차지하는 블록 수
+     */
+    int blocks(int length) {
+        return Math.max(1, (length + blockBytes - 1) / blockBytes);
+    }
+
+    int getBlockBytes() {
+        return blockBytes;
+    }
+
+    long getMaximumBytes() {
+        return (long) maximumBlocks * blockBytes;
+    }
+
+    /**
+     * 지금까지 할당한 슬랩의 전체 크기(byte)
+     */
+    synchronized long getAllocatedBytes() {
+        return (long) allocatedBlocks * blockBytes;
+    }
+
+    /**
+     * 값이 차지하고 있는 블록의 전체 크기(byte)
+     */
+    synchronized long getUsedBytes() {
+        return (long) (allocatedBlocks - freeCount) * blockBytes;
+    }
+
+    private void addSlab() {
+        int blocks = Math.min(blocksPerSlab, maximumBlocks - allocatedBlocks);
+        slabs[slabCount] = ByteBuffer.allocateDirect(blocks * blockBytes);
+        // 먼저 꺼내 쓰도록 슬랩 앞쪽 블록을 스택 위에 둔다.
+        int first = slabCount * blocksPerSlab;
+        for (int block = first + blocks - 1; block >= first; block--) {
+            freeBlocks[freeCount++] = block;
+        }
+        slabCount++;
+        allocatedBlocks += blocks;
+    }
+
+    // 블록 위치를 가리키는 버퍼, 여러 스레드가 같은 슬랩을 함께 읽고 쓸 수 있도록 위치를 따로 갖는 사본을 만든다.
+    private ByteBuffer slab(int block) {
+        ByteBuffer slab = slabs[block / blocksPerSlab].duplicate();
+        slab.position((block % blocksPerSlab) * blockBytes);
+        return slab;
+    }
+
+}
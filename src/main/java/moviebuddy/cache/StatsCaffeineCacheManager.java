@@ -0,0 +1,101 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 캐시마다 통계(CacheStatsCounter)를 기록하는 CaffeineCacheManager.
+ *
+ * - 이름이 정해지지 않은 캐시(ex. CachingAspect가 클래스 명으로 만드는 캐시)는 지정한 빌더로 만들면서 통계 기록을 켠다.
+ * - registerCustomCache로 등록하는 캐시는 빌드할 때 statsCounter(name)을 recordStats에 넘겨야 통계가 기록된다.
+ */
+public class StatsCaffeineCacheManager extends CaffeineCacheManager {
+
+    private final Supplier<Caffeine<Object, Object>> caffeine;
+    private final ConcurrentMap<String, CacheStatsCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param caffeine 이름이 정해지지 않은 캐시를 만들 때마다 새 빌더를 반환한다. (Caffeine 빌더는 재사용할 수 없다.)
+     */
+    public StatsCaffeineCacheManager(Supplier<Caffeine<Object, Object>> caffeine) {
+        this.caffeine = Objects.requireNonNull(caffeine);
+    }
+
+    /**
+     * 이름에 해당하는 캐시의 통계 기록기를 반환한다.
+     */
+    public Supplier<CacheStatsCounter> statsCounter(String name) {
+        return () -> counters.computeIfAbsent(name, it -> new CacheStatsCounter());
+    }
+
+    @Override
+    protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+        return caffeine.get().recordStats(statsCounter(name)).build();
+    }
+
+    /**
+     * 통계를 기록하는 캐시들의 현재 통계를 이름 순으로 반환한다.
+     */
+    public List<Statistics> getStatistics() {
+        Map<String, CacheStatsCounter> sorted = new TreeMap<>(counters);
+        List<Statistics> statistics = new ArrayList<>(sorted.size());
+        sorted.forEach((name, counter) -> {
+            Cache cache = getCache(name);
+            long size = Objects.nonNull(cache) ? ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache()).estimatedSize() : 0;
+            statistics.add(new Statistics(name, counter.snapshot(), counter.getMaxLoadTime(), size));
+        });
+        return statistics;
+    }
+
+    /**
+     * 캐시 하나의 통계
+     */
+    public static class Statistics {
+
+        private final String name;
+        private final CacheStats stats;
+        private final long maxLoadTime;
+        private final long size;
+
+        Statistics(String name, CacheStats stats, long maxLoadTime, long size) {
+            this.name = name;
+            this.stats = stats;
+            this.maxLoadTime = maxLoadTime;
+            this.size = size;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public CacheStats getStats() {
+            return stats;
+        }
+
+        /**
+         * 가장 오래 걸린 불러오기 시간(나노초)
+         */
+        public long getMaxLoadTime() {
+            return maxLoadTime;
+        }
+
+        /**
+         * 캐시된 항목 수(추정치)
+         */
+        public long getSize() {
+            return size;
+        }
+    }
+
+}
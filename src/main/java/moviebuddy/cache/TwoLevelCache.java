@@ -0,0 +1,191 @@
+package moviebuddy.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메모리 캐시(L1) 뒤에 디스크 캐시(L2)를 두는 2단계 캐시이다.
+ *
+ * - 조회: L1에 있으면 바로 반환하고, 없으면 L2를 확인해 찾은 값을 L1에 채운다. 둘 다 없으면 L1에 맡긴다.
+ *   (L1이 LoadingCache라면 L1의 로더가 원본에서 불러오고, 불러온 값은 L2에도 저장한다.)
+ * - 저장, 제거: L1과 L2에 함께 반영한다.
+ * - 단계별 적중 횟수를 기록하며, getStatistics()로 확인할 수 있다. L1에서 찾지 못할 때마다 적중률을 로그로 남긴다.
+ *
+ * L1에 값이 있는지는 값을 불러오지 않는 Caffeine asMap().get(또는 JCache containsKey)으로 먼저 확인하므로,
+ * L1이 LoadingCache나 read-through JCache여도 L2를 먼저 확인할 기회가 생긴다.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final Cache first;
+    private final Cache second;
+
+    private final LongAdder firstHits = new LongAdder();
+    private final LongAdder secondHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TwoLevelCache(Cache first, Cache second) {
+        this.first = Objects.requireNonNull(first);
+        this.second = Objects.requireNonNull(second);
+    }
+
+    @Override
+    public String getName() {
+        return first.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return first.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = peek(key);
+        if (Objects.nonNull(value)) {
+            firstHits.increment();
+            return new SimpleValueWrapper(value == NullValue.INSTANCE ? null : value);
+        }
+
+        ValueWrapper stored = second.get(key);
+        if (Objects.nonNull(stored)) {
+            secondHits.increment();
+            log.info("{} cache found in L2. [{}]", getName(), getStatistics());
+            first.put(key, stored.get());
+            return stored;
+        }
+
+        misses.increment();
+        log.info("{} cache missed in L1 and L2. [{}]", getName(), getStatistics());
+        ValueWrapper loaded = first.get(key);
+        if (Objects.nonNull(loaded) && Objects.nonNull(loaded.get())) {
+            second.put(key, loaded.get());
+        }
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = Objects.nonNull(wrapper) ? wrapper.get() : null;
+        if (Objects.nonNull(value) && Objects.nonNull(type) && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (Objects.nonNull(wrapper)) {
+            return (T) wrapper.get();
+        }
+        T value = first.get(key, valueLoader);
+        second.put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        first.put(key, value);
+        second.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        first.evict(key);
+        second.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        first.clear();
+        second.clear();
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(firstHits.sum(), secondHits.sum(), misses.sum());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object peek(Object key) {
+        Object nativeCache = first.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache) {
+            // 통계와 refresh-ahead 가 L1 조회 한 번으로 기록되도록, 값이 있을 때만 L1의 get으로 다시 조회한다.
+            if (Objects.isNull(((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().get(key))) {
+                return null;
+            }
+        } else if (nativeCache instanceof javax.cache.Cache) {
+            // JCache 의 containsKey는 read-through 로더를 호출하지 않는다.
+            if (!((javax.cache.Cache<Object, Object>) nativeCache).containsKey(key)) {
+                return null;
+            }
+        }
+        ValueWrapper wrapper = first.get(key);
+        return Objects.nonNull(wrapper) ? wrapper.get() : null;
+    }
+
+    /**
+     * 단계별 적중 횟수
+     */
+    public static class Statistics {
+
+        private final long firstHits;
+        private final long secondHits;
+        private final long misses;
+
+        Statistics(long firstHits, long secondHits, long misses) {
+            this.firstHits = firstHits;
+            this.secondHits = secondHits;
+            this.misses = misses;
+        }
+
+        public long getFirstHits() {
+            return firstHits;
+        }
+
+        public long getSecondHits() {
+            return secondHits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getRequests() {
+            return firstHits + secondHits + misses;
+        }
+
+        /**
+         * 전체 조회 중 L1에서 찾은 비율
+         */
+        public double getFirstHitRate() {
+            return getRequests() == 0 ? 0 : (double) firstHits / getRequests();
+        }
+
+        /**
+         * L1에서 찾지 못한 조회 중 L2에서 찾은 비율
+         */
+        public double getSecondHitRate() {
+            long secondRequests = secondHits + misses;
+            return secondRequests == 0 ? 0 : (double) secondHits / secondRequests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("L1 hit rate: %.1f%% (%d/%d), L2 hit rate: %.1f%% (%d/%d)",
+                    getFirstHitRate() * 100, firstHits, getRequests(), getSecondHitRate() * 100, secondHits, secondHits + misses);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package moviebuddy.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 메모리 캐시 관리자(L1) 앞에 놓여, 디스크 캐시(L2)가 지정된 캐시만 TwoLevelCache로 감싸서 반환한다.
+ * L2가 없는 캐시는 L1 캐시를 그대로 반환한다.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager first;
+    private final Map<String, Cache> seconds;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager first, Collection<? extends Cache> seconds) {
+        this.first = Objects.requireNonNull(first);
+        this.seconds = new ConcurrentHashMap<>();
+        for (Cache second : seconds) {
+            this.seconds.put(second.getName(), second);
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (Objects.nonNull(cache)) {
+            return cache;
+        }
+
+        Cache first = this.first.getCache(name);
+        Cache second = seconds.get(name);
+        if (Objects.isNull(first) || Objects.isNull(second)) {
+            return first;
+        }
+        return caches.computeIfAbsent(name, it -> new TwoLevelCache(first, second));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return first.getCacheNames();
+    }
+
+}
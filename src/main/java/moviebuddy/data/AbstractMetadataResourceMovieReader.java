@@ -1,10 +1,14 @@
 package moviebuddy.data;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -13,6 +17,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import moviebuddy.ApplicationException;
+import moviebuddy.domain.Movie;
 import moviebuddy.domain.MovieReader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ResourceLoaderAware;
@@ -30,6 +35,12 @@ public abstract class AbstractMetadataResourceMovieReader implements MovieReader
 
 	private ResourceLoader resourceLoader;
 
+	// 불러온 영화 목록을 힙 바깥(OffHeapMovieCatalog)에 저장할지 여부
+	private boolean offHeap;
+
+	// 메타데이터 자원이 바뀌었는지 확인한다. 자원 위치가 정해진 후 처음 사용할 때 만든다.
+	private MetadataChangeDetector changeDetector;
+
 	public String getMetadata() {
 		return metadata;
 	}
@@ -49,6 +60,18 @@ public abstract class AbstractMetadataResourceMovieReader implements MovieReader
 //		return ClassLoader.getSystemResource(location);
 //	}
 
+	public boolean isOffHeap() {
+		return offHeap;
+	}
+
+	/**
+	 * true로 지정하면 불러온 영화 목록을 힙 바깥에 저장한다. 캐시에 오래 머무는 큰 목록이 GC 대상에서 빠진다.
+	 */
+	@Value("${movie.catalog.off-heap:false}")
+	public void setOffHeap(boolean offHeap) {
+		this.offHeap = offHeap;
+	}
+
 	@Override
 	public void setResourceLoader(ResourceLoader resourceLoader) {
 		this.resourceLoader = resourceLoader;
@@ -58,6 +81,78 @@ public abstract class AbstractMetadataResourceMovieReader implements MovieReader
 		return resourceLoader.getResource(getMetadata());
 	}
 
+	/**
+	 * 영화 메타데이터를 읽어 저장된 영화 목록을 불러온다.
+	 *
+	 * @return 불러온 영화 목록
+	 */
+	@Override
+	public List<Movie> loadMovies() {
+		changeDetector().markLoaded();
+		return collectMovies();
+	}
+
+	/**
+	 * streamMovies()로 읽은 영화를 모두 모아 영화 목록을 만든다. 변경 감지 기록(markLoaded)은 호출한 쪽에서 한다.
+	 */
+	protected List<Movie> collectMovies() {
+		try (Stream<Movie> movies = streamMovies()) {
+			if (offHeap) {
+				OffHeapMovieCatalog.Builder catalog = OffHeapMovieCatalog.builder();
+				movies.forEachOrdered(catalog::add);
+				return catalog.build();
+			}
+			return movies.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * 다른 방식으로 불러온 영화 목록을 설정에 맞는 저장소로 옮긴다. (ex. 디스크 캐시에서 읽은 영화 목록)
+	 */
+	public List<Movie> store(List<Movie> movies) {
+		return offHeap ? OffHeapMovieCatalog.of(movies) : movies;
+	}
+
+	@Override
+	public abstract Stream<Movie> streamMovies();
+
+	/**
+	 * 마지막으로 영화 목록을 불러온 후 메타데이터 자원이 실제로 바뀌었는지 확인한다.
+	 * 로컬 파일은 크기와 최종 수정 시각을, HTTP 자원은 ETag(또는 Last-Modified)를 비교한다. 확인할 수 없으면 true를 반환한다.
+	 */
+	public boolean isMetadataModified() {
+		return changeDetector().isModified();
+	}
+
+	/**
+	 * 메타데이터 자원이 바뀌면 호출할 리스너를 등록한다. 로컬 파일만 지원하며, WatchService로 파일을 감시한다.
+	 * 그 외의 자원은 isMetadataModified()로 확인해야 한다.
+	 */
+	public void addMetadataChangeListener(Runnable listener) {
+		changeDetector().addListener(listener);
+	}
+
+	synchronized MetadataChangeDetector changeDetector() {
+		if (Objects.isNull(changeDetector)) {
+			changeDetector = new MetadataChangeDetector(getMetadataResource());
+		}
+		return changeDetector;
+	}
+
+	/**
+	 * 메타데이터 용량을 기준으로 영화 수를 추정한다. 용량을 알 수 없으면 Long.MAX_VALUE를 반환한다.
+	 *
+	 * @param bytesPerMovie 영화 한 편이 차지하는 평균 용량
+	 */
+	protected long estimateMovieCount(long bytesPerMovie) {
+		try {
+			long contentLength = getMetadataResource().contentLength();
+			return contentLength < 0 ? Long.MAX_VALUE : Math.max(contentLength / bytesPerMovie, 1);
+		} catch (IOException error) {
+			return Long.MAX_VALUE;
+		}
+	}
+
 	@PostConstruct
 	public void afterPropertiesSet() throws Exception {
 
@@ -91,6 +186,9 @@ public abstract class AbstractMetadataResourceMovieReader implements MovieReader
 
 	@PreDestroy
 	public void destroy() throws Exception {
+		if (Objects.nonNull(changeDetector)) {
+			changeDetector.close();
+		}
 	    log.info("Destroyed bean");
 	}
 
@@ -0,0 +1,61 @@
+package moviebuddy.data;
+
+import moviebuddy.ApplicationException;
+import moviebuddy.MovieBuddyProfile;
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieReader;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * 바이너리 스냅샷(MovieSnapshot)으로 저장된 영화 메타데이터를 읽는다.
+ * 로컬 파일이면 메모리 맵으로 열고, 그 외의 자원은 전체 내용을 한 번에 읽어 들인다.
+ *
+ * 스냅샷은 MovieSnapshotConverter로 CSV, XML 메타데이터를 변환해서 만든다.
+ */
+@Profile(MovieBuddyProfile.BINARY_MODE)
+@Repository
+public class BinaryMovieReader extends AbstractMetadataResourceMovieReader implements MovieReader {
+
+    @Override
+    public Stream<Movie> streamMovies() {
+        MovieSnapshot.Decoder decoder = MovieSnapshot.decoder(readContent());
+
+        MovieSpliterator.Cursor cursor = new MovieSpliterator.Cursor() {
+            @Override
+            public Movie next() {
+                return decoder.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        return MovieSpliterator.stream(cursor, decoder.getMovieCount());
+    }
+
+    private ByteBuffer readContent() {
+        Resource resource = getMetadataResource();
+        try {
+            if (resource.isFile()) {
+                try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+            try (InputStream content = resource.getInputStream()) {
+                return ByteBuffer.wrap(content.readAllBytes());
+            }
+        } catch (IOException error) {
+            throw new ApplicationException("failed to load movies data.", error);
+        }
+    }
+
+}
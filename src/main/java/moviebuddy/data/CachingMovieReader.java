@@ -10,6 +10,7 @@ import java.util.Objects;
 
 /**
  * MovieReader 객체 에 캐싱이라는 부가기능을 주기 위한 Proxy 클래스
+ * cf. 애플리케이션은 MovieReader.loadMovies()의 @CacheResult(JCache)로 캐시하므로, 이 클래스는 빈으로 등록하지 않는다.
  */
 public class CachingMovieReader implements MovieReader {
 
@@ -0,0 +1,316 @@
+package moviebuddy.data;
+
+import moviebuddy.ApplicationException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 문자 단위로 CSV 문서를 읽어 레코드(행)와 필드로 분해하는 파서이다.
+ * RFC 4180 규칙(큰따옴표로 감싼 필드, "" 이스케이프, 필드 안의 쉼표와 줄바꿈)을 이해하고,
+ * 레코드 버퍼와 필드 위치 배열을 재사용해 행마다 발생하는 중간 객체(String[], 정규식 등)를 만들지 않는다.
+ *
+ * 사용 예:
+ * <pre>
+ * while (parser.nextRecord()) {
+ *     String title = parser.text(0);
+ *     int releaseYear = parser.intValue(4);
+ * }
+ * </pre>
+ */
+final class CsvMovieParser implements Closeable {
+
+    private static final char FIELD_SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Reader source;
+
+    // 원본 문서에서 읽어 들인 문자 버퍼
+    private final char[] input;
+    private int position;
+    private int limit;
+
+    // 따옴표 처리가 끝난 현재 레코드의 내용, 각 필드는 record[fieldStarts[i], fieldEnds[i]) 범위에 놓인다.
+    private char[] record = new char[256];
+    private int recordLength;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+
+    private long lineNumber;
+
+    CsvMovieParser(Reader source) {
+        this(source, DEFAULT_BUFFER_SIZE);
+    }
+
+    CsvMovieParser(Reader source, int bufferSize) {
+        this.source = Objects.requireNonNull(source);
+        this.input = new char[bufferSize];
+    }
+
+    /**
+     * 다음 레코드를 읽는다. 읽을 레코드가 없으면 false를 반환한다.
+     */
+    boolean nextRecord() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+
+        if (!fill()) {
+            return false;
+        }
+        lineNumber++;
+
+        int fieldStart = 0;
+        boolean quoted = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (quoted) {
+                    throw new ApplicationException(String.format("unterminated quoted field. [line: %d]", lineNumber));
+                }
+                break;
+            }
+
+            char ch = input[position++];
+            if (quoted) {
+                if (ch == QUOTE) {
+                    // "" 는 따옴표 문자 하나, 그 외에는 따옴표 구간의 끝
+                    if ((position < limit || fill()) && input[position] == QUOTE) {
+                        append(QUOTE);
+                        position++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        lineNumber++;
+                    }
+                    append(ch);
+                }
+            } else if (ch == QUOTE) {
+                quoted = true;
+            } else if (ch == FIELD_SEPARATOR) {
+                addField(fieldStart, recordLength);
+                fieldStart = recordLength;
+            } else if (ch == '\n') {
+                break;
+            } else if (ch == '\r') {
+                if ((position < limit || fill()) && input[position] == '\n') {
+                    position++;
+                }
+                break;
+            } else {
+                append(ch);
+            }
+        }
+        addField(fieldStart, recordLength);
+
+        return true;
+    }
+
+    /**
+     * 현재 레코드를 읽기 시작한 줄 번호(1부터 시작)
+     */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    String text(int index) {
+        checkIndex(index);
+        return new String(record, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+    }
+
+    /**
+     * 앞뒤 공백을 제거한 필드 값을 반환한다. (String.trim()과 같은 규칙)
+     */
+    String trimmedText(int index) {
+        checkIndex(index);
+        int start = trimStart(fieldStarts[index], fieldEnds[index]);
+        int end = trimEnd(start, fieldEnds[index]);
+        return new String(record, start, end - start);
+    }
+
+    /**
+     * 앞뒤 공백을 제거한 필드 값을 문자열 풀에서 찾아 반환한다. 풀에 이미 있는 값이면 새 문자열을 만들지 않는다.
+     */
+    String trimmedText(int index, MovieStringPool pool) {
+        checkIndex(index);
+        int start = trimStart(fieldStarts[index], fieldEnds[index]);
+        int end = trimEnd(start, fieldEnds[index]);
+        return pool.canonicalize(record, start, end - start);
+    }
+
+    /**
+     * 앞뒤 공백을 제거한 필드 값을 정수로 변환한다. 중간 문자열이나 박싱 없이 버퍼에서 바로 읽는다.
+     */
+    int intValue(int index) {
+        checkIndex(index);
+        int start = trimStart(fieldStarts[index], fieldEnds[index]);
+        int end = trimEnd(start, fieldEnds[index]);
+        if (start == end) {
+            throw new NumberFormatException(String.format("For input string: \"\" [line: %d]", lineNumber));
+        }
+
+        boolean negative = record[start] == '-';
+        int cursor = negative || record[start] == '+' ? start + 1 : start;
+        if (cursor == end) {
+            throw new NumberFormatException(String.format("For input string: \"%s\"", new String(record, start, end - start)));
+        }
+
+        long value = 0;
+        for (; cursor < end; cursor++) {
+            int digit = record[cursor] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(String.format("For input string: \"%s\"", new String(record, start, end - start)));
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException(String.format("For input string: \"%s\"", new String(record, start, end - start)));
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException(String.format("For input string: \"%s\"", new String(record, start, end - start)));
+        }
+        return (int) value;
+    }
+
+    /**
+     * yyyy-MM-dd 형식의 필드 값을 날짜로 변환한다. 형식이 다르면 null을 반환한다.
+     */
+    LocalDate dateValue(int index) {
+        checkIndex(index);
+        int start = fieldStarts[index];
+        if (fieldEnds[index] - start != 10 || record[start + 4] != '-' || record[start + 7] != '-') {
+            return null;
+        }
+        int year = digits(start, 4);
+        int month = digits(start + 5, 2);
+        int day = digits(start + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * 필드 값을 보조 구분자(ex. |)로 나눈 목록을 반환한다.
+     * String.split(regex)와 같은 결과(끝에 남는 빈 항목은 제외)를 만들지만 정규식을 사용하지 않는다.
+     */
+    List<String> split(int index, char separator) {
+        return split(index, separator, null);
+    }
+
+    /**
+     * 필드 값을 보조 구분자로 나누고, 각 값과 목록을 문자열 풀에서 찾아 반환한다.
+     */
+    List<String> split(int index, char separator, MovieStringPool pool) {
+        checkIndex(index);
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        if (start == end) {
+            return Objects.isNull(pool) ? Arrays.asList("") : pool.canonicalize(Arrays.asList(""));
+        }
+
+        int count = 1;
+        for (int cursor = start; cursor < end; cursor++) {
+            if (record[cursor] == separator) {
+                count++;
+            }
+        }
+
+        String[] values = new String[count];
+        int size = 0;
+        int valueStart = start;
+        for (int cursor = start; cursor <= end; cursor++) {
+            if (cursor == end || record[cursor] == separator) {
+                int length = cursor - valueStart;
+                values[size++] = Objects.isNull(pool) ? new String(record, valueStart, length) : pool.canonicalize(record, valueStart, length);
+                valueStart = cursor + 1;
+            }
+        }
+        while (size > 0 && values[size - 1].isEmpty()) {
+            size--;
+        }
+        List<String> list = Arrays.asList(size == values.length ? values : Arrays.copyOf(values, size));
+        return Objects.isNull(pool) ? list : pool.canonicalize(list);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read;
+        do {
+            read = source.read(input, 0, input.length);
+        } while (read == 0);
+
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private void append(char ch) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = ch;
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new ApplicationException(String.format("field %d does not exist. [line: %d, fields: %d]", index, lineNumber, fieldCount));
+        }
+    }
+
+    private int trimStart(int start, int end) {
+        while (start < end && record[start] <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && record[end - 1] <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private int digits(int start, int length) {
+        int value = 0;
+        for (int cursor = start; cursor < start + length; cursor++) {
+            int digit = record[cursor] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+}
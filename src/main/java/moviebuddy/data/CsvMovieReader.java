@@ -4,24 +4,25 @@ import moviebuddy.ApplicationException;
 import moviebuddy.MovieBuddyProfile;
 import moviebuddy.domain.Movie;
 import moviebuddy.domain.MovieReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Repository;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 // @Profile 어노테이션을 통해 어떤 프로파일일 때 활성화될 건지를 선언.
 // cf. JVM_option_설정 -Dspring.profiles.active=csv_mode
@@ -29,42 +30,139 @@ import java.util.stream.Collectors;
 @Repository
 public class CsvMovieReader extends AbstractMetadataResourceMovieReader implements MovieReader, InitializingBean, DisposableBean {
 
+    // 장르, 배우 목록을 구분하는 보조 구분자
+    private static final char VALUES_SEPARATOR = '|';
+
+    // 영화 수 추정에 사용하는 행 당 평균 용량
+    private static final long ESTIMATED_BYTES_PER_MOVIE = 160;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    // 메타데이터를 병렬로 해석할 때 사용할 스레드 수
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // 메모리 맵 병렬 해석기, 처음 필요할 때 만들고 병렬 처리 수가 같으면 스레드 풀과 함께 재사용한다.
+    private MappedCsvMovieLoader mappedLoader;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 0 이하의 값을 지정하면 사용 가능한 프로세서 수를 사용한다. 1을 지정하면 항상 순차적으로 읽는다.
+     */
+    @Value("${movie.metadata.parallelism:0}")
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
     /**
      * 영화 메타데이터를 읽어 저장된 영화 목록을 불러온다.
+     * 메타데이터가 로컬 파일이면 메모리 맵으로 열어 여러 조각으로 나눠 병렬로 해석하고,
+     * 그 외의 자원(JAR 내부 클래스패스, HTTP 등)은 스트림으로 순차 해석한다.
      *
      * @return 불러온 영화 목록
      */
+    @Override
     public List<Movie> loadMovies() {
+        Resource resource = getMetadataResource();
+        changeDetector().markLoaded();
         try {
-            final InputStream content = getMetadataResource().getInputStream();
-            final Function<String, Movie> mapCsv = csv -> {
-                try {
-                    // split with comma
-                    String[] values = csv.split(",");
-
-                    String title = values[0];
-                    List<String> genres = Arrays.asList(values[1].split("\\|"));
-                    String language = values[2].trim();
-                    String country = values[3].trim();
-                    int releaseYear = Integer.valueOf(values[4].trim());
-                    String director = values[5].trim();
-                    List<String> actors = Arrays.asList(values[6].split("\\|"));
-                    URL imdbLink = new URL(values[7].trim());
-                    String watchedDate = values[8];
-
-                    return Movie.of(title, genres, language, country, releaseYear, director, actors, imdbLink, watchedDate);
-                } catch (IOException error) {
-                    throw new ApplicationException("mapping csv to object failed.", error);
+            if (resource.isFile()) {
+                MappedCsvMovieLoader loader = mappedLoader();
+                if (loader.isSplittable(resource.contentLength())) {
+                    List<Movie> movies = loader.load(resource.getFile().toPath());
+                    if (Objects.nonNull(movies)) {
+                        return store(movies);
+                    }
+                    log.info("quoted line breaks found, falling back to sequential loading. [{}]", resource);
                 }
-            };
+            }
+        } catch (IOException error) {
+            throw new ApplicationException("failed to load movies data.", error);
+        }
+        // 변경 감지는 위에서 한 번만 기록하고, 순차 해석으로 읽는다.
+        return collectMovies();
+    }
+
+    private synchronized MappedCsvMovieLoader mappedLoader() {
+        if (Objects.isNull(mappedLoader) || mappedLoader.getParallelism() != parallelism) {
+            if (Objects.nonNull(mappedLoader)) {
+                mappedLoader.close();
+            }
+            mappedLoader = new MappedCsvMovieLoader(parallelism);
+        }
+        return mappedLoader;
+    }
 
-            return new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8))
-                    .lines()
-                    .skip(1)
-                    .map(mapCsv)
-                    .collect(Collectors.toList());
+    @Override
+    public void destroy() throws Exception {
+        synchronized (this) {
+            if (Objects.nonNull(mappedLoader)) {
+                mappedLoader.close();
+                mappedLoader = null;
+            }
+        }
+        super.destroy();
+    }
+
+    /**
+     * 메타데이터를 한 행씩 읽으며 영화 객체로 변환하는 스트림을 반환한다.
+     *
+     * @return 영화 스트림
+     */
+    @Override
+    public Stream<Movie> streamMovies() {
+        final CsvMovieParser parser;
+        try {
+            parser = new CsvMovieParser(new InputStreamReader(getMetadataResource().getInputStream(), StandardCharsets.UTF_8));
         } catch (IOException error) {
             throw new ApplicationException("failed to load movies data.", error);
         }
+
+        final MovieStringPool pool = new MovieStringPool();
+        MovieSpliterator.Cursor cursor = new MovieSpliterator.Cursor() {
+            boolean headerSkipped = false;
+
+            @Override
+            public Movie next() throws IOException {
+                if (!headerSkipped) {
+                    parser.nextRecord();
+                    headerSkipped = true;
+                }
+                return parser.nextRecord() ? mapCsv(parser, pool) : null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                parser.close();
+            }
+        };
+        return MovieSpliterator.stream(cursor, estimateMovieCount(ESTIMATED_BYTES_PER_MOVIE));
+    }
+
+    /**
+     * 파서가 가리키는 현재 레코드를 영화 객체로 변환한다.
+     * 반복되는 값(장르, 언어, 국가, 감독, 배우)은 문자열 풀을 통해 같은 인스턴스를 공유한다.
+     */
+    static Movie mapCsv(CsvMovieParser parser, MovieStringPool pool) {
+        try {
+            String title = parser.text(0);
+            List<String> genres = parser.split(1, VALUES_SEPARATOR, pool);
+            String language = parser.trimmedText(2, pool);
+            String country = parser.trimmedText(3, pool);
+            int releaseYear = parser.intValue(4);
+            String director = parser.trimmedText(5, pool);
+            List<String> actors = parser.split(6, VALUES_SEPARATOR, pool);
+            URL imdbLink = new URL(parser.trimmedText(7));
+
+            LocalDate watchedDate = parser.dateValue(8);
+            if (Objects.isNull(watchedDate)) {
+                return Movie.of(title, genres, language, country, releaseYear, director, actors, imdbLink, parser.text(8));
+            }
+            return Movie.of(title, genres, language, country, releaseYear, director, actors, imdbLink, watchedDate);
+        } catch (IOException | RuntimeException error) {
+            throw new ApplicationException(String.format("mapping csv to object failed. [line: %d]", parser.lineNumber()), error);
+        }
     }
 }
@@ -0,0 +1,210 @@
+package moviebuddy.data;
+
+import moviebuddy.ApplicationException;
+import moviebuddy.domain.Movie;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 로컬 파일로 존재하는 CSV 메타데이터를 메모리 맵(FileChannel.map)으로 열어
+ * 줄바꿈 단위로 나눈 조각(chunk)들을 ForkJoinPool에서 병렬로 해석한다. 결과는 원래 순서대로 이어 붙인다.
+ *
+ * 조각의 경계는 줄바꿈 바로 다음 위치로 정하는데, 따옴표로 감싼 필드 안에 줄바꿈이 있으면
+ * 경계가 레코드 중간에 놓일 수 있다. 조각마다 따옴표 개수를 세어 홀수인 조각이 있으면(=경계가 따옴표 안에 있으면)
+ * 병렬 해석 결과를 버리고 null을 반환하니, 호출하는 쪽에서 순차 해석으로 대체해야 한다.
+ *
+ * 불러올 때마다 스레드를 새로 만들지 않도록 로더 하나가 ForkJoinPool 하나를 계속 사용한다.
+ * 쉬고 있는 작업 스레드는 ForkJoinPool이 알아서 정리하며, 더 이상 사용하지 않으면 close()로 풀을 닫는다.
+ */
+final class MappedCsvMovieLoader {
+
+    // 이보다 작은 조각으로는 나누지 않는다. (병렬 처리 비용이 더 커짐)
+    static final long MIN_CHUNK_SIZE = 1024 * 1024;
+    // 조각 하나를 디코딩한 문자 버퍼가 지나치게 커지지 않도록 제한한다.
+    static final long MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private static final int BOUNDARY_SCAN_SIZE = 8192;
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    MappedCsvMovieLoader(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be greater than 0.");
+        }
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 해석에 사용하는 스레드 풀을 닫는다. 이미 시작한 불러오기는 끝까지 실행된다.
+     */
+    void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * 병렬로 나눠 해석할 만큼 충분히 큰 파일인지 확인한다.
+     */
+    boolean isSplittable(long size) {
+        return parallelism > 1 && size >= MIN_CHUNK_SIZE * 2;
+    }
+
+    /**
+     * 헤더 행을 제외한 영화 목록을 불러온다. 조각의 경계를 안전하게 정할 수 없으면 null을 반환한다.
+     */
+    List<Movie> load(Path metadata) throws IOException {
+        try (FileChannel channel = FileChannel.open(metadata, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] boundaries = split(channel, size);
+
+            // 조각마다 문자열 풀을 두고, 조각 간에는 공유 풀을 통해 같은 값을 같은 인스턴스로 맞춘다.
+            MovieStringPool sharedPool = new MovieStringPool();
+            Chunk[] chunks = new Chunk[boundaries.length - 1];
+            for (int index = 0; index < chunks.length; index++) {
+                chunks[index] = new Chunk(channel.map(FileChannel.MapMode.READ_ONLY, boundaries[index], boundaries[index + 1] - boundaries[index]), new MovieStringPool(sharedPool));
+            }
+
+            pool.invoke(new ParseChunksAction(chunks, 0, chunks.length));
+
+            int count = 0;
+            for (Chunk chunk : chunks) {
+                if (chunk.unbalancedQuotes) {
+                    return null;
+                }
+                count += chunk.movies.size();
+            }
+
+            List<Movie> movies = new ArrayList<>(count);
+            for (Chunk chunk : chunks) {
+                movies.addAll(chunk.movies);
+            }
+            return movies;
+        }
+    }
+
+    /**
+     * 파일을 줄바꿈 단위로 나눈 경계 위치 목록을 반환한다. 첫 번째 경계는 헤더 행 바로 다음이다.
+     */
+    long[] split(FileChannel channel, long size) throws IOException {
+        long dataStart = nextLineStart(channel, 0, size);
+        long dataSize = size - dataStart;
+
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, dataSize / (parallelism * 4L) + 1));
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(dataStart);
+        long position = dataStart;
+        while (position < size) {
+            long next = position + chunkSize >= size ? size : nextLineStart(channel, position + chunkSize, size);
+            boundaries.add(next);
+            position = next;
+        }
+        if (boundaries.size() == 1) {
+            boundaries.add(size);
+        }
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int index = 0; index < read; index++) {
+                if (buffer.get(index) == '\n') {
+                    return position + index + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    static class Chunk {
+
+        final MappedByteBuffer content;
+        final MovieStringPool pool;
+        List<Movie> movies;
+        boolean unbalancedQuotes;
+
+        Chunk(MappedByteBuffer content, MovieStringPool pool) {
+            this.content = content;
+            this.pool = pool;
+        }
+
+        void parse() {
+            // 조각은 줄바꿈 바로 다음에서 시작하고 끝나므로 UTF-8 문자 중간에서 잘리지 않는다.
+            CharBuffer text = StandardCharsets.UTF_8.decode(content);
+            char[] chars = text.array();
+            int offset = text.arrayOffset() + text.position();
+            int length = text.remaining();
+
+            int quotes = 0;
+            for (int index = offset; index < offset + length; index++) {
+                if (chars[index] == '"') {
+                    quotes++;
+                }
+            }
+            if ((quotes & 1) == 1) {
+                unbalancedQuotes = true;
+                movies = List.of();
+                return;
+            }
+
+            List<Movie> movies = new ArrayList<>();
+            try (CsvMovieParser parser = new CsvMovieParser(new CharArrayReader(chars, offset, length))) {
+                while (parser.nextRecord()) {
+                    movies.add(CsvMovieReader.mapCsv(parser, pool));
+                }
+            } catch (IOException error) {
+                throw new ApplicationException("failed to load movies data.", error);
+            }
+            this.movies = movies;
+        }
+    }
+
+    static class ParseChunksAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        final Chunk[] chunks;
+        final int from;
+        final int to;
+
+        ParseChunksAction(Chunk[] chunks, int from, int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                chunks[from].parse();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParseChunksAction(chunks, from, middle), new ParseChunksAction(chunks, middle, to));
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+package moviebuddy.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 영화 메타데이터 자원이 실제로 바뀌었는지 확인한다.
+ *
+ * 자원의 현재 상태를 버전 문자열로 만들어, 마지막으로 불러올 때의 버전과 비교한다.
+ * - 로컬 파일: 크기, 최종 수정 시각, 파일 키(inode 등)
+ * - HTTP(S): HEAD 요청의 ETag, 없으면 Last-Modified 와 Content-Length
+ * - 그 외(JAR 내부 클래스패스 등): Resource 의 크기와 최종 수정 시각
+ * 버전을 알 수 없으면 바뀐 것으로 본다.
+ *
+ * 로컬 파일은 WatchService로 디렉터리를 감시해, 파일이 바뀌면 등록된 리스너에게 즉시 알린다.
+ */
+class MetadataChangeDetector implements AutoCloseable {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final Resource resource;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    // 마지막으로 불러올 때의 자원 버전
+    private volatile String loadedVersion;
+
+    private WatchService watchService;
+
+    MetadataChangeDetector(Resource resource) {
+        this.resource = Objects.requireNonNull(resource);
+    }
+
+    /**
+     * 지금부터 자원을 불러온다고 기록한다. 불러오는 동안 바뀐 내용은 다음 확인에서 변경으로 감지된다.
+     */
+    void markLoaded() {
+        loadedVersion = currentVersion();
+    }
+
+    /**
+     * 마지막으로 불러온 후 자원이 바뀌었는지 확인한다.
+     * 아직 불러온 적이 없으면(디스크 캐시 등 다른 경로로 목록을 얻은 경우) 현재 상태를 기준으로 삼는다.
+     */
+    boolean isModified() {
+        String currentVersion = currentVersion();
+        if (Objects.isNull(currentVersion)) {
+            return true;
+        }
+        if (Objects.isNull(loadedVersion)) {
+            loadedVersion = currentVersion;
+            return false;
+        }
+        return !currentVersion.equals(loadedVersion);
+    }
+
+    /**
+     * 로컬 파일이 바뀌면 호출할 리스너를 등록한다. 처음 등록할 때 파일 감시를 시작한다.
+     * 리스너는 감시 스레드에서 호출되므로, 오래 걸리는 작업은 다른 스레드에 넘겨야 한다.
+     */
+    synchronized void addListener(Runnable listener) {
+        listeners.add(Objects.requireNonNull(listener));
+        if (Objects.isNull(watchService) && resource.isFile()) {
+            try {
+                watch(resource.getFile().toPath().toAbsolutePath());
+            } catch (IOException error) {
+                log.warn("cannot watch metadata, changes are detected on the next check only. [{}]", resource, error);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (Objects.nonNull(watchService)) {
+            try {
+                watchService.close();
+            } catch (IOException error) {
+                log.warn("failed to close metadata watcher.", error);
+            }
+            watchService = null;
+        }
+    }
+
+    String currentVersion() {
+        try {
+            if (resource.isFile()) {
+                BasicFileAttributes attributes = Files.readAttributes(resource.getFile().toPath(), BasicFileAttributes.class);
+                return String.format("%d|%s|%s", attributes.size(), attributes.lastModifiedTime().toInstant(), attributes.fileKey());
+            }
+
+            URL url = resource.getURL();
+            if (url.getProtocol().startsWith("http")) {
+                return httpVersion(url);
+            }
+            return String.format("%d|%d", resource.contentLength(), resource.lastModified());
+        } catch (IOException error) {
+            log.debug("cannot read metadata version. [{}]", resource, error);
+            return null;
+        }
+    }
+
+    private String httpVersion(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        if (!(connection instanceof HttpURLConnection)) {
+            return null;
+        }
+        HttpURLConnection httpConnection = (HttpURLConnection) connection;
+        try {
+            httpConnection.setRequestMethod("HEAD");
+            if (httpConnection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                return null;
+            }
+            String eTag = httpConnection.getHeaderField("ETag");
+            if (Objects.nonNull(eTag)) {
+                return eTag;
+            }
+            long lastModified = httpConnection.getLastModified();
+            return lastModified == 0 ? null : String.format("%d|%d", httpConnection.getContentLengthLong(), lastModified);
+        } finally {
+            httpConnection.disconnect();
+        }
+    }
+
+    private void watch(Path file) throws IOException {
+        Path directory = file.getParent();
+        WatchService watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watchService = watchService;
+
+        Thread watcher = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= file.getFileName().equals(event.context());
+                    }
+                    key.reset();
+                    if (changed) {
+                        log.info("metadata changed. [{}]", file);
+                        notifyListeners();
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException error) {
+                // 감시를 마친다.
+            }
+        }, "movie-metadata-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException error) {
+                log.warn("metadata change listener failed.", error);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,242 @@
+package moviebuddy.data;
+
+import moviebuddy.ApplicationException;
+import moviebuddy.domain.Movie;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * 영화 목록을 담는 바이너리 스냅샷(snapshot) 형식이다. 텍스트(CSV, XML)를 해석하는 비용 없이
+ * 메타데이터를 거의 순차적으로 읽어 들일 수 있도록 설계했다.
+ *
+ * <pre>
+ * header   : magic(int, 'MVBS') version(short) reserved(short)
+ * strings  : byteLength(int) count(int) [ length(int) utf-8 bytes ]...
+ * movies   : byteLength(int) count(int) [ record ]...
+ * record   : title(int) genreCount(int) genre(int)... language(int) country(int) releaseYear(int)
+ *            director(int) actorCount(int) actor(int)... imdbLink(int, 없으면 -1) watchedDate(int, epoch day)
+ * trailer  : checksum(int, 앞선 모든 바이트의 CRC32)
+ * </pre>
+ *
+ * 문자열은 모두 사전(strings)에 한 번만 기록하고, 영화 레코드에서는 사전의 위치(id)로 참조한다.
+ */
+public final class MovieSnapshot {
+
+    public static final int MAGIC = 0x4D564253; // 'MVBS'
+    public static final short VERSION = 1;
+
+    static final int NO_VALUE = -1;
+    // 영화 레코드의 최소 크기, 장르와 배우가 없어도 int 9개를 기록한다.
+    static final int MINIMUM_RECORD_BYTES = Integer.BYTES * 9;
+
+    private MovieSnapshot() {}
+
+    /**
+     * 영화 목록을 스냅샷 형식으로 기록한다.
+     */
+    public static void write(Iterable<Movie> movies, OutputStream target) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        DataOutputStream stringsOutput = new DataOutputStream(strings);
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordsOutput = new DataOutputStream(records);
+
+        int movieCount = 0;
+        for (Movie movie : movies) {
+            recordsOutput.writeInt(stringId(movie.getTitle(), dictionary, stringsOutput));
+            writeStringIds(movie.getGenres(), dictionary, stringsOutput, recordsOutput);
+            recordsOutput.writeInt(stringId(movie.getLanguage(), dictionary, stringsOutput));
+            recordsOutput.writeInt(stringId(movie.getCountry(), dictionary, stringsOutput));
+            recordsOutput.writeInt(movie.getReleaseYear());
+            recordsOutput.writeInt(stringId(movie.getDirector(), dictionary, stringsOutput));
+            writeStringIds(movie.getActors(), dictionary, stringsOutput, recordsOutput);
+            recordsOutput.writeInt(Objects.isNull(movie.getImdbLink()) ? NO_VALUE : stringId(movie.getImdbLink().toString(), dictionary, stringsOutput));
+            recordsOutput.writeInt(Math.toIntExact(movie.getWatchedDate().toEpochDay()));
+            movieCount++;
+        }
+
+        CRC32 checksum = new CRC32();
+        ByteArrayOutputStream header = new ByteArrayOutputStream(32);
+        DataOutputStream headerOutput = new DataOutputStream(header);
+        headerOutput.writeInt(MAGIC);
+        headerOutput.writeShort(VERSION);
+        headerOutput.writeShort(0);
+
+        DataOutputStream output = new DataOutputStream(target);
+        writeChecked(header.toByteArray(), output, checksum);
+        writeChecked(section(strings.size() + Integer.BYTES, dictionary.size()), output, checksum);
+        writeChecked(strings.toByteArray(), output, checksum);
+        writeChecked(section(records.size() + Integer.BYTES, movieCount), output, checksum);
+        writeChecked(records.toByteArray(), output, checksum);
+        output.writeInt((int) checksum.getValue());
+        output.flush();
+    }
+
+    /**
+     * 스냅샷을 해석하는 디코더를 만든다. 형식, 버전, 체크섬이 올바르지 않으면 예외가 발생한다.
+     */
+    public static Decoder decoder(ByteBuffer content) {
+        return new Decoder(content);
+    }
+
+    public static class Decoder {
+
+        private final ByteBuffer content;
+        private final String[] strings;
+        private final MovieStringPool pool = new MovieStringPool();
+        private final int movieCount;
+        private int movieIndex;
+
+        Decoder(ByteBuffer content) {
+            this.content = content.duplicate();
+            try {
+                verify(this.content);
+                this.strings = readStrings(this.content);
+                this.content.getInt(); // movies section length
+                this.movieCount = checkCount(this.content.getInt(), this.content, MINIMUM_RECORD_BYTES);
+            } catch (BufferUnderflowException error) {
+                throw new ApplicationException("corrupted movie snapshot. [unexpected end of data]", error);
+            } catch (ApplicationException error) {
+                throw error;
+            } catch (RuntimeException error) {
+                // 체크섬이 맞더라도 내용이 잘못되었을 수 있으므로, 해석 중의 모든 실패를 손상된 스냅샷으로 알린다.
+                throw new ApplicationException("corrupted movie snapshot.", error);
+            }
+        }
+
+        public int getMovieCount() {
+            return movieCount;
+        }
+
+        /**
+         * 다음 영화를 읽는다. 더 이상 읽을 영화가 없으면 null을 반환한다.
+         */
+        public Movie next() {
+            if (movieIndex == movieCount) {
+                return null;
+            }
+            movieIndex++;
+
+            try {
+                String title = strings[content.getInt()];
+                List<String> genres = readStringList();
+                String language = strings[content.getInt()];
+                String country = strings[content.getInt()];
+                int releaseYear = content.getInt();
+                String director = strings[content.getInt()];
+                List<String> actors = readStringList();
+                int imdbLink = content.getInt();
+                LocalDate watchedDate = LocalDate.ofEpochDay(content.getInt());
+
+                return Movie.of(title, genres, language, country, releaseYear, director, actors, imdbLink == NO_VALUE ? null : new URL(strings[imdbLink]), watchedDate);
+            } catch (MalformedURLException | RuntimeException error) {
+                throw new ApplicationException(String.format("corrupted movie snapshot. [movie: %d]", movieIndex), error);
+            }
+        }
+
+        private List<String> readStringList() {
+            String[] values = new String[checkCount(content.getInt(), content, Integer.BYTES)];
+            for (int index = 0; index < values.length; index++) {
+                values[index] = strings[content.getInt()];
+            }
+            // 문자열은 사전을 통해 이미 공유되므로, 같은 조합의 목록만 공유하도록 한다.
+            return pool.canonicalize(Arrays.asList(values));
+        }
+
+    }
+
+    private static void verify(ByteBuffer content) {
+        if (content.remaining() < Integer.BYTES * 2 || content.getInt(content.position()) != MAGIC) {
+            throw new ApplicationException("not a movie snapshot.");
+        }
+
+        int checksumPosition = content.limit() - Integer.BYTES;
+        CRC32 checksum = new CRC32();
+        ByteBuffer checked = content.duplicate();
+        checked.limit(checksumPosition);
+        checksum.update(checked);
+        if ((int) checksum.getValue() != content.getInt(checksumPosition)) {
+            throw new ApplicationException("corrupted movie snapshot. [checksum mismatch]");
+        }
+
+        content.getInt(); // magic
+        short version = content.getShort();
+        if (version != VERSION) {
+            throw new ApplicationException(String.format("unsupported movie snapshot version. [%d]", version));
+        }
+        content.getShort(); // reserved
+    }
+
+    private static String[] readStrings(ByteBuffer content) {
+        content.getInt(); // strings section length
+        String[] strings = new String[checkCount(content.getInt(), content, Integer.BYTES)];
+        for (int index = 0; index < strings.length; index++) {
+            int length = checkCount(content.getInt(), content, 1);
+            if (content.hasArray()) {
+                strings[index] = new String(content.array(), content.arrayOffset() + content.position(), length, StandardCharsets.UTF_8);
+                content.position(content.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                content.get(bytes);
+                strings[index] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return strings;
+    }
+
+    /**
+     * 개수(또는 길이)가 음수이거나, 항목마다 최소 minimumBytes 바이트라고 할 때 남은 바이트로 담을 수 없으면 손상된 스냅샷으로 알린다.
+     * 잘못된 개수로 큰 배열을 먼저 할당하지 않도록 읽기 전에 확인한다.
+     */
+    private static int checkCount(int count, ByteBuffer content, int minimumBytes) {
+        if (count < 0 || count > content.remaining() / minimumBytes) {
+            throw new ApplicationException(String.format("corrupted movie snapshot. [invalid count: %d, remaining bytes: %d]", count, content.remaining()));
+        }
+        return count;
+    }
+
+    private static int stringId(String value, Map<String, Integer> dictionary, DataOutputStream strings) throws IOException {
+        Integer id = dictionary.get(value);
+        if (Objects.isNull(id)) {
+            id = dictionary.size();
+            dictionary.put(value, id);
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            strings.writeInt(bytes.length);
+            strings.write(bytes);
+        }
+        return id;
+    }
+
+    private static void writeStringIds(List<String> values, Map<String, Integer> dictionary, DataOutputStream strings, DataOutputStream records) throws IOException {
+        records.writeInt(values.size());
+        for (String value : values) {
+            records.writeInt(stringId(value, dictionary, strings));
+        }
+    }
+
+    private static byte[] section(int byteLength, int count) {
+        return ByteBuffer.allocate(Integer.BYTES * 2).putInt(byteLength).putInt(count).array();
+    }
+
+    private static void writeChecked(byte[] bytes, OutputStream output, CRC32 checksum) throws IOException {
+        checksum.update(bytes);
+        output.write(bytes);
+    }
+
+}
@@ -0,0 +1,46 @@
+package moviebuddy.data;
+
+import moviebuddy.domain.Movie;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * CSV 또는 XML 영화 메타데이터를 바이너리 스냅샷으로 변환하는 명령행 도구.
+ *
+ * <pre>
+ * ❯ java -cp ... moviebuddy.data.MovieSnapshotConverter movie_metadata.csv build/movie_metadata.bin
+ * </pre>
+ *
+ * 원본 메타데이터 위치는 애플리케이션 설정(movie.metadata)과 같은 형식을 사용한다. (ex. classpath:, file:, https:)
+ */
+public class MovieSnapshotConverter {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("usage: MovieSnapshotConverter <source metadata (.csv | .xml)> <target snapshot>");
+            System.exit(1);
+        }
+        convert(args[0], Path.of(args[1]));
+    }
+
+    public static int convert(String metadata, Path target) throws Exception {
+        AbstractMetadataResourceMovieReader movieReader = metadata.toLowerCase().endsWith(".xml") ? new XmlMovieReader() : new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(metadata);
+        movieReader.afterPropertiesSet();
+
+        List<Movie> movies = movieReader.loadMovies();
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(target))) {
+            MovieSnapshot.write(movies, output);
+        }
+
+        System.out.printf("%d movies written to %s (%d bytes)%n", movies.size(), target, Files.size(target));
+        return movies.size();
+    }
+
+}
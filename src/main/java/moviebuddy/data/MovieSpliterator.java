@@ -0,0 +1,74 @@
+package moviebuddy.data;
+
+import moviebuddy.ApplicationException;
+import moviebuddy.domain.Movie;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 메타데이터를 읽는 커서(Cursor)를 감싸 영화를 하나씩 꺼내주는 Spliterator.
+ * 순서가 있고(ORDERED), null이 없으며(NONNULL), 탐색 중 원본이 바뀌지 않는다(IMMUTABLE).
+ * 크기는 메타데이터 용량으로 추정한 값이므로 SIZED 특성은 갖지 않는다.
+ */
+final class MovieSpliterator extends Spliterators.AbstractSpliterator<Movie> {
+
+    /**
+     * 메타데이터에서 다음 영화를 읽는다. 더 이상 읽을 영화가 없으면 null을 반환한다.
+     */
+    interface Cursor extends AutoCloseable {
+
+        Movie next() throws Exception;
+
+        /**
+         * 메타데이터 자원을 닫는다. 자원이 던지는 다른 검사 예외는 IOException으로 감싼다.
+         */
+        @Override
+        void close() throws IOException;
+
+    }
+
+    private final Cursor cursor;
+
+    private MovieSpliterator(Cursor cursor, long estimatedSize) {
+        super(estimatedSize, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        this.cursor = Objects.requireNonNull(cursor);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Movie> action) {
+        Movie movie;
+        try {
+            movie = cursor.next();
+        } catch (RuntimeException error) {
+            throw error;
+        } catch (Exception error) {
+            throw new ApplicationException("failed to load movies data.", error);
+        }
+
+        if (Objects.isNull(movie)) {
+            return false;
+        }
+        action.accept(movie);
+        return true;
+    }
+
+    /**
+     * 커서를 지연 평가되는 스트림으로 만든다. 스트림을 닫으면 커서도 닫힌다.
+     */
+    static Stream<Movie> stream(Cursor cursor, long estimatedSize) {
+        return StreamSupport.stream(new MovieSpliterator(cursor, estimatedSize), false).onClose(() -> {
+            try {
+                cursor.close();
+            } catch (IOException error) {
+                throw new ApplicationException("failed to close movies data.", error);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,167 @@
+package moviebuddy.data;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 영화 메타데이터를 읽는 동안 반복되는 값(언어, 국가, 감독, 장르, 배우)을 하나의 인스턴스로 모아주는 문자열 풀이다.
+ * 같은 값은 항상 같은 String 인스턴스를 반환하고, 장르와 배우 목록은 변경할 수 없는 List로 만들어 같은 조합끼리 공유한다.
+ *
+ * 풀은 한 번의 읽기(load) 동안만 사용하고 버린다. 따라서 풀이 붙잡고 있던 값 중 영화가 참조하지 않는 것은 함께 회수된다.
+ * 풀 자체는 스레드에 안전하지 않다. 여러 스레드에서 나눠 읽을 때는 스레드마다 풀을 만들고,
+ * 공유할 상위 풀(parent)을 지정하면 스레드 간에도 같은 값이 같은 인스턴스가 된다.
+ */
+final class MovieStringPool {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final MovieStringPool parent;
+
+    // 개방 주소법(open addressing) 해시 테이블, 문자 배열 범위로 조회할 때 String을 만들지 않기 위해 직접 구현했다.
+    private String[] values = new String[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private final Map<List<String>, List<String>> lists = new HashMap<>();
+
+    MovieStringPool() {
+        this(null);
+    }
+
+    MovieStringPool(MovieStringPool parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * 문자 배열의 지정된 범위와 같은 값을 가진 문자열을 반환한다. 풀에 이미 있으면 새 문자열을 만들지 않는다.
+     */
+    String canonicalize(char[] chars, int offset, int length) {
+        int hash = hash(chars, offset, length);
+        int mask = values.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            String value = values[slot];
+            if (Objects.isNull(value)) {
+                return insert(slot, hash, lookupParent(new String(chars, offset, length)));
+            }
+            if (hashes[slot] == hash && contentEquals(value, chars, offset, length)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * 같은 값을 가진 문자열이 풀에 있으면 그 인스턴스를, 없으면 주어진 문자열을 풀에 넣고 반환한다.
+     */
+    String canonicalize(String text) {
+        if (Objects.isNull(text)) {
+            return null;
+        }
+
+        int hash = text.hashCode();
+        int mask = values.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            String value = values[slot];
+            if (Objects.isNull(value)) {
+                return insert(slot, hash, lookupParent(text));
+            }
+            if (hashes[slot] == hash && value.equals(text)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * 목록의 각 값을 정규화한 변경 불가능한 목록을 반환한다. 같은 조합의 목록은 같은 인스턴스를 공유한다.
+     */
+    List<String> canonicalize(List<String> texts) {
+        if (Objects.isNull(texts)) {
+            return null;
+        }
+
+        List<String> list = lists.get(texts);
+        if (Objects.isNull(list)) {
+            String[] values = new String[texts.size()];
+            for (int index = 0; index < values.length; index++) {
+                values[index] = canonicalize(texts.get(index));
+            }
+            list = List.of(values);
+            if (Objects.nonNull(parent)) {
+                list = parent.lookupList(list);
+            }
+            lists.put(list, list);
+        }
+        return list;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private String lookupParent(String value) {
+        if (Objects.isNull(parent)) {
+            return value;
+        }
+        synchronized (parent) {
+            return parent.canonicalize(value);
+        }
+    }
+
+    private List<String> lookupList(List<String> list) {
+        synchronized (this) {
+            List<String> canonical = lists.putIfAbsent(list, list);
+            return Objects.nonNull(canonical) ? canonical : list;
+        }
+    }
+
+    private String insert(int slot, int hash, String value) {
+        values[slot] = value;
+        hashes[slot] = hash;
+        if (++size * 2 > values.length) {
+            resize();
+        }
+        return value;
+    }
+
+    private void resize() {
+        String[] oldValues = values;
+        int[] oldHashes = hashes;
+        values = new String[oldValues.length * 2];
+        hashes = new int[oldValues.length * 2];
+
+        int mask = values.length - 1;
+        for (int index = 0; index < oldValues.length; index++) {
+            if (Objects.nonNull(oldValues[index])) {
+                int slot = oldHashes[index] & mask;
+                while (Objects.nonNull(values[slot])) {
+                    slot = (slot + 1) & mask;
+                }
+                values[slot] = oldValues[index];
+                hashes[slot] = oldHashes[index];
+            }
+        }
+    }
+
+    // String.hashCode()와 같은 방식으로 계산해야 String 으로 조회할 때와 같은 슬롯을 찾는다.
+    private static int hash(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int index = offset; index < offset + length; index++) {
+            hash = 31 * hash + chars[index];
+        }
+        return hash;
+    }
+
+    private static boolean contentEquals(String value, char[] chars, int offset, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int index = 0; index < length; index++) {
+            if (value.charAt(index) != chars[offset + index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,276 @@
+package moviebuddy.data;
+
+import moviebuddy.ApplicationException;
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieRecords;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * 영화 목록을 힙 바깥(direct ByteBuffer)에 저장하는 변경 불가능한 목록이다.
+ * 수백만 편의 영화 객체가 old 영역에 상주하면 GC가 매번 그 객체 그래프를 따라가야 하므로,
+ * 영화 한 편을 고정 길이 레코드로, 문자열은 별도의 문자열 힙(string heap)에 UTF-8로 기록해 둔다.
+ * 힙에는 버퍼를 가리키는 몇 개의 객체만 남는다.
+ *
+ * <pre>
+ * record  : title(int) language(int) country(int) releaseYear(int) director(int)
+ *           imdbLink(int, 없으면 -1) watchedDate(int, epoch day) genres(int) actors(int)
+ * strings : 문자열 id 별 시작 위치(int)... 와 UTF-8 바이트
+ * lists   : 목록 id 위치에 count(int) 문자열 id(int)...
+ * </pre>
+ *
+ * get(index)는 호출할 때마다 레코드를 해석해 새 영화 객체를 만든다. 만들어진 객체는 곧 버려지는 짧은 수명의 객체이므로
+ * 검색처럼 일부 값만 필요한 경우에는 releaseYear(index), director(index) 같은 접근 메서드(MovieRecords)로 영화 객체 없이 값을 읽는다.
+ * MovieStore도 이 접근 메서드로 검색 색인을 만들므로, 영화 객체는 검색 결과로 반환하는 행에 대해서만 만들어진다.
+ */
+public final class OffHeapMovieCatalog extends AbstractList<Movie> implements RandomAccess, MovieRecords {
+
+    static final int RECORD_BYTES = Integer.BYTES * 9;
+
+    private static final int TITLE = 0;
+    private static final int LANGUAGE = 4;
+    private static final int COUNTRY = 8;
+    private static final int RELEASE_YEAR = 12;
+    private static final int DIRECTOR = 16;
+    private static final int IMDB_LINK = 20;
+    private static final int WATCHED_DATE = 24;
+    private static final int GENRES = 28;
+    private static final int ACTORS = 32;
+
+    private static final int NO_VALUE = -1;
+
+    private final int size;
+    private final ByteBuffer records;
+    private final ByteBuffer stringOffsets;
+    private final ByteBuffer stringBytes;
+    private final ByteBuffer lists;
+
+    private OffHeapMovieCatalog(int size, ByteBuffer records, ByteBuffer stringOffsets, ByteBuffer stringBytes, ByteBuffer lists) {
+        this.size = size;
+        this.records = records;
+        this.stringOffsets = stringOffsets;
+        this.stringBytes = stringBytes;
+        this.lists = lists;
+    }
+
+    /**
+     * 영화 목록을 힙 바깥으로 옮긴 목록을 만든다.
+     */
+    public static OffHeapMovieCatalog of(Iterable<Movie> movies) {
+        Builder builder = new Builder();
+        for (Movie movie : movies) {
+            builder.add(movie);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Movie get(int index) {
+        int record = recordOffset(index);
+        int imdbLink = records.getInt(record + IMDB_LINK);
+        try {
+            return Movie.of(
+                    string(records.getInt(record + TITLE)),
+                    stringList(records.getInt(record + GENRES)),
+                    string(records.getInt(record + LANGUAGE)),
+                    string(records.getInt(record + COUNTRY)),
+                    records.getInt(record + RELEASE_YEAR),
+                    string(records.getInt(record + DIRECTOR)),
+                    stringList(records.getInt(record + ACTORS)),
+                    imdbLink == NO_VALUE ? null : new URL(string(imdbLink)),
+                    LocalDate.ofEpochDay(records.getInt(record + WATCHED_DATE)));
+        } catch (MalformedURLException error) {
+            throw new ApplicationException(String.format("corrupted off-heap movie record. [index: %d]", index), error);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int releaseYear(int index) {
+        return records.getInt(recordOffset(index) + RELEASE_YEAR);
+    }
+
+    @Override
+    public int watchedDate(int index) {
+        return records.getInt(recordOffset(index) + WATCHED_DATE);
+    }
+
+    /**
+     * 감독 이름의 문자열 id, 감독은 문자열 힙에 한 번만 기록되므로 같은 감독이면 같은 값이다.
+     */
+    @Override
+    public int directorId(int index) {
+        return records.getInt(recordOffset(index) + DIRECTOR);
+    }
+
+    @Override
+    public String director(int index) {
+        return string(records.getInt(recordOffset(index) + DIRECTOR));
+    }
+
+    @Override
+    public String language(int index) {
+        return string(records.getInt(recordOffset(index) + LANGUAGE));
+    }
+
+    @Override
+    public String country(int index) {
+        return string(records.getInt(recordOffset(index) + COUNTRY));
+    }
+
+    @Override
+    public List<String> genres(int index) {
+        return stringList(records.getInt(recordOffset(index) + GENRES));
+    }
+
+    @Override
+    public List<String> actors(int index) {
+        return stringList(records.getInt(recordOffset(index) + ACTORS));
+    }
+
+    public String title(int index) {
+        return string(records.getInt(recordOffset(index) + TITLE));
+    }
+
+    /**
+     * 힙 바깥에 할당한 버퍼의 전체 용량(byte)
+     */
+    public long offHeapBytes() {
+        return (long) records.capacity() + stringOffsets.capacity() + stringBytes.capacity() + lists.capacity();
+    }
+
+    private int recordOffset(int index) {
+        Objects.checkIndex(index, size);
+        return index * RECORD_BYTES;
+    }
+
+    private String string(int id) {
+        int start = stringOffsets.getInt(id * Integer.BYTES);
+        int length = stringOffsets.getInt((id + 1) * Integer.BYTES) - start;
+        byte[] bytes = new byte[length];
+        stringBytes.duplicate().position(start).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<String> stringList(int position) {
+        int count = lists.getInt(position);
+        String[] values = new String[count];
+        for (int index = 0; index < count; index++) {
+            values[index] = string(lists.getInt(position + (index + 1) * Integer.BYTES));
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * 영화를 한 편씩 받아 힙 바깥 목록을 만든다. 기록하는 동안에는 힙의 기본형 배열을 쓰고,
+     * build()에서 필요한 크기만큼만 direct 버퍼를 할당해 한 번에 옮긴다.
+     *
+     * 감독, 언어, 국가, 장르, 배우처럼 반복되는 값은 한 번만 기록하고, 제목과 IMDb 링크는 중복을 찾지 않고 그대로 기록한다.
+     */
+    public static class Builder {
+
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final Map<List<String>, Integer> listPositions = new HashMap<>();
+
+        private ByteBuffer records = ByteBuffer.allocate(RECORD_BYTES * 1024);
+        private ByteBuffer stringOffsets = ByteBuffer.allocate(Integer.BYTES * 1024).putInt(0);
+        private ByteBuffer stringBytes = ByteBuffer.allocate(64 * 1024);
+        private ByteBuffer lists = ByteBuffer.allocate(16 * 1024);
+        private int stringCount;
+        private int size;
+
+        Builder() {
+        }
+
+        public Builder add(Movie movie) {
+            records = ensureCapacity(records, RECORD_BYTES);
+            records.putInt(appendString(movie.getTitle()));
+            records.putInt(stringId(movie.getLanguage()));
+            records.putInt(stringId(movie.getCountry()));
+            records.putInt(movie.getReleaseYear());
+            records.putInt(stringId(movie.getDirector()));
+            records.putInt(Objects.isNull(movie.getImdbLink()) ? NO_VALUE : appendString(movie.getImdbLink().toString()));
+            records.putInt(Math.toIntExact(movie.getWatchedDate().toEpochDay()));
+            records.putInt(listPosition(movie.getGenres()));
+            records.putInt(listPosition(movie.getActors()));
+            size++;
+            return this;
+        }
+
+        public OffHeapMovieCatalog build() {
+            return new OffHeapMovieCatalog(size, toDirect(records), toDirect(stringOffsets), toDirect(stringBytes), toDirect(lists));
+        }
+
+        private int stringId(String value) {
+            Integer id = stringIds.get(value);
+            if (Objects.isNull(id)) {
+                id = appendString(value);
+                stringIds.put(value, id);
+            }
+            return id;
+        }
+
+        private int appendString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            stringBytes = ensureCapacity(stringBytes, bytes.length);
+            stringBytes.put(bytes);
+            stringOffsets = ensureCapacity(stringOffsets, Integer.BYTES);
+            stringOffsets.putInt(stringBytes.position());
+            return stringCount++;
+        }
+
+        private int listPosition(List<String> values) {
+            Integer position = listPositions.get(values);
+            if (Objects.isNull(position)) {
+                position = lists.position();
+                lists = ensureCapacity(lists, Integer.BYTES * (values.size() + 1));
+                lists.putInt(values.size());
+                for (String value : values) {
+                    lists.putInt(stringId(value));
+                }
+                listPositions.put(List.copyOf(values), position);
+            }
+            return position;
+        }
+
+        private static ByteBuffer ensureCapacity(ByteBuffer buffer, int required) {
+            if (buffer.remaining() >= required) {
+                return buffer;
+            }
+            long capacity = Math.max((long) buffer.capacity() * 2, (long) buffer.position() + required);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new ApplicationException("too many movies to store off-heap.");
+            }
+            ByteBuffer grown = ByteBuffer.allocate((int) capacity);
+            buffer.flip();
+            return grown.put(buffer);
+        }
+
+        private static ByteBuffer toDirect(ByteBuffer buffer) {
+            ByteBuffer content = buffer.duplicate().flip();
+            ByteBuffer direct = ByteBuffer.allocateDirect(content.remaining());
+            direct.put(content).flip();
+            return direct.asReadOnlyBuffer();
+        }
+    }
+
+}
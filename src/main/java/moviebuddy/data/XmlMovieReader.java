@@ -5,158 +5,178 @@ import moviebuddy.MovieBuddyProfile;
 import moviebuddy.domain.Movie;
 import moviebuddy.domain.MovieReader;
 import org.springframework.context.annotation.Profile;
-import org.springframework.oxm.Unmarshaller;
 import org.springframework.stereotype.Repository;
 
-import javax.xml.bind.annotation.XmlRootElement;
-import javax.xml.transform.Source;
-import javax.xml.transform.stream.StreamSource;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-
+import java.util.stream.Stream;
+
+/**
+ * XML 문서로 작성된 영화 메타데이터를 읽는다.
+ *
+ * JAXB로 문서 전체를 객체 그래프(MovieMetadata, MovieData)로 변환한 후 다시 영화 객체로 복사하면
+ * 최대 메모리 사용량이 영화 목록의 두 배가 된다. 그래서 StAX(pull parser)를 이용해
+ * <movies> 요소를 하나씩 읽으며 곧바로 영화 객체를 만든다.
+ *
+ * <pre>
+ * &lt;moviemetadata&gt;
+ *     &lt;movies&gt;
+ *         &lt;actors&gt;...&lt;/actors&gt; &lt;country&gt;...&lt;/country&gt; &lt;director&gt;...&lt;/director&gt; &lt;genres&gt;...&lt;/genres&gt;
+ *         &lt;imdbLink&gt;...&lt;/imdbLink&gt; &lt;language&gt;...&lt;/language&gt; &lt;releaseYear&gt;...&lt;/releaseYear&gt;
+ *         &lt;title&gt;...&lt;/title&gt; &lt;watchedDate&gt;...&lt;/watchedDate&gt;
+ *     &lt;/movies&gt;
+ * &lt;/moviemetadata&gt;
+ * </pre>
+ */
 @Profile(MovieBuddyProfile.XML_MODE)
 @Repository
 public class XmlMovieReader extends AbstractMetadataResourceMovieReader implements MovieReader {
 
-    private final Unmarshaller unmarshaller;
+    static final String ROOT_ELEMENT = "moviemetadata";
+    static final String MOVIE_ELEMENT = "movies";
+
+    // 영화 수 추정에 사용하는 <movies> 요소 당 평균 용량
+    private static final long ESTIMATED_BYTES_PER_MOVIE = 640;
 
-    public XmlMovieReader(Unmarshaller unmarshaller){
-        this.unmarshaller = Objects.requireNonNull(unmarshaller);
+    private final XMLInputFactory inputFactory;
+
+    public XmlMovieReader() {
+        XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+        // 외부 엔티티, DTD 처리는 사용하지 않는다. (XXE 방지)
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        this.inputFactory = inputFactory;
     }
 
     @Override
-    public List<Movie> loadMovies() {
-
+    public Stream<Movie> streamMovies() {
+        final InputStream content;
+        final XMLStreamReader reader;
         try {
-            final InputStream content = getMetadataResource().getInputStream();
-            final Source source = new StreamSource(content);
-            final MovieMetadata movieMetadata = (MovieMetadata) unmarshaller.unmarshal(source);
-
-            return movieMetadata.toMovies();
-
-        }catch (IOException error){
+            content = getMetadataResource().getInputStream();
+            reader = inputFactory.createXMLStreamReader(content);
+        } catch (IOException | XMLStreamException error) {
             throw new ApplicationException("failed to load movies data", error);
         }
-    }
 
-    @XmlRootElement(name = "moviemetadata")
-    public static class MovieMetadata {
-        private List<MovieData> movies;
-
-        public List<MovieData> getMovies() {
-            return movies;
-        }
-
-        public void setMovies(List<MovieData> movies) {
-            this.movies = movies;
-        }
-
-        public List<Movie> toMovies() {
-            return movies.stream().map(MovieData::toMovie).collect(Collectors.toList());
-        }
+        final MovieStringPool pool = new MovieStringPool();
+        MovieSpliterator.Cursor cursor = new MovieSpliterator.Cursor() {
+            @Override
+            public Movie next() throws XMLStreamException {
+                return nextMovie(reader, pool);
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    reader.close();
+                } catch (XMLStreamException error) {
+                    throw new IOException("failed to close xml stream reader.", error);
+                } finally {
+                    content.close();
+                }
+            }
+        };
+        return MovieSpliterator.stream(cursor, estimateMovieCount(ESTIMATED_BYTES_PER_MOVIE));
     }
 
-    static class MovieData {
-
-        private String title;
-        private List<String> genres;
-        private String language;
-        private String country;
-        private int releaseYear;
-        private String director;
-        private List<String> actors;
-        private URL imdbLink;
-        private String watchedDate;
-
-        public String getTitle() {
-            return title;
-        }
-
-        public void setTitle(String title) {
-            this.title = title;
-        }
-
-        public List<String> getGenres() {
-            return genres;
-        }
-
-        public void setGenres(List<String> genres) {
-            this.genres = genres;
-        }
-
-        public String getLanguage() {
-            return language;
-        }
-
-        public void setLanguage(String language) {
-            this.language = language;
-        }
-
-        public String getCountry() {
-            return country;
-        }
-
-        public void setCountry(String country) {
-            this.country = country;
-        }
-
-        public int getReleaseYear() {
-            return releaseYear;
-        }
-
-        public void setReleaseYear(int releaseYear) {
-            this.releaseYear = releaseYear;
-        }
-
-        public String getDirector() {
-            return director;
-        }
-
-        public void setDirector(String director) {
-            this.director = director;
-        }
-
-        public List<String> getActors() {
-            return actors;
-        }
-
-        public void setActors(List<String> actors) {
-            this.actors = actors;
-        }
-
-        public URL getImdbLink() {
-            return imdbLink;
-        }
+    /**
+     * 다음 <movies> 요소를 찾아 영화 객체로 변환한다. 더 이상 읽을 요소가 없으면 null을 반환한다.
+     */
+    static Movie nextMovie(XMLStreamReader reader, MovieStringPool pool) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (MOVIE_ELEMENT.equals(name)) {
+                    return readMovie(reader, pool);
+                }
+                if (!ROOT_ELEMENT.equals(name)) {
+                    skipElement(reader);
+                }
+            }
+        }
+        return null;
+    }
 
-        public void setImdbLink(URL imdbLink) {
-            this.imdbLink = imdbLink;
+    private static Movie readMovie(XMLStreamReader reader, MovieStringPool pool) throws XMLStreamException {
+        String title = null;
+        List<String> genres = new ArrayList<>(4);
+        String language = null;
+        String country = null;
+        int releaseYear = 0;
+        String director = null;
+        List<String> actors = new ArrayList<>(4);
+        URL imdbLink = null;
+        String watchedDate = null;
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "title":
+                    title = reader.getElementText();
+                    break;
+                case "genres":
+                    genres.add(pool.canonicalize(reader.getElementText()));
+                    break;
+                case "language":
+                    language = pool.canonicalize(reader.getElementText());
+                    break;
+                case "country":
+                    country = pool.canonicalize(reader.getElementText());
+                    break;
+                case "releaseYear":
+                    releaseYear = Integer.parseInt(reader.getElementText().trim());
+                    break;
+                case "director":
+                    director = pool.canonicalize(reader.getElementText());
+                    break;
+                case "actors":
+                    actors.add(pool.canonicalize(reader.getElementText()));
+                    break;
+                case "imdbLink":
+                    imdbLink = toUrl(reader.getElementText().trim());
+                    break;
+                case "watchedDate":
+                    watchedDate = reader.getElementText();
+                    break;
+                default:
+                    skipElement(reader);
+            }
         }
 
-        public String getWatchedDate() {
-            return watchedDate;
+        try {
+            return Movie.of(title, pool.canonicalize(genres), language, country, releaseYear, director, pool.canonicalize(actors), imdbLink, watchedDate);
+        } catch (RuntimeException error) {
+            throw new ApplicationException(String.format("mapping xml to object failed. [%s]", reader.getLocation()), error);
         }
+    }
 
-        public void setWatchedDate(String watchedDate) {
-            this.watchedDate = watchedDate;
+    private static URL toUrl(String text) {
+        try {
+            return new URL(text);
+        } catch (IOException error) {
+            throw new ApplicationException("mapping xml to object failed.", error);
         }
+    }
 
-        public Movie toMovie() {
-            String title = getTitle();
-            List<String> genres = getGenres();
-            String language = getLanguage();
-            String country = getCountry();
-            int releaseYear = getReleaseYear();
-            String director = getDirector();
-            List<String> actors = getActors();
-            URL imdbLink = getImdbLink();
-            String watchedDate = getWatchedDate();
-
-            return Movie.of(title, genres, language, country, releaseYear, director, actors, imdbLink, watchedDate);
+    // 현재 시작 요소를 하위 요소까지 포함해 건너뛴다.
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
         }
-
     }
+
 }
@@ -0,0 +1,138 @@
+package moviebuddy.domain;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 감독 이름의 부분 문자열 검색(대소문자 무시)을 위한 색인이다.
+ * 중복이 제거된 감독 이름을 소문자로 바꿔 한 번만 저장하고, 한 글자부터 세 글자까지의 조각(n-gram)마다
+ * 그 조각을 가진 감독 id 목록을 만든다. 감독 id 별로는 그 감독이 연출한 영화의 행 번호를 모아 둔다.
+ *
+ * 검색할 때는 검색어의 조각(검색어가 짧으면 검색어 길이의 조각) 중 가장 적은 감독을 가진 목록만 후보로 삼아
+ * 실제로 포함하는지 확인하므로, 영화 행 전체나 감독 이름 전체를 훑지 않는다.
+ */
+class DirectorIndex {
+
+    private static final int MAX_GRAM_LENGTH = 3;
+    private static final int[] NO_IDS = new int[0];
+
+    private final String[] names;
+    private final Map<Long, int[]> postings;
+    private final int[] rowOffsets;
+    private final int[] rows;
+
+    /**
+     * @param directors 감독 사전 (위치가 감독 id)
+     * @param directorIds 행 별 감독 id
+     */
+    DirectorIndex(List<String> directors, int[] directorIds) {
+        this.names = new String[directors.size()];
+        Map<Long, MovieStore.IntArrayBuilder> grams = new HashMap<>();
+        for (int id = 0; id < names.length; id++) {
+            names[id] = directors.get(id).toLowerCase();
+            for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+                long previous = Long.MIN_VALUE;
+                for (long gram : grams(names[id], length)) {
+                    // 같은 이름에서 여러 번 나오는 조각은 한 번만 기록한다. (정렬된 조각 목록)
+                    if (gram != previous) {
+                        grams.computeIfAbsent(gram, it -> new MovieStore.IntArrayBuilder(4)).add(id);
+                        previous = gram;
+                    }
+                }
+            }
+        }
+        this.postings = new HashMap<>(grams.size() * 2);
+        grams.forEach((gram, ids) -> postings.put(gram, ids.toArray()));
+
+        // 감독 id 별 행 번호 목록 (CSR 형식: rows[rowOffsets[id], rowOffsets[id + 1]))
+        this.rowOffsets = new int[names.length + 1];
+        for (int directorId : directorIds) {
+            rowOffsets[directorId + 1]++;
+        }
+        for (int id = 0; id < names.length; id++) {
+            rowOffsets[id + 1] += rowOffsets[id];
+        }
+        this.rows = new int[directorIds.length];
+        int[] cursors = Arrays.copyOf(rowOffsets, names.length);
+        for (int row = 0; row < directorIds.length; row++) {
+            rows[cursors[directorIds[row]]++] = row;
+        }
+    }
+
+    /**
+     * 이름에 검색어가 포함된 감독의 id 목록을 반환한다.
+     */
+    int[] directorIds(String directedBy) {
+        String query = directedBy.toLowerCase();
+
+        int[] candidates = null;
+        if (!query.isEmpty()) {
+            for (long gram : grams(query, Math.min(query.length(), MAX_GRAM_LENGTH))) {
+                int[] ids = postings.getOrDefault(gram, NO_IDS);
+                if (Objects.isNull(candidates) || ids.length < candidates.length) {
+                    candidates = ids;
+                }
+                if (candidates.length == 0) {
+                    return NO_IDS;
+                }
+            }
+        }
+
+        int size = Objects.isNull(candidates) ? names.length : candidates.length;
+        MovieStore.IntArrayBuilder matches = new MovieStore.IntArrayBuilder(Math.min(size, 16));
+        for (int index = 0; index < size; index++) {
+            int id = Objects.isNull(candidates) ? index : candidates[index];
+            if (names[id].contains(query)) {
+                matches.add(id);
+            }
+        }
+        return matches.toArray();
+    }
+
+    /**
+     * 이름에 검색어가 포함된 감독이 연출한 영화의 행 번호를 원래 순서대로 반환한다.
+     */
+    int[] rows(String directedBy) {
+        int[] ids = directorIds(directedBy);
+        if (ids.length == 1) {
+            return Arrays.copyOfRange(rows, rowOffsets[ids[0]], rowOffsets[ids[0] + 1]);
+        }
+
+        int count = 0;
+        for (int id : ids) {
+            count += rowOffsets[id + 1] - rowOffsets[id];
+        }
+        int[] result = new int[count];
+        int position = 0;
+        for (int id : ids) {
+            int length = rowOffsets[id + 1] - rowOffsets[id];
+            System.arraycopy(rows, rowOffsets[id], result, position, length);
+            position += length;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * 지정한 길이의 조각을 정렬된 long 값으로 반환한다. 문자마다 16비트를 쓰고, 그 위에 조각의 길이를 둔다.
+     */
+    private static long[] grams(String text, int length) {
+        if (text.length() < length) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - length + 1];
+        for (int index = 0; index < grams.length; index++) {
+            long gram = length;
+            for (int offset = 0; offset < length; offset++) {
+                gram = (gram << 16) | text.charAt(index + offset);
+            }
+            grams[index] = gram;
+        }
+        Arrays.sort(grams);
+        return grams;
+    }
+
+}
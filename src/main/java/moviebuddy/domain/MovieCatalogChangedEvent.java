@@ -0,0 +1,29 @@
+package moviebuddy.domain;
+
+/**
+ * 영화 목록이 다시 불러와져 MovieFinder가 검색 저장소를 새로 만들었음을 알리는 이벤트.
+ * 이전 영화 목록으로 만든 검색 결과(캐시 등)를 정리하는 데 사용한다.
+ */
+public class MovieCatalogChangedEvent {
+
+    private final long previousVersion;
+    private final long version;
+
+    public MovieCatalogChangedEvent(long previousVersion, long version) {
+        this.previousVersion = previousVersion;
+        this.version = version;
+    }
+
+    public long getPreviousVersion() {
+        return previousVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "MovieCatalogChangedEvent [previousVersion=" + previousVersion + ", version=" + version + "]";
+    }
+}
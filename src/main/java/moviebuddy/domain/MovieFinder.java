@@ -1,16 +1,32 @@
 package moviebuddy.domain;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-public class MovieFinder {
+public class MovieFinder implements ApplicationEventPublisherAware {
+
+    // 검색 결과 캐시 이름, 캐시 키에는 검색 인자와 함께 영화 목록의 버전(catalogVersion)이 포함된다.
+    // 캐시가 비어 있으면 같은 검색을 한 번만 실행하고(sync), 검색 시간은 캐시 통계에 불러오기 시간으로 기록된다.
+    // 색인 조회가 캐시 조회보다 빠른 검색(감독, 개봉년도)은 캐시하지 않고, 결과가 큰 기간 검색만 캐시한다.
+    public static final String QUERY_CACHE_NAME = "movieQueries";
+
     private final MovieReader movieReader;
 
+    // 마지막으로 불러온 영화 목록으로 만든 열 기반 저장소
+    private volatile MovieStore movieStore;
+    private final Object storeLock = new Object();
+
+    private ApplicationEventPublisher eventPublisher = event -> { };
+
     // @Autowired 어노테이션을 이용해 의존 관계 주입을 자동으로 받을 수 있도록 설정.
     // @Autowired  // 생성자가 하나뿐이라면 생략 가능.
     public MovieFinder(MovieReader movieReader){
@@ -19,16 +35,20 @@ public class MovieFinder {
     // 기본적으론 선언되어 있는 타입(MovieReader)을 기반으로 의존 관계 주입 대상을 찾는다.
     // 만약 MovieReader 타입의 빈이 2개 이상 존재할 경우엔, 지정한 변수명(movieReader)과 동일한 빈 이름으로 찾는다.
 
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = Objects.requireNonNull(eventPublisher);
+    }
+
     /**
-     * 저장된 영화 목록에서 감독으로 영화를 검색한다.
+     * 저장된 영화 목록에서 감독으로 영화를 검색한다. 대소문자를 구분하지 않는다.
      *
      * @param directedBy 감독
      * @return 검색된 영화 목록
      */
     public List<Movie> directedBy(String directedBy) {
-        return movieReader.loadMovies().stream()
-                .filter(it -> it.getDirector().toLowerCase().contains(directedBy.toLowerCase()))
-                .collect(Collectors.toList());
+        MovieStore movieStore = movieStore();
+        return movieStore.movies(movieStore.rowsDirectedBy(directedBy));
     }
 
     /**
@@ -38,10 +58,103 @@ public class MovieFinder {
      * @return 검색된 영화 목록
      */
     public List<Movie> releasedYearBy(int releasedYearBy) {
-        return movieReader.loadMovies().stream()
-                .filter(it -> Objects.equals(it.getReleaseYear(), releasedYearBy))
-                .collect(Collectors.toList());
+        MovieStore movieStore = movieStore();
+        return movieStore.movies(movieStore.rowsReleasedYearBy(releasedYearBy));
+    }
+
+    /**
+     * 저장된 영화 목록에서 지정한 기간(양 끝 연도 포함)에 개봉한 영화를 검색한다.
+     * 검색 결과는 개봉년도 순으로 정렬되어 있다.
+     *
+     * @param fromYear 시작 연도
+     * @param toYear 마지막 연도
+     * @return 검색된 영화 목록
+     */
+    @Cacheable(cacheNames = QUERY_CACHE_NAME, keyGenerator = "movieQueryKeyGenerator", sync = true)
+    public List<Movie> releasedBetween(int fromYear, int toYear) {
+        MovieStore movieStore = movieStore();
+        return movieStore.movies(movieStore.rowsReleasedBetween(fromYear, toYear));
+    }
+
+    /**
+     * 영화 목록을 불러오고 검색 색인(열 기반 저장소)을 미리 만들어, 첫 검색이 준비 비용을 치르지 않게 한다.
+     *
+     * @return 영화 수
+     */
+    public int prepare() {
+        return movieStore().size();
+    }
+
+    /**
+     * 현재 영화 목록의 버전을 반환한다. 영화 목록이 다시 불러와지면 값이 커진다.
+     * 검색 결과 캐시는 키를 만들 때마다 이 값을 포함하므로, 캐시된 검색만 호출해도 다시 불러온 영화 목록이 바로 반영된다.
+     * 영화 목록은 캐시되어 있으므로 같은 목록인지 확인하는 비용만 들고, 목록이 바뀌었으면 저장소를 새로 만든다.
+     */
+    public long catalogVersion() {
+        return movieStore().version();
+    }
+
+    /**
+     * 영화 목록으로 만든 열 기반 저장소를 반환한다.
+     * 영화 목록이 캐시되어 있는 동안은 같은 저장소를 재사용하고, 목록이 다시 불러와지면 저장소도 새로 만들고 변경 이벤트를 발행한다.
+     * 동시에 호출해도 영화 목록이 바뀔 때마다 저장소는 한 번만 만들고, 변경 이벤트도 한 번만 발행한다.
+     */
+    MovieStore movieStore() {
+        MovieStore movieStore = this.movieStore;
+        List<Movie> movies = movieReader.loadMovies();
+        if (Objects.nonNull(movieStore) && movieStore.isBuiltFrom(movies)) {
+            return movieStore;
+        }
+
+        MovieStore previous;
+        synchronized (storeLock) {
+            // 기다리는 동안 다른 스레드가 저장소를 만들었으면, 가장 최근 영화 목록으로 다시 확인한다.
+            previous = this.movieStore;
+            if (previous != movieStore) {
+                movies = movieReader.loadMovies();
+            }
+            if (Objects.nonNull(previous) && previous.isBuiltFrom(movies)) {
+                return previous;
+            }
+            movieStore = MovieStore.of(movies);
+            this.movieStore = movieStore;
+        }
+        if (Objects.nonNull(previous)) {
+            eventPublisher.publishEvent(new MovieCatalogChangedEvent(previous.version(), movieStore.version()));
+        }
+        return movieStore;
     }
 
+    /**
+     * 메타데이터를 읽어가며 감독으로 영화를 검색하고, 지정한 개수만큼 찾으면 읽기를 멈춘다.
+     * 영화 목록 전체를 불러오지 않으므로 일회성 조회에서 첫 결과까지의 시간과 메모리 사용량이 줄어든다.
+     *
+     * @param directedBy 감독
+     * @param limit 최대 검색 개수
+     * @return 검색된 영화 목록
+     */
+    public List<Movie> directedBy(String directedBy, int limit) {
+        final String director = directedBy.toLowerCase();
+        try (Stream<Movie> movies = movieReader.streamMovies()) {
+            return movies.filter(it -> it.getDirector().toLowerCase().contains(director))
+                         .limit(limit)
+                         .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 메타데이터를 읽어가며 개봉년도로 영화를 검색하고, 지정한 개수만큼 찾으면 읽기를 멈춘다.
+     *
+     * @param releasedYearBy 개봉년도
+     * @param limit 최대 검색 개수
+     * @return 검색된 영화 목록
+     */
+    public List<Movie> releasedYearBy(int releasedYearBy, int limit) {
+        try (Stream<Movie> movies = movieReader.streamMovies()) {
+            return movies.filter(it -> it.getReleaseYear() == releasedYearBy)
+                         .limit(limit)
+                         .collect(Collectors.toList());
+        }
+    }
 
 }
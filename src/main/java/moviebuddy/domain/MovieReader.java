@@ -2,6 +2,7 @@ package moviebuddy.domain;
 
 import javax.cache.annotation.CacheResult;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * MovieReader 인터페이스를 domain 패키지에 포함하여, domain 패키지를 완벽하게 독립시킬 수 있게 됨.
@@ -11,4 +12,14 @@ public interface MovieReader {
 
     @CacheResult(cacheName = "movies")
     List<Movie> loadMovies();
+
+    /**
+     * 영화 목록 전체를 메모리에 올리지 않고, 필요한 만큼만 읽어 들이는 지연 평가 스트림을 반환한다.
+     * 메타데이터 자원을 열어둔 채로 동작하므로 사용 후에는 반드시 스트림을 닫아야 한다. (try-with-resources)
+     *
+     * @return 영화 스트림
+     */
+    default Stream<Movie> streamMovies() {
+        return loadMovies().stream();
+    }
 }
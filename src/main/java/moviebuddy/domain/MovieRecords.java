@@ -0,0 +1,37 @@
+package moviebuddy.domain;
+
+import java.util.List;
+
+/**
+ * 영화 객체를 만들지 않고 행(위치) 별 값을 읽을 수 있는 영화 목록이다.
+ * 영화를 힙 바깥에 저장하는 목록처럼 get(row)이 호출할 때마다 영화 객체를 새로 만드는 목록이 구현한다.
+ *
+ * MovieStore는 영화 목록이 이 인터페이스를 구현하면 영화 객체 대신 접근 메서드로 검색 색인을 만들고,
+ * 검색 결과로 반환하는 행만 영화 객체로 꺼낸다.
+ */
+public interface MovieRecords {
+
+    int size();
+
+    int releaseYear(int row);
+
+    /**
+     * 시청일자의 epoch day 값
+     */
+    int watchedDate(int row);
+
+    /**
+     * 감독을 구분하는 0 이상의 값, 같은 값을 가진 행은 같은 감독이다. MovieStore는 값마다 한 번만 감독 이름(director)을 읽는다.
+     */
+    int directorId(int row);
+
+    String director(int row);
+
+    String language(int row);
+
+    String country(int row);
+
+    List<String> genres(int row);
+
+    List<String> actors(int row);
+}
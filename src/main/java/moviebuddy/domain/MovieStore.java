@@ -0,0 +1,362 @@
+package moviebuddy.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 영화 목록을 열(column) 단위의 기본형 배열로 재구성한 저장소이다.
+ * 검색은 객체를 따라가지 않고 int 배열을 순차적으로 훑으며, 영화 객체는 결과 행에 대해서만 꺼낸다.
+ *
+ * - 개봉년도: int[] 와 연도별 행 번호 색인
+ * - 시청일자: epoch day 값의 int[]
+ * - 감독, 언어, 국가: 사전(dictionary)의 위치(id)를 담은 int[], 감독은 감독 색인(DirectorIndex)도 함께 만든다.
+ * - 장르, 배우: 행마다 시작 위치를 담은 offset 배열과 사전 id 배열
+ *
+ * 열은 원본의 행 단위 접근 메서드(MovieRecords)로 채운다. 원본이 MovieRecords(ex. 힙 바깥 목록)이면 영화 객체 없이 열을 만들므로,
+ * 영화 객체는 검색 결과로 반환하는 행에 대해서만 만들어진다.
+ *
+ * 저장소는 만들어진 후 변경되지 않으며, 원본 영화 목록이 바뀌면 새로 만들어야 한다.
+ */
+public class MovieStore {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    // 저장소를 만들 때마다 증가하는 번호, 검색 결과가 어느 영화 목록에서 나왔는지 구분하는 데 사용한다.
+    private final long version = VERSIONS.incrementAndGet();
+
+    private final List<Movie> movies;
+
+    private final int[] releaseYears;
+    private final int[] watchedDates;
+
+    // 개봉년도 색인: (연도 - minReleaseYear) 위치의 구간 yearRows[yearOffsets[i], yearOffsets[i + 1])에 그 해 영화의 행 번호가 있다.
+    private final int minReleaseYear;
+    private final int[] yearOffsets;
+    private final int[] yearRows;
+
+    private final Dictionary directors;
+    private final int[] directorIds;
+    private final Dictionary languages;
+    private final int[] languageIds;
+    private final Dictionary countries;
+    private final int[] countryIds;
+    private final DirectorIndex directorIndex;
+
+    private final Dictionary genres;
+    private final int[] genreOffsets;
+    private final int[] genreIds;
+    private final Dictionary actors;
+    private final int[] actorOffsets;
+    private final int[] actorIds;
+
+    private MovieStore(List<Movie> movies, MovieRecords records) {
+        this.movies = movies;
+
+        int size = records.size();
+        this.releaseYears = new int[size];
+        this.watchedDates = new int[size];
+        this.directors = new Dictionary();
+        this.directorIds = new int[size];
+        this.languages = new Dictionary();
+        this.languageIds = new int[size];
+        this.countries = new Dictionary();
+        this.countryIds = new int[size];
+        this.genres = new Dictionary();
+        this.genreOffsets = new int[size + 1];
+        this.actors = new Dictionary();
+        this.actorOffsets = new int[size + 1];
+
+        IntArrayBuilder genreIds = new IntArrayBuilder(size * 3);
+        IntArrayBuilder actorIds = new IntArrayBuilder(size * 3);
+
+        // 원본의 감독 구분 값을 사전 id로 바꾸는 표, 감독마다 처음 한 번만 이름을 읽는다. (-1: 아직 읽지 않음)
+        int[] directorIdsBySource = new int[0];
+        for (int row = 0; row < size; row++) {
+            releaseYears[row] = records.releaseYear(row);
+            watchedDates[row] = records.watchedDate(row);
+            languageIds[row] = languages.idOf(records.language(row));
+            countryIds[row] = countries.idOf(records.country(row));
+
+            genreOffsets[row] = genreIds.size();
+            for (String genre : records.genres(row)) {
+                genreIds.add(this.genres.idOf(genre));
+            }
+            actorOffsets[row] = actorIds.size();
+            for (String actor : records.actors(row)) {
+                actorIds.add(this.actors.idOf(actor));
+            }
+
+            int source = records.directorId(row);
+            if (source >= directorIdsBySource.length) {
+                int length = directorIdsBySource.length;
+                directorIdsBySource = Arrays.copyOf(directorIdsBySource, Math.max(source + 1, length * 2));
+                Arrays.fill(directorIdsBySource, length, directorIdsBySource.length, -1);
+            }
+            if (directorIdsBySource[source] < 0) {
+                directorIdsBySource[source] = directors.idOf(records.director(row));
+            }
+            directorIds[row] = directorIdsBySource[source];
+        }
+        genreOffsets[size] = genreIds.size();
+        actorOffsets[size] = actorIds.size();
+        this.genreIds = genreIds.toArray();
+        this.actorIds = actorIds.toArray();
+        this.directorIndex = new DirectorIndex(directors.values, directorIds);
+
+        int minReleaseYear = Integer.MAX_VALUE;
+        int maxReleaseYear = Integer.MIN_VALUE;
+        for (int releaseYear : releaseYears) {
+            minReleaseYear = Math.min(minReleaseYear, releaseYear);
+            maxReleaseYear = Math.max(maxReleaseYear, releaseYear);
+        }
+        this.minReleaseYear = size == 0 ? 0 : minReleaseYear;
+        this.yearOffsets = new int[size == 0 ? 1 : Math.toIntExact((long) maxReleaseYear - minReleaseYear + 2)];
+        for (int releaseYear : releaseYears) {
+            yearOffsets[releaseYear - this.minReleaseYear + 1]++;
+        }
+        for (int bucket = 1; bucket < yearOffsets.length; bucket++) {
+            yearOffsets[bucket] += yearOffsets[bucket - 1];
+        }
+        this.yearRows = new int[size];
+        int[] cursors = Arrays.copyOf(yearOffsets, yearOffsets.length - 1);
+        for (int row = 0; row < size; row++) {
+            yearRows[cursors[releaseYears[row] - this.minReleaseYear]++] = row;
+        }
+    }
+
+    /**
+     * 영화 목록으로 저장소를 만든다.
+     */
+    public static MovieStore of(List<Movie> movies) {
+        Objects.requireNonNull(movies);
+        return new MovieStore(movies, movies instanceof MovieRecords ? (MovieRecords) movies : new MovieListRecords(movies));
+    }
+
+    /**
+     * 주어진 영화 목록(인스턴스)으로 만든 저장소인지 확인한다.
+     */
+    public boolean isBuiltFrom(List<Movie> movies) {
+        return this.movies == movies;
+    }
+
+    public int size() {
+        return releaseYears.length;
+    }
+
+    /**
+     * 감독 이름에 검색어가 포함된(대소문자 무시) 영화의 행 번호를 원래 순서대로 반환한다.
+     * 행 전체를 훑지 않고 감독 색인(DirectorIndex)에서 찾는다.
+     */
+    public int[] rowsDirectedBy(String directedBy) {
+        return directorIndex.rows(directedBy);
+    }
+
+    /**
+     * 지정한 연도에 개봉한 영화의 행 번호를 원래 순서대로 반환한다. 개봉년도 색인에서 바로 꺼낸다.
+     */
+    public int[] rowsReleasedYearBy(int releaseYear) {
+        return rowsReleasedBetween(releaseYear, releaseYear);
+    }
+
+    /**
+     * 지정한 기간(양 끝 연도 포함)에 개봉한 영화의 행 번호를 개봉년도 순으로, 같은 해에서는 원래 순서대로 반환한다.
+     */
+    public int[] rowsReleasedBetween(int fromYear, int toYear) {
+        long from = Math.max((long) fromYear - minReleaseYear, 0);
+        long to = Math.min((long) toYear - minReleaseYear + 1, yearOffsets.length - 1);
+        if (from >= to) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(yearRows, yearOffsets[(int) from], yearOffsets[(int) to]);
+    }
+
+    /**
+     * 행 번호에 해당하는 영화 목록을 반환한다.
+     */
+    public List<Movie> movies(int[] rows) {
+        List<Movie> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(movies.get(row));
+        }
+        // 검색 결과는 캐시되어 여러 호출자가 함께 사용할 수 있으므로 변경할 수 없게 반환한다.
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 저장소의 버전, 새로 만든 저장소일수록 큰 값을 갖는다.
+     */
+    public long version() {
+        return version;
+    }
+
+    public Movie movie(int row) {
+        return movies.get(row);
+    }
+
+    public int releaseYear(int row) {
+        return releaseYears[row];
+    }
+
+    public int watchedDate(int row) {
+        return watchedDates[row];
+    }
+
+    public String director(int row) {
+        return directors.valueOf(directorIds[row]);
+    }
+
+    public int directorId(int row) {
+        return directorIds[row];
+    }
+
+    public String language(int row) {
+        return languages.valueOf(languageIds[row]);
+    }
+
+    public String country(int row) {
+        return countries.valueOf(countryIds[row]);
+    }
+
+    public List<String> genres(int row) {
+        return genres.valuesOf(genreIds, genreOffsets[row], genreOffsets[row + 1]);
+    }
+
+    public List<String> actors(int row) {
+        return actors.valuesOf(actorIds, actorOffsets[row], actorOffsets[row + 1]);
+    }
+
+    /**
+     * 중복이 제거된 감독 목록. 배열의 위치가 곧 감독 id 이다.
+     */
+    public List<String> directors() {
+        return Collections.unmodifiableList(directors.values);
+    }
+
+    /**
+     * 값과 id를 서로 변환하는 사전. id는 처음 등록된 순서대로 0부터 부여한다.
+     */
+    static class Dictionary {
+
+        final Map<String, Integer> ids = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+
+        int idOf(String value) {
+            Integer id = ids.get(value);
+            if (Objects.isNull(id)) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        String valueOf(int id) {
+            return values.get(id);
+        }
+
+        List<String> valuesOf(int[] ids, int from, int to) {
+            String[] result = new String[to - from];
+            for (int index = from; index < to; index++) {
+                result[index - from] = values.get(ids[index]);
+            }
+            return Arrays.asList(result);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    /**
+     * 힙에 있는 영화 목록을 MovieRecords로 읽는다. 영화 객체가 이미 있으므로 행마다 객체의 값을 그대로 반환한다.
+     */
+    static class MovieListRecords implements MovieRecords {
+
+        private final List<Movie> movies;
+
+        MovieListRecords(List<Movie> movies) {
+            this.movies = movies;
+        }
+
+        @Override
+        public int size() {
+            return movies.size();
+        }
+
+        @Override
+        public int releaseYear(int row) {
+            return movies.get(row).getReleaseYear();
+        }
+
+        @Override
+        public int watchedDate(int row) {
+            return Math.toIntExact(movies.get(row).getWatchedDate().toEpochDay());
+        }
+
+        // 감독 이름을 이미 갖고 있으므로 행마다 다른 값을 반환하고, 같은 감독은 MovieStore의 사전에서 모은다.
+        @Override
+        public int directorId(int row) {
+            return row;
+        }
+
+        @Override
+        public String director(int row) {
+            return movies.get(row).getDirector();
+        }
+
+        @Override
+        public String language(int row) {
+            return movies.get(row).getLanguage();
+        }
+
+        @Override
+        public String country(int row) {
+            return movies.get(row).getCountry();
+        }
+
+        @Override
+        public List<String> genres(int row) {
+            return movies.get(row).getGenres();
+        }
+
+        @Override
+        public List<String> actors(int row) {
+            return movies.get(row).getActors();
+        }
+    }
+
+    /**
+     * 박싱 없이 int 값을 모으는 가변 배열
+     */
+    static class IntArrayBuilder {
+
+        private int[] values;
+        private int size;
+
+        IntArrayBuilder(int capacity) {
+            this.values = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package moviebuddy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 스레드가 동시에 getMessage()를 호출할 때의 처리량(초당 호출 수)을 MessageSource 구현별로 측정하는 간단한 성능 측정 테스트.
+ *
+ * - ReloadableResourceBundleMessageSource: 이전 구성 (cacheSeconds = 5)
+ * - PrecompiledMessageSource: 애플리케이션 구성
+ *
+ * 명령 실행 중 호출하는 것처럼 인자 없는 메시지(출력 형식)와 문자열 인자가 있는 메시지를 번갈아 조회한다.
+ * 먼저 측정한 구현이 JIT 최적화에서 유리하지 않도록, 스레드 수마다 두 구현을 번갈아 가며 여러 번(ROUNDS) 측정한다.
+ * 처리량은 실행 환경의 CPU 수에 따라 크게 달라지며, CPU가 하나뿐이면 스레드 수를 늘려도 경합이 거의 드러나지 않는다.
+ * 기본 test 작업에서는 제외되며, ./gradlew benchmarkTest 로 실행한다.
+ */
+@Tag("benchmark")
+public class MessageSourceBenchmarkTests {
+
+    static final int ROUNDS = 3;
+    static final int[] THREADS = { 1, 4, 16 };
+    static final int CALLS_PER_THREAD = 200_000;
+
+    final Logger log = LoggerFactory.getLogger(getClass());
+    final PrecompiledMessageSource precompiledMessageSource = new PrecompiledMessageSource("messages");
+
+    @AfterEach
+    void close() {
+        precompiledMessageSource.close();
+    }
+
+    @Test
+    void compareGetMessage() throws Exception {
+        ReloadableResourceBundleMessageSource reloadableMessageSource = new ReloadableResourceBundleMessageSource();
+        reloadableMessageSource.setBasename("messages");
+        reloadableMessageSource.setDefaultEncoding("utf-8");
+        reloadableMessageSource.setCacheSeconds(5);
+
+        Map<String, MessageSource> messageSources = new LinkedHashMap<>();
+        messageSources.put("ReloadableResourceBundleMessageSource", reloadableMessageSource);
+        messageSources.put("PrecompiledMessageSource", precompiledMessageSource);
+
+        // 두 구현이 같은 메시지를 반환해야 한다.
+        for (Locale locale : List.of(Locale.ENGLISH, Locale.KOREAN)) {
+            Assertions.assertEquals(call(reloadableMessageSource, locale, 0), call(precompiledMessageSource, locale, 0));
+            Assertions.assertEquals(call(reloadableMessageSource, locale, 1), call(precompiledMessageSource, locale, 1));
+        }
+
+        for (int threads : THREADS) {
+            for (int round = 1; round <= ROUNDS; round++) {
+                for (Map.Entry<String, MessageSource> entry : messageSources.entrySet()) {
+                    measure(String.format("%s, %d threads, round %d", entry.getKey(), threads, round), entry.getValue(), threads);
+                }
+            }
+        }
+    }
+
+    void measure(String name, MessageSource messageSource, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch ready = new CountDownLatch(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                Locale locale = thread % 2 == 0 ? Locale.ENGLISH : Locale.KOREAN;
+                results.add(executor.submit(() -> {
+                    // warm-up
+                    int length = 0;
+                    for (int call = 0; call < CALLS_PER_THREAD / 10; call++) {
+                        length += call(messageSource, locale, call).length();
+                    }
+                    ready.countDown();
+                    start.await();
+                    for (int call = 0; call < CALLS_PER_THREAD; call++) {
+                        length += call(messageSource, locale, call).length();
+                    }
+                    return length;
+                }));
+            }
+
+            ready.await();
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<Integer> result : results) {
+                Assertions.assertTrue(result.get(5, TimeUnit.MINUTES) > 0);
+            }
+            long elapsed = Math.max(1, System.nanoTime() - started);
+            log.info("[{}] {} ops/s", name, String.format("%,d", (long) threads * CALLS_PER_THREAD * 1_000_000_000L / elapsed));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static String call(MessageSource messageSource, Locale locale, int call) {
+        if (call % 2 == 0) {
+            return messageSource.getMessage("application.commands.directedBy.format", new Object[0], locale);
+        }
+        return messageSource.getMessage("application.commands.directedBy", new Object[] { "Michael Bay" }, locale);
+    }
+}
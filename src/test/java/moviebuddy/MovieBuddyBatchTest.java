@@ -0,0 +1,83 @@
+package moviebuddy;
+
+import moviebuddy.MovieBuddyApplication.Command;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class MovieBuddyBatchTest {
+
+    final List<String> executed = new ArrayList<>();
+    final AtomicBoolean running = new AtomicBoolean(true);
+    final Map<Command, Consumer<List<String>>> commandActions = new HashMap<>(Map.of(
+            Command.DirectedBy, arguments -> executed.add(String.join(" ", arguments)),
+            Command.releasedYearBy, arguments -> {
+                throw new ApplicationException.InvalidCommandArgumentsException();
+            },
+            Command.Quit, arguments -> running.set(false)));
+
+    @Test
+    void ExecuteAll_UntilQuit() throws Exception {
+        MovieBuddyBatch batch = new MovieBuddyBatch(commandActions, running, error -> "error: " + error.getClass().getSimpleName());
+        StringWriter output = new StringWriter();
+
+        String commands = String.join("\n",
+                "# 주석과 빈 줄은 건너뛴다.",
+                "directedBy Michael Bay",
+                "",
+                "releasedYearBy year",
+                "unknown",
+                "directedBy  James Cameron ",
+                "quit",
+                "directedBy Steven Spielberg");
+        MovieBuddyBatch.Result result = batch.run(new BufferedReader(new StringReader(commands)), new PrintWriter(output));
+
+        Assertions.assertEquals(List.of("directedBy Michael Bay", "directedBy James Cameron"), executed);
+        Assertions.assertEquals("error: InvalidCommandArgumentsException" + System.lineSeparator() + "error: UndefinedCommandActionException" + System.lineSeparator(), output.toString());
+        Assertions.assertEquals(5, result.getCommands());
+        Assertions.assertEquals(2, result.getErrors());
+        Assertions.assertTrue(result.getThroughput() > 0);
+    }
+
+    @Test
+    void Flush_OnlyWhenBufferIsFullOrAtEnd() throws Exception {
+        Map<Command, Consumer<List<String>>> commandActions = new HashMap<>(Map.of(Command.DirectedBy, arguments -> { }));
+        AtomicInteger writes = new AtomicInteger();
+        AtomicInteger flushes = new AtomicInteger();
+        StringWriter target = new StringWriter() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                writes.incrementAndGet();
+                super.write(buffer, offset, length);
+            }
+
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        // 명령마다 오류 메시지 한 줄(10자)을 출력하므로, 버퍼(1,000자)가 가득 찰 때마다 한 번씩 내보낸다.
+        MovieBuddyBatch batch = new MovieBuddyBatch(commandActions, running, error -> "123456789");
+        String commands = "unknown\n".repeat(1_000);
+        PrintWriter output = new PrintWriter(new BufferedWriter(target, 1_000), false);
+        MovieBuddyBatch.Result result = batch.run(new BufferedReader(new StringReader(commands)), output);
+
+        Assertions.assertEquals(1_000, result.getErrors());
+        Assertions.assertEquals(10_000, target.toString().length());
+        Assertions.assertEquals(1, flushes.get());
+        Assertions.assertTrue(writes.get() <= 11);
+    }
+}
@@ -0,0 +1,183 @@
+package moviebuddy;
+
+import moviebuddy.MovieBuddyApplication.Command;
+import moviebuddy.MovieBuddyProtocol.FrameReader;
+import moviebuddy.MovieBuddyProtocol.Output;
+import moviebuddy.data.CsvMovieReader;
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieFinder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 루프백(loopback)에서 바이너리 프로토콜 서버의 처리량(초당 요청 수)과 응답 시간(p50, p99)을 연결 사용 방식별로 측정하는 간단한 성능 측정 테스트.
+ *
+ * - pipelined: 연결 하나에서 응답을 기다리지 않고 요청을 이어 보낸다. (MovieBuddyBinaryClient, 최대 IN_FLIGHT 개)
+ * - sequential: 연결 하나에서 응답을 받은 후 다음 요청을 보낸다.
+ * - connection per request: 요청마다 연결을 새로 맺고 응답을 받은 후 닫는다.
+ *
+ * 서버는 애플리케이션과 같이 MovieFinder로 영화 목록(movie_metadata.csv)을 검색하며(검색 결과 캐시는 사용하지 않는다), 감독을 바꿔 가며 검색한다.
+ * 요청마다 연결을 맺는 방식은 닫은 연결이 TIME_WAIT로 로컬 포트를 차지하므로 요청 수를 줄여 측정한다.
+ * 응답 시간은 요청을 보내기 시작한 때부터 응답을 읽을 때까지이므로, pipelined는 앞선 요청을 기다린 시간이 포함된다.
+ * 측정값은 실행 환경의 CPU 수에 따라 크게 달라지며, CPU가 하나뿐이면 클라이언트와 서버가 같은 CPU를 나눠 쓴다.
+ * 기본 test 작업에서는 제외되며, ./gradlew benchmarkTest 로 실행한다.
+ */
+@Tag("benchmark")
+public class MovieBuddyBinaryProtocolBenchmarkTests {
+
+    static final int ROUNDS = 3;
+    static final int REQUESTS = 20_000;
+    static final int CONNECTION_PER_REQUEST_REQUESTS = 2_000;
+    static final int IN_FLIGHT = 64;
+
+    final Logger log = LoggerFactory.getLogger(getClass());
+
+    MovieBuddyBinaryServer server;
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void compareConnectionUsage() throws Exception {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+        movieReader.afterPropertiesSet();
+        // 애플리케이션에서는 영화 목록이 캐시되므로, 한 번 불러온 목록을 그대로 반환해 검색 색인을 요청마다 다시 만들지 않게 한다.
+        List<Movie> catalog = movieReader.loadMovies();
+        MovieFinder movieFinder = new MovieFinder(() -> catalog);
+        movieFinder.prepare();
+
+        List<String> directors = catalog.stream().map(Movie::getDirector).distinct().limit(100).collect(Collectors.toList());
+        server = new MovieBuddyBinaryServer(MovieBuddyApplication.queries(movieFinder), error -> error.getClass().getSimpleName(), Runtime.getRuntime().availableProcessors(), 4 * 1024 * 1024);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        try (MovieBuddyBinaryClient client = new MovieBuddyBinaryClient(server.getAddress(), IN_FLIGHT)) {
+            // 세 방식이 같은 검색 결과를 받아야 한다.
+            String director = directors.get(0);
+            int expected = movieFinder.directedBy(director).size();
+            Assertions.assertTrue(expected > 0);
+            Assertions.assertEquals(expected, client.directedBy(director).get(5, TimeUnit.SECONDS).size());
+            Assertions.assertEquals(expected, connectionPerRequest(server.getAddress(), director).size());
+
+            // warm-up
+            pipelined(client, directors, REQUESTS / 4);
+            sequential(client, directors, REQUESTS / 4);
+            connectionPerRequest(server.getAddress(), directors, CONNECTION_PER_REQUEST_REQUESTS / 4);
+
+            for (int round = 1; round <= ROUNDS; round++) {
+                report(String.format("pipelined (in-flight %d), round %d", IN_FLIGHT, round), pipelined(client, directors, REQUESTS));
+                report(String.format("sequential, round %d", round), sequential(client, directors, REQUESTS));
+                report(String.format("connection per request, round %d", round), connectionPerRequest(server.getAddress(), directors, CONNECTION_PER_REQUEST_REQUESTS));
+            }
+        }
+    }
+
+    Result pipelined(MovieBuddyBinaryClient client, List<String> directors, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        List<CompletableFuture<?>> responses = new ArrayList<>(requests);
+        long started = System.nanoTime();
+        for (int request = 0; request < requests; request++) {
+            int index = request;
+            long sent = System.nanoTime();
+            responses.add(client.directedBy(directors.get(request % directors.size())).whenComplete((movies, error) -> latencies[index] = System.nanoTime() - sent));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture<?>[]::new)).get(5, TimeUnit.MINUTES);
+        return new Result(requests, System.nanoTime() - started, latencies);
+    }
+
+    Result sequential(MovieBuddyBinaryClient client, List<String> directors, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        long started = System.nanoTime();
+        for (int request = 0; request < requests; request++) {
+            long sent = System.nanoTime();
+            client.directedBy(directors.get(request % directors.size())).get(5, TimeUnit.SECONDS);
+            latencies[request] = System.nanoTime() - sent;
+        }
+        return new Result(requests, System.nanoTime() - started, latencies);
+    }
+
+    Result connectionPerRequest(InetSocketAddress address, List<String> directors, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        long started = System.nanoTime();
+        for (int request = 0; request < requests; request++) {
+            long sent = System.nanoTime();
+            connectionPerRequest(address, directors.get(request % directors.size()));
+            latencies[request] = System.nanoTime() - sent;
+        }
+        return new Result(requests, System.nanoTime() - started, latencies);
+    }
+
+    static List<Movie> connectionPerRequest(InetSocketAddress address, String director) throws Exception {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Output output = new Output(256);
+            MovieBuddyProtocol.writeRequest(output, 1, Command.DirectedBy, Map.of("director", director));
+            ByteBuffer request = output.pendingBuffer();
+            while (request.hasRemaining()) {
+                channel.write(request);
+            }
+
+            FrameReader frames = new FrameReader(8 * 1024, MovieBuddyProtocol.MAX_RESPONSE_BYTES);
+            while (channel.read(frames.writableBuffer()) >= 0) {
+                frames.flip();
+                ByteBuffer frame = frames.next();
+                if (frame != null) {
+                    Assertions.assertEquals(1, frame.getInt());
+                    return MovieBuddyProtocol.readMovies(frame);
+                }
+                frames.compact();
+            }
+            throw new IllegalStateException("connection closed before response.");
+        }
+    }
+
+    void report(String name, Result result) {
+        log.info("[{}] {} req/s, p50 {} us, p99 {} us", name, String.format("%,d", result.throughput()), result.latencyMicros(0.5), result.latencyMicros(0.99));
+    }
+
+    static class Result {
+
+        final int requests;
+        final long elapsed;
+        final long[] latencies;
+
+        Result(int requests, long elapsed, long[] latencies) {
+            this.requests = requests;
+            this.elapsed = Math.max(1, elapsed);
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+        }
+
+        long throughput() {
+            return requests * 1_000_000_000L / elapsed;
+        }
+
+        long latencyMicros(double percentile) {
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return TimeUnit.NANOSECONDS.toMicros(latencies[Math.max(0, Math.min(latencies.length - 1, index))]);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package moviebuddy;
+
+import moviebuddy.MovieBuddyApplication.Command;
+import moviebuddy.MovieBuddyProtocol.FrameReader;
+import moviebuddy.MovieBuddyProtocol.Output;
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class MovieBuddyBinaryServerTest {
+
+    final List<Movie> movies = List.of(Movie.of("Pain & Gain", List.of("Action"), "English", "USA", 2013, "Michael Bay", List.of(), null, LocalDate.of(2013, 11, 5)));
+    final Map<Command, Function<Map<String, String>, List<Movie>>> queries = new HashMap<>(Map.of(
+            Command.DirectedBy, parameters -> {
+                if (!parameters.containsKey("director")) {
+                    throw new ApplicationException.InvalidCommandArgumentsException();
+                }
+                return parameters.get("director").equals("Michael Bay") ? movies : List.of();
+            },
+            Command.releasedYearBy, parameters -> Collections.nCopies(Integer.parseInt(parameters.get("year")) - 2000, movies.get(0))));
+
+    MovieBuddyBinaryServer server;
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void Roundtrip() throws Exception {
+        server = start(2, 1024 * 1024);
+
+        try (MovieBuddyBinaryClient client = new MovieBuddyBinaryClient(server.getAddress(), 16)) {
+            List<Movie> found = client.directedBy("Michael Bay").get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(1, found.size());
+            Assertions.assertEquals(movies.get(0).toString(), found.get(0).toString());
+            Assertions.assertEquals(List.of("Action"), found.get(0).getGenres());
+            Assertions.assertEquals(List.of(), client.directedBy("Steven Spielberg").get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(15, client.releasedYearBy(2015).get(5, TimeUnit.SECONDS).size());
+        }
+    }
+
+    @Test
+    void ErrorStatus_CompletesExceptionally() throws Exception {
+        queries.put(Command.releasedBetween, parameters -> {
+            throw new IllegalStateException("broken");
+        });
+        server = start(1, 1024 * 1024);
+
+        try (MovieBuddyBinaryClient client = new MovieBuddyBinaryClient(server.getAddress(), 16)) {
+            ExecutionException error = Assertions.assertThrows(ExecutionException.class, () -> client.send(Command.DirectedBy, Map.of()).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(ApplicationException.InvalidCommandArgumentsException.class, error.getCause().getClass());
+            Assertions.assertEquals("error: InvalidCommandArgumentsException", error.getCause().getMessage());
+
+            error = Assertions.assertThrows(ExecutionException.class, () -> client.releasedBetween(2010, 2015).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(ApplicationException.class, error.getCause().getClass());
+            Assertions.assertEquals("IllegalStateException", error.getCause().getMessage());
+
+            // 오류 응답 후에도 같은 연결로 계속 요청할 수 있다.
+            Assertions.assertEquals(1, client.directedBy("Michael Bay").get(5, TimeUnit.SECONDS).size());
+        }
+
+        queries.remove(Command.releasedBetween);
+        server.stop();
+        server = start(1, 1024 * 1024);
+        try (MovieBuddyBinaryClient client = new MovieBuddyBinaryClient(server.getAddress(), 16)) {
+            ExecutionException error = Assertions.assertThrows(ExecutionException.class, () -> client.releasedBetween(2010, 2015).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(ApplicationException.UndefinedCommandActionException.class, error.getCause().getClass());
+        }
+    }
+
+    @Test
+    void Pipelining_ManyRequestsInFlight() throws Exception {
+        // 연결마다 내보내지 못한 응답을 조금만 허용해, 응답을 다 내보낼 때까지 요청을 읽지 않는 흐름 제어도 함께 확인한다.
+        server = start(1, 256);
+
+        try (MovieBuddyBinaryClient client = new MovieBuddyBinaryClient(server.getAddress(), 256)) {
+            List<CompletableFuture<List<Movie>>> responses = new ArrayList<>();
+            for (int request = 0; request < 1_000; request++) {
+                responses.add(client.releasedYearBy(2000 + request % 50));
+            }
+            for (int request = 0; request < responses.size(); request++) {
+                Assertions.assertEquals(request % 50, responses.get(request).get(10, TimeUnit.SECONDS).size());
+            }
+        }
+    }
+
+    @Test
+    void MaxPendingBytes_LimitsBufferedResponses() throws Exception {
+        // 응답 하나가 약 200KB인 요청 200개를 한 번에 보내고 응답을 읽지 않는다. 제한이 없다면 40MB가 넘는 응답이 서버에 쌓인다.
+        AtomicInteger handled = new AtomicInteger();
+        List<Movie> large = Collections.nCopies(5_000, movies.get(0));
+        queries.put(Command.releasedBetween, parameters -> {
+            handled.incrementAndGet();
+            return large;
+        });
+        server = start(1, 64 * 1024);
+
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(64 * 1024);
+            socket.connect(server.getAddress(), 5_000);
+            socket.setSoTimeout(10_000);
+
+            Output requests = new Output(8 * 1024);
+            for (int request = 0; request < 200; request++) {
+                MovieBuddyProtocol.writeRequest(requests, request, Command.releasedBetween, Map.of());
+            }
+            ByteBuffer written = requests.pendingBuffer();
+            OutputStream output = socket.getOutputStream();
+            output.write(written.array(), written.position(), written.remaining());
+            output.flush();
+
+            // 응답은 maxPendingBytes를 넘을 때까지만 만들고, 나머지 요청은 응답을 내보낸 후에 처리한다. (소켓 버퍼에 들어간 응답만큼은 더 처리된다.)
+            TimeUnit.MILLISECONDS.sleep(500);
+            Assertions.assertTrue(handled.get() < 50, "handled: " + handled.get());
+
+            // 응답을 읽기 시작하면 남은 요청도 모두 순서대로 처리된다.
+            InputStream input = socket.getInputStream();
+            FrameReader frames = new FrameReader(8 * 1024, MovieBuddyProtocol.MAX_RESPONSE_BYTES);
+            int received = 0;
+            while (received < 200) {
+                ByteBuffer buffer = frames.writableBuffer();
+                int read = input.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                Assertions.assertTrue(read > 0);
+                buffer.position(buffer.position() + read);
+                frames.flip();
+                ByteBuffer frame;
+                while ((frame = frames.next()) != null) {
+                    Assertions.assertEquals(received++, frame.getInt());
+                    Assertions.assertEquals(large.size(), MovieBuddyProtocol.readMovies(frame).size());
+                }
+                frames.compact();
+            }
+            Assertions.assertEquals(200, handled.get());
+        }
+    }
+
+    @Test
+    void Pipelining_SharedByThreads() throws Exception {
+        server = start(2, 1024 * 1024);
+
+        try (MovieBuddyBinaryClient client = new MovieBuddyBinaryClient(server.getAddress(), 8)) {
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int year = 2001 + thread;
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    int count = 0;
+                    for (int request = 0; request < 200; request++) {
+                        count += client.releasedYearBy(year).join().size();
+                    }
+                    return count;
+                }));
+            }
+            for (int thread = 0; thread < results.size(); thread++) {
+                Assertions.assertEquals(200 * (thread + 1), results.get(thread).get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    void InvalidFrameLength_ClosesConnection() throws Exception {
+        server = start(1, 1024 * 1024);
+
+        try (Socket socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort())) {
+            socket.setSoTimeout(5_000);
+            OutputStream output = socket.getOutputStream();
+            InputStream input = socket.getInputStream();
+
+            // 정상 요청은 응답하고, 최대 크기를 넘는 frame을 받으면 연결을 끊는다.
+            Output request = new Output(64);
+            MovieBuddyProtocol.writeRequest(request, 1, Command.DirectedBy, Map.of("director", "Michael Bay"));
+            ByteBuffer written = request.pendingBuffer();
+            output.write(written.array(), written.position(), written.remaining());
+            output.write(ByteBuffer.allocate(8).putInt(MovieBuddyProtocol.MAX_REQUEST_BYTES + 1).putInt(2).array());
+            output.flush();
+
+            FrameReader frames = new FrameReader(1024, MovieBuddyProtocol.MAX_RESPONSE_BYTES);
+            ByteBuffer buffer = frames.writableBuffer();
+            int read;
+            while ((read = input.read(buffer.array(), buffer.position(), buffer.remaining())) >= 0) {
+                buffer.position(buffer.position() + read);
+            }
+            frames.flip();
+            ByteBuffer frame = frames.next();
+            Assertions.assertEquals(1, frame.getInt());
+            Assertions.assertEquals(1, MovieBuddyProtocol.readMovies(frame).size());
+            Assertions.assertNull(frames.next());
+        }
+    }
+
+    @Test
+    void Close_CompletesPendingRequests() throws Exception {
+        server = start(1, 1024 * 1024);
+        MovieBuddyBinaryClient client = new MovieBuddyBinaryClient(server.getAddress(), 16);
+        Assertions.assertEquals(1, client.directedBy("Michael Bay").get(5, TimeUnit.SECONDS).size());
+
+        server.stop();
+        server = null;
+
+        // 서버가 연결을 끊으면 이후 요청은 바로 실패한다.
+        ExecutionException error = Assertions.assertThrows(ExecutionException.class, () -> {
+            for (int request = 0; request < 100; request++) {
+                client.directedBy("Michael Bay").get(5, TimeUnit.SECONDS);
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        });
+        Assertions.assertTrue(error.getCause() instanceof ApplicationException, String.valueOf(error.getCause()));
+        client.close();
+        error = Assertions.assertThrows(ExecutionException.class, () -> client.directedBy("Michael Bay").get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("connection is closed.", error.getCause().getMessage());
+    }
+
+    MovieBuddyBinaryServer start(int eventLoops, int maxPendingBytes) throws Exception {
+        MovieBuddyBinaryServer server = new MovieBuddyBinaryServer(queries, error -> "error: " + error.getClass().getSimpleName(), eventLoops, maxPendingBytes);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        return server;
+    }
+}
@@ -0,0 +1,172 @@
+package moviebuddy;
+
+import moviebuddy.MovieBuddyApplication.Command;
+import moviebuddy.MovieBuddyProtocol.FrameReader;
+import moviebuddy.MovieBuddyProtocol.Output;
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class MovieBuddyProtocolTest {
+
+    @Test
+    void WriteAndReadMovies() throws Exception {
+        Movie movie = Movie.of("Pain & Gain", List.of("Action", "Comedy"), "English", "USA", 2013, "Michael Bay", List.of("Mark Wahlberg"),
+                               new URL("http://www.imdb.com/title/tt1980209/?ref_=fn_tt_tt_1"), LocalDate.of(2013, 11, 5));
+        Movie withoutLink = Movie.of("기생충", null, "Korean", "South Korea", 2019, "봉준호", null, null, LocalDate.of(812, 1, 31));
+        Output output = new Output(16);
+
+        MovieBuddyProtocol.writeMovies(output, 7, List.of(movie, withoutLink));
+
+        ByteBuffer frame = next(output);
+        Assertions.assertEquals(7, frame.getInt());
+        List<Movie> movies = MovieBuddyProtocol.readMovies(frame);
+        Assertions.assertEquals(2, movies.size());
+        Assertions.assertEquals(movie.toString(), movies.get(0).toString());
+        Assertions.assertEquals(movie.getImdbLink(), movies.get(0).getImdbLink());
+        Assertions.assertEquals(movie.getWatchedDate(), movies.get(0).getWatchedDate());
+        Assertions.assertEquals(List.of("Action", "Comedy"), movies.get(0).getGenres());
+        Assertions.assertEquals("기생충", movies.get(1).getTitle());
+        Assertions.assertEquals("봉준호", movies.get(1).getDirector());
+        Assertions.assertEquals(List.of(), movies.get(1).getActors());
+        Assertions.assertNull(movies.get(1).getImdbLink());
+        Assertions.assertEquals(LocalDate.of(812, 1, 31), movies.get(1).getWatchedDate());
+        Assertions.assertFalse(frame.hasRemaining());
+    }
+
+    @Test
+    void WriteAndReadRequest() {
+        Output output = new Output(16);
+
+        MovieBuddyProtocol.writeRequest(output, 1, Command.releasedBetween, Map.of("from", "2010", "to", "2015"));
+
+        ByteBuffer frame = next(output);
+        Assertions.assertEquals(1, frame.getInt());
+        Assertions.assertEquals(Command.releasedBetween, MovieBuddyProtocol.command(frame.get()));
+        Assertions.assertEquals(Map.of("from", "2010", "to", "2015"), MovieBuddyProtocol.readParameters(frame));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MovieBuddyProtocol.writeRequest(output, 2, Command.Stats, Map.of()));
+    }
+
+    @Test
+    void ReadError_ThrowsApplicationException() {
+        Output output = new Output(16);
+
+        MovieBuddyProtocol.writeError(output, 1, MovieBuddyProtocol.INVALID_ARGUMENTS, "input error");
+        MovieBuddyProtocol.writeError(output, 2, MovieBuddyProtocol.UNDEFINED_COMMAND, "undefined");
+        MovieBuddyProtocol.writeError(output, 3, MovieBuddyProtocol.SERVER_ERROR, "NullPointerException");
+
+        FrameReader frames = frames(output);
+        ByteBuffer frame = frames.next();
+        frame.getInt();
+        Assertions.assertThrows(ApplicationException.InvalidCommandArgumentsException.class, () -> MovieBuddyProtocol.readMovies(frame));
+        ByteBuffer undefined = frames.next();
+        undefined.getInt();
+        Assertions.assertThrows(ApplicationException.UndefinedCommandActionException.class, () -> MovieBuddyProtocol.readMovies(undefined));
+        ByteBuffer serverError = frames.next();
+        serverError.getInt();
+        ApplicationException error = Assertions.assertThrows(ApplicationException.class, () -> MovieBuddyProtocol.readMovies(serverError));
+        Assertions.assertTrue(error.getMessage().contains("NullPointerException"), error.getMessage());
+    }
+
+    @Test
+    void ReadParameters_Malformed() {
+        // 인자 수만 있고 이름과 값이 없거나, 문자열 길이가 남은 바이트보다 크면 잘못된 인자로 처리한다.
+        Assertions.assertThrows(ApplicationException.InvalidCommandArgumentsException.class, () -> MovieBuddyProtocol.readParameters(ByteBuffer.wrap(new byte[] { 1 })));
+        Assertions.assertThrows(ApplicationException.InvalidCommandArgumentsException.class, () -> MovieBuddyProtocol.readParameters(ByteBuffer.wrap(new byte[] { 1, 100, 'a' })));
+        Assertions.assertThrows(ApplicationException.InvalidCommandArgumentsException.class, () -> MovieBuddyProtocol.readParameters(ByteBuffer.wrap(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF })));
+    }
+
+    @Test
+    void WriteString_SameAsStringGetBytes() {
+        for (String value : List.of("", "ascii", "é ß ñ", "한글 ☃", "emoji 🎬 clapper", "lone \uD83C high", "lone \uDFAC low", "end \uD83C")) {
+            Output output = new Output(4);
+            output.writeString(value);
+            ByteBuffer written = output.pendingBuffer();
+
+            byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+            Assertions.assertEquals(expected.length, Output.utf8Length(value), value);
+            Assertions.assertEquals(expected.length + 1, MovieBuddyProtocol.readVarint(written), value);
+            byte[] actual = new byte[written.remaining()];
+            written.get(actual);
+            Assertions.assertArrayEquals(expected, actual, value);
+        }
+    }
+
+    @Test
+    void WriteUrl_SameAsToString() throws Exception {
+        for (String value : List.of("http://www.imdb.com/title/tt1980209/?ref_=fn_tt_tt_1", "http://www.imdb.com/title/tt1980209/", "https://user@example.com:8443/a%20b?q=1#top",
+                                    "file:/tmp/movie", "http://example.com")) {
+            Output output = new Output(4);
+            output.writeUrl(new URL(value));
+
+            Assertions.assertEquals(new URL(value).toString(), MovieBuddyProtocol.readString(output.pendingBuffer()), value);
+        }
+    }
+
+    @Test
+    void FrameReader_SplitFrames() {
+        Output output = new Output(16);
+        List<String> expected = new ArrayList<>();
+        for (int request = 0; request < 20; request++) {
+            char[] title = new char[request * 100];
+            Arrays.fill(title, (char) ('a' + request));
+            expected.add(new String(title));
+            MovieBuddyProtocol.writeError(output, request, MovieBuddyProtocol.SERVER_ERROR, expected.get(request));
+        }
+        ByteBuffer written = output.pendingBuffer();
+
+        // 채널에서 조금씩 나눠 읽는 것처럼 7바이트씩 넣어도, frame이 완성될 때마다 차례로 꺼낼 수 있어야 한다.
+        FrameReader frames = new FrameReader(8, MovieBuddyProtocol.MAX_RESPONSE_BYTES);
+        List<String> actual = new ArrayList<>();
+        while (written.hasRemaining()) {
+            ByteBuffer buffer = frames.writableBuffer();
+            int count = Math.min(Math.min(7, buffer.remaining()), written.remaining());
+            for (int index = 0; index < count; index++) {
+                buffer.put(written.get());
+            }
+            frames.flip();
+            ByteBuffer frame;
+            while ((frame = frames.next()) != null) {
+                Assertions.assertEquals(actual.size(), frame.getInt());
+                Assertions.assertEquals(MovieBuddyProtocol.SERVER_ERROR, frame.get());
+                actual.add(MovieBuddyProtocol.readString(frame));
+            }
+            frames.compact();
+        }
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    void FrameReader_InvalidLength() {
+        FrameReader frames = new FrameReader(16, 1024);
+        frames.writableBuffer().putInt(1025).putInt(1);
+        frames.flip();
+
+        Assertions.assertThrows(ApplicationException.class, frames::next);
+    }
+
+    ByteBuffer next(Output output) {
+        FrameReader frames = frames(output);
+        ByteBuffer frame = frames.next();
+        Assertions.assertNotNull(frame);
+        Assertions.assertNull(frames.next());
+        return frame;
+    }
+
+    FrameReader frames(Output output) {
+        ByteBuffer written = output.pendingBuffer();
+        FrameReader frames = new FrameReader(written.remaining(), MovieBuddyProtocol.MAX_RESPONSE_BYTES);
+        frames.writableBuffer().put(written);
+        frames.flip();
+        return frames;
+    }
+}
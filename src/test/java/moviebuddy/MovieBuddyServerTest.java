@@ -0,0 +1,177 @@
+package moviebuddy;
+
+import moviebuddy.MovieBuddyApplication.Command;
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class MovieBuddyServerTest {
+
+    final List<Movie> movies = List.of(Movie.of("Pain & Gain", List.of("Action"), "English", "USA", 2013, "Michael Bay", List.of(), null, LocalDate.of(2013, 11, 5)));
+    final Map<Command, Function<Map<String, String>, List<Movie>>> queries = new HashMap<>(Map.of(
+            Command.DirectedBy, parameters -> {
+                if (!parameters.containsKey("director")) {
+                    throw new ApplicationException.InvalidCommandArgumentsException();
+                }
+                return parameters.get("director").equals("Michael Bay") ? movies : List.of();
+            }));
+    final HttpClient httpClient = MovieBuddyLoadClient.newHttpClient();
+
+    MovieBuddyServer server;
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void RespondJson() throws Exception {
+        server = start(2, 16);
+
+        HttpResponse<String> response = get("/directedBy?director=Michael%20Bay");
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("application/json; charset=utf-8", response.headers().firstValue("Content-Type").orElse(null));
+        Assertions.assertTrue(response.body().startsWith("{\"command\":\"directedBy\",\"count\":1,\"movies\":[{\"title\":\"Pain & Gain\""), response.body());
+        Assertions.assertEquals("{\"command\":\"DIRECTEDBY\",\"count\":0,\"movies\":[]}", get("/DIRECTEDBY?director=Steven+Spielberg").body());
+
+        response = get("/directedBy");
+        Assertions.assertEquals(400, response.statusCode());
+        Assertions.assertEquals("{\"error\":\"error: InvalidCommandArgumentsException\"}", response.body());
+        Assertions.assertEquals(404, get("/releasedYearBy?year=2015").statusCode());
+        Assertions.assertEquals(404, get("/").statusCode());
+
+        response = httpClient.send(HttpRequest.newBuilder(uri("/directedBy")).POST(HttpRequest.BodyPublishers.ofString("body")).build(), HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(405, response.statusCode());
+        Assertions.assertEquals("GET", response.headers().firstValue("Allow").orElse(null));
+    }
+
+    @Test
+    void KeepAlive_SameConnection() throws Exception {
+        server = start(2, 16);
+
+        try (Socket socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort())) {
+            socket.setSoTimeout(5_000);
+            OutputStream output = socket.getOutputStream();
+            BufferedReader input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            for (int request = 0; request < 3; request++) {
+                output.write("GET /directedBy?director=Michael%20Bay HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                output.flush();
+
+                Assertions.assertEquals("HTTP/1.1 200 OK", input.readLine());
+                // 응답 헤더를 건너뛰고 chunked 본문을 끝(0 크기 조각)까지 읽는다.
+                String line;
+                while (!(line = input.readLine()).isEmpty()) {
+                    Assertions.assertFalse(line.equalsIgnoreCase("Connection: close"));
+                }
+                StringBuilder body = new StringBuilder();
+                int size;
+                while ((size = Integer.parseInt(input.readLine(), 16)) > 0) {
+                    char[] chunk = new char[size];
+                    int read = 0;
+                    while (read < size) {
+                        read += input.read(chunk, read, size - read);
+                    }
+                    body.append(chunk, 0, read);
+                    input.readLine();
+                }
+                input.readLine();
+                Assertions.assertTrue(body.toString().contains("\"count\":1"), body.toString());
+            }
+        }
+    }
+
+    @Test
+    void ServiceUnavailable_WhenWorkersAreBusy() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queries.put(Command.releasedYearBy, parameters -> {
+            blocked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+            return movies;
+        });
+        server = start(1, 1);
+
+        // 작업자 하나가 요청을 처리하는 동안 대기열(1개)이 차면, 이후 요청은 기다리지 않고 바로 503으로 응답한다.
+        CompletableFuture<HttpResponse<String>> first = httpClient.sendAsync(HttpRequest.newBuilder(uri("/releasedYearBy")).build(), HttpResponse.BodyHandlers.ofString());
+        Assertions.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        List<CompletableFuture<HttpResponse<String>>> requests = new ArrayList<>();
+        for (int request = 0; request < 3; request++) {
+            requests.add(httpClient.sendAsync(HttpRequest.newBuilder(uri("/directedBy?director=Michael%20Bay")).build(), HttpResponse.BodyHandlers.ofString()));
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        HttpResponse<String> rejected = requests.get(2).get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(503, rejected.statusCode());
+        Assertions.assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+        release.countDown();
+
+        Assertions.assertEquals(200, first.get(10, TimeUnit.SECONDS).statusCode());
+        List<Integer> statuses = new ArrayList<>();
+        for (CompletableFuture<HttpResponse<String>> request : requests) {
+            statuses.add(request.get(10, TimeUnit.SECONDS).statusCode());
+        }
+        Assertions.assertEquals(List.of(200, 503, 503), statuses);
+    }
+
+    @Test
+    void LoadClient_ReportsThroughputAndLatency() throws Exception {
+        server = start(2, 64);
+
+        MovieBuddyLoadClient.Result result = MovieBuddyLoadClient.run(httpClient, List.of(uri("/directedBy?director=Michael%20Bay"), uri("/directedBy")), 4, 200);
+
+        Assertions.assertEquals(200, result.getRequests());
+        Assertions.assertEquals(100, result.getErrors());
+        Assertions.assertTrue(result.getThroughput() > 0);
+        Assertions.assertTrue(result.getLatency(0.5) > 0);
+        Assertions.assertTrue(result.getLatency(0.5) <= result.getLatency(0.99));
+        Assertions.assertTrue(result.getLatency(0.99) <= result.getLatency(1.0));
+    }
+
+    @Test
+    void ParseParameters() {
+        Assertions.assertEquals(Map.of(), MovieBuddyServer.parameters(null));
+        Assertions.assertEquals(Map.of("director", "Michael Bay", "year", "", "a b", "1"), MovieBuddyServer.parameters("director=Michael+Bay&&year&a%20b=1&director=other"));
+        Assertions.assertThrows(ApplicationException.InvalidCommandArgumentsException.class, () -> MovieBuddyServer.parameters("director=%"));
+    }
+
+    MovieBuddyServer start(int threads, int queueCapacity) throws Exception {
+        MovieBuddyServer server = new MovieBuddyServer(queries, error -> "error: " + error.getClass().getSimpleName(), threads, queueCapacity);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        return server;
+    }
+
+    URI uri(String path) {
+        return URI.create(String.format("http://%s:%d%s", server.getAddress().getHostString(), server.getAddress().getPort(), path));
+    }
+
+    HttpResponse<String> get(String path) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,65 @@
+package moviebuddy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MovieBuddyWarmUpTest {
+
+    final AtomicLong ticker = new AtomicLong();
+
+    @Test
+    void Stop_WhenLatencyStabilizes() {
+        MovieBuddyWarmUp warmUp = new MovieBuddyWarmUp(5, 50, 3, 0.1, Duration.ofSeconds(10), ticker::get);
+
+        // 처음 100번은 실행할 때마다 빨라지다가, 이후에는 명령마다 일정한 시간이 걸린다.
+        AtomicInteger executions = new AtomicInteger();
+        MovieBuddyWarmUp.Result result = warmUp.run(List.of("fast", "slow"), command -> {
+            long steady = command.equals("fast") ? 10_000 : 100_000;
+            int execution = executions.incrementAndGet();
+            ticker.addAndGet(execution < 100 ? steady * (100 - execution) : steady);
+        });
+
+        Assertions.assertTrue(result.isStable());
+        Assertions.assertEquals(10_000, result.getLatencies().get("fast"));
+        Assertions.assertEquals(100_000, result.getLatencies().get("slow"));
+        // 100번째 실행(10 라운드) 이후 안정된 라운드가 3번 이어지면 멈춘다.
+        Assertions.assertEquals(14, result.getRounds());
+        Assertions.assertEquals(ticker.get(), result.getElapsed().toNanos());
+    }
+
+    @Test
+    void Stop_AtMaxRounds() {
+        MovieBuddyWarmUp warmUp = new MovieBuddyWarmUp(5, 10, 3, 0.1, Duration.ofSeconds(10), ticker::get);
+
+        // 라운드마다 지연 시간이 두 배로 늘었다 줄었다 하므로 안정되지 않는다.
+        AtomicInteger executions = new AtomicInteger();
+        MovieBuddyWarmUp.Result result = warmUp.run(List.of("command"), command -> ticker.addAndGet(executions.getAndIncrement() / 5 % 2 == 0 ? 100_000 : 200_000));
+
+        Assertions.assertFalse(result.isStable());
+        Assertions.assertEquals(10, result.getRounds());
+    }
+
+    @Test
+    void Stop_AtTimeout() {
+        MovieBuddyWarmUp warmUp = new MovieBuddyWarmUp(5, 50, 3, 0.1, Duration.ofSeconds(1), ticker::get);
+
+        // 라운드마다 약 0.5초씩 걸리므로 두 라운드를 실행한 후 멈춘다.
+        AtomicInteger executions = new AtomicInteger();
+        MovieBuddyWarmUp.Result result = warmUp.run(List.of("command"), command -> ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(executions.incrementAndGet() % 2 == 0 ? 50 : 150)));
+
+        Assertions.assertFalse(result.isStable());
+        Assertions.assertEquals(2, result.getRounds());
+    }
+
+    @Test
+    void Invalid_Settings() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MovieBuddyWarmUp(0, 50, 3, 0.1, Duration.ofSeconds(1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MovieBuddyWarmUp(5, 50, 3, -1, Duration.ofSeconds(1)));
+    }
+}
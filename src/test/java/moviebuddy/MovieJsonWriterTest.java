@@ -0,0 +1,40 @@
+package moviebuddy;
+
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.List;
+
+public class MovieJsonWriterTest {
+
+    @Test
+    void WriteMovies() throws Exception {
+        Movie movie = Movie.of("Pain & Gain", List.of("Action", "Comedy"), "English", "USA", 2013, "Michael Bay", List.of("Mark Wahlberg"),
+                               new URL("http://www.imdb.com/title/tt1980209/"), LocalDate.of(2013, 11, 5));
+        Movie withoutLink = Movie.of("Title", null, "English", "USA", 2015, "Director", null, null, LocalDate.of(812, 1, 31));
+        StringWriter output = new StringWriter();
+
+        MovieJsonWriter.writeMovies(output, "directedBy", List.of(movie, withoutLink));
+
+        Assertions.assertEquals("{\"command\":\"directedBy\",\"count\":2,\"movies\":["
+                + "{\"title\":\"Pain & Gain\",\"genres\":[\"Action\",\"Comedy\"],\"language\":\"English\",\"country\":\"USA\",\"releaseYear\":2013,"
+                + "\"director\":\"Michael Bay\",\"actors\":[\"Mark Wahlberg\"],\"imdbLink\":\"http://www.imdb.com/title/tt1980209/\",\"watchedDate\":\"2013-11-05\"},"
+                + "{\"title\":\"Title\",\"genres\":[],\"language\":\"English\",\"country\":\"USA\",\"releaseYear\":2015,"
+                + "\"director\":\"Director\",\"actors\":[],\"imdbLink\":null,\"watchedDate\":\"0812-01-31\"}]}", output.toString());
+    }
+
+    @Test
+    void EscapeStrings() throws Exception {
+        StringWriter output = new StringWriter();
+
+        MovieJsonWriter.writeString(output, "\"quoted\" \\ line\nbreak\ttab\r\u0001 한글 ☃");
+        MovieJsonWriter.writeString(output, null);
+        MovieJsonWriter.writeError(output, "input error, please try again!");
+
+        Assertions.assertEquals("\"\\\"quoted\\\" \\\\ line\\nbreak\\ttab\\r\\u0001 한글 ☃\"null{\"error\":\"input error, please try again!\"}", output.toString());
+    }
+}
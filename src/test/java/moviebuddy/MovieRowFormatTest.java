@@ -0,0 +1,100 @@
+package moviebuddy;
+
+import moviebuddy.data.CsvMovieReader;
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+public class MovieRowFormatTest {
+
+    final Movie movie = Movie.of("Spectre", List.of(), "English", "UK", 2015, "Sam Mendes", List.of(), null, LocalDate.of(2016, 3, 1));
+
+    @Test
+    void Same_AsStringFormat() throws IOException {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+        List<Movie> movies = movieReader.loadMovies();
+
+        for (String messages : List.of("messages.properties", "messages_ko.properties")) {
+            String template = load(messages).getProperty("application.commands.directedBy.format");
+            MovieRowFormat format = MovieRowFormat.compile(template, Locale.KOREA);
+            StringBuilder row = new StringBuilder();
+            for (int index = 0; index < movies.size(); index++) {
+                row.setLength(0);
+                format.appendTo(row, index + 1, movies.get(index));
+                Assertions.assertEquals(format(template, index + 1, movies.get(index)), row.toString());
+            }
+        }
+    }
+
+    @Test
+    void Same_AsStringFormat_OtherTemplates() {
+        List<String> templates = List.of(
+                "%5d|%-3s|%6d|%-12s|%12s%%",
+                "%s. %s (%s) %s %s%n",
+                "%-2s %1s",
+                // 해석하지 않는 형식은 String.format으로 출력한다.
+                "%05d. %S (%,d)",
+                "%2$s %1$d",
+                "%d");
+        for (String template : templates) {
+            StringBuilder row = new StringBuilder();
+            MovieRowFormat.compile(template, Locale.ENGLISH).appendTo(row, 12, movie);
+            Assertions.assertEquals(format(template, 12, movie), row.toString(), template);
+        }
+
+        // String.format과 같이 잘못된 형식은 예외가 발생한다.
+        for (String template : List.of("%d %d", "%-s", "%")) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> MovieRowFormat.compile(template, Locale.ENGLISH).appendTo(new StringBuilder(), 1, movie), template);
+        }
+    }
+
+    @Test
+    void CompiledFrom() {
+        MovieRowFormat format = MovieRowFormat.compile("%d. %s", Locale.ENGLISH);
+
+        Assertions.assertTrue(format.isCompiledFrom("%d. %s", Locale.ENGLISH));
+        Assertions.assertFalse(format.isCompiledFrom("%d) %s", Locale.ENGLISH));
+        Assertions.assertFalse(format.isCompiledFrom("%d. %s", Locale.KOREAN));
+    }
+
+    @Test
+    void WriteRows() {
+        MovieRowFormat format = MovieRowFormat.compile("%d. %s", Locale.ENGLISH);
+        StringWriter output = new StringWriter();
+
+        // 버퍼를 여러 번 옮겨야 할 만큼 많은 줄을 출력한다.
+        List<Movie> movies = java.util.Collections.nCopies(5_000, movie);
+        new MovieRowWriter().write(new PrintWriter(output), format, movies);
+
+        String[] lines = output.toString().split(System.lineSeparator());
+        Assertions.assertEquals(5_000, lines.length);
+        Assertions.assertEquals("1. Spectre", lines[0]);
+        Assertions.assertEquals("5000. Spectre", lines[4_999]);
+    }
+
+    static String format(String template, int index, Movie movie) {
+        return String.format(Locale.ENGLISH, template, index, movie.getTitle(), movie.getReleaseYear(), movie.getDirector(), movie.getWatchedDate().format(Movie.DEFAULT_WATCHED_DATE_FORMATTER));
+    }
+
+    static Properties load(String name) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(MovieRowFormatTest.class.getClassLoader().getResourceAsStream(name), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,149 @@
+package moviebuddy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+public class PrecompiledMessageSourceTest {
+
+    final PrecompiledMessageSource messageSource = new PrecompiledMessageSource("messages");
+
+    @AfterEach
+    void close() {
+        messageSource.close();
+    }
+
+    @Test
+    void SameMessages_AsReloadableResourceBundleMessageSource() throws IOException {
+        ReloadableResourceBundleMessageSource expected = new ReloadableResourceBundleMessageSource();
+        expected.setBasename("messages");
+        expected.setDefaultEncoding("utf-8");
+
+        Properties codes = new Properties();
+        try (InputStream input = getClass().getResourceAsStream("/messages.properties")) {
+            codes.load(input);
+        }
+        Assertions.assertFalse(codes.isEmpty());
+
+        Object[] args = { "first", "second", "third", "fourth", "fifth", "sixth" };
+        for (Locale locale : List.of(Locale.ENGLISH, Locale.KOREAN, Locale.KOREA, Locale.US, Locale.FRANCE)) {
+            for (String code : codes.stringPropertyNames()) {
+                Assertions.assertEquals(expected.getMessage(code, new Object[0], locale), messageSource.getMessage(code, new Object[0], locale), code);
+                Assertions.assertEquals(expected.getMessage(code, args, locale), messageSource.getMessage(code, args, locale), code);
+                Assertions.assertEquals(expected.getMessage(code, new Object[] { 1_234_567, 0.5 }, locale), messageSource.getMessage(code, new Object[] { 1_234_567, 0.5 }, locale), code);
+            }
+        }
+    }
+
+    @Test
+    void DefaultMessage_WhenCodeIsMissing() {
+        Assertions.assertThrows(NoSuchMessageException.class, () -> messageSource.getMessage("none", new Object[0], Locale.ENGLISH));
+        Assertions.assertNull(messageSource.getMessage("none", new Object[0], null, Locale.ENGLISH));
+        Assertions.assertEquals("default {0}", messageSource.getMessage("none", new Object[0], "default {0}", Locale.ENGLISH));
+        Assertions.assertEquals("default value", messageSource.getMessage("none", new Object[] { "value" }, "default {0}", Locale.ENGLISH));
+        // 형식이 잘못된 기본 메시지는 그대로 반환한다.
+        Assertions.assertEquals("default {value", messageSource.getMessage("none", new Object[] { "value" }, "default {value", Locale.ENGLISH));
+
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(new String[] { "none", "application.commands.quit" }, new Object[0]);
+        Assertions.assertEquals(messageSource.getMessage("application.commands.quit", new Object[0], Locale.ENGLISH), messageSource.getMessage(resolvable, Locale.ENGLISH));
+        Assertions.assertThrows(NoSuchMessageException.class, () -> messageSource.getMessage(new DefaultMessageSourceResolvable("none"), Locale.ENGLISH));
+    }
+
+    @Test
+    void Reload_WhenMessageFileChanges(@TempDir Path directory) throws Exception {
+        Path messages = directory.resolve("test-messages.properties");
+        Path koreanMessages = directory.resolve("test-messages_ko.properties");
+        Files.writeString(messages, "greeting=Hello, {0}!\nfarewell=Bye\n", StandardCharsets.UTF_8);
+        Files.writeString(koreanMessages, "greeting=안녕하세요, {0}님!\n", StandardCharsets.UTF_8);
+
+        try (PrecompiledMessageSource messageSource = new PrecompiledMessageSource("test-messages", resourcePatternResolver(directory))) {
+            Assertions.assertEquals("Hello, Tom!", messageSource.getMessage("greeting", new Object[] { "Tom" }, Locale.ENGLISH));
+            Assertions.assertEquals("안녕하세요, Tom님!", messageSource.getMessage("greeting", new Object[] { "Tom" }, Locale.KOREAN));
+            Assertions.assertEquals("Bye", messageSource.getMessage("farewell", new Object[0], Locale.KOREAN));
+
+            Files.writeString(koreanMessages, "greeting=반갑습니다, {0}님!\nfarewell=안녕히 가세요\n", StandardCharsets.UTF_8);
+            Assertions.assertTrue(messageSource.reload());
+            Assertions.assertEquals("반갑습니다, Tom님!", messageSource.getMessage("greeting", new Object[] { "Tom" }, Locale.KOREAN));
+            Assertions.assertEquals("안녕히 가세요", messageSource.getMessage("farewell", new Object[0], Locale.KOREAN));
+
+            // 감시 중이면 파일을 바꾸는 것만으로 다시 읽는다.
+            messageSource.watch();
+            Files.writeString(messages, "greeting=Hi, {0}!\nfarewell=Bye\n", StandardCharsets.UTF_8);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (!"Hi, Tom!".equals(messageSource.getMessage("greeting", new Object[] { "Tom" }, Locale.ENGLISH)) && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            Assertions.assertEquals("Hi, Tom!", messageSource.getMessage("greeting", new Object[] { "Tom" }, Locale.ENGLISH));
+        }
+    }
+
+    @Test
+    void KeepPreviousMessages_WhenReloadFails(@TempDir Path directory) throws Exception {
+        Path messages = directory.resolve("test-messages.properties");
+        Files.writeString(messages, "greeting=Hello\n", StandardCharsets.UTF_8);
+
+        try (PrecompiledMessageSource messageSource = new PrecompiledMessageSource("test-messages", resourcePatternResolver(directory))) {
+            // 잘못된 유니코드 이스케이프는 읽을 수 없다.
+            Files.writeString(messages, "greeting=\\uZZZZ\n", StandardCharsets.UTF_8);
+            Assertions.assertFalse(messageSource.reload());
+            Assertions.assertEquals("Hello", messageSource.getMessage("greeting", new Object[0], Locale.ENGLISH));
+        }
+    }
+
+    @Test
+    void Segments_FollowMessageFormatQuoting() {
+        List<String> patterns = List.of(
+                "{0} and {1}", "'{0}' is {0}", "it''s {0}", "'it''s' {0}", "{1}{0}{1}", "{0} and {5}", "}{0}", "no arguments", "'{'0}");
+        Object[] args = { "a", "b" };
+        for (String pattern : patterns) {
+            Assertions.assertNotNull(PrecompiledMessageSource.Message.segments(pattern), pattern);
+            Assertions.assertEquals(new MessageFormat(pattern, Locale.ENGLISH).format(args), PrecompiledMessageSource.Message.of(pattern, Locale.ENGLISH).format(args, Locale.ENGLISH), pattern);
+        }
+
+        // 형식이 있는 인자는 MessageFormat으로 형식을 적용한다.
+        Assertions.assertNull(PrecompiledMessageSource.Message.segments("{0,number,#.##}"));
+        Assertions.assertEquals("1,234.5", PrecompiledMessageSource.Message.of("{0,number,#,###.##}", Locale.KOREAN).format(new Object[] { 1234.5 }, Locale.ENGLISH));
+        Assertions.assertEquals("1,234", PrecompiledMessageSource.Message.of("{0}", Locale.ENGLISH).format(new Object[] { 1234 }, Locale.ENGLISH));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrecompiledMessageSource.Message.of("{value}", Locale.ENGLISH).format(args, Locale.ENGLISH));
+    }
+
+    static ResourcePatternResolver resourcePatternResolver(Path directory) {
+        // classpath*: 대신 임시 디렉터리에서 메시지 파일을 찾는다.
+        PathMatchingResourcePatternResolver delegate = new PathMatchingResourcePatternResolver(new FileSystemResourceLoader());
+        return new ResourcePatternResolver() {
+            @Override
+            public Resource[] getResources(String locationPattern) throws IOException {
+                return delegate.getResources("file:" + directory.toAbsolutePath() + "/" + locationPattern.substring(CLASSPATH_ALL_URL_PREFIX.length()));
+            }
+
+            @Override
+            public Resource getResource(String location) {
+                return delegate.getResource(location);
+            }
+
+            @Override
+            public ClassLoader getClassLoader() {
+                return delegate.getClassLoader();
+            }
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import moviebuddy.ApplicationException;
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieFinder;
+import moviebuddy.domain.MovieReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+public class CachingAspectTest {
+
+    static final int THREADS = 16;
+
+    final AtomicLong ticker = new AtomicLong();
+    final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    final ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+
+    CachingAspectTest() {
+        cacheManager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(3, TimeUnit.SECONDS).ticker(ticker::get));
+    }
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void SingleLoad_PerExpiry_Aspect() throws Exception {
+        assertSingleLoadPerExpiry(this::aspectProxy);
+    }
+
+    @Test
+    void SingleLoad_PerExpiry_Advice() throws Exception {
+        assertSingleLoadPerExpiry(this::adviceProxy);
+    }
+
+    @Test
+    void SameFailure_ForAllCallers() throws Exception {
+        SlowMovieReader target = new SlowMovieReader();
+        target.failing = true;
+        MovieReader movieReader = aspectProxy(target, new SingleFlight());
+
+        // 한 번의 불러오기 실패가 기다리던 모든 호출자에게 같은 예외로 전달된다.
+        List<Future<List<Movie>>> results = loadConcurrently(movieReader);
+        for (Future<List<Movie>> result : results) {
+            ExecutionException error = Assertions.assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(IllegalStateException.class, error.getCause().getClass());
+        }
+        Assertions.assertEquals(1, target.loads.get());
+
+        // 실패한 결과는 캐시되지 않으므로 다음 호출에서 다시 불러온다.
+        target.failing = false;
+        Assertions.assertEquals(1, movieReader.loadMovies().size());
+        Assertions.assertEquals(2, target.loads.get());
+    }
+
+    @Test
+    void Timeout_WhileWaiting() throws Exception {
+        SlowMovieReader target = new SlowMovieReader();
+        target.gate = new CountDownLatch(1);
+        SingleFlight singleFlight = new SingleFlight(Duration.ofMillis(100));
+        MovieReader movieReader = adviceProxy(target, singleFlight);
+
+        Future<List<Movie>> leader = callers.submit(movieReader::loadMovies);
+        Assertions.assertTrue(target.started.await(5, TimeUnit.SECONDS));
+
+        // 불러오기가 끝나지 않으면 기다리던 호출자는 지정한 시간 후에 예외를 받고, 불러오기는 계속 진행된다.
+        Assertions.assertThrows(ApplicationException.class, movieReader::loadMovies);
+        Assertions.assertEquals(1, singleFlight.inFlight());
+
+        target.gate.countDown();
+        Assertions.assertEquals(1, leader.get(5, TimeUnit.SECONDS).size());
+        Assertions.assertEquals(0, singleFlight.inFlight());
+        Assertions.assertEquals(1, target.loads.get());
+    }
+
+    @Test
+    void CachePerArguments_Advice() {
+        SlowMovieReader movieReader = new SlowMovieReader();
+        ProxyFactory proxyFactory = new ProxyFactory(new MovieFinder(movieReader));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new CachingAdvice(cacheManager));
+        MovieFinder movieFinder = (MovieFinder) proxyFactory.getProxy();
+
+        // 인자가 같은 호출만 캐시된 결과를 받는다.
+        List<Movie> movies = movieFinder.directedBy("director");
+        Assertions.assertSame(movies, movieFinder.directedBy("director"));
+        Assertions.assertEquals(1, movieReader.loads.get());
+
+        Assertions.assertEquals(0, movieFinder.directedBy("someone").size());
+        Assertions.assertEquals(2, movieReader.loads.get());
+        Assertions.assertEquals(1, movieFinder.releasedYearBy(2015).size());
+        Assertions.assertEquals(3, movieReader.loads.get());
+        Assertions.assertSame(movies, movieFinder.directedBy("director"));
+        Assertions.assertEquals(3, movieReader.loads.get());
+    }
+
+    void assertSingleLoadPerExpiry(BiFunction<MovieReader, SingleFlight, MovieReader> proxy) throws Exception {
+        SlowMovieReader target = new SlowMovieReader();
+        MovieReader movieReader = proxy.apply(target, new SingleFlight());
+
+        for (int expiry = 1; expiry <= 3; expiry++) {
+            List<Future<List<Movie>>> results = loadConcurrently(movieReader);
+            List<Movie> first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<List<Movie>> result : results) {
+                Assertions.assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(expiry, target.loads.get());
+
+            // 캐시 항목을 만료시킨다.
+            ticker.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        }
+    }
+
+    List<Future<List<Movie>>> loadConcurrently(MovieReader movieReader) {
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        List<Future<List<Movie>>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            results.add(callers.submit(() -> {
+                barrier.await();
+                return movieReader.loadMovies();
+            }));
+        }
+        return results;
+    }
+
+    MovieReader aspectProxy(MovieReader target, SingleFlight singleFlight) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new CachingAspect(cacheManager, singleFlight));
+        return proxyFactory.getProxy();
+    }
+
+    MovieReader adviceProxy(MovieReader target, SingleFlight singleFlight) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(new CachingAdvice(cacheManager, singleFlight));
+        return (MovieReader) proxyFactory.getProxy();
+    }
+
+    /**
+     * 불러오는 데 시간이 걸리는 MovieReader, 불러온 횟수를 센다.
+     */
+    static class SlowMovieReader implements MovieReader {
+
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile boolean failing;
+
+        @Override
+        public List<Movie> loadMovies() {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                gate.await();
+                Thread.sleep(50);
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException("metadata is not available.");
+            }
+            return new ArrayList<>(List.of(Movie.of("title", List.of(), "English", "USA", 2015, "director", List.of(), null, "2015-01-01")));
+        }
+    }
+}
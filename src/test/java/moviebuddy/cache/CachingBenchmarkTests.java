@@ -0,0 +1,190 @@
+package moviebuddy.cache;
+
+import ch.qos.logback.classic.Level;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import moviebuddy.data.CachingMovieReader;
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 영화 목록 캐시가 적중할 때 loadMovies() 호출 한 번의 지연 시간(p50, p99)을 캐시 적용 방식별로 측정하는 간단한 성능 측정 테스트.
+ *
+ * - @CacheResult + JCache: 스프링 JCache 지원이 Caffeine JCache 구현(CaffeineCachingProvider)의 캐시를 사용한다. (애플리케이션 구성)
+ * - @CacheResult + CaffeineCacheManager: 스프링 JCache 지원이 스프링 Caffeine 캐시를 사용한다. (이전 구성)
+ * - 직접 작성한 프락시: CachingAspect(@AspectJ), CachingAdvice(MethodInterceptor), CachingMovieReader(정적 프락시)
+ *
+ * 먼저 측정한 방식이 JIT 최적화에서 유리하지 않도록, 모든 방식을 번갈아 가며 여러 번(ROUNDS) 측정한다.
+ * 기본 test 작업에서는 제외되며, ./gradlew benchmarkTest 로 실행한다.
+ */
+@Tag("benchmark")
+public class CachingBenchmarkTests {
+
+    static final int ROUNDS = 3;
+    static final int SAMPLES = 200;
+    static final int CALLS_PER_SAMPLE = 1_000;
+
+    final Logger log = LoggerFactory.getLogger(getClass());
+    final List<AnnotationConfigApplicationContext> contexts = new ArrayList<>();
+
+    final ch.qos.logback.classic.Logger cachingLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(CachingAspect.class.getPackageName());
+
+    @BeforeEach
+    void setUp() {
+        // 직접 작성한 프락시는 캐시 적중마다 DEBUG 로그를 남기므로, 캐시 처리 자체의 비용만 비교하도록 로그를 끈다.
+        cachingLogger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void close() {
+        cachingLogger.setLevel(null);
+        contexts.forEach(AnnotationConfigApplicationContext::close);
+    }
+
+    @Test
+    void compareCacheHit() {
+        Map<String, MovieReader> movieReaders = new LinkedHashMap<>();
+        Map<String, CountingMovieReader> targets = new LinkedHashMap<>();
+        BiConsumer<String, Function<MovieReader, MovieReader>> register = (name, proxyFactory) -> {
+            CountingMovieReader target = new CountingMovieReader();
+            targets.put(name, target);
+            movieReaders.put(name, proxyFactory.apply(target));
+        };
+        register.accept("@CacheResult, JCache (Caffeine)", target -> annotationContext(JCacheConfig.class, target).getBean(MovieReader.class));
+        register.accept("@CacheResult, CaffeineCacheManager", target -> annotationContext(CaffeineConfig.class, target).getBean(MovieReader.class));
+        register.accept("CachingAspect", target -> {
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+            proxyFactory.addAspect(new CachingAspect(new CaffeineCacheManager()));
+            return proxyFactory.getProxy();
+        });
+        register.accept("CachingAdvice", target -> {
+            ProxyFactory proxyFactory = new ProxyFactory(target);
+            proxyFactory.addAdvice(new CachingAdvice(new CaffeineCacheManager()));
+            return (MovieReader) proxyFactory.getProxy();
+        });
+        register.accept("CachingMovieReader", target -> new CachingMovieReader(new CaffeineCacheManager(), target));
+
+        // 첫 호출에서 불러온 목록을 이후 호출이 모두 캐시에서 받아야 한다.
+        Map<String, List<Movie>> loaded = new HashMap<>();
+        movieReaders.forEach((name, movieReader) -> loaded.put(name, movieReader.loadMovies()));
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            for (Map.Entry<String, MovieReader> entry : movieReaders.entrySet()) {
+                measure(String.format("%s, round %d", entry.getKey(), round), entry.getValue());
+            }
+        }
+        movieReaders.forEach((name, movieReader) -> {
+            Assertions.assertSame(loaded.get(name), movieReader.loadMovies());
+            Assertions.assertEquals(1, targets.get(name).loads.get());
+        });
+    }
+
+    void measure(String name, MovieReader movieReader) {
+        // warm-up
+        for (int call = 0; call < SAMPLES * CALLS_PER_SAMPLE; call++) {
+            movieReader.loadMovies();
+        }
+
+        long[] latencies = new long[SAMPLES];
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            long start = System.nanoTime();
+            for (int call = 0; call < CALLS_PER_SAMPLE; call++) {
+                movieReader.loadMovies();
+            }
+            latencies[sample] = (System.nanoTime() - start) / CALLS_PER_SAMPLE;
+        }
+        Arrays.sort(latencies);
+        log.info("[{}] p50: {} ns, p99: {} ns", name, latencies[SAMPLES / 2], latencies[SAMPLES * 99 / 100]);
+    }
+
+    AnnotationConfigApplicationContext annotationContext(Class<?> config, MovieReader target) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(MovieReader.class, () -> target);
+        context.register(config);
+        context.refresh();
+        contexts.add(context);
+        return context;
+    }
+
+    /**
+     * 불러온 횟수를 세는 MovieReader
+     */
+    static class CountingMovieReader implements MovieReader {
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public List<Movie> loadMovies() {
+            loads.incrementAndGet();
+            List<Movie> movies = new ArrayList<>();
+            for (int index = 0; index < 1_000; index++) {
+                movies.add(Movie.of("title-" + index, List.of(), "English", "USA", 2015, "director", List.of(), null, LocalDate.of(2015, 1, 1)));
+            }
+            return movies;
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    static class JCacheConfig {
+
+        @Bean
+        public javax.cache.CacheManager jCacheManager(ObjectProvider<MovieReader> movieReaders) {
+            CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            javax.cache.CacheManager cacheManager = cachingProvider.getCacheManager(URI.create("benchmark-" + UUID.randomUUID()), cachingProvider.getDefaultClassLoader());
+            new MovieCatalogCacheLoader(movieReaders::getObject).createJCache(cacheManager, 0, 300, TimeUnit.SECONDS, 1, Runnable::run, Ticker.systemTicker());
+            return cacheManager;
+        }
+
+        @Bean
+        public CacheManager cacheManager(javax.cache.CacheManager jCacheManager) {
+            return new JCacheCacheManager(jCacheManager);
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CaffeineConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+            cacheManager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(300, TimeUnit.SECONDS));
+            return cacheManager;
+        }
+    }
+}
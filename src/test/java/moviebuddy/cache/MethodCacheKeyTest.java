@@ -0,0 +1,44 @@
+package moviebuddy.cache;
+
+import moviebuddy.domain.MovieFinder;
+import moviebuddy.domain.MovieReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+public class MethodCacheKeyTest {
+
+    @Test
+    void Equal_SameMethodAndArguments() throws Exception {
+        Method directedBy = MovieFinder.class.getMethod("directedBy", String.class);
+
+        MethodCacheKey key = MethodCacheKey.of(MovieFinder.class, directedBy, new Object[] { "Michael Bay" });
+        MethodCacheKey same = MethodCacheKey.of(MovieFinder.class, MovieFinder.class.getMethod("directedBy", String.class), new Object[] { new String("Michael Bay") });
+        Assertions.assertEquals(key, same);
+        Assertions.assertEquals(key.hashCode(), same.hashCode());
+
+        Assertions.assertNotEquals(key, MethodCacheKey.of(MovieFinder.class, directedBy, new Object[] { "Christopher Nolan" }));
+        Assertions.assertNotEquals(key, MethodCacheKey.of(MovieFinder.class, MovieFinder.class.getMethod("directedBy", String.class, int.class), new Object[] { "Michael Bay", 10 }));
+        Assertions.assertNotEquals(key, MethodCacheKey.of(Object.class, directedBy, new Object[] { "Michael Bay" }));
+    }
+
+    @Test
+    void Equal_ArrayArguments() throws Exception {
+        Method method = Object.class.getMethod("equals", Object.class);
+
+        // 배열 인자는 내용으로 비교한다.
+        MethodCacheKey key = MethodCacheKey.of(Object.class, method, new Object[] { new int[] { 2010, 2015 } });
+        Assertions.assertEquals(key, MethodCacheKey.of(Object.class, method, new Object[] { new int[] { 2010, 2015 } }));
+        Assertions.assertNotEquals(key, MethodCacheKey.of(Object.class, method, new Object[] { new int[] { 2010, 2016 } }));
+    }
+
+    @Test
+    void Equal_NoArguments() throws Exception {
+        Method loadMovies = MovieReader.class.getMethod("loadMovies");
+
+        MethodCacheKey key = MethodCacheKey.of(MovieReader.class, loadMovies, null);
+        Assertions.assertEquals(key, MethodCacheKey.of(MovieReader.class, loadMovies, new Object[0]));
+        Assertions.assertEquals("MovieReader.loadMovies[]", key.toString());
+    }
+}
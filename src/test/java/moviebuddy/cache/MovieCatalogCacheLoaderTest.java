@@ -0,0 +1,276 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import moviebuddy.data.CsvMovieReader;
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class MovieCatalogCacheLoaderTest {
+
+    static final long REFRESH_AFTER_WRITE = 3;
+    static final long EXPIRE_AFTER_WRITE = 60;
+
+    final AtomicLong ticker = new AtomicLong();
+    final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+    final ExecutorService callers = Executors.newFixedThreadPool(4);
+    final CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    final javax.cache.CacheManager jCacheManager = cachingProvider.getCacheManager(URI.create("test-" + UUID.randomUUID()), cachingProvider.getDefaultClassLoader());
+
+    @AfterEach
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+        callers.shutdownNow();
+        jCacheManager.close();
+    }
+
+    @Test
+    void NotWaiting_OnReload() throws Exception {
+        BlockingMovieReader movieReader = new BlockingMovieReader();
+        Cache cache = movieCache(movieReader);
+
+        // 처음에는 캐시가 비어 있으므로 호출자가 직접 불러온다.
+        Object warm = cache.get(SimpleKey.EMPTY).get();
+        Assertions.assertEquals(1, movieReader.loads.get());
+
+        // refreshAfterWrite 시간이 지난 후의 호출은 백그라운드 불러오기를 시작시키고 기존 목록을 즉시 반환한다.
+        movieReader.block();
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(REFRESH_AFTER_WRITE + 1));
+        Assertions.assertSame(warm, cache.get(SimpleKey.EMPTY).get());
+        Assertions.assertTrue(movieReader.reloadStarted.await(5, TimeUnit.SECONDS));
+
+        // 다시 불러오는 동안 여러 호출자가 동시에 접근해도 기다리지 않고 기존 목록을 받는다.
+        List<Future<Object>> results = new ArrayList<>();
+        for (int caller = 0; caller < 20; caller++) {
+            results.add(callers.submit(() -> cache.get(SimpleKey.EMPTY).get()));
+        }
+        for (Future<Object> result : results) {
+            Assertions.assertSame(warm, result.get(1, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(2, movieReader.loads.get());
+
+        // 다시 불러오기가 끝나면 새 목록으로 교체된다.
+        movieReader.release();
+        Assertions.assertNotSame(warm, awaitChange(cache, warm));
+        Assertions.assertEquals(2, movieReader.loads.get());
+    }
+
+    @Test
+    void KeepLastGood_OnReloadFailure() throws Exception {
+        BlockingMovieReader movieReader = new BlockingMovieReader();
+        Cache cache = movieCache(movieReader);
+        Object warm = cache.get(SimpleKey.EMPTY).get();
+
+        movieReader.failing = true;
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(REFRESH_AFTER_WRITE + 1));
+        Assertions.assertSame(warm, cache.get(SimpleKey.EMPTY).get());
+        refreshExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        // 실패한 후에도 마지막으로 성공한 목록을 반환하고, 다음 호출 때 다시 시도한다.
+        Assertions.assertSame(warm, cache.get(SimpleKey.EMPTY).get());
+        refreshExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(3, movieReader.loads.get());
+
+        movieReader.failing = false;
+        cache.get(SimpleKey.EMPTY);
+        Assertions.assertNotSame(warm, awaitChange(cache, warm));
+    }
+
+    @Test
+    void KeepCatalog_WhenMetadataNotModified(@TempDir Path directory) throws Exception {
+        assertKeepCatalogWhenMetadataNotModified(directory, this::movieCache);
+    }
+
+    @Test
+    void KeepCatalog_WhenMetadataNotModified_JCache(@TempDir Path directory) throws Exception {
+        assertKeepCatalogWhenMetadataNotModified(directory, this::movieJCache);
+    }
+
+    @Test
+    void SingleLoad_JCache() throws Exception {
+        BlockingMovieReader movieReader = new BlockingMovieReader();
+        MovieCatalogCacheLoader cacheLoader = new MovieCatalogCacheLoader(() -> movieReader);
+        Cache cache = movieJCache(cacheLoader);
+
+        // read-through 캐시이므로 동시에 조회해도 한 번만 불러오고, 모두 같은 목록을 받는다.
+        movieReader.block();
+        List<Future<Object>> results = new ArrayList<>();
+        for (int caller = 0; caller < 4; caller++) {
+            results.add(callers.submit(() -> cache.get(SimpleKey.EMPTY).get()));
+        }
+        Thread.sleep(50);
+        movieReader.release();
+        Object warm = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> result : results) {
+            Assertions.assertSame(warm, result.get(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(1, movieReader.loads.get());
+
+        // 통계는 JCache 표준 MXBean으로 기록된다.
+        JCacheStatistics statistics = JCacheStatistics.of(jCacheManager).get(0);
+        Assertions.assertEquals(MovieCatalogCacheLoader.CACHE_NAME, statistics.getName());
+        Assertions.assertEquals(4, statistics.getHits() + statistics.getMisses());
+        Assertions.assertEquals(1, statistics.getSize());
+        Assertions.assertEquals(0, statistics.getLoadCount());
+
+        // 불러오기 횟수와 시간은 로더가 기록한 통계를 함께 넘기면 보여준다.
+        statistics = JCacheStatistics.of(jCacheManager, Map.of(MovieCatalogCacheLoader.CACHE_NAME, cacheLoader.getLoadStatistics())).get(0);
+        Assertions.assertEquals(1, statistics.getLoadCount());
+        Assertions.assertTrue(statistics.getMaxLoadTime() >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void SameFailure_JCache() {
+        BlockingMovieReader movieReader = new BlockingMovieReader();
+        movieReader.failing = true;
+        Cache cache = movieJCache(movieReader);
+
+        // JCache 는 로더가 던진 예외를 감싸서 던지므로, 캐시 오류 처리기가 원래 예외로 되돌린다.
+        RuntimeException error = Assertions.assertThrows(RuntimeException.class, () -> cache.get(SimpleKey.EMPTY));
+        Assertions.assertThrows(IllegalStateException.class, () -> new CacheLoaderErrorHandler().handleCacheGetError(error, cache, SimpleKey.EMPTY));
+
+        // 실패한 결과는 캐시되지 않으므로 다음 조회에서 다시 불러온다.
+        movieReader.failing = false;
+        Assertions.assertNotNull(cache.get(SimpleKey.EMPTY).get());
+        Assertions.assertEquals(2, movieReader.loads.get());
+    }
+
+    void assertKeepCatalogWhenMetadataNotModified(Path directory, Function<MovieReader, Cache> movieCache) throws Exception {
+        Path metadata = directory.resolve("movie_metadata.csv");
+        try (InputStream content = getClass().getClassLoader().getResourceAsStream("movie_metadata.csv")) {
+            Files.copy(content, metadata);
+        }
+        AtomicInteger loads = new AtomicInteger();
+        CsvMovieReader movieReader = new CsvMovieReader() {
+            @Override
+            public List<Movie> loadMovies() {
+                loads.incrementAndGet();
+                return super.loadMovies();
+            }
+        };
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(metadata.toUri().toString());
+        Cache cache = movieCache.apply(movieReader);
+        Object warm = cache.get(SimpleKey.EMPTY).get();
+
+        // 메타데이터가 바뀌지 않았으면 refreshAfterWrite 시간이 지나도 다시 불러오지 않는다.
+        for (int check = 0; check < 3; check++) {
+            ticker.addAndGet(TimeUnit.SECONDS.toNanos(REFRESH_AFTER_WRITE + 1));
+            Assertions.assertSame(warm, cache.get(SimpleKey.EMPTY).get());
+            refreshExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        }
+        Assertions.assertSame(warm, cache.get(SimpleKey.EMPTY).get());
+        Assertions.assertEquals(1, loads.get());
+
+        // 바뀌었으면 다음 확인 때 다시 불러온다.
+        Files.setLastModifiedTime(metadata, FileTime.fromMillis(Files.getLastModifiedTime(metadata).toMillis() - 60_000));
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(REFRESH_AFTER_WRITE + 1));
+        cache.get(SimpleKey.EMPTY);
+        Assertions.assertNotSame(warm, awaitChange(cache, warm));
+        Assertions.assertEquals(2, loads.get());
+        movieReader.destroy();
+    }
+
+    @Test
+    void Invalid_Durations() {
+        MovieCatalogCacheLoader cacheLoader = new MovieCatalogCacheLoader(BlockingMovieReader::new);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cacheLoader.buildCache(0, 60, TimeUnit.SECONDS, Runnable::run, ticker::get));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cacheLoader.buildCache(3, 3, TimeUnit.SECONDS, Runnable::run, ticker::get));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cacheLoader.createJCache(jCacheManager, 3, 3, TimeUnit.SECONDS, 1, Runnable::run, ticker::get));
+    }
+
+    Cache movieCache(MovieReader movieReader) {
+        MovieCatalogCacheLoader cacheLoader = new MovieCatalogCacheLoader(() -> movieReader);
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(MovieCatalogCacheLoader.CACHE_NAME, cacheLoader.buildCache(REFRESH_AFTER_WRITE, EXPIRE_AFTER_WRITE, TimeUnit.SECONDS, refreshExecutor, ticker::get));
+        return cacheManager.getCache(MovieCatalogCacheLoader.CACHE_NAME);
+    }
+
+    Cache movieJCache(MovieReader movieReader) {
+        return movieJCache(new MovieCatalogCacheLoader(() -> movieReader));
+    }
+
+    Cache movieJCache(MovieCatalogCacheLoader cacheLoader) {
+        cacheLoader.createJCache(jCacheManager, REFRESH_AFTER_WRITE, EXPIRE_AFTER_WRITE, TimeUnit.SECONDS, 1, refreshExecutor, ticker::get);
+
+        JCacheCacheManager cacheManager = new JCacheCacheManager(jCacheManager);
+        cacheManager.afterPropertiesSet();
+        return cacheManager.getCache(MovieCatalogCacheLoader.CACHE_NAME);
+    }
+
+    static Object awaitChange(Cache cache, Object previous) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Object current = cache.get(SimpleKey.EMPTY).get();
+        while (current == previous && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            current = cache.get(SimpleKey.EMPTY).get();
+        }
+        return current;
+    }
+
+    /**
+     * 불러올 때마다 새 목록을 반환하고, 필요하면 불러오기를 막아두거나 실패시킬 수 있는 MovieReader
+     */
+    static class BlockingMovieReader implements MovieReader {
+
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch reloadStarted = new CountDownLatch(1);
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile boolean failing;
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public List<Movie> loadMovies() {
+            if (loads.incrementAndGet() > 1) {
+                reloadStarted.countDown();
+            }
+            try {
+                gate.await();
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException("metadata is not available.");
+            }
+            return List.of(Movie.of("title-" + loads.get(), List.of(), "English", "USA", 2015, "director", List.of(), null, LocalDate.of(2015, 1, 1)));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package moviebuddy.cache;
+
+import moviebuddy.ApplicationException;
+import moviebuddy.data.CsvMovieReader;
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+public class MovieListCodecTest {
+
+    @Test
+    void Same_AsEncodedMovies() {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+
+        List<Movie> movies = movieReader.loadMovies();
+        byte[] bytes = MovieListCodec.encode(movies);
+        List<Movie> decoded = MovieListCodec.decode(bytes);
+
+        Assertions.assertEquals(movies.size(), decoded.size());
+        for (int index = 0; index < movies.size(); index++) {
+            Movie expected = movies.get(index);
+            Movie actual = decoded.get(index);
+            Assertions.assertEquals(expected.toString(), actual.toString());
+            Assertions.assertEquals(expected.getGenres(), actual.getGenres());
+            Assertions.assertEquals(expected.getLanguage(), actual.getLanguage());
+            Assertions.assertEquals(expected.getCountry(), actual.getCountry());
+            Assertions.assertEquals(expected.getActors(), actual.getActors());
+            Assertions.assertEquals(expected.getImdbLink(), actual.getImdbLink());
+        }
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> decoded.add(movies.get(0)));
+    }
+
+    @Test
+    void Encode_OptionalValues() {
+        Movie movie = Movie.of("영화", List.of(), "Korean", "South Korea", 2019, "봉준호", List.of("송강호", "송강호"), null, LocalDate.of(1960, 2, 9));
+
+        Movie actual = MovieListCodec.decode(MovieListCodec.encode(List.of(movie))).get(0);
+        Assertions.assertEquals("영화", actual.getTitle());
+        Assertions.assertEquals(List.of(), actual.getGenres());
+        Assertions.assertEquals(List.of("송강호", "송강호"), actual.getActors());
+        Assertions.assertNull(actual.getImdbLink());
+        Assertions.assertEquals(LocalDate.of(1960, 2, 9), actual.getWatchedDate());
+
+        Assertions.assertTrue(MovieListCodec.decode(MovieListCodec.encode(List.of())).isEmpty());
+    }
+
+    @Test
+    void Reject_InvalidValues() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MovieListCodec.encode(List.of("movie")));
+
+        byte[] bytes = MovieListCodec.encode(List.of(Movie.of("title", List.of(), "English", "USA", 2015, "director", List.of(), null, LocalDate.of(2015, 1, 1))));
+        Assertions.assertThrows(ApplicationException.class, () -> MovieListCodec.decode(Arrays.copyOf(bytes, bytes.length - 2)));
+    }
+}
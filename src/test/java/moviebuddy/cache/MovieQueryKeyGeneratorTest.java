@@ -0,0 +1,110 @@
+package moviebuddy.cache;
+
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieCatalogChangedEvent;
+import moviebuddy.domain.MovieFinder;
+import moviebuddy.domain.MovieReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class MovieQueryKeyGeneratorTest {
+
+    final MovieQueryKeyGenerator keyGenerator = new MovieQueryKeyGenerator();
+
+    @Test
+    void SameKey_SameArguments() throws Exception {
+        MovieFinder movieFinder = new MovieFinder(new ReloadableMovieReader());
+        Method releasedYearBy = MovieFinder.class.getMethod("releasedYearBy", int.class);
+        Method releasedBetween = MovieFinder.class.getMethod("releasedBetween", int.class, int.class);
+
+        Object key = keyGenerator.generate(movieFinder, releasedBetween, 2010, 2015);
+        Assertions.assertEquals(key, keyGenerator.generate(movieFinder, releasedBetween, 2010, 2015));
+        Assertions.assertNotEquals(key, keyGenerator.generate(movieFinder, releasedBetween, 2010, 2016));
+        Assertions.assertNotEquals(keyGenerator.generate(movieFinder, releasedYearBy, 2015), keyGenerator.generate(movieFinder, releasedBetween, 2015, 2015));
+    }
+
+    @Test
+    void NewKey_AfterCatalogReload() throws Exception {
+        ReloadableMovieReader movieReader = new ReloadableMovieReader();
+        MovieFinder movieFinder = new MovieFinder(movieReader);
+        List<Object> events = new ArrayList<>();
+        movieFinder.setApplicationEventPublisher(events::add);
+        Method releasedBetween = MovieFinder.class.getMethod("releasedBetween", int.class, int.class);
+
+        Object key = keyGenerator.generate(movieFinder, releasedBetween, 2010, 2015);
+        Assertions.assertEquals(key, keyGenerator.generate(movieFinder, releasedBetween, 2010, 2015));
+        Assertions.assertTrue(events.isEmpty());
+
+        // 영화 목록이 다시 불러와지면 다른 검색을 거치지 않아도 키가 바뀌고, 변경 이벤트가 한 번 발행된다.
+        movieReader.reload();
+        Assertions.assertNotEquals(key, keyGenerator.generate(movieFinder, releasedBetween, 2010, 2015));
+        Assertions.assertEquals(1, events.size());
+        MovieCatalogChangedEvent event = (MovieCatalogChangedEvent) events.get(0);
+        Assertions.assertTrue(event.getVersion() > event.getPreviousVersion());
+    }
+
+    @Test
+    void SingleRebuild_ConcurrentCallers() throws Exception {
+        ReloadableMovieReader movieReader = new ReloadableMovieReader();
+        MovieFinder movieFinder = new MovieFinder(movieReader);
+        List<Object> events = Collections.synchronizedList(new ArrayList<>());
+        movieFinder.setApplicationEventPublisher(events::add);
+        movieFinder.prepare();
+
+        // 영화 목록이 바뀐 후 여러 스레드가 동시에 키를 만들어도 저장소는 한 번만 새로 만들고, 변경 이벤트도 한 번만 발행한다.
+        movieReader.reload();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> versions = new ArrayList<>();
+            for (int caller = 0; caller < 8; caller++) {
+                versions.add(executor.submit(() -> {
+                    start.await();
+                    return movieFinder.catalogVersion();
+                }));
+            }
+            start.countDown();
+            Set<Long> distinct = new HashSet<>();
+            for (Future<Long> version : versions) {
+                distinct.add(version.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(1, distinct.size());
+            Assertions.assertEquals(1, events.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 다시 불러오기 전까지 같은 목록 인스턴스를 반환하는 MovieReader
+     */
+    static class ReloadableMovieReader implements MovieReader {
+
+        volatile List<Movie> movies = load();
+
+        void reload() {
+            movies = load();
+        }
+
+        @Override
+        public List<Movie> loadMovies() {
+            return movies;
+        }
+
+        static List<Movie> load() {
+            return List.of(Movie.of("title", List.of(), "English", "USA", 2015, "director", List.of(), null, "2015-01-01"));
+        }
+    }
+}
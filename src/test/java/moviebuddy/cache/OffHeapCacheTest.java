@@ -0,0 +1,128 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OffHeapCacheTest {
+
+    @Test
+    void StoreAndLoad_OffHeap() {
+        OffHeapCache cache = new OffHeapCache("movieQueries", Caffeine.newBuilder(), 64 * 1024, 128, 16 * 1024);
+        List<Movie> movies = movies(100);
+
+        cache.put("key", movies);
+
+        // 값은 힙 바깥에 기록되어 있고, 조회할 때마다 새 목록으로 해석된다.
+        Assertions.assertTrue(cache.getUsedBytes() > 0);
+        Assertions.assertEquals(cache.getUsedBytes(), cache.getUsedBytes() / 128 * 128);
+        List<?> cached = cache.get("key", List.class);
+        Assertions.assertNotSame(movies, cached);
+        Assertions.assertEquals(movies.toString(), cached.toString());
+        Assertions.assertNotSame(cached, cache.get("key", List.class));
+        Assertions.assertNull(cache.get("none"));
+
+        // 제거한 값의 블록은 할당기로 돌아간다.
+        cache.evict("key");
+        Assertions.assertNull(cache.get("key"));
+        Assertions.assertEquals(0, cache.getUsedBytes());
+
+        cache.put("key", movies);
+        cache.put("key", movies(10));
+        Assertions.assertEquals(10, cache.get("key", List.class).size());
+        cache.clear();
+        Assertions.assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    void StayWithin_MaximumBytes() {
+        OffHeapCache cache = new OffHeapCache("movieQueries", Caffeine.newBuilder(), 64 * 1024, 128, 16 * 1024);
+
+        for (int index = 0; index < 1_000; index++) {
+            cache.put(index, movies(1 + index % 50));
+            Assertions.assertTrue(cache.getAllocatedBytes() <= 64 * 1024);
+        }
+        // 색인의 크기 제한으로 오래되거나 덜 쓰이는 값이 제거되므로 새 값을 저장할 블록이 남아 있다.
+        Assertions.assertEquals(0, cache.getRejected());
+        Assertions.assertTrue(cache.getStatistics().getStats().evictionCount() > 0);
+        Assertions.assertTrue(cache.getUsedBytes() <= 48 * 1024);
+
+        // 하나의 최대 크기보다 큰 값은 저장하지 않고, 같은 키의 이전 값도 남기지 않는다.
+        cache.put("key", movies(10));
+        cache.put("key", movies(1_000));
+        Assertions.assertEquals(1, cache.getRejected());
+        Assertions.assertNull(cache.get("key"));
+    }
+
+    @Test
+    void SingleLoad_WhenConcurrentMiss() throws Exception {
+        OffHeapCache cache = new OffHeapCache("movieQueries", Caffeine.newBuilder(), 64 * 1024, 128, 16 * 1024);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Movie>>> results = new ArrayList<>();
+            for (int index = 0; index < 4; index++) {
+                results.add(executor.submit(() -> cache.get("key", () -> {
+                    loads.incrementAndGet();
+                    loading.await(5, TimeUnit.SECONDS);
+                    return movies(10);
+                })));
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+            loading.countDown();
+            for (Future<List<Movie>> result : results) {
+                Assertions.assertEquals(10, result.get(5, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, cache.getStatistics().getStats().loadCount());
+        Assertions.assertEquals(10, cache.get("key", () -> movies(1)).size());
+    }
+
+    @Test
+    void Reject_InvalidValues() {
+        OffHeapCache cache = new OffHeapCache("movieQueries", Caffeine.newBuilder(), 64 * 1024, 128, 16 * 1024);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.put("key", "movie"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.put("key", null));
+        Assertions.assertThrows(Cache.ValueRetrievalException.class, () -> cache.get("key", () -> {
+            throw new IllegalStateException("failed");
+        }));
+        Assertions.assertEquals(1, cache.getStatistics().getStats().loadFailureCount());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OffHeapCache("movieQueries", Caffeine.newBuilder(), 64 * 1024, 128, 64 * 1024));
+    }
+
+    @Test
+    void CacheManager_ReturnsOnlyNamedCaches() {
+        OffHeapCacheManager cacheManager = new OffHeapCacheManager(List.of("movieQueries"), Caffeine::newBuilder, 64 * 1024, 128, 16 * 1024);
+
+        Assertions.assertTrue(cacheManager.getCache("movieQueries") instanceof OffHeapCache);
+        Assertions.assertNull(cacheManager.getCache("movies"));
+        Assertions.assertEquals(List.of("movieQueries"), List.copyOf(cacheManager.getCacheNames()));
+    }
+
+    static List<Movie> movies(int count) {
+        List<Movie> movies = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            movies.add(Movie.of("title-" + index, List.of("Action"), "English", "USA", 2015, "director-" + index % 3, List.of("actor"), null, LocalDate.of(2015, 1, 1)));
+        }
+        return movies;
+    }
+}
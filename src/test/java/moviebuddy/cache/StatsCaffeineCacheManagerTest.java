@@ -0,0 +1,56 @@
+package moviebuddy.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class StatsCaffeineCacheManagerTest {
+
+    final StatsCaffeineCacheManager cacheManager = new StatsCaffeineCacheManager(() -> Caffeine.newBuilder().maximumSize(1));
+
+    @Test
+    void RecordStats_DynamicCache() {
+        Cache cache = cacheManager.getCache("moviebuddy.data.CsvMovieReader");
+
+        Assertions.assertEquals("value", cache.get("key", () -> {
+            TimeUnit.MILLISECONDS.sleep(20);
+            return "value";
+        }));
+        Assertions.assertEquals("value", cache.get("key", () -> "other"));
+        Assertions.assertNull(cache.get("none"));
+
+        List<StatsCaffeineCacheManager.Statistics> statistics = cacheManager.getStatistics();
+        Assertions.assertEquals(1, statistics.size());
+        CacheStats stats = statistics.get(0).getStats();
+        Assertions.assertEquals(1, stats.hitCount());
+        Assertions.assertEquals(2, stats.missCount());
+        Assertions.assertEquals(1, stats.loadCount());
+        Assertions.assertTrue(statistics.get(0).getMaxLoadTime() >= TimeUnit.MILLISECONDS.toNanos(20));
+        Assertions.assertTrue(stats.averageLoadPenalty() <= statistics.get(0).getMaxLoadTime());
+
+        // 크기 제한을 넘어선 항목은 제거되고 제거 수가 기록된다.
+        cache.put("evicting", "value");
+        ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache()).cleanUp();
+        Assertions.assertTrue(cacheManager.getStatistics().get(0).getStats().evictionCount() >= 1);
+    }
+
+    @Test
+    void RecordStats_CustomCache() {
+        cacheManager.registerCustomCache("movies", Caffeine.newBuilder().recordStats(cacheManager.statsCounter("movies")).build());
+        cacheManager.registerCustomCache("unrecorded", Caffeine.newBuilder().build());
+
+        cacheManager.getCache("movies").get("key", () -> "value");
+        cacheManager.getCache("movies").get("key");
+
+        List<StatsCaffeineCacheManager.Statistics> statistics = cacheManager.getStatistics();
+        Assertions.assertEquals(1, statistics.size());
+        Assertions.assertEquals("movies", statistics.get(0).getName());
+        Assertions.assertEquals(0.5, statistics.get(0).getStats().hitRate());
+        Assertions.assertEquals(1, statistics.get(0).getSize());
+    }
+}
@@ -0,0 +1,206 @@
+package moviebuddy.cache;
+
+import moviebuddy.data.CsvMovieReader;
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class TwoLevelCacheTest {
+
+    @TempDir
+    Path directory;
+
+    Path metadata;
+    Path cacheDirectory;
+    CountingMovieReader movieReader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        metadata = directory.resolve("movie_metadata.csv");
+        try (InputStream content = getClass().getClassLoader().getResourceAsStream("movie_metadata.csv")) {
+            Files.copy(content, metadata);
+        }
+        cacheDirectory = directory.resolve("cache");
+
+        movieReader = new CountingMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(metadata.toUri().toString());
+    }
+
+    @Test
+    void LoadFromDisk_AfterRestart() {
+        List<Movie> movies = loadOnStart();
+        Assertions.assertEquals(1, movieReader.loads.get());
+
+        // 다시 시작하면 L1은 비어 있지만, 원본이 바뀌지 않았으므로 L2에서 영화 목록을 읽는다.
+        TwoLevelCache cache = startCache();
+        List<Movie> restored = get(cache);
+        Assertions.assertEquals(1, movieReader.loads.get());
+        Assertions.assertEquals(movies.toString(), restored.toString());
+        Assertions.assertEquals(movies.get(0).getActors(), restored.get(0).getActors());
+
+        // L2에서 읽은 목록은 L1에 채워져, 이후 조회는 L1에서 처리된다.
+        Assertions.assertSame(restored, get(cache));
+        TwoLevelCache.Statistics statistics = cache.getStatistics();
+        Assertions.assertEquals(1, statistics.getFirstHits());
+        Assertions.assertEquals(1, statistics.getSecondHits());
+        Assertions.assertEquals(0, statistics.getMisses());
+    }
+
+    @Test
+    void LoadFromSource_WhenMetadataChanged() throws IOException {
+        loadOnStart();
+        Files.setLastModifiedTime(metadata, FileTime.fromMillis(Files.getLastModifiedTime(metadata).toMillis() - 60_000));
+
+        TwoLevelCache cache = startCache();
+        Assertions.assertNull(cache.get(SimpleKey.EMPTY));
+        cache.put(SimpleKey.EMPTY, movieReader.loadMovies());
+        Assertions.assertEquals(1, cache.getStatistics().getMisses());
+
+        // 이전 원본으로 만든 파일은 지워지고 새 파일 하나만 남는다.
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            Assertions.assertEquals(1, files.collect(Collectors.toList()).size());
+        }
+    }
+
+    @Test
+    void LoadFromSource_WhenDiskCacheCorrupted() throws IOException {
+        loadOnStart();
+        Path file;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            file = files.findFirst().orElseThrow();
+        }
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+        Assertions.assertNull(startCache().get(SimpleKey.EMPTY));
+        Assertions.assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void LoadFromSource_WhenDiskCacheHasInvalidCounts() throws IOException {
+        loadOnStart();
+        Path file;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            file = files.findFirst().orElseThrow();
+        }
+        byte[] snapshot = Files.readAllBytes(file);
+        int stringsSection = 8;
+        int moviesSection = stringsSection + 4 + ByteBuffer.wrap(snapshot).getInt(stringsSection);
+
+        // 체크섬은 맞지만 개수가 잘못된 스냅샷도 손상된 파일로 처리해 지우고, 원본에서 다시 불러오도록 한다.
+        for (int[] corruption : new int[][] { { moviesSection + 4, -1 }, { moviesSection + 4, Integer.MAX_VALUE }, { stringsSection + 4, Integer.MAX_VALUE } }) {
+            ByteBuffer corrupted = ByteBuffer.wrap(snapshot.clone()).putInt(corruption[0], corruption[1]);
+            CRC32 checksum = new CRC32();
+            checksum.update(corrupted.array(), 0, snapshot.length - 4);
+            corrupted.putInt(snapshot.length - 4, (int) checksum.getValue());
+            Files.write(file, corrupted.array());
+
+            Assertions.assertNull(startCache().get(SimpleKey.EMPTY));
+            Assertions.assertFalse(Files.exists(file));
+        }
+    }
+
+    @Test
+    void SharedDirectory_KeepsOtherMetadataFiles() throws IOException {
+        loadOnStart();
+
+        // 다른 메타데이터로 실행한 애플리케이션이 같은 디렉터리에 저장해도, 서로의 파일을 지우지 않는다.
+        Path otherMetadata = directory.resolve("other_movie_metadata.csv");
+        Files.copy(metadata, otherMetadata);
+        CountingMovieReader otherMovieReader = new CountingMovieReader();
+        otherMovieReader.setResourceLoader(new DefaultResourceLoader());
+        otherMovieReader.setMetadata(otherMetadata.toUri().toString());
+        MovieCatalogDiskCache otherDiskCache = new MovieCatalogDiskCache(MovieCatalogCacheLoader.CACHE_NAME, cacheDirectory, () -> otherMovieReader);
+        otherDiskCache.put(SimpleKey.EMPTY, otherMovieReader.loadMovies());
+
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            Assertions.assertEquals(2, files.count());
+        }
+        Assertions.assertNotNull(startCache().get(SimpleKey.EMPTY));
+        Assertions.assertEquals(1, movieReader.loads.get());
+
+        // clear()도 자신의 원본으로 저장한 파일만 지운다.
+        otherDiskCache.clear();
+        Assertions.assertNull(otherDiskCache.get(SimpleKey.EMPTY));
+        Assertions.assertNotNull(diskCache().get(SimpleKey.EMPTY));
+    }
+
+    @Test
+    void LoadFromDisk_WithLoadingCache() {
+        TwoLevelCache cache = startLoadingCache();
+        List<Movie> movies = get(cache);
+        Assertions.assertEquals(1, movieReader.loads.get());
+        Assertions.assertEquals(1, cache.getStatistics().getMisses());
+
+        // L1이 LoadingCache라도 로더보다 L2를 먼저 확인한다.
+        cache = startLoadingCache();
+        Assertions.assertEquals(movies.size(), get(cache).size());
+        Assertions.assertEquals(1, movieReader.loads.get());
+        Assertions.assertEquals(1, cache.getStatistics().getSecondHits());
+    }
+
+    List<Movie> loadOnStart() {
+        TwoLevelCache cache = startCache();
+        Assertions.assertNull(cache.get(SimpleKey.EMPTY));
+
+        List<Movie> movies = movieReader.loadMovies();
+        cache.put(SimpleKey.EMPTY, movies);
+        return movies;
+    }
+
+    TwoLevelCache startCache() {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(new CaffeineCacheManager(), List.of(diskCache()));
+        return (TwoLevelCache) cacheManager.getCache(MovieCatalogCacheLoader.CACHE_NAME);
+    }
+
+    TwoLevelCache startLoadingCache() {
+        MovieCatalogCacheLoader cacheLoader = new MovieCatalogCacheLoader(() -> movieReader);
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.registerCustomCache(MovieCatalogCacheLoader.CACHE_NAME, cacheLoader.buildCache(3, 60, TimeUnit.SECONDS, Runnable::run, System::nanoTime));
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(caffeineCacheManager, List.of(diskCache()));
+        return (TwoLevelCache) cacheManager.getCache(MovieCatalogCacheLoader.CACHE_NAME);
+    }
+
+    MovieCatalogDiskCache diskCache() {
+        return new MovieCatalogDiskCache(MovieCatalogCacheLoader.CACHE_NAME, cacheDirectory, () -> movieReader);
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Movie> get(Cache cache) {
+        return (List<Movie>) cache.get(SimpleKey.EMPTY).get();
+    }
+
+    /**
+     * 원본 메타데이터를 불러온 횟수를 세는 CsvMovieReader
+     */
+    static class CountingMovieReader extends CsvMovieReader {
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public List<Movie> loadMovies() {
+            loads.incrementAndGet();
+            return super.loadMovies();
+        }
+    }
+}
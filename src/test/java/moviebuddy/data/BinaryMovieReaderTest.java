@@ -0,0 +1,72 @@
+package moviebuddy.data;
+
+import moviebuddy.ApplicationException;
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class BinaryMovieReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void Load_ConvertedSnapshot() throws Exception {
+        Path snapshot = directory.resolve("movie_metadata.bin");
+        Assertions.assertEquals(1375, MovieSnapshotConverter.convert("movie_metadata.csv", snapshot));
+
+        List<Movie> expected = newCsvMovieReader().loadMovies();
+        List<Movie> movies = newBinaryMovieReader(snapshot).loadMovies();
+
+        Assertions.assertEquals(expected.size(), movies.size());
+        for (int index = 0; index < expected.size(); index++) {
+            Assertions.assertEquals(expected.get(index).toString(), movies.get(index).toString());
+            Assertions.assertEquals(expected.get(index).getGenres(), movies.get(index).getGenres());
+            Assertions.assertEquals(expected.get(index).getActors(), movies.get(index).getActors());
+            Assertions.assertEquals(expected.get(index).getImdbLink(), movies.get(index).getImdbLink());
+            Assertions.assertEquals(expected.get(index).getCountry(), movies.get(index).getCountry());
+        }
+    }
+
+    @Test
+    void Corrupted_Snapshot() throws Exception {
+        Path snapshot = directory.resolve("movie_metadata.bin");
+        MovieSnapshotConverter.convert("movie_metadata.xml", snapshot);
+
+        byte[] content = Files.readAllBytes(snapshot);
+        content[content.length / 2] ^= 0x7F;
+        Files.write(snapshot, content);
+
+        ApplicationException error = Assertions.assertThrows(ApplicationException.class, () -> newBinaryMovieReader(snapshot).loadMovies());
+        Assertions.assertTrue(error.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void Not_Snapshot() {
+        BinaryMovieReader movieReader = new BinaryMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+
+        Assertions.assertThrows(ApplicationException.class, movieReader::loadMovies);
+    }
+
+    CsvMovieReader newCsvMovieReader() {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+        return movieReader;
+    }
+
+    BinaryMovieReader newBinaryMovieReader(Path snapshot) {
+        BinaryMovieReader movieReader = new BinaryMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(snapshot.toUri().toString());
+        return movieReader;
+    }
+}
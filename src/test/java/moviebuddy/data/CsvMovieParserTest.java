@@ -0,0 +1,74 @@
+package moviebuddy.data;
+
+import moviebuddy.ApplicationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+public class CsvMovieParserTest {
+
+    @Test
+    void Parse_SimpleRecords() throws Exception {
+        CsvMovieParser parser = new CsvMovieParser(new StringReader("a,b,c\r\n1, 2 ,3\n"));
+
+        Assertions.assertTrue(parser.nextRecord());
+        Assertions.assertEquals(3, parser.fieldCount());
+        Assertions.assertEquals("c", parser.text(2));
+
+        Assertions.assertTrue(parser.nextRecord());
+        Assertions.assertEquals(" 2 ", parser.text(1));
+        Assertions.assertEquals("2", parser.trimmedText(1));
+        Assertions.assertEquals(2, parser.intValue(1));
+
+        Assertions.assertFalse(parser.nextRecord());
+    }
+
+    @Test
+    void Parse_QuotedFields() throws Exception {
+        // 따옴표로 감싼 필드 안의 쉼표, 줄바꿈, 이스케이프된 따옴표("")
+        CsvMovieParser parser = new CsvMovieParser(new StringReader("\"Crouching Tiger, Hidden Dragon\",\"say \"\"hi\"\"\",\"line1\nline2\"\nnext,row"), 4);
+
+        Assertions.assertTrue(parser.nextRecord());
+        Assertions.assertEquals(3, parser.fieldCount());
+        Assertions.assertEquals("Crouching Tiger, Hidden Dragon", parser.text(0));
+        Assertions.assertEquals("say \"hi\"", parser.text(1));
+        Assertions.assertEquals("line1\nline2", parser.text(2));
+
+        Assertions.assertTrue(parser.nextRecord());
+        Assertions.assertEquals("row", parser.text(1));
+        Assertions.assertEquals(3, parser.lineNumber());
+    }
+
+    @Test
+    void Split_SubDelimitedValues() throws Exception {
+        CsvMovieParser parser = new CsvMovieParser(new StringReader("Action|Adventure|Sci-Fi,Drama,,a||b|"));
+        parser.nextRecord();
+
+        Assertions.assertEquals(List.of("Action", "Adventure", "Sci-Fi"), parser.split(0, '|'));
+        Assertions.assertEquals(List.of("Drama"), parser.split(1, '|'));
+        Assertions.assertEquals(List.of(""), parser.split(2, '|'));
+        Assertions.assertEquals(List.of("a", "", "b"), parser.split(3, '|'));
+    }
+
+    @Test
+    void Parse_Values() throws Exception {
+        CsvMovieParser parser = new CsvMovieParser(new StringReader("2015-02-23,15/02/23,-42,20x5"));
+        parser.nextRecord();
+
+        Assertions.assertEquals(LocalDate.of(2015, 2, 23), parser.dateValue(0));
+        Assertions.assertNull(parser.dateValue(1));
+        Assertions.assertEquals(-42, parser.intValue(2));
+        Assertions.assertThrows(NumberFormatException.class, () -> parser.intValue(3));
+        Assertions.assertThrows(ApplicationException.class, () -> parser.text(4));
+    }
+
+    @Test
+    void Unterminated_QuotedField() {
+        CsvMovieParser parser = new CsvMovieParser(new StringReader("\"never closed,1,2"));
+
+        Assertions.assertThrows(ApplicationException.class, parser::nextRecord);
+    }
+}
@@ -1,11 +1,28 @@
 package moviebuddy.data;
 
+import moviebuddy.domain.Movie;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.core.io.DefaultResourceLoader;
 
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 public class CsvMovieReaderTest {
 
@@ -19,6 +36,64 @@ public class CsvMovieReaderTest {
         movieReader.afterPropertiesSet();
     }
 
+    @Test
+    void Load_LocalFileInParallel(@TempDir Path directory) throws Exception {
+        // 메모리 맵을 이용한 병렬 해석이 동작할 만큼 큰 파일을 만든다.
+        Path metadata = MovieMetadataFixtures.generateCsv(directory, 20_000);
+
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(metadata.toUri().toString());
+        movieReader.setParallelism(4);
+
+        List<Movie> movies = movieReader.loadMovies();
+        Assertions.assertEquals(20_000, movies.size());
+
+        List<Movie> expected = movieReader.streamMovies().collect(Collectors.toList());
+        for (int index = 0; index < expected.size(); index++) {
+            Assertions.assertEquals(expected.get(index).toString(), movies.get(index).toString());
+        }
+    }
+
+    @Test
+    void Same_AsSplitReader() {
+        // 해석기로 읽은 영화 목록은 기존 구현(String.split)으로 읽은 목록과 같아야 한다.
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+
+        List<Movie> expected = new SplitCsvMovieReader(movieReader).loadMovies();
+        List<Movie> actual = movieReader.loadMovies();
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int index = 0; index < expected.size(); index++) {
+            Assertions.assertEquals(expected.get(index).toString(), actual.get(index).toString());
+            Assertions.assertEquals(expected.get(index).getGenres(), actual.get(index).getGenres());
+            Assertions.assertEquals(expected.get(index).getActors(), actual.get(index).getActors());
+        }
+    }
+
+    @Test
+    void Load_QuotedLineBreaksInParallel(@TempDir Path directory) throws Exception {
+        // 따옴표로 감싼 필드 안에 줄바꿈이 있어 조각 경계를 안전하게 나눌 수 없으면 순차 해석으로 대체한다.
+        String row = "\"Multi\nLine, Title\",Drama,English,USA,2015,Someone,Actor,http://www.imdb.com/title/tt0000001/,2015-01-01\n";
+        Path metadata = directory.resolve("quoted.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(metadata)) {
+            writer.write("title,genres,language,country,release_year,director,actors,imdb_link,watched_date\n");
+            for (int index = 0; index < 30_000; index++) {
+                writer.write(row);
+            }
+        }
+
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(metadata.toUri().toString());
+        movieReader.setParallelism(4);
+
+        List<Movie> movies = movieReader.loadMovies();
+        Assertions.assertEquals(30_000, movies.size());
+        Assertions.assertTrue(movies.stream().allMatch(it -> it.getTitle().equals("Multi\nLine, Title")));
+    }
+
     @Test
     void Invalid_Metadata() {
         CsvMovieReader movieReader = new CsvMovieReader();
@@ -30,4 +105,66 @@ public class CsvMovieReaderTest {
             movieReader.afterPropertiesSet();
         });
     }
+
+    @Test
+    void Modified_WhenLocalFileChanged(@TempDir Path directory) throws Exception {
+        Path metadata = directory.resolve("movie_metadata.csv");
+        try (InputStream content = getClass().getClassLoader().getResourceAsStream("movie_metadata.csv")) {
+            Files.copy(content, metadata);
+        }
+
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(metadata.toUri().toString());
+        movieReader.loadMovies();
+        Assertions.assertFalse(movieReader.isMetadataModified());
+
+        // 파일을 감시하다가 바뀌면 리스너에게 알린다.
+        CountDownLatch changed = new CountDownLatch(1);
+        movieReader.addMetadataChangeListener(changed::countDown);
+        Files.writeString(metadata, "Added,Drama,English,USA,2015,Someone,Actor,http://www.imdb.com/title/tt0000001/,2015-01-01\n", StandardOpenOption.APPEND);
+        Assertions.assertTrue(changed.await(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(movieReader.isMetadataModified());
+
+        // 다시 불러오면 바뀐 파일이 기준이 되고, 최종 수정 시각만 바뀌어도 변경으로 감지한다.
+        Assertions.assertEquals(1376, movieReader.loadMovies().size());
+        Assertions.assertFalse(movieReader.isMetadataModified());
+        Files.setLastModifiedTime(metadata, FileTime.fromMillis(Files.getLastModifiedTime(metadata).toMillis() - 60_000));
+        Assertions.assertTrue(movieReader.isMetadataModified());
+        movieReader.destroy();
+    }
+
+    @Test
+    void Modified_WhenETagChanged() throws Exception {
+        byte[] content;
+        try (InputStream metadata = getClass().getClassLoader().getResourceAsStream("movie_metadata.csv")) {
+            content = metadata.readAllBytes();
+        }
+        AtomicReference<String> eTag = new AtomicReference<>("\"v1\"");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/movie_metadata.csv", exchange -> {
+            exchange.getResponseHeaders().add("ETag", eTag.get());
+            boolean head = "HEAD".equals(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(200, head ? -1 : content.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                if (!head) {
+                    body.write(content);
+                }
+            }
+        });
+        server.start();
+
+        try {
+            CsvMovieReader movieReader = new CsvMovieReader();
+            movieReader.setResourceLoader(new DefaultResourceLoader());
+            movieReader.setMetadata(String.format("http://127.0.0.1:%d/movie_metadata.csv", server.getAddress().getPort()));
+            Assertions.assertEquals(1375, movieReader.loadMovies().size());
+            Assertions.assertFalse(movieReader.isMetadataModified());
+
+            eTag.set("\"v2\"");
+            Assertions.assertTrue(movieReader.isMetadataModified());
+        } finally {
+            server.stop(0);
+        }
+    }
 }
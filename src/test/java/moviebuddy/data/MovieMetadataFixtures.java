@@ -0,0 +1,39 @@
+package moviebuddy.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 성능 측정용 테스트에서 사용할 대용량 영화 메타데이터를 만들어주는 도우미 클래스.
+ * 번들된 movie_metadata.csv 의 행을 원하는 개수만큼 반복해서 기록한다.
+ */
+class MovieMetadataFixtures {
+
+    static List<String> bundledCsvLines() throws IOException {
+        try (InputStream content = MovieMetadataFixtures.class.getClassLoader().getResourceAsStream("movie_metadata.csv")) {
+            String text = new String(content.readAllBytes(), StandardCharsets.UTF_8);
+            return Arrays.asList(text.split("\r?\n"));
+        }
+    }
+
+    static Path generateCsv(Path directory, int rows) throws IOException {
+        List<String> lines = bundledCsvLines();
+        Path metadata = directory.resolve(String.format("movie_metadata_%d.csv", rows));
+
+        try (BufferedWriter writer = Files.newBufferedWriter(metadata, StandardCharsets.UTF_8)) {
+            writer.write(lines.get(0));
+            writer.newLine();
+            for (int row = 0; row < rows; row++) {
+                writer.write(lines.get(1 + row % (lines.size() - 1)));
+                writer.newLine();
+            }
+        }
+        return metadata;
+    }
+}
@@ -0,0 +1,277 @@
+package moviebuddy.data;
+
+import moviebuddy.cache.MovieCatalogCacheLoader;
+import moviebuddy.cache.MovieCatalogDiskCache;
+import moviebuddy.cache.TwoLevelCache;
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 영화 메타데이터 읽기 방식을 비교하는 간단한 성능 측정 테스트.
+ * 처리량(rows/s)과 행 당 할당 바이트(bytes/row), 힙 사용량과 GC 멈춤 시간을 로그로 출력한다.
+ * 기본 test 작업에서는 제외되며, ./gradlew benchmarkTest 로 실행한다.
+ */
+@Tag("benchmark")
+public class MovieReaderBenchmarkTests {
+
+    static final int ROWS = 50_000;
+    static final int ITERATIONS = 5;
+    static final int SOAK_ROUNDS = 20;
+
+    final Logger log = LoggerFactory.getLogger(getClass());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void compareWithSplitReader() throws Exception {
+        Path metadata = MovieMetadataFixtures.generateCsv(directory, ROWS);
+
+        CsvMovieReader csvMovieReader = new CsvMovieReader();
+        csvMovieReader.setResourceLoader(new DefaultResourceLoader());
+        csvMovieReader.setMetadata(metadata.toUri().toString());
+        // 할당량은 호출한 스레드에서만 측정하므로, 해석도 호출한 스레드에서 하도록 순차로 읽는다.
+        csvMovieReader.setParallelism(1);
+        MovieReader splitMovieReader = new SplitCsvMovieReader(csvMovieReader);
+
+        List<Movie> expected = splitMovieReader.loadMovies();
+        List<Movie> actual = csvMovieReader.loadMovies();
+        Assertions.assertEquals(ROWS, actual.size());
+        for (int index = 0; index < expected.size(); index++) {
+            Assertions.assertEquals(expected.get(index).toString(), actual.get(index).toString());
+            Assertions.assertEquals(expected.get(index).getGenres(), actual.get(index).getGenres());
+            Assertions.assertEquals(expected.get(index).getActors(), actual.get(index).getActors());
+        }
+
+        measure("split", splitMovieReader);
+        measure("parser", csvMovieReader);
+    }
+
+    @Test
+    void compareWithBinarySnapshot() throws Exception {
+        Path metadata = MovieMetadataFixtures.generateCsv(directory, ROWS);
+        Path snapshot = directory.resolve("movie_metadata.bin");
+        MovieSnapshotConverter.convert(metadata.toUri().toString(), snapshot);
+
+        CsvMovieReader csvMovieReader = new CsvMovieReader();
+        csvMovieReader.setResourceLoader(new DefaultResourceLoader());
+        csvMovieReader.setMetadata(metadata.toUri().toString());
+        csvMovieReader.setParallelism(1);
+
+        BinaryMovieReader binaryMovieReader = new BinaryMovieReader();
+        binaryMovieReader.setResourceLoader(new DefaultResourceLoader());
+        binaryMovieReader.setMetadata(snapshot.toUri().toString());
+
+        Assertions.assertEquals(csvMovieReader.loadMovies().size(), binaryMovieReader.loadMovies().size());
+
+        measure("csv", csvMovieReader);
+        measure("binary", binaryMovieReader);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compareWithDiskCache() throws Exception {
+        Path metadata = MovieMetadataFixtures.generateCsv(directory, ROWS);
+
+        CsvMovieReader csvMovieReader = new CsvMovieReader();
+        csvMovieReader.setResourceLoader(new DefaultResourceLoader());
+        csvMovieReader.setMetadata(metadata.toUri().toString());
+        // 할당량은 호출한 스레드에서만 측정하므로, 해석도 호출한 스레드에서 하도록 순차로 읽는다.
+        csvMovieReader.setParallelism(1);
+
+        // 다시 시작한 것처럼 매번 빈 L1으로 영화 목록을 조회해, 디스크 캐시(L2)에서 읽는 비용을 측정한다.
+        MovieCatalogDiskCache diskCache = new MovieCatalogDiskCache(MovieCatalogCacheLoader.CACHE_NAME, directory.resolve("cache"), () -> csvMovieReader);
+        diskCache.put(SimpleKey.EMPTY, csvMovieReader.loadMovies());
+        MovieReader diskCacheReader = () -> {
+            TwoLevelCache cache = new TwoLevelCache(new CaffeineCacheManager().getCache(MovieCatalogCacheLoader.CACHE_NAME), diskCache);
+            return (List<Movie>) cache.get(SimpleKey.EMPTY).get();
+        };
+        Assertions.assertEquals(ROWS, diskCacheReader.loadMovies().size());
+
+        measure("csv", csvMovieReader);
+        measure("disk cache", diskCacheReader);
+    }
+
+    @Test
+    void scaleParallelLoading() throws Exception {
+        Path metadata = MovieMetadataFixtures.generateCsv(directory, ROWS * 2);
+
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(metadata.toUri().toString());
+
+        movieReader.setParallelism(1);
+        List<Movie> movies = movieReader.loadMovies();
+        int expectedSize = movies.size();
+        String expectedLast = movies.get(expectedSize - 1).toString();
+        movies = null;
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            movieReader.setParallelism(threads);
+            movies = movieReader.loadMovies();
+            Assertions.assertEquals(expectedSize, movies.size());
+            Assertions.assertEquals(expectedLast, movies.get(expectedSize - 1).toString());
+            movies = null;
+
+            long start = System.nanoTime();
+            for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                movieReader.loadMovies();
+            }
+            long elapsed = (System.nanoTime() - start) / ITERATIONS;
+            log.info("[parallel x{}] {} ms/load, throughput: {} rows/s", threads, elapsed / 1_000_000, expectedSize * 1_000_000_000L / Math.max(elapsed, 1));
+        }
+    }
+
+    @Test
+    void compareHeapPerMovie() throws Exception {
+        CsvMovieReader bundledMovieReader = new CsvMovieReader();
+        bundledMovieReader.setResourceLoader(new DefaultResourceLoader());
+        bundledMovieReader.setMetadata("movie_metadata.csv");
+
+        CsvMovieReader generatedMovieReader = new CsvMovieReader();
+        generatedMovieReader.setResourceLoader(new DefaultResourceLoader());
+        generatedMovieReader.setMetadata(MovieMetadataFixtures.generateCsv(directory, ROWS).toUri().toString());
+
+        // 번들된 메타데이터는 측정 오차를 줄이기 위해 여러 번 읽어 각각의 목록을 붙잡아 둔다.
+        measureHeap("bundled, split", new SplitCsvMovieReader(bundledMovieReader), 20);
+        measureHeap("bundled, pooled", bundledMovieReader, 20);
+        measureHeap("generated, split", new SplitCsvMovieReader(generatedMovieReader), 1);
+        measureHeap("generated, pooled", generatedMovieReader, 1);
+    }
+
+    @Test
+    void soakOffHeapCatalog() throws Exception {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(MovieMetadataFixtures.generateCsv(directory, ROWS * 2).toUri().toString());
+        movieReader.setParallelism(1);
+
+        soak("heap", movieReader);
+        movieReader.setOffHeap(true);
+        soak("off-heap", movieReader);
+    }
+
+    void soak(String name, MovieReader movieReader) throws Exception {
+        long before = usedHeap();
+        List<Movie> catalog = movieReader.loadMovies();
+        long retained = usedHeap() - before;
+
+        // GC가 끝날 때마다 통지를 받아 멈춘 시간(pause)을 모은다.
+        List<Long> pauses = Collections.synchronizedList(new ArrayList<>());
+        NotificationListener listener = (notification, handback) -> {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                pauses.add(GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo().getDuration());
+            }
+        };
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        collectors.forEach(it -> ((NotificationEmitter) it).addNotificationListener(listener, null, null));
+        try {
+            // 목록을 캐시에 붙잡아 둔 채 조회 부하(짧은 수명의 객체)를 주고, 주기적으로 전체 GC를 일으킨다.
+            long found = 0;
+            for (int round = 0; round < SOAK_ROUNDS; round++) {
+                for (int index = 0; index < catalog.size(); index++) {
+                    if (catalog.get(index).getReleaseYear() == 2015) {
+                        found++;
+                    }
+                }
+                if (round % 5 == 4) {
+                    System.gc();
+                }
+            }
+            Assertions.assertTrue(found > 0);
+            Thread.sleep(200);
+        } finally {
+            for (GarbageCollectorMXBean collector : collectors) {
+                ((NotificationEmitter) collector).removeNotificationListener(listener);
+            }
+        }
+
+        long offHeap = catalog instanceof OffHeapMovieCatalog ? ((OffHeapMovieCatalog) catalog).offHeapBytes() : 0;
+        Reference.reachabilityFence(catalog);
+
+        List<Long> sorted = new ArrayList<>(pauses);
+        Collections.sort(sorted);
+        log.info("[soak, {}] retained heap: {} bytes, off-heap: {} bytes, gc pauses: {} times, p50: {} ms, p99: {} ms, max: {} ms, total: {} ms",
+                name, retained, offHeap, sorted.size(), percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 100), sorted.stream().mapToLong(Long::longValue).sum());
+    }
+
+    static long percentile(List<Long> sorted, int percent) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get(Math.max((int) Math.ceil(sorted.size() * percent / 100.0) - 1, 0));
+    }
+
+    void measureHeap(String name, MovieReader movieReader, int copies) throws InterruptedException {
+        // 영화 목록을 붙잡고 있을 때와 놓아준 후의 사용량 차이로 목록이 차지하는 힙을 구한다.
+        List<List<Movie>> catalogs = new ArrayList<>();
+        for (int copy = 0; copy < copies; copy++) {
+            catalogs.add(movieReader.loadMovies());
+        }
+        long size = catalogs.stream().mapToLong(List::size).sum();
+        long retained = usedHeap();
+        Reference.reachabilityFence(catalogs);
+        catalogs = null;
+        long released = usedHeap();
+
+        log.info("[{}] retained heap: {} bytes/movie ({} movies)", name, (retained - released) / size, size / copies);
+    }
+
+    static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int count = 0; count < 3; count++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 처리량과 행 당 할당 바이트를 측정한다. 할당량은 호출한 스레드의 값만 세므로, 다른 스레드에서 해석하는 읽기 방식은 측정하지 않는다.
+     */
+    void measure(String name, MovieReader movieReader) {
+        // warm-up
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            movieReader.loadMovies();
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            movieReader.loadMovies();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        long rows = (long) ROWS * ITERATIONS;
+        log.info("[{}] throughput: {} rows/s, allocated: {} bytes/row", name, rows * 1_000_000_000L / Math.max(elapsed, 1), allocated / rows);
+    }
+
+    static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
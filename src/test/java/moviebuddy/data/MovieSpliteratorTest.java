@@ -0,0 +1,43 @@
+package moviebuddy.data;
+
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class MovieSpliteratorTest {
+
+    @Test
+    void Stream_CsvMovies() throws Exception {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+
+        try (Stream<Movie> movies = movieReader.streamMovies()) {
+            Spliterator<Movie> spliterator = movies.spliterator();
+            Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.NONNULL));
+            Assertions.assertTrue(spliterator.estimateSize() > 0 && spliterator.estimateSize() < Long.MAX_VALUE);
+        }
+
+        try (Stream<Movie> movies = movieReader.streamMovies()) {
+            Assertions.assertEquals(1375, movies.count());
+        }
+    }
+
+    @Test
+    void Stream_XmlMovies() throws Exception {
+        XmlMovieReader movieReader = new XmlMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.xml");
+
+        List<String> expected = movieReader.loadMovies().stream().limit(3).map(Movie::toString).collect(Collectors.toList());
+        try (Stream<Movie> movies = movieReader.streamMovies()) {
+            Assertions.assertEquals(expected, movies.limit(3).map(Movie::toString).collect(Collectors.toList()));
+        }
+    }
+}
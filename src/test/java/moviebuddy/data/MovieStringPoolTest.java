@@ -0,0 +1,64 @@
+package moviebuddy.data;
+
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class MovieStringPoolTest {
+
+    @Test
+    void Canonicalize_Strings() {
+        MovieStringPool pool = new MovieStringPool();
+        char[] chars = "xEnglishx".toCharArray();
+
+        String english = pool.canonicalize(chars, 1, 7);
+        Assertions.assertEquals("English", english);
+        Assertions.assertSame(english, pool.canonicalize(new String("English")));
+        Assertions.assertSame(english, pool.canonicalize(chars, 1, 7));
+        Assertions.assertEquals(1, pool.size());
+
+        // 테이블이 커져도 같은 인스턴스를 찾을 수 있어야 한다.
+        for (int index = 0; index < 5000; index++) {
+            pool.canonicalize("value-" + index);
+        }
+        Assertions.assertSame(english, pool.canonicalize(chars, 1, 7));
+        Assertions.assertEquals(5001, pool.size());
+    }
+
+    @Test
+    void Canonicalize_Lists() {
+        MovieStringPool parent = new MovieStringPool();
+        MovieStringPool pool = new MovieStringPool(parent);
+
+        List<String> genres = pool.canonicalize(Arrays.asList("Action", "Drama"));
+        Assertions.assertSame(genres, pool.canonicalize(Arrays.asList(new String("Action"), "Drama")));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> genres.set(0, "Comedy"));
+
+        // 상위 풀을 공유하는 다른 풀에서도 같은 인스턴스를 반환한다.
+        MovieStringPool other = new MovieStringPool(parent);
+        Assertions.assertSame(genres, other.canonicalize(Arrays.asList("Action", "Drama")));
+        Assertions.assertSame(genres.get(0), other.canonicalize(new String("Action")));
+    }
+
+    @Test
+    void Share_LoadedValues() {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+
+        List<Movie> movies = movieReader.loadMovies();
+        Movie first = movies.get(0);
+        for (Movie movie : movies) {
+            if (movie.getLanguage().equals(first.getLanguage())) {
+                Assertions.assertSame(first.getLanguage(), movie.getLanguage());
+            }
+            if (movie.getGenres().equals(first.getGenres())) {
+                Assertions.assertSame(first.getGenres(), movie.getGenres());
+            }
+        }
+    }
+}
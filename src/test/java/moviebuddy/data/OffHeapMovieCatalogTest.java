@@ -0,0 +1,77 @@
+package moviebuddy.data;
+
+import moviebuddy.domain.Movie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+public class OffHeapMovieCatalogTest {
+
+    @Test
+    void Same_AsHeapMovies() {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+
+        List<Movie> movies = movieReader.loadMovies();
+        OffHeapMovieCatalog catalog = OffHeapMovieCatalog.of(movies);
+
+        Assertions.assertEquals(movies.size(), catalog.size());
+        Assertions.assertTrue(catalog.offHeapBytes() > 0);
+        for (int index = 0; index < movies.size(); index++) {
+            Movie expected = movies.get(index);
+            Movie actual = catalog.get(index);
+            Assertions.assertEquals(expected.toString(), actual.toString());
+            Assertions.assertEquals(expected.getGenres(), actual.getGenres());
+            Assertions.assertEquals(expected.getLanguage(), actual.getLanguage());
+            Assertions.assertEquals(expected.getCountry(), actual.getCountry());
+            Assertions.assertEquals(expected.getActors(), actual.getActors());
+            Assertions.assertEquals(expected.getImdbLink(), actual.getImdbLink());
+            Assertions.assertEquals(expected.getReleaseYear(), catalog.releaseYear(index));
+            Assertions.assertEquals(expected.getDirector(), catalog.director(index));
+            Assertions.assertEquals(expected.getTitle(), catalog.title(index));
+        }
+    }
+
+    @Test
+    void Store_OptionalValues() {
+        Movie movie = Movie.of("영화", List.of(), "Korean", "South Korea", 2019, "봉준호", List.of("송강호"), null, LocalDate.of(2020, 2, 9));
+        OffHeapMovieCatalog catalog = OffHeapMovieCatalog.of(List.of(movie));
+
+        Movie actual = catalog.get(0);
+        Assertions.assertEquals("영화", actual.getTitle());
+        Assertions.assertEquals(List.of(), actual.getGenres());
+        Assertions.assertEquals(List.of("송강호"), actual.getActors());
+        Assertions.assertNull(actual.getImdbLink());
+        Assertions.assertEquals(LocalDate.of(2020, 2, 9), actual.getWatchedDate());
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> catalog.get(1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> catalog.add(movie));
+        Assertions.assertTrue(OffHeapMovieCatalog.of(List.of()).isEmpty());
+    }
+
+    @Test
+    void Load_OffHeap(@TempDir Path directory) throws Exception {
+        Path metadata = MovieMetadataFixtures.generateCsv(directory, 20_000);
+
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata(metadata.toUri().toString());
+        List<Movie> expected = movieReader.loadMovies();
+
+        // 병렬 해석과 순차 해석 모두 힙 바깥 목록을 반환해야 한다.
+        movieReader.setOffHeap(true);
+        for (int parallelism : new int[] { 1, 4 }) {
+            movieReader.setParallelism(parallelism);
+            List<Movie> movies = movieReader.loadMovies();
+            Assertions.assertTrue(movies instanceof OffHeapMovieCatalog);
+            Assertions.assertEquals(expected.size(), movies.size());
+            Assertions.assertEquals(expected.get(expected.size() - 1).toString(), movies.get(movies.size() - 1).toString());
+        }
+    }
+}
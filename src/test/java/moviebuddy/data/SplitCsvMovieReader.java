@@ -0,0 +1,57 @@
+package moviebuddy.data;
+
+import moviebuddy.ApplicationException;
+import moviebuddy.domain.Movie;
+import moviebuddy.domain.MovieReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 비교 기준이 되는 기존 CsvMovieReader 구현 (String.split + Stream)
+ * 해석기가 같은 결과를 내는지 확인하는 단위 테스트와 성능 측정 테스트가 함께 사용한다.
+ */
+class SplitCsvMovieReader implements MovieReader {
+
+    final AbstractMetadataResourceMovieReader metadataReader;
+
+    SplitCsvMovieReader(AbstractMetadataResourceMovieReader metadataReader) {
+        this.metadataReader = metadataReader;
+    }
+
+    @Override
+    public List<Movie> loadMovies() {
+        final Function<String, Movie> mapCsv = csv -> {
+            try {
+                String[] values = csv.split(",");
+
+                String title = values[0];
+                List<String> genres = Arrays.asList(values[1].split("\\|"));
+                String language = values[2].trim();
+                String country = values[3].trim();
+                int releaseYear = Integer.valueOf(values[4].trim());
+                String director = values[5].trim();
+                List<String> actors = Arrays.asList(values[6].split("\\|"));
+                URL imdbLink = new URL(values[7].trim());
+                String watchedDate = values[8];
+
+                return Movie.of(title, genres, language, country, releaseYear, director, actors, imdbLink, watchedDate);
+            } catch (IOException error) {
+                throw new ApplicationException("mapping csv to object failed.", error);
+            }
+        };
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(metadataReader.getMetadataResource().getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines().skip(1).map(mapCsv).collect(Collectors.toList());
+        } catch (IOException error) {
+            throw new ApplicationException("failed to load movies data.", error);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.util.AopTestUtils;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @ActiveProfiles(MovieBuddyProfile.XML_MODE)
@@ -37,6 +38,19 @@ public class XmlMovieReaderTest {
         Assertions.assertEquals(1375,movies.size());
     }
 
+    @Test
+    void Mapping_MovieElement() {
+        Movie movie = movieReader.loadMovies().get(0);
+
+        Assertions.assertEquals("Spectre", movie.getTitle());
+        Assertions.assertEquals(List.of("Action", "Adventure", "Thriller"), movie.getGenres());
+        Assertions.assertEquals(2015, movie.getReleaseYear());
+        Assertions.assertEquals("Sam Mendes", movie.getDirector());
+        Assertions.assertEquals(List.of("Christoph Waltz", "Rory Kinnear", "Stephanie Sigman"), movie.getActors());
+        Assertions.assertEquals("http://www.imdb.com/title/tt2379713/", movie.getImdbLink().toString());
+        Assertions.assertEquals(LocalDate.of(2015, 2, 23), movie.getWatchedDate());
+    }
+
     @Test
     void Check_MovieReaderType() {
         // 현재 주입된 MovieReader 객체가 프락시 객체인지 검증.
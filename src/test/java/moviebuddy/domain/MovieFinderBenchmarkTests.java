@@ -0,0 +1,164 @@
+package moviebuddy.domain;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import moviebuddy.cache.MovieQueryKeyGenerator;
+import moviebuddy.data.CsvMovieReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 영화 목록의 크기를 늘려가며 MovieFinder 검색의 지연 시간(p50, p99)을 측정하는 간단한 성능 측정 테스트.
+ * 기준은 기존 구현과 같은 전체 탐색(stream + filter)이다.
+ * 기본 test 작업에서는 제외되며, ./gradlew benchmarkTest 로 실행한다.
+ */
+@Tag("benchmark")
+public class MovieFinderBenchmarkTests {
+
+    static final int[] SCALES = { 1, 8, 32 };
+    static final int ITERATIONS = 200;
+
+    final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Test
+    void compareDirectedBy() {
+        List<String> queries = List.of("Michael Bay", "nolan", "Spielberg", "Christopher Nolan", "zzz", "Cameron");
+        for (int scale : SCALES) {
+            List<Movie> movies = catalog(scale);
+            MovieStore movieStore = MovieStore.of(movies);
+
+            Function<String, List<Movie>> scan = query -> movies.stream()
+                    .filter(it -> it.getDirector().toLowerCase().contains(query.toLowerCase()))
+                    .collect(Collectors.toList());
+            Function<String, List<Movie>> index = query -> movieStore.movies(movieStore.rowsDirectedBy(query));
+            for (String query : queries) {
+                Assertions.assertEquals(scan.apply(query), index.apply(query));
+            }
+
+            measure(String.format("directedBy, scan, %d movies", movies.size()), queries, scan);
+            measure(String.format("directedBy, index, %d movies", movies.size()), queries, index);
+        }
+    }
+
+    @Test
+    void compareReleasedYearBy() {
+        List<int[]> queries = List.of(new int[] { 2015, 2015 }, new int[] { 1999, 1999 }, new int[] { 2000, 2010 }, new int[] { 3000, 3000 });
+        for (int scale : SCALES) {
+            List<Movie> movies = catalog(scale);
+            MovieStore movieStore = MovieStore.of(movies);
+
+            Function<int[], List<Movie>> scan = range -> movies.stream()
+                    .filter(it -> it.getReleaseYear() >= range[0] && it.getReleaseYear() <= range[1])
+                    .sorted(Comparator.comparingInt(Movie::getReleaseYear))
+                    .collect(Collectors.toList());
+            Function<int[], List<Movie>> index = range -> movieStore.movies(movieStore.rowsReleasedBetween(range[0], range[1]));
+            for (int[] range : queries) {
+                Assertions.assertEquals(scan.apply(range), index.apply(range));
+            }
+
+            measure(String.format("releasedBetween, scan, %d movies", movies.size()), queries, scan);
+            measure(String.format("releasedBetween, index, %d movies", movies.size()), queries, index);
+        }
+    }
+
+    @Test
+    void compareQueryCache() {
+        // 캐시는 기간 검색(releasedBetween)에만 적용되므로, 같은 검색의 색인 조회와 캐시 적중을 비교한다.
+        List<int[]> queries = List.of(new int[] { 2015, 2015 }, new int[] { 1999, 1999 }, new int[] { 2000, 2010 }, new int[] { 3000, 3000 });
+        for (int scale : SCALES) {
+            List<Movie> movies = catalog(scale);
+            MovieStore movieStore = MovieStore.of(movies);
+
+            try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+                MovieReader movieReader = () -> movies;
+                context.registerBean(MovieReader.class, () -> movieReader);
+                context.register(QueryCacheConfig.class);
+                context.refresh();
+                MovieFinder movieFinder = context.getBean(MovieFinder.class);
+
+                Function<int[], List<Movie>> index = range -> movieStore.movies(movieStore.rowsReleasedBetween(range[0], range[1]));
+                Function<int[], List<Movie>> cached = range -> movieFinder.releasedBetween(range[0], range[1]);
+                for (int[] range : queries) {
+                    Assertions.assertEquals(index.apply(range), cached.apply(range));
+                }
+
+                measure(String.format("releasedBetween, index, %d movies", movies.size()), queries, index);
+                measure(String.format("releasedBetween, cache hit, %d movies", movies.size()), queries, cached);
+            }
+        }
+    }
+
+    <T> void measure(String name, List<T> queries, Function<T, List<Movie>> search) {
+        // warm-up
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            search.apply(queries.get(iteration % queries.size()));
+        }
+
+        long[] latencies = new long[ITERATIONS];
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            long start = System.nanoTime();
+            search.apply(queries.get(iteration % queries.size()));
+            latencies[iteration] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        log.info("[{}] p50: {} us, p99: {} us", name, latencies[ITERATIONS / 2] / 1000, latencies[ITERATIONS * 99 / 100] / 1000);
+    }
+
+    /**
+     * 번들된 메타데이터를 지정한 배수만큼 복제한 영화 목록. 복제본마다 감독 이름을 달리해 감독 수도 함께 늘어난다.
+     */
+    static List<Movie> catalog(int scale) {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+        List<Movie> bundled = movieReader.loadMovies();
+
+        List<Movie> movies = new ArrayList<>(bundled.size() * scale);
+        for (int copy = 0; copy < scale; copy++) {
+            for (Movie movie : bundled) {
+                String director = copy == 0 ? movie.getDirector() : movie.getDirector() + " " + copy;
+                movies.add(Movie.of(movie.getTitle(), movie.getGenres(), movie.getLanguage(), movie.getCountry(), movie.getReleaseYear(), director, movie.getActors(), movie.getImdbLink(), movie.getWatchedDate()));
+            }
+        }
+        return movies;
+    }
+
+    @Configuration
+    @EnableCaching
+    static class QueryCacheConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+            cacheManager.registerCustomCache(MovieFinder.QUERY_CACHE_NAME, Caffeine.newBuilder().maximumSize(1_000).build());
+            return cacheManager;
+        }
+
+        @Bean
+        public KeyGenerator movieQueryKeyGenerator() {
+            return new MovieQueryKeyGenerator();
+        }
+
+        @Bean
+        public MovieFinder movieFinder(MovieReader movieReader) {
+            return new MovieFinder(movieReader);
+        }
+    }
+}
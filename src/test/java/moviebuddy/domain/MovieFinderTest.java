@@ -2,10 +2,14 @@ package moviebuddy.domain;
 
 import moviebuddy.MovieBuddyFactory;
 import moviebuddy.MovieBuddyProfile;
+import moviebuddy.cache.OffHeapCache;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import java.util.List;
@@ -30,4 +34,68 @@ public class MovieFinderTest {
 		List<Movie> movies = movieFinder.releasedYearBy(2015);
 		Assertions.assertEquals(225, movies.size());
 	}
+
+	@Test
+	void NotEmpty_ReleasedBetween() {
+		List<Movie> movies = movieFinder.releasedBetween(2015, 2015);
+		Assertions.assertEquals(225, movies.size());
+		Assertions.assertEquals(movieFinder.releasedYearBy(2015), movies);
+
+		movies = movieFinder.releasedBetween(2000, 2011);
+		Assertions.assertEquals(448, movies.size());
+		Assertions.assertEquals(2010, movies.get(0).getReleaseYear());
+		Assertions.assertEquals(2011, movies.get(movies.size() - 1).getReleaseYear());
+	}
+
+	@Test
+	void DirectedBy_IgnoresCaseOnly() {
+		Assertions.assertEquals(movieFinder.directedBy("Michael Bay"), movieFinder.directedBy("michael BAY"));
+		Assertions.assertEquals(0, movieFinder.directedBy(" Michael Bay ").size());
+		Assertions.assertEquals(movieFinder.directedBy(" Michael Bay ").size(), movieFinder.directedBy(" Michael Bay ", Integer.MAX_VALUE).size());
+	}
+
+	@Test
+	void Cached_ReleasedBetween() {
+		List<Movie> movies = movieFinder.releasedBetween(2010, 2011);
+		Assertions.assertSame(movies, movieFinder.releasedBetween(2010, 2011));
+		Assertions.assertNotSame(movieFinder.releasedYearBy(2010), movieFinder.releasedYearBy(2010));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> movies.remove(0));
+	}
+
+	@Test
+	void Limited_DirectedBy() {
+		List<Movie> movies = movieFinder.directedBy("Michael Bay", 2);
+		Assertions.assertEquals(2, movies.size());
+		Assertions.assertEquals(movieFinder.directedBy("Michael Bay").subList(0, 2).toString(), movies.toString());
+	}
+
+	@Test
+	void Limited_ReleasedYearBy() {
+		Assertions.assertEquals(10, movieFinder.releasedYearBy(2015, 10).size());
+		Assertions.assertEquals(225, movieFinder.releasedYearBy(2015, Integer.MAX_VALUE).size());
+	}
+
+	@Nested
+	@TestPropertySource(properties = "movie.query-cache.off-heap=true")
+	class OffHeapQueryCache {
+
+		@Autowired MovieFinder movieFinder;
+		@Autowired CacheManager cacheManager;
+
+		@Test
+		void Cached_OffHeap() {
+			OffHeapCache queryCache = (OffHeapCache) cacheManager.getCache(MovieFinder.QUERY_CACHE_NAME);
+
+			List<Movie> movies = movieFinder.releasedBetween(2015, 2015);
+			Assertions.assertEquals(225, movies.size());
+			Assertions.assertTrue(queryCache.getUsedBytes() > 0);
+
+			// 힙 바깥에 기록된 결과를 조회할 때마다 새 목록으로 해석한다.
+			List<Movie> cached = movieFinder.releasedBetween(2015, 2015);
+			Assertions.assertNotSame(movies, cached);
+			Assertions.assertEquals(movies.toString(), cached.toString());
+			Assertions.assertEquals(1, queryCache.getStatistics().getStats().loadCount());
+			Assertions.assertEquals(1, queryCache.getStatistics().getStats().hitCount());
+		}
+	}
 }
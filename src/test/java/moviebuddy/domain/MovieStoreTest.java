@@ -0,0 +1,196 @@
+package moviebuddy.domain;
+
+import moviebuddy.data.CsvMovieReader;
+import moviebuddy.data.OffHeapMovieCatalog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class MovieStoreTest {
+
+    static List<Movie> movies;
+    static MovieStore movieStore;
+
+    @BeforeAll
+    static void loadMovies() {
+        CsvMovieReader movieReader = new CsvMovieReader();
+        movieReader.setResourceLoader(new DefaultResourceLoader());
+        movieReader.setMetadata("movie_metadata.csv");
+
+        movies = movieReader.loadMovies();
+        movieStore = MovieStore.of(movies);
+    }
+
+    @Test
+    void Same_Columns() {
+        Assertions.assertEquals(movies.size(), movieStore.size());
+        Assertions.assertTrue(movieStore.isBuiltFrom(movies));
+
+        for (int row = 0; row < movies.size(); row++) {
+            Movie movie = movies.get(row);
+            Assertions.assertEquals(movie.getReleaseYear(), movieStore.releaseYear(row));
+            Assertions.assertEquals(movie.getWatchedDate().toEpochDay(), movieStore.watchedDate(row));
+            Assertions.assertEquals(movie.getDirector(), movieStore.director(row));
+            Assertions.assertEquals(movie.getLanguage(), movieStore.language(row));
+            Assertions.assertEquals(movie.getCountry(), movieStore.country(row));
+            Assertions.assertEquals(movie.getGenres(), movieStore.genres(row));
+            Assertions.assertEquals(movie.getActors(), movieStore.actors(row));
+        }
+    }
+
+    @Test
+    void Same_AsScan() {
+        for (String director : List.of("Michael Bay", "michael", "NOLAN", "x", "ay", "", "zzz", "Bay Michael")) {
+            assertSameDirectedBy(director);
+        }
+
+        for (int year = 1990; year <= 2016; year++) {
+            final int releaseYear = year;
+            List<Movie> expected = movies.stream()
+                    .filter(it -> it.getReleaseYear() == releaseYear)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(expected, movieStore.movies(movieStore.rowsReleasedYearBy(year)));
+        }
+    }
+
+    @Test
+    void Same_AsScan_ReleasedBetween() {
+        int[][] ranges = { { 2000, 2010 }, { 1900, 1999 }, { 2015, 2015 }, { 2016, 3000 }, { Integer.MIN_VALUE, Integer.MAX_VALUE }, { 2010, 2000 }, { 3000, 3001 } };
+        for (int[] range : ranges) {
+            List<Movie> expected = movies.stream()
+                    .filter(it -> it.getReleaseYear() >= range[0] && it.getReleaseYear() <= range[1])
+                    .sorted(Comparator.comparingInt(Movie::getReleaseYear))
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(expected, movieStore.movies(movieStore.rowsReleasedBetween(range[0], range[1])));
+        }
+
+        Assertions.assertEquals(0, MovieStore.of(List.of()).rowsReleasedBetween(2000, 2010).length);
+    }
+
+    @Test
+    void Same_AsScan_DirectorSubstrings() {
+        // 감독 이름의 여러 부분 문자열(대소문자 변경 포함)로 검색해 전체 탐색 결과와 비교한다.
+        for (String director : movieStore.directors()) {
+            for (int length = 1; length <= Math.min(director.length(), 6); length++) {
+                int start = (director.length() - length) / 2;
+                String query = director.substring(start, start + length);
+                assertSameDirectedBy(query);
+                assertSameDirectedBy(query.toUpperCase());
+            }
+        }
+    }
+
+    @Test
+    void MovieRecords_MaterializesOnlyResultRows() {
+        CountingRecords records = new CountingRecords(OffHeapMovieCatalog.of(movies));
+
+        // 색인은 접근 메서드로 만들고, 영화 객체는 검색 결과로 반환하는 행만 만든다.
+        MovieStore offHeapStore = MovieStore.of(records);
+        Assertions.assertEquals(0, records.gets);
+        Assertions.assertEquals(movieStore.directors(), offHeapStore.directors());
+
+        for (String director : List.of("Michael Bay", "nolan", "x")) {
+            int before = records.gets;
+            List<Movie> found = offHeapStore.movies(offHeapStore.rowsDirectedBy(director));
+            Assertions.assertEquals(found.size(), records.gets - before);
+            Assertions.assertEquals(movieStore.movies(movieStore.rowsDirectedBy(director)).toString(), found.toString());
+        }
+        List<Movie> found = offHeapStore.movies(offHeapStore.rowsReleasedBetween(2010, 2012));
+        Assertions.assertEquals(movieStore.movies(movieStore.rowsReleasedBetween(2010, 2012)).toString(), found.toString());
+
+        // 시청일자, 언어, 국가, 장르, 배우는 저장소의 열에서 읽고 원본을 다시 읽지 않는다.
+        int reads = records.reads;
+        for (int row = 0; row < movies.size(); row += 97) {
+            Assertions.assertEquals(movieStore.watchedDate(row), offHeapStore.watchedDate(row));
+            Assertions.assertEquals(movieStore.director(row), offHeapStore.director(row));
+            Assertions.assertEquals(movieStore.language(row), offHeapStore.language(row));
+            Assertions.assertEquals(movieStore.country(row), offHeapStore.country(row));
+            Assertions.assertEquals(movieStore.genres(row), offHeapStore.genres(row));
+            Assertions.assertEquals(movieStore.actors(row), offHeapStore.actors(row));
+        }
+        Assertions.assertEquals(reads, records.reads);
+    }
+
+    static void assertSameDirectedBy(String director) {
+        List<Movie> expected = movies.stream()
+                .filter(it -> it.getDirector().toLowerCase().contains(director.toLowerCase()))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(expected, movieStore.movies(movieStore.rowsDirectedBy(director)), director);
+    }
+
+    /**
+     * 영화 객체를 꺼낸(get) 횟수와 행 단위 값을 읽은 횟수를 세는 MovieRecords 목록
+     */
+    static class CountingRecords extends AbstractList<Movie> implements MovieRecords {
+
+        final OffHeapMovieCatalog catalog;
+        int gets;
+        int reads;
+
+        CountingRecords(OffHeapMovieCatalog catalog) {
+            this.catalog = catalog;
+        }
+
+        @Override
+        public Movie get(int index) {
+            gets++;
+            return catalog.get(index);
+        }
+
+        @Override
+        public int size() {
+            return catalog.size();
+        }
+
+        @Override
+        public int releaseYear(int row) {
+            return catalog.releaseYear(row);
+        }
+
+        @Override
+        public int watchedDate(int row) {
+            reads++;
+            return catalog.watchedDate(row);
+        }
+
+        @Override
+        public int directorId(int row) {
+            return catalog.directorId(row);
+        }
+
+        @Override
+        public String director(int row) {
+            return catalog.director(row);
+        }
+
+        @Override
+        public String language(int row) {
+            reads++;
+            return catalog.language(row);
+        }
+
+        @Override
+        public String country(int row) {
+            reads++;
+            return catalog.country(row);
+        }
+
+        @Override
+        public List<String> genres(int row) {
+            reads++;
+            return catalog.genres(row);
+        }
+
+        @Override
+        public List<String> actors(int row) {
+            reads++;
+            return catalog.actors(row);
+        }
+    }
+}